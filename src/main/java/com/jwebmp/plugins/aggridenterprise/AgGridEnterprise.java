@@ -1,5 +1,8 @@
 package com.jwebmp.plugins.aggridenterprise;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jwebmp.core.base.angular.client.annotations.functions.NgAfterViewInit;
 import com.jwebmp.core.base.angular.client.annotations.structures.NgMethod;
 import com.jwebmp.core.base.angular.client.annotations.references.NgImportReference;
@@ -9,10 +12,31 @@ import com.jwebmp.plugins.aggridenterprise.charts.ChartConfiguration;
 import com.jwebmp.plugins.aggridenterprise.charts.ChartRegistry;
 import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnDef;
 import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseOptions;
+import com.jwebmp.plugins.aggridenterprise.options.ColumnLayout;
+import com.jwebmp.plugins.aggridenterprise.options.enums.ServerSidePaginationStrategy;
 import com.jwebmp.plugins.aggridenterprise.options.mapping.AgGridColDefEnterpriseMapper;
+import com.jwebmp.plugins.aggridenterprise.options.setfilter.SetFilterParams;
+import com.jwebmp.plugins.aggridenterprise.serverside.IServerSideDatasource;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideBlockCache;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideDatasourceRegistry;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSingleFlight;
+import com.jwebmp.plugins.aggridenterprise.serverside.aggregation.ServerSideAggregationTree;
+import com.jwebmp.plugins.aggridenterprise.serverside.find.ServerSideFindIndex;
+import com.jwebmp.plugins.aggridenterprise.serverside.find.ServerSideFindRegistry;
+import com.jwebmp.plugins.aggridenterprise.serverside.setfilter.ISetFilterTreePathGetter;
+import com.jwebmp.plugins.aggridenterprise.serverside.setfilter.ISetFilterValuesProvider;
+import com.jwebmp.plugins.aggridenterprise.serverside.setfilter.SetFilterValuesRegistry;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * AG Grid Enterprise component extending the community AgGrid with enterprise-specific options
@@ -39,6 +63,13 @@ import java.util.List;
 @SuppressWarnings("unchecked")
 public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends AgGrid<J>
 {
+    /**
+     * Writes grid option deltas like {@link ServerSideJson#mapper()}, but keeps the null entries that reset an option.
+     */
+    private static final ObjectMapper DELTA_MAPPER = ServerSideJson.mapper()
+                                                                   .copy()
+                                                                   .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.ALWAYS));
+
     /**
      * When non-null, we will generate TypeScript to set the option via gridApi after view init.
      */
@@ -57,6 +88,56 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     private final List<String> crossFilterChartsQueue = new ArrayList<>();
     // Stores range chart parameter object literals to be invoked after view init
     private final List<String> rangeChartsQueue = new ArrayList<>();
+    /**
+     * Endpoint the generated SSRM datasource posts getRows requests to; null when no Java datasource is bound.
+     */
+    private String serverSideDatasourceUrl;
+    /**
+     * Window in which the generated SSRM datasource collects block requests into one batch; null to post each block.
+     */
+    private Integer serverSideBatchWindowMillis;
+    /**
+     * Endpoint the generated SSRM datasource streams NDJSON blocks from; null to load whole JSON blocks.
+     */
+    private String serverSideStreamingUrl;
+    /**
+     * Leaf row id field used by the generated getRowId when SSRM transactions are enabled; null otherwise.
+     */
+    private String serverSideTransactionRowIdField;
+    /**
+     * Columns whose Set Filter mini filter searches the server on each keystroke.
+     */
+    private final Set<String> serverSetFilterSearchColIds = new LinkedHashSet<>();
+    /**
+     * Endpoint the generated tree list loader posts node requests to; null when no tree list column is served.
+     */
+    private String serverSetFilterTreeUrl;
+    /**
+     * Endpoint the generated server-side Find posts to; null when Find searches only the loaded rows.
+     */
+    private String serverSideFindUrl;
+    /**
+     * TypeScript last generated for {@link #fields()} and {@link #methods()}; null until rendered or after a change.
+     */
+    private GeneratedTs generatedTs;
+    /**
+     * Community options changed through this class's helpers, which the enterprise modules cannot track; taken by
+     * the next {@link #takeGridOptionsDelta()}.
+     */
+    private final Map<String, Object> gridOptionChanges = new LinkedHashMap<>();
+    /**
+     * Position of the first column definition with each field in {@link #indexedColumnDefs}; null until a column is
+     * looked up by field.
+     */
+    private Map<String, Integer> columnIndex;
+    /**
+     * The column definition list {@link #columnIndex} was built from.
+     */
+    private List<AgGridColumnDef<?>> indexedColumnDefs;
+    /**
+     * Column state of the layout configured since the last {@link #takeColumnLayoutDelta()}; null when unchanged.
+     */
+    private Map<String, Object> columnLayoutChange;
 
     public AgGridEnterprise()
     {
@@ -73,10 +154,9 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     public java.util.List<String> fields()
     {
         java.util.List<String> fields = super.fields();
-        if (this.suppressAggFuncInHeaderTs != null)
-        {
-            fields.add("suppressAggFuncInHeader: boolean = " + (this.suppressAggFuncInHeaderTs ? "true" : "false") + ";");
-        }
+        fields.addAll(generatedTs().fields());
+        // The page now holds the options as they are, so later deltas are taken relative to them
+        getOptions().markRendered();
         return fields;
     }
 
@@ -84,9 +164,91 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     public java.util.List<String> methods()
     {
         var s = super.methods();
+        s.addAll(generatedTs().methods());
+        return s;
+    }
+
+    /**
+     * The TypeScript this class adds to {@link #fields()} and {@link #methods()}, rebuilt only when the grid's id,
+     * its paging strategy or any state the generated code reads has changed since the last render.
+     */
+    private GeneratedTs generatedTs()
+    {
         String id = getID();
+        String gridId = getGridId();
+        boolean keyset = this.serverSideDatasourceUrl != null && isServerSideKeysetPaging();
+        GeneratedTs current = this.generatedTs;
+        if (current == null || current.keyset() != keyset || !Objects.equals(current.id(), id) || !current.gridId().equals(gridId))
+        {
+            current = new GeneratedTs(id, gridId, keyset, List.copyOf(buildFields(keyset)), List.copyOf(buildMethods(id, gridId, keyset)));
+            this.generatedTs = current;
+        }
+        return current;
+    }
+
+    /**
+     * Drop the generated TypeScript so the next render rebuilds it; called by every setter the generated code reads.
+     */
+    private void invalidateGeneratedTs()
+    {
+        this.generatedTs = null;
+    }
+
+    private List<String> buildFields(boolean keyset)
+    {
+        List<String> fields = new ArrayList<>();
+        if (this.suppressAggFuncInHeaderTs != null)
+        {
+            fields.add("suppressAggFuncInHeader: boolean = " + (this.suppressAggFuncInHeaderTs ? "true" : "false") + ";");
+        }
+        if (this.serverSideDatasourceUrl != null)
+        {
+            if (this.serverSideStreamingUrl != null)
+            {
+                fields.add("serverSideDatasource: any = { getRows: (params: any) => this.serverSideStreamRows(params) };");
+            }
+            else if (this.serverSideBatchWindowMillis != null)
+            {
+                fields.add("serverSideDatasource: any = { getRows: (params: any) => this.serverSideQueueRows(params) };");
+                fields.add("serverSideBatchQueue: any[] = [];");
+                fields.add("serverSideBatchTimer: any = null;");
+            }
+            else
+            {
+                fields.add("serverSideDatasource: any = { getRows: (params: any) => this.serverSideGetRows(params) };");
+            }
+            if (keyset)
+            {
+                fields.add("serverSideCursors: any = {};");
+            }
+            fields.add("serverSidePivotColumnsKey: any = null;");
+        }
+        if (this.serverSideTransactionRowIdField != null)
+        {
+            fields.add(TsTemplate.of("serverSideGetRowId: any = (params: any) => String(params.data?.%s ?? params.data?.['%s']);")
+                              .render(ServerSideAggregationTree.GROUP_ID_FIELD, escapeTs(this.serverSideTransactionRowIdField)));
+        }
+        if (!this.serverSetFilterSearchColIds.isEmpty())
+        {
+            List<String> colIds = new ArrayList<>();
+            for (String colId : this.serverSetFilterSearchColIds)
+            {
+                colIds.add("'" + escapeTs(colId) + "'");
+            }
+            fields.add("serverSetFilterSearchColumns: string[] = [" + String.join(", ", colIds) + "];");
+        }
+        if (this.serverSideFindUrl != null)
+        {
+            fields.add("serverSideFindResult: any = null;");
+        }
+        return fields;
+    }
+
+    private List<String> buildMethods(String id, String gridId, boolean keyset)
+    {
+        List<String> s = new ArrayList<>();
         // Always add the helper; it will no-op if API is not present or TS field was not requested
-        s.add(("""
+        s.add(TsTemplate.of("""
                 applySuppressAggFuncInHeader() {
                     try {
                         const api = this.%s?.api;
@@ -96,13 +258,45 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                         console.error('applySuppressAggFuncInHeader failed', e);
                     }
                 }
-                """
-        ).formatted(id, (this.suppressAggFuncInHeaderTs != null)
+                """)
+                .render(id, (this.suppressAggFuncInHeaderTs != null)
                 ? "api.setGridOption('suppressAggFuncInHeader', this.suppressAggFuncInHeader);"
                 : "// no-op"));
 
+        // Apply options changed on the server to the live grid, see takeGridOptionsDelta()
+        s.add(TsTemplate.of("""
+                applyGridOptionsDelta(delta: any) {
+                    try {
+                        const api = this.%s?.api;
+                        if (!api || !delta) { return; }
+                        const options = typeof delta === 'string' ? JSON.parse(delta) : delta;
+                        const keys = Object.keys(options);
+                        if (keys.length === 1) {
+                            api.setGridOption(keys[0], options[keys[0]] ?? undefined);
+                        } else if (keys.length > 1) {
+                            api.updateGridOptions(options);
+                        }
+                    } catch (e) {
+                        console.error('applyGridOptionsDelta failed', e);
+                    }
+                }
+                """).render(id));
+
+        // Apply a column layout configured on the server to the live grid, see takeColumnLayoutDelta()
+        s.add(TsTemplate.of("""
+                applyColumnLayout(columnState: any) {
+                    try {
+                        const api = this.%s?.api;
+                        if (!api || !columnState) { return; }
+                        api.applyColumnState(typeof columnState === 'string' ? JSON.parse(columnState) : columnState);
+                    } catch (e) {
+                        console.error('applyColumnLayout failed', e);
+                    }
+                }
+                """).render(id));
+
         // Generate cross filter charts initializer
-        s.add(("""
+        s.add(TsTemplate.of("""
                 initCrossFilterCharts() {
                     try {
                         const api = this.%s?.api;
@@ -113,10 +307,10 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                     }
                 }
                 """)
-                .formatted(id, crossFilterChartsQueue.isEmpty() ? "// none queued" : String.join("\n", crossFilterChartsQueue.stream().map(p -> "api.createCrossFilterChart(" + p + ");").toList())));
+                .render(id, crossFilterChartsQueue.isEmpty() ? "// none queued" : String.join("\n", crossFilterChartsQueue.stream().map(p -> "api.createCrossFilterChart(" + p + ");").toList())));
 
         // Generate range charts initializer
-        s.add(("""
+        s.add(TsTemplate.of("""
                 initRangeCharts() {
                     try {
                         const api = this.%s?.api;
@@ -127,10 +321,10 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                     }
                 }
                 """)
-                .formatted(id, rangeChartsQueue.isEmpty() ? "// none queued" : String.join("\n", rangeChartsQueue.stream().map(p -> "api.createRangeChart(" + p + ");").toList())));
+                .render(id, rangeChartsQueue.isEmpty() ? "// none queued" : String.join("\n", rangeChartsQueue.stream().map(p -> "api.createRangeChart(" + p + ");").toList())));
 
         // Add Chart Tool Panel open/close helpers for programmatic control
-        s.add( ("""
+        s.add(TsTemplate.of("""
                 openChartToolPanel(chartId?: string, panel?: 'settings' | 'data' | 'format') {
                     try {
                         const api = this.%s?.api;
@@ -149,12 +343,276 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                         console.error('closeChartToolPanel failed', e);
                     }
                 }
-                """ ).formatted(id, id) );
+                """).render(id, id));
 
         if (this.fullContextMenuMethodBody != null)
         {
             s.add(this.fullContextMenuMethodBody);
         }
+
+        // Route SSRM getRows to the Java datasource registered for this grid
+        if (this.serverSideDatasourceUrl != null)
+        {
+            String url = escapeTs(this.serverSideDatasourceUrl);
+            s.add(TsTemplate.of("""
+                    serverSideGetRows(params: any) {
+                        fetch('%s', {
+                            method: 'POST',
+                            headers: { 'Content-Type': 'application/json' },
+                            body: JSON.stringify({ gridId: '%s', request: this.serverSideRequest(params.request) })
+                        })
+                            .then(response => {
+                                if (!response.ok) { throw new Error('HTTP ' + response.status); }
+                                return response.json();
+                            })
+                            .then(result => this.serverSideApplyRows(params, result))
+                            .catch(e => {
+                                console.error('serverSideGetRows failed', e);
+                                params.fail();
+                            });
+                    }
+                    serverSideApplyRows(params: any, result: any) {
+                        if (!result || result.failed) {
+                            console.error('serverSideGetRows failed', result?.errorMessage);
+                            params.fail();
+                            return;
+                        }
+                        this.serverSideRememberCursor(params.request, result.cursor);
+                        const pivotColumns = result.pivotResultColumns;
+                        if (pivotColumns && pivotColumns.key !== this.serverSidePivotColumnsKey) {
+                            this.%s?.api?.setPivotResultColumns(pivotColumns.columnDefs);
+                            this.serverSidePivotColumnsKey = pivotColumns.key;
+                        }
+                        params.success({ rowData: result.rowData ?? [], rowCount: result.rowCount, pivotResultFields: result.pivotResultFields });
+                    }
+                    """).render(url, escapeTs(gridId), id));
+            if (keyset)
+            {
+                // Cursors are keyed by group path and the row they continue from; the server ignores stale ones
+                s.add("""
+                        serverSideRequest(request: any) {
+                            const cursor = this.serverSideCursors[JSON.stringify(request.groupKeys ?? []) + '@' + request.startRow];
+                            return cursor ? { ...request, cursor: cursor } : request;
+                        }
+                        serverSideRememberCursor(request: any, cursor?: string) {
+                            if (!cursor) { return; }
+                            if (Object.keys(this.serverSideCursors).length >= 1000) { this.serverSideCursors = {}; }
+                            this.serverSideCursors[JSON.stringify(request.groupKeys ?? []) + '@' + request.endRow] = cursor;
+                        }
+                        """);
+            }
+            else
+            {
+                s.add("""
+                        serverSideRequest(request: any) {
+                            return request;
+                        }
+                        serverSideRememberCursor(request: any, cursor?: string) {
+                        }
+                        """);
+            }
+            if (this.serverSideBatchWindowMillis != null)
+            {
+                s.add(TsTemplate.of("""
+                        serverSideQueueRows(params: any) {
+                            this.serverSideBatchQueue.push(params);
+                            if (this.serverSideBatchTimer == null) {
+                                this.serverSideBatchTimer = setTimeout(() => this.serverSideFlushRows(), %d);
+                            }
+                        }
+                        serverSideFlushRows() {
+                            const batch = this.serverSideBatchQueue;
+                            this.serverSideBatchQueue = [];
+                            this.serverSideBatchTimer = null;
+                            if (batch.length === 0) { return; }
+                            if (batch.length === 1) { this.serverSideGetRows(batch[0]); return; }
+                            fetch('%s', {
+                                method: 'POST',
+                                headers: { 'Content-Type': 'application/json' },
+                                body: JSON.stringify({ gridId: '%s', requests: batch.map((p: any) => this.serverSideRequest(p.request)) })
+                            })
+                                .then(response => {
+                                    if (!response.ok) { throw new Error('HTTP ' + response.status); }
+                                    return response.json();
+                                })
+                                .then(result => {
+                                    if (!result || result.failed || !Array.isArray(result.results)) {
+                                        console.error('serverSideGetRows batch failed', result?.errorMessage);
+                                        batch.forEach((p: any) => p.fail());
+                                        return;
+                                    }
+                                    batch.forEach((p: any, i: number) => this.serverSideApplyRows(p, result.results[i]));
+                                })
+                                .catch(e => {
+                                    console.error('serverSideGetRows batch failed', e);
+                                    batch.forEach((p: any) => p.fail());
+                                });
+                        }
+                        """).render(this.serverSideBatchWindowMillis, url, escapeTs(gridId)));
+            }
+            if (this.serverSideStreamingUrl != null)
+            {
+                // AG Grid accepts one success() per getRows call, so lines are parsed as they arrive and the
+                // block is handed over once the trailer line is read
+                s.add(TsTemplate.of("""
+                        serverSideStreamRows(params: any) {
+                            fetch('%s', {
+                                method: 'POST',
+                                headers: { 'Content-Type': 'application/json' },
+                                body: JSON.stringify({ gridId: '%s', request: this.serverSideRequest(params.request) })
+                            })
+                                .then(async response => {
+                                    if (!response.ok || !response.body) { throw new Error('HTTP ' + response.status); }
+                                    const reader = response.body.getReader();
+                                    const decoder = new TextDecoder();
+                                    const rowData: any[] = [];
+                                    let trailer: any = null;
+                                    let buffer = '';
+                                    const consume = (line: string) => {
+                                        if (!line.trim()) { return; }
+                                        const item = JSON.parse(line);
+                                        if (item.row !== undefined) { rowData.push(item.row); } else { trailer = item; }
+                                    };
+                                    while (true) {
+                                        const { done, value } = await reader.read();
+                                        if (done) { break; }
+                                        buffer += decoder.decode(value, { stream: true });
+                                        let newline = buffer.indexOf('\\n');
+                                        while (newline >= 0) {
+                                            consume(buffer.substring(0, newline));
+                                            buffer = buffer.substring(newline + 1);
+                                            newline = buffer.indexOf('\\n');
+                                        }
+                                    }
+                                    consume(buffer + decoder.decode());
+                                    if (!trailer || trailer.failed || !trailer.done) {
+                                        console.error('serverSideStreamRows failed', trailer?.errorMessage);
+                                        params.fail();
+                                        return;
+                                    }
+                                    this.serverSideApplyRows(params, {
+                                        rowData: rowData,
+                                        rowCount: trailer.rowCount,
+                                        pivotResultFields: trailer.pivotResultFields,
+                                        pivotResultColumns: trailer.pivotResultColumns,
+                                        cursor: trailer.cursor
+                                    });
+                                })
+                                .catch(e => {
+                                    console.error('serverSideStreamRows failed', e);
+                                    params.fail();
+                                });
+                        }
+                        """).render(escapeTs(this.serverSideStreamingUrl), escapeTs(gridId)));
+            }
+        }
+        if (this.serverSideTransactionRowIdField != null)
+        {
+            s.add(TsTemplate.of("""
+                    applyServerSideTransactions(transactions: any[]) {
+                        try {
+                            const api = this.%s?.api;
+                            if (!api || !transactions) { return; }
+                            for (const transaction of transactions) {
+                                api.applyServerSideTransactionAsync(transaction);
+                            }
+                        } catch (e) {
+                            console.error('applyServerSideTransactions failed', e);
+                        }
+                    }
+                    """).render(id));
+        }
+        if (!this.serverSetFilterSearchColIds.isEmpty())
+        {
+            s.add("""
+                    onServerSetFilterOpened(event: any) {
+                        try {
+                            const colId = event?.column?.getColId?.();
+                            if (!colId || !this.serverSetFilterSearchColumns.includes(colId)) { return; }
+                            const input = event.eGui?.querySelector?.('.ag-mini-filter input');
+                            if (!input || input.dataset.serverSearch) { return; }
+                            input.dataset.serverSearch = 'true';
+                            let timer: any = null;
+                            input.addEventListener('input', () => {
+                                clearTimeout(timer);
+                                timer = setTimeout(() => {
+                                    Promise.resolve(event.api?.getColumnFilterInstance?.(colId))
+                                        .then((filter: any) => filter?.refreshFilterValues?.())
+                                        .catch((e: any) => console.error('serverSetFilterSearch failed', e));
+                                }, 150);
+                            });
+                        } catch (e) {
+                            console.error('onServerSetFilterOpened failed', e);
+                        }
+                    }
+                    """);
+        }
+        if (this.serverSetFilterTreeUrl != null)
+        {
+            s.add(TsTemplate.of("""
+                    serverSetFilterTreeChildren(colId: string, parentPath: string[] = []): Promise<any[]> {
+                        const api = this.%s?.api;
+                        return fetch('%s', {
+                            method: 'POST',
+                            headers: { 'Content-Type': 'application/json' },
+                            body: JSON.stringify({ gridId: '%s', colId, filterModel: api?.getFilterModel() ?? {}, parentPath })
+                        })
+                            .then(response => { if (!response.ok) { throw new Error('HTTP ' + response.status); } return response.json(); })
+                            .then(result => {
+                                if (result.failed) { console.error('serverSetFilterTreeChildren failed', result.errorMessage); return []; }
+                                return result.nodes ?? [];
+                            })
+                            .catch(e => { console.error('serverSetFilterTreeChildren failed', e); return []; });
+                    }
+                    """).render(id, escapeTs(this.serverSetFilterTreeUrl), escapeTs(gridId)));
+        }
+        if (this.serverSideFindUrl != null)
+        {
+            s.add(TsTemplate.of("""
+                    serverSideFind(text: string): Promise<any> {
+                        const api = this.%s?.api;
+                        const sortModel = (api?.getColumnState() ?? [])
+                            .filter((c: any) => c.sort)
+                            .sort((a: any, b: any) => (a.sortIndex ?? 0) - (b.sortIndex ?? 0))
+                            .map((c: any) => ({ colId: c.colId, sort: c.sort }));
+                        return fetch('%s', {
+                            method: 'POST',
+                            headers: { 'Content-Type': 'application/json' },
+                            body: JSON.stringify({
+                                gridId: '%s',
+                                text,
+                                caseSensitive: api?.getGridOption?.('findOptions')?.caseSensitive === true,
+                                filterModel: api?.getFilterModel() ?? {},
+                                sortModel
+                            })
+                        })
+                            .then(response => { if (!response.ok) { throw new Error('HTTP ' + response.status); } return response.json(); })
+                            .then(result => {
+                                if (result.failed) { console.error('serverSideFind failed', result.errorMessage); result = { totalMatches: 0, rows: [] }; }
+                                this.serverSideFindResult = result;
+                                return result;
+                            })
+                            .catch(e => { console.error('serverSideFind failed', e); return { totalMatches: 0, rows: [] }; });
+                    }
+
+                    serverSideFindGoTo(match: number): any {
+                        try {
+                            const api = this.%s?.api;
+                            let seen = 0;
+                            for (const row of this.serverSideFindResult?.rows ?? []) {
+                                seen += row.matches;
+                                if (match <= seen) {
+                                    api?.ensureIndexVisible(row.rowIndex, 'middle');
+                                    return row;
+                                }
+                            }
+                        } catch (e) {
+                            console.error('serverSideFindGoTo failed', e);
+                        }
+                        return null;
+                    }
+                    """).render(id, escapeTs(this.serverSideFindUrl), escapeTs(gridId), id));
+        }
         return s;
     }
 
@@ -218,6 +676,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     public J showRowGroupPanel()
     {
         ((AgGridEnterpriseOptions<?>) getOptions()).configureRowGrouping().setRowGroupPanelShow("always");
+        this.gridOptionChanges.put("rowGroupPanelShow", "always");
         addAttribute("rowGroupPanelShow", "always");
         return (J) this;
     }
@@ -231,6 +690,235 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         return (J) this;
     }
 
+    /**
+     * Serve this grid's Server-Side Row Model from a Java datasource.
+     * <p>
+     * Registers the datasource in {@link ServerSideDatasourceRegistry} under this grid's id, switches the grid to the
+     * server-side row model and binds a generated TypeScript datasource that posts each getRows request to
+     * {@code endpointUrl}. The application's endpoint should pass the request body to
+     * {@link ServerSideDatasourceRegistry#handle(byte[])} and return the result as JSON.
+     *
+     * @param endpointUrl URL the browser posts getRows requests to
+     * @param datasource  datasource answering requests for this grid
+     * @return this
+     */
+    public J setServerSideDatasource(String endpointUrl, IServerSideDatasource<?> datasource)
+    {
+        if (endpointUrl == null || endpointUrl.isBlank() || datasource == null)
+        {
+            return (J) this;
+        }
+        ServerSideDatasourceRegistry.getInstance().register(getGridId(), datasource);
+        this.serverSideDatasourceUrl = endpointUrl;
+        invalidateGeneratedTs();
+        useServerSideRowModel();
+        addAttribute("[serverSideDatasource]", "serverSideDatasource");
+        return (J) this;
+    }
+
+    /**
+     * Serve a column's Set Filter values from the server: registers the provider for this grid with
+     * {@link SetFilterValuesRegistry} and returns filter params whose {@code values} callback loads them from the
+     * endpoint when the filter opens, so the values are not written into the page. Combine with
+     * {@code setRefreshValuesOnOpen(true)} to reload them under the current filter model. Attach the returned params
+     * to the column's {@code filterParams}.
+     *
+     * @param endpointUrl endpoint passing posted bodies to {@link SetFilterValuesRegistry#handle(byte[])}
+     * @param colId       column identifier
+     * @param provider    supplies the column's distinct values
+     * @return set filter params loading their values from the endpoint
+     */
+    public SetFilterParams serverSetFilterParams(String endpointUrl, String colId, ISetFilterValuesProvider provider)
+    {
+        SetFilterValuesRegistry.getInstance().register(getGridId(), colId, provider);
+        return new SetFilterParams().setValuesFromServer(endpointUrl, getGridId(), colId);
+    }
+
+    /**
+     * Serve a column's Set Filter values from the server and search them there as the user types in the mini filter:
+     * each keystroke (debounced) refreshes the filter values, and the server answers with the top {@code searchLimit}
+     * values matching the mini filter text from its cached {@link com.jwebmp.plugins.aggridenterprise.serverside.setfilter.SetFilterValueIndex},
+     * values starting with the text first. The browser never holds more than {@code searchLimit} values, so very wide
+     * columns stay responsive. Set {@code caseSensitive} on the returned params to match case.
+     *
+     * @param endpointUrl endpoint passing posted bodies to {@link SetFilterValuesRegistry#handle(byte[])}
+     * @param colId       column identifier
+     * @param provider    supplies the column's distinct values
+     * @param searchLimit most values listed at a time
+     * @return set filter params searching their values on the endpoint
+     */
+    public SetFilterParams serverSetFilterSearchParams(String endpointUrl, String colId, ISetFilterValuesProvider provider, int searchLimit)
+    {
+        if (searchLimit <= 0)
+        {
+            throw new IllegalArgumentException("searchLimit must be positive");
+        }
+        SetFilterValuesRegistry.getInstance().register(getGridId(), colId, provider);
+        this.serverSetFilterSearchColIds.add(colId);
+        invalidateGeneratedTs();
+        addAttribute("(filterOpened)", "onServerSetFilterOpened($event)");
+        return new SetFilterParams().setValuesFromServer(endpointUrl, getGridId(), colId, searchLimit);
+    }
+
+    /**
+     * Serve a tree list column's Set Filter nodes from the server: the values are arranged once by {@code pathGetter}
+     * (for example {@link ISetFilterTreePathGetter#isoDate()} for year, month and day), cached with the column's value
+     * list, and generates {@code serverSetFilterTreeChildren(colId, parentPath)}, which resolves to the children of
+     * one node so a filter component loads only the nodes the user expands.
+     *
+     * @param endpointUrl endpoint passing posted bodies to {@link SetFilterValuesRegistry#handle(byte[])}
+     * @param colId       column identifier
+     * @param provider    supplies the column's distinct values
+     * @param pathGetter  splits each value into its tree path
+     * @return this
+     */
+    public J serverSetFilterTree(String endpointUrl, String colId, ISetFilterValuesProvider provider, ISetFilterTreePathGetter pathGetter)
+    {
+        SetFilterValuesRegistry.getInstance().register(getGridId(), colId, provider, pathGetter);
+        this.serverSetFilterTreeUrl = endpointUrl;
+        invalidateGeneratedTs();
+        return (J) this;
+    }
+
+    /**
+     * Search this grid's rows on the server instead of only the loaded blocks: registers the index with
+     * {@link ServerSideFindRegistry} and generates {@code serverSideFind(text)}, which posts the text with the grid's
+     * filter and sort models and resolves to the match count and matching row ids in display order, and
+     * {@code serverSideFindGoTo(match)}, which scrolls to the row holding the n-th match so only that block loads.
+     * Keep the index in step with the data through its {@code add}/{@code update}/{@code remove} methods or the
+     * grid's SSRM transactions.
+     *
+     * @param endpointUrl endpoint passing posted bodies to {@link ServerSideFindRegistry#handle(byte[])}
+     * @param index       the index over this grid's rows
+     * @return this
+     */
+    public J enableServerSideFind(String endpointUrl, ServerSideFindIndex index)
+    {
+        ServerSideFindRegistry.getInstance().register(getGridId(), index);
+        this.serverSideFindUrl = endpointUrl;
+        invalidateGeneratedTs();
+        return (J) this;
+    }
+
+    /**
+     * Batch the SSRM block requests of this grid: requests raised within {@code windowMillis} of each other (for
+     * example while the scrollbar is dragged) are posted together and answered by
+     * {@link ServerSideDatasourceRegistry#getRowsBatchAsJson}, which merges contiguous blocks into one datasource
+     * call. Raise {@code maxConcurrentDatasourceRequests} so the grid releases several blocks at once.
+     *
+     * @param windowMillis batching window in milliseconds, or null to post each block on its own
+     * @return this
+     */
+    public J setServerSideBatchWindow(Integer windowMillis)
+    {
+        this.serverSideBatchWindowMillis = windowMillis == null || windowMillis < 0 ? null : windowMillis;
+        invalidateGeneratedTs();
+        return (J) this;
+    }
+
+    /**
+     * Stream this grid's SSRM blocks as newline-delimited JSON instead of one JSON document per block.
+     * The application's endpoint at {@code streamingEndpointUrl} should pass the request body to
+     * {@link ServerSideDatasourceRegistry#handleStreaming(byte[], java.io.OutputStream)} with the response stream and
+     * content type {@code application/x-ndjson}. Requires a datasource set with
+     * {@link #setServerSideDatasource(String, IServerSideDatasource)}; takes precedence over batching.
+     *
+     * @param streamingEndpointUrl URL the browser posts streamed getRows requests to, or null to stop streaming
+     * @return this
+     */
+    public J enableServerSideStreaming(String streamingEndpointUrl)
+    {
+        this.serverSideStreamingUrl = streamingEndpointUrl == null || streamingEndpointUrl.isBlank() ? null : streamingEndpointUrl;
+        invalidateGeneratedTs();
+        return (J) this;
+    }
+
+    /**
+     * Page this grid's SSRM blocks with keyset (seek) pagination: each block returned by the Java datasource carries
+     * a cursor that the grid sends back with the request for the following block. Datasources that support it (such
+     * as a {@code ServerSideSqlDatasource} whose mapping declares a key column) then seek instead of skipping rows.
+     *
+     * @return this
+     */
+    public J useServerSideKeysetPaging()
+    {
+        getOptions().serverSideRowModelOptions().setPaginationStrategy(ServerSidePaginationStrategy.KEYSET);
+        return (J) this;
+    }
+
+    private boolean isServerSideKeysetPaging()
+    {
+        return getOptions().serverSideRowModelOptions().getPaginationStrategy() == ServerSidePaginationStrategy.KEYSET;
+    }
+
+    /**
+     * Prepare this grid for SSRM transactions such as those produced by a {@link ServerSideAggregationTree}: binds a
+     * generated {@code getRowId} that identifies group rows by {@link ServerSideAggregationTree#GROUP_ID_FIELD} and
+     * leaf rows by {@code rowIdField}, and generates {@code applyServerSideTransactions(transactions)}, which applies
+     * a serialised transaction list with {@code applyServerSideTransactionAsync}.
+     *
+     * @param rowIdField field holding each leaf row's unique id, or null to disable
+     * @return this
+     */
+    public J enableServerSideTransactions(String rowIdField)
+    {
+        this.serverSideTransactionRowIdField = rowIdField == null || rowIdField.isBlank() ? null : rowIdField;
+        invalidateGeneratedTs();
+        if (this.serverSideTransactionRowIdField != null)
+        {
+            addAttribute("[getRowId]", "serverSideGetRowId");
+        }
+        return (J) this;
+    }
+
+    /**
+     * Cache this grid's SSRM blocks on the server, shared by every user of the grid.
+     * The cache is sized from this grid's server-side row model options ({@code maxBlocksInCache}).
+     *
+     * @return this
+     */
+    public J enableServerSideBlockCache()
+    {
+        return enableServerSideBlockCache(ServerSideBlockCache.forOptions(getOptions().serverSideRowModelOptions()));
+    }
+
+    /**
+     * Cache this grid's SSRM blocks on the server in the given cache, which may be shared with other grids.
+     *
+     * @param cache block cache to use, or null to disable caching
+     * @return this
+     */
+    public J enableServerSideBlockCache(ServerSideBlockCache cache)
+    {
+        ServerSideDatasourceRegistry.getInstance().setBlockCache(getGridId(), cache);
+        return (J) this;
+    }
+
+    /**
+     * Coalesce identical concurrent SSRM block loads of this grid on the server, so simultaneous requests from
+     * many users (or from {@code maxConcurrentDatasourceRequests} > 1) run the datasource once.
+     * Only use this when the datasource's rows do not depend on the calling user.
+     *
+     * @return this
+     */
+    public J enableServerSideRequestCoalescing()
+    {
+        return enableServerSideRequestCoalescing(new ServerSideSingleFlight());
+    }
+
+    /**
+     * Coalesce identical concurrent SSRM block loads of this grid in the given single-flight group, which may be
+     * shared with other grids and exposes the coalescing metrics.
+     *
+     * @param singleFlight single-flight group to use, or null to disable coalescing
+     * @return this
+     */
+    public J enableServerSideRequestCoalescing(ServerSideSingleFlight singleFlight)
+    {
+        ServerSideDatasourceRegistry.getInstance().setSingleFlight(getGridId(), singleFlight);
+        return (J) this;
+    }
+
     /**
      * AG Grid v34.2.0: Suppress infinite scrolling in server-side row model (enabled by default).
      * Use this if you need the v33 behavior where infinite scrolling could be disabled.
@@ -257,6 +945,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     public J allowUnbalancedGroups(Boolean allow)
     {
         ((AgGridEnterpriseOptions<?>) getOptions()).configureRowGrouping().setGroupAllowUnbalanced(allow);
+        this.gridOptionChanges.put("groupAllowUnbalanced", allow);
         if (allow != null)
         {
             addAttribute("[groupAllowUnbalanced]", allow ? "true" : "false");
@@ -300,6 +989,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         if (paramsTsLiteral != null && !paramsTsLiteral.isBlank())
         {
             crossFilterChartsQueue.add(paramsTsLiteral);
+            invalidateGeneratedTs();
         }
         return (J) this;
     }
@@ -314,6 +1004,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         if (paramsTsLiteral != null && !paramsTsLiteral.isBlank())
         {
             rangeChartsQueue.add(paramsTsLiteral);
+            invalidateGeneratedTs();
         }
         return (J) this;
     }
@@ -342,6 +1033,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
             if (literal != null && !literal.isBlank())
             {
                 crossFilterChartsQueue.add(literal);
+                invalidateGeneratedTs();
             }
         }
         return (J) this;
@@ -358,6 +1050,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
             if (literal != null && !literal.isBlank())
             {
                 rangeChartsQueue.add(literal);
+                invalidateGeneratedTs();
             }
         }
         return (J) this;
@@ -490,16 +1183,156 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         {
             for (AgGridColumnDef<?> c : getOptions().getColumnDefs())
             {
-                AgGridEnterpriseColumnDef<?> ent = (c instanceof AgGridEnterpriseColumnDef)
-                        ? (AgGridEnterpriseColumnDef<?>) c
-                        : AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(c);
-                ent.setPivot(null);
-                ent.setEnablePivot(null);
-                ent.setEnableRowGroup(null);
-                ent.setEnableValue(null);
-                ent.setAggFunc((String) null);
+                // Community definitions carry no enterprise flags, so converting them would only clear a copy
+                c.setPivot(null);
+                c.setEnablePivot(null);
+                c.setAggFunc((String) null);
+                if (c instanceof AgGridEnterpriseColumnDef<?> ent)
+                {
+                    ent.setEnableRowGroup(null);
+                    ent.setEnableValue(null);
+                    ent.setPivotIndex(null);
+                }
             }
         }
+        Map<String, Object> defaultState = new LinkedHashMap<>();
+        defaultState.put("pivot", false);
+        defaultState.put("aggFunc", null);
+        this.columnLayoutChange = Map.of("defaultState", defaultState);
+        return (J) this;
+    }
+
+    /**
+     * Apply a whole row group, pivot and value layout in one pass over the columns, instead of one
+     * {@link #addRowGroup(String)}, {@link #addPivot(String)} or {@link #addValueColumn(String, String)} call per
+     * column. Columns the layout names become Enterprise definitions in place; every other column is ungrouped,
+     * unpivoted and no longer aggregated, without conversion. Pivot columns carry the layout's pivot order as their
+     * {@code pivotIndex}, so the column order is left as it is. A grid already on the page picks the layout up from
+     * {@link #takeColumnLayoutDelta()}.
+     *
+     * @param layout the complete layout
+     * @return this
+     */
+    public J configureLayout(ColumnLayout layout)
+    {
+        if (layout == null)
+        {
+            throw new IllegalArgumentException("layout must not be null");
+        }
+        List<AgGridColumnDef<?>> defs = getOptions().getColumnDefs();
+        if (defs != null)
+        {
+            for (ListIterator<AgGridColumnDef<?>> it = defs.listIterator(); it.hasNext(); )
+            {
+                AgGridColumnDef<?> c = it.next();
+                if (c == null || c.getField() == null)
+                {
+                    continue;
+                }
+                String field = c.getField();
+                if (!layout.contains(field))
+                {
+                    c.setRowGroup(null);
+                    c.setRowGroupIndex(null);
+                    c.setPivot(null);
+                    c.setAggFunc((String) null);
+                    if (c instanceof AgGridEnterpriseColumnDef<?> enterprise)
+                    {
+                        enterprise.setPivotIndex(null);
+                    }
+                    continue;
+                }
+                AgGridEnterpriseColumnDef<?> ent;
+                if (c instanceof AgGridEnterpriseColumnDef<?> enterprise)
+                {
+                    ent = enterprise;
+                }
+                else
+                {
+                    // Same field, so the column index stays valid
+                    ent = AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(c);
+                    it.set((AgGridColumnDef<?>) ent);
+                }
+                Integer rowGroupIndex = layout.getRowGroupIndex(field);
+                ent.setRowGroup(rowGroupIndex == null ? null : true);
+                ent.setRowGroupIndex(rowGroupIndex);
+                Integer pivotIndex = layout.getPivotIndex(field);
+                boolean pivot = pivotIndex != null;
+                ent.setPivot(pivot ? true : null);
+                ent.setPivotIndex(pivotIndex);
+                String aggFunc = layout.getAggFunc(field);
+                ent.setAggFunc(aggFunc);
+                if (rowGroupIndex != null)
+                {
+                    ent.setEnableRowGroup(true);
+                }
+                if (pivot)
+                {
+                    ent.setEnablePivot(true);
+                }
+                if (aggFunc != null)
+                {
+                    ent.setEnableValue(true);
+                }
+            }
+        }
+        this.columnLayoutChange = layout.toColumnState();
+        return (J) this;
+    }
+
+    /**
+     * Take the column layout configured by {@link #configureLayout(ColumnLayout)} or {@link #clearPivot()} since the
+     * last call, for a grid that is already on the page. Send the JSON to the generated
+     * {@code applyColumnLayout(columnState)}, which applies it with a single {@code api.applyColumnState}.
+     *
+     * @return the column state as a JSON object, or null when no layout was configured
+     */
+    public String takeColumnLayoutDelta()
+    {
+        Map<String, Object> change = this.columnLayoutChange;
+        this.columnLayoutChange = null;
+        if (change == null)
+        {
+            return null;
+        }
+        try
+        {
+            return DELTA_MAPPER.writeValueAsString(change);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Cannot render the column layout delta", e);
+        }
+    }
+
+    /**
+     * Create an Enterprise column definition for the field and add it to the grid, so enterprise helpers such as
+     * {@link #addRowGroup(String)} configure it directly instead of converting a community definition.
+     *
+     * @param field the row data field the column shows
+     * @return the new column definition, for further configuration
+     */
+    public AgGridEnterpriseColumnDef<?> addEnterpriseColumn(String field)
+    {
+        if (field == null || field.isBlank())
+        {
+            throw new IllegalArgumentException("field must not be blank");
+        }
+        AgGridEnterpriseColumnDef<?> col = new AgGridEnterpriseColumnDef<>(field);
+        addColumn(col);
+        return col;
+    }
+
+    /**
+     * Convert every community column definition of the grid to an Enterprise one in a single pass. Call once after
+     * adding community columns that many enterprise helpers will configure; definitions already Enterprise are kept.
+     *
+     * @return this
+     */
+    public J upgradeColumnDefs()
+    {
+        List defs = getOptions().getColumnDefs();
+        AgGridColDefEnterpriseMapper.INSTANCE.upgradeColumnDefs(defs);
         return (J) this;
     }
 
@@ -508,23 +1341,66 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
      */
     private AgGridEnterpriseColumnDef<?> ensureEnterpriseColDef(String field)
     {
-        if (getOptions().getColumnDefs() == null) return null;
         List<AgGridColumnDef<?>> defs = getOptions().getColumnDefs();
+        if (defs == null) return null;
+        int i = columnIndexOf(defs, field);
+        if (i < 0)
+        {
+            return null;
+        }
+        AgGridColumnDef<?> c = defs.get(i);
+        if (c instanceof AgGridEnterpriseColumnDef)
+        {
+            return (AgGridEnterpriseColumnDef<?>) c;
+        }
+        AgGridEnterpriseColumnDef<?> ent = AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(c);
+        defs.set(i, (AgGridColumnDef<?>) ent);
+        return ent;
+    }
+
+    /**
+     * Position of the first column definition with the field, from an index kept across calls. Replacing an entry
+     * keeps the index valid; after any other change to the list the entry found no longer matches, or the field is
+     * missing, and the index is rebuilt once. A field no column has costs one scan, as without the index.
+     *
+     * @return the position, or -1 when no column has the field
+     */
+    private int columnIndexOf(List<AgGridColumnDef<?>> defs, String field)
+    {
+        boolean fresh = false;
+        if (this.columnIndex == null || this.indexedColumnDefs != defs)
+        {
+            indexColumns(defs);
+            fresh = true;
+        }
+        Integer i = this.columnIndex.get(field);
+        if (i != null && i < defs.size() && field.equals(defs.get(i)
+                                                            .getField()))
+        {
+            return i;
+        }
+        if (fresh)
+        {
+            return -1;
+        }
+        indexColumns(defs);
+        i = this.columnIndex.get(field);
+        return i == null ? -1 : i;
+    }
+
+    private void indexColumns(List<AgGridColumnDef<?>> defs)
+    {
+        Map<String, Integer> index = new HashMap<>(Math.max(16, defs.size() * 2));
         for (int i = 0; i < defs.size(); i++)
         {
             AgGridColumnDef<?> c = defs.get(i);
-            if (field.equals(c.getField()))
+            if (c != null && c.getField() != null)
             {
-                if (c instanceof AgGridEnterpriseColumnDef)
-                {
-                    return (AgGridEnterpriseColumnDef<?>) c;
-                }
-                AgGridEnterpriseColumnDef<?> ent = AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(c);
-                defs.set(i, (AgGridColumnDef<?>) ent);
-                return ent;
+                index.putIfAbsent(c.getField(), i);
             }
         }
-        return null;
+        this.columnIndex = index;
+        this.indexedColumnDefs = defs;
     }
 
     /**
@@ -641,6 +1517,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                 }
                 """
         ).formatted(this.fullContextMenuMethodName);
+        invalidateGeneratedTs();
         addAttribute("[getContextMenuItems]", this.fullContextMenuMethodName);
         return (J) this;
     }
@@ -690,6 +1567,7 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
                 }
                 """
         ).formatted(this.fullContextMenuMethodName);
+        invalidateGeneratedTs();
         addAttribute("[getContextMenuItems]", this.fullContextMenuMethodName);
         return (J) this;
     }
@@ -705,6 +1583,8 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
     {
         ((AgGridEnterpriseOptions<?>) getOptions()).configureRowGrouping().setSuppressAggFuncInHeader(value);
         this.suppressAggFuncInHeaderTs = value;
+        invalidateGeneratedTs();
+        this.gridOptionChanges.put("suppressAggFuncInHeader", value);
         String attrKey = "[suppressAggFuncInHeader]";
         if (value == null)
         {
@@ -718,6 +1598,35 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         return (J) this;
     }
 
+    /**
+     * Take the grid options changed since the grid was rendered or the last delta was taken, for a grid that is
+     * already on the page. Send the JSON over the page's AJAX or websocket response to the generated
+     * {@code applyGridOptionsDelta(delta)}, which applies it with {@code api.setGridOption} or
+     * {@code api.updateGridOptions}, so toggling e.g. pivot mode or the row group panel needs no re-render.
+     * Covers the enterprise option modules and the community options set through this class's helpers; a null
+     * value resets an option.
+     *
+     * @return the changed options as a JSON object, or null when nothing changed
+     */
+    public String takeGridOptionsDelta()
+    {
+        Map<String, Object> delta = new LinkedHashMap<>(this.gridOptionChanges);
+        delta.putAll(getOptions().takeModuleChanges());
+        this.gridOptionChanges.clear();
+        if (delta.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            return DELTA_MAPPER.writeValueAsString(delta);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Cannot render the grid options delta", e);
+        }
+    }
+
     // ===== Chart Linking & Integration =====
 
     /**
@@ -809,6 +1718,11 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         return ChartRegistry.getInstance();
     }
 
+    private static String escapeTs(String value)
+    {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
     /**
      * Get a unique identifier for this grid instance.
      * Used for chart linking and cross-filtering coordination.
@@ -821,4 +1735,15 @@ public abstract class AgGridEnterprise<J extends AgGridEnterprise<J>> extends Ag
         String id = (String) getAttribute("id");
         return id != null && !id.isEmpty() ? id : "aggrid-" + System.identityHashCode(this);
     }
+
+    /**
+     * @param id      component id the generated code was rendered for
+     * @param gridId  grid id the generated code posts to the server
+     * @param keyset  whether the SSRM datasource was rendered for keyset paging
+     * @param fields  generated field declarations
+     * @param methods generated method bodies
+     */
+    private record GeneratedTs(String id, String gridId, boolean keyset, List<String> fields, List<String> methods)
+    {
+    }
 }
@@ -0,0 +1,100 @@
+package com.jwebmp.plugins.aggridenterprise;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A TypeScript template split once into its literal segments, so rendering only concatenates.
+ * <p>
+ * Templates use the {@link String#formatted} placeholders the generated code needs: {@code %s} and {@code %d} are
+ * replaced by {@link String#valueOf} of the next argument and {@code %%} is a literal percent sign. Compiled
+ * templates are shared by every grid, keyed by the template text, which is always a class constant.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+final class TsTemplate
+{
+    private static final Map<String, TsTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final String[] segments;
+    private final int literalLength;
+
+    private TsTemplate(String template)
+    {
+        List<String> parts = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < template.length(); i++)
+        {
+            char c = template.charAt(i);
+            if (c != '%')
+            {
+                segment.append(c);
+                continue;
+            }
+            char next = i + 1 < template.length() ? template.charAt(i + 1) : 0;
+            if (next == '%')
+            {
+                segment.append('%');
+            }
+            else if (next == 's' || next == 'd')
+            {
+                parts.add(segment.toString());
+                segment.setLength(0);
+            }
+            else
+            {
+                throw new IllegalArgumentException("Unsupported placeholder at " + i + " in TypeScript template");
+            }
+            i++;
+        }
+        parts.add(segment.toString());
+        this.segments = parts.toArray(String[]::new);
+        int length = 0;
+        for (String part : this.segments)
+        {
+            length += part.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param template the template text
+     * @return the compiled template, shared by every caller passing the same text
+     */
+    static TsTemplate of(String template)
+    {
+        return TEMPLATES.computeIfAbsent(template, TsTemplate::new);
+    }
+
+    /**
+     * @return number of placeholders
+     */
+    int arity()
+    {
+        return segments.length - 1;
+    }
+
+    /**
+     * Fill the placeholders in order.
+     *
+     * @param args one argument per placeholder
+     * @return the rendered TypeScript
+     */
+    String render(Object... args)
+    {
+        if (args.length != arity())
+        {
+            throw new IllegalArgumentException("TypeScript template takes " + arity() + " arguments, got " + args.length);
+        }
+        StringBuilder out = new StringBuilder(literalLength + 32 * args.length);
+        out.append(segments[0]);
+        for (int i = 0; i < args.length; i++)
+        {
+            out.append(args[i])
+               .append(segments[i + 1]);
+        }
+        return out.toString();
+    }
+}
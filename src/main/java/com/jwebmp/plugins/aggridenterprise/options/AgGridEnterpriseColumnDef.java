@@ -17,6 +17,9 @@ import java.util.Objects;
  * Enterprise Column Definition that extends the Community Column Def with Enterprise options.
  * <p>
  * Adds aggregation-specific properties and related Enterprise-only flags.
+ * <p>
+ * Serialised by Jackson's bean serializer, not an {@link OptionsBinding}: most of its properties are declared by
+ * the community {@link AgGridColumnDef}, whose serialisation is owned by the community plugin.
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -41,6 +44,12 @@ public class AgGridEnterpriseColumnDef<J extends AgGridEnterpriseColumnDef<J>> e
     @JsonProperty("enableRowGroup")
     private Boolean enableRowGroup;
 
+    /**
+     * Position of this column among the pivot columns; pivot columns without one follow in column order.
+     */
+    @JsonProperty("pivotIndex")
+    private Integer pivotIndex;
+
     /**
      * Explicitly set the data type for this column's cells. Accepts one of the built-in types
      * or a custom string, or Boolean false to disable data type inference.
@@ -290,6 +299,17 @@ public class AgGridEnterpriseColumnDef<J extends AgGridEnterpriseColumnDef<J>> e
         return (J) this;
     }
 
+    public Integer getPivotIndex()
+    {
+        return pivotIndex;
+    }
+
+    public @org.jspecify.annotations.NonNull J setPivotIndex(Integer pivotIndex)
+    {
+        this.pivotIndex = pivotIndex;
+        return (J) this;
+    }
+
     @Override
     public Boolean getEnablePivot()
     {
@@ -521,4 +541,31 @@ public class AgGridEnterpriseColumnDef<J extends AgGridEnterpriseColumnDef<J>> e
         this.getGroupRowAgg = getGroupRowAggRaw;
         return (J) this;
     }
+
+    /**
+     * Copy the Enterprise-only options of this definition onto another definition. The community options are
+     * copied by {@link com.jwebmp.plugins.aggridenterprise.options.mapping.AgGridColDefEnterpriseMapper#copyEnterpriseColDef}.
+     *
+     * @param target the definition receiving the options
+     */
+    public void copyEnterpriseOptionsTo(AgGridEnterpriseColumnDef<?> target)
+    {
+        target.initialAggFunc = initialAggFunc;
+        target.enableValue = enableValue;
+        target.enableRowGroup = enableRowGroup;
+        target.pivotIndex = pivotIndex;
+        target.cellDataType = cellDataType;
+        target.allowedAggFuncs = allowedAggFuncs == null ? null : new ArrayList<>(allowedAggFuncs);
+        target.defaultAggFunc = defaultAggFunc;
+        target.groupTotalRow = groupTotalRow;
+        target.grandTotalRow = grandTotalRow;
+        target.suppressAggFuncInHeader = suppressAggFuncInHeader;
+        target.aggregateOnlyChangedColumns = aggregateOnlyChangedColumns;
+        target.suppressAggFilteredOnly = suppressAggFilteredOnly;
+        target.groupAggFiltering = groupAggFiltering;
+        target.groupSuppressBlankHeader = groupSuppressBlankHeader;
+        target.suppressStickyTotalRow = suppressStickyTotalRow;
+        target.alwaysAggregateAtRootLevel = alwaysAggregateAtRootLevel;
+        target.getGroupRowAgg = getGroupRowAgg;
+    }
 }
@@ -0,0 +1,140 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column group definition (AG Grid {@code ColGroupDef}): a header spanning child columns or groups.
+ * Used for generated pivot result columns, one group per pivot key.
+ */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = OptionsBindingSerializer.class)
+public class AgGridEnterpriseColumnGroupDef
+{
+    /** The unique ID to give the column group. */
+    @JsonProperty("groupId")
+    private String groupId;
+
+    /** The name to render in the column group header. */
+    @JsonProperty("headerName")
+    private String headerName;
+
+    /** Pivot keys of this group when it is a generated pivot result group. */
+    @JsonProperty("pivotKeys")
+    private List<String> pivotKeys;
+
+    /** Whether the group's children show when it is open or closed. Values: "open" | "closed". */
+    @JsonProperty("columnGroupShow")
+    private String columnGroupShow;
+
+    /** Whether the group should be open by default. */
+    @JsonProperty("openByDefault")
+    private Boolean openByDefault;
+
+    /** Keep the children of this group together when columns are moved. */
+    @JsonProperty("marryChildren")
+    private Boolean marryChildren;
+
+    /** Child columns or column groups. */
+    @JsonProperty("children")
+    private List<Object> children = new ArrayList<>();
+
+    public AgGridEnterpriseColumnGroupDef()
+    {
+    }
+
+    public AgGridEnterpriseColumnGroupDef(String groupId, String headerName)
+    {
+        this.groupId = groupId;
+        this.headerName = headerName;
+    }
+
+    public String getGroupId()
+    {
+        return groupId;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setGroupId(String groupId)
+    {
+        this.groupId = groupId;
+        return this;
+    }
+
+    public String getHeaderName()
+    {
+        return headerName;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setHeaderName(String headerName)
+    {
+        this.headerName = headerName;
+        return this;
+    }
+
+    public List<String> getPivotKeys()
+    {
+        return pivotKeys;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setPivotKeys(List<String> pivotKeys)
+    {
+        this.pivotKeys = pivotKeys;
+        return this;
+    }
+
+    public String getColumnGroupShow()
+    {
+        return columnGroupShow;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setColumnGroupShow(String columnGroupShow)
+    {
+        this.columnGroupShow = columnGroupShow;
+        return this;
+    }
+
+    public Boolean getOpenByDefault()
+    {
+        return openByDefault;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setOpenByDefault(Boolean openByDefault)
+    {
+        this.openByDefault = openByDefault;
+        return this;
+    }
+
+    public Boolean getMarryChildren()
+    {
+        return marryChildren;
+    }
+
+    public AgGridEnterpriseColumnGroupDef setMarryChildren(Boolean marryChildren)
+    {
+        this.marryChildren = marryChildren;
+        return this;
+    }
+
+    public List<Object> getChildren()
+    {
+        return children;
+    }
+
+    /**
+     * Append a child column ({@link AgGridEnterpriseColumnDef}) or column group.
+     *
+     * @param child the child
+     * @return this
+     */
+    public AgGridEnterpriseColumnGroupDef addChild(Object child)
+    {
+        this.children.add(child);
+        return this;
+    }
+}
@@ -1,16 +1,18 @@
 package com.jwebmp.plugins.aggridenterprise.options;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRawValue;
-import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.jwebmp.plugins.aggrid.options.AgGridColumnDef;
 import com.jwebmp.plugins.aggrid.options.AgGridOptions;
 import com.jwebmp.plugins.aggridenterprise.options.mapping.AgGridColDefEnterpriseMapper;
 import com.jwebmp.plugins.aggridenterprise.options.modules.AdvancedFilteringOptions;
 import com.jwebmp.plugins.aggridenterprise.options.modules.AggregationOptions;
 import com.jwebmp.plugins.aggridenterprise.options.modules.ChartsOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.OptionsModule;
 import com.jwebmp.plugins.aggridenterprise.options.modules.PivotingOptions;
 import com.jwebmp.plugins.aggridenterprise.options.modules.RangeSelectionOptions;
 import com.jwebmp.plugins.aggridenterprise.options.modules.RowGroupingOptions;
@@ -18,8 +20,16 @@ import com.jwebmp.plugins.aggridenterprise.options.modules.ServerSideRowModelOpt
 import com.jwebmp.plugins.aggridenterprise.options.modules.SideBarAndStatusBarOptions;
 import org.jspecify.annotations.Nullable;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Enterprise-only options layered on top of community AgGridOptions
+ * <p>
+ * Serialised by Jackson's bean serializer, not an {@link OptionsBinding}: the enterprise modules are flattened in
+ * through {@link #moduleProperties()} and the community superclass unwraps its row grouping options, neither of
+ * which a binding can describe. The option objects the grid holds are bound where they can be.
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -38,48 +48,33 @@ public class AgGridEnterpriseOptions<J extends AgGridEnterpriseOptions<J>> exten
 										base = super.getDefaultColDef();
         }
 
-        AgGridEnterpriseColumnDef<?> ent;
         if (base instanceof AgGridEnterpriseColumnDef<?> enterprise)
         {
-            ent = enterprise;
-        }
-        else
-        {
-            // Convert community defaultColDef into an enterprise one using MapStruct mapper
-            ent = AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(base);
-        }
-
-        // Defensive copy: return a new instance so callers cannot mutate internal state
-        try
-        {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            byte[] json = mapper.writeValueAsBytes(ent);
-            return mapper.readValue(json, AgGridEnterpriseColumnDef.class);
-        }
-        catch (Exception e)
-        {
-            return new AgGridEnterpriseColumnDef<>();
+            // Defensive copy: return a new instance so callers cannot mutate internal state
+            return AgGridColDefEnterpriseMapper.INSTANCE.copyEnterpriseColDef(enterprise);
         }
+        // Convert community defaultColDef into a new enterprise one using MapStruct mapper
+        return AgGridColDefEnterpriseMapper.INSTANCE.toEnterpriseColDef(base);
     }
 
     // Backwards-compatibility convenience getters/setters have been removed.
     // Use module APIs directly, e.g. configureRowGrouping().setSuppressAggFuncInHeader(true)
 
     // ===== PHASE 2: MODULAR ENTERPRISE OPTIONS (8 Modules) =====
-    // Using @JsonUnwrapped for backward-compatible JSON serialization (all properties flatten to parent)
+    // Flattened into the parent JSON by moduleProperties() for backward-compatible serialization
 
     /**
      * Integrated Charts Configuration Module
      * Encapsulates all chart-related options (enableCharts, chartThemes, suppressChartToolPanelsButton, etc.)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private ChartsOptions<?> charts = new ChartsOptions<>();
 
     /**
      * Server-Side Row Model Configuration Module
      * Encapsulates all SSRM options (serverSideDatasource, cacheBlockSize, suppressServerSideInfiniteScroll, etc.)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private ServerSideRowModelOptions<?> serverSideRowModel = new ServerSideRowModelOptions<>();
 
     // Note: Row Grouping is provided by the community superclass via @JsonUnwrapped.
@@ -89,35 +84,35 @@ public class AgGridEnterpriseOptions<J extends AgGridEnterpriseOptions<J>> exten
      * Aggregation Functions Configuration Module
      * Encapsulates aggregation configuration (aggFuncs, aggregateOnlyChangedColumns, groupAggFiltering, etc.)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private AggregationOptions<?> aggregation = new AggregationOptions<>();
 
     /**
      * Pivot Mode Configuration Module
      * Encapsulates all pivot options (pivotMode, pivotRowTotals, processPivotResultColDef, etc.)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private PivotingOptions<?> pivoting = new PivotingOptions<>();
 
     /**
      * Advanced Filtering Configuration Module
      * Encapsulates advanced filter builder and cell selection options
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private AdvancedFilteringOptions<?> advancedFiltering = new AdvancedFilteringOptions<>();
 
     /**
      * SideBar & StatusBar Configuration Module
      * Encapsulates UI panel configuration (sideBar, statusBar, allowDragFromColumnsToolPanel)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private SideBarAndStatusBarOptions<?> sideBarAndStatusBar = new SideBarAndStatusBarOptions<>();
 
     /**
      * Range Selection Configuration Module
      * Encapsulates range selection options (enableRangeSelection)
      */
-    @JsonUnwrapped
+    @JsonIgnore
     private RangeSelectionOptions<?> rangeSelection = new RangeSelectionOptions<>();
 
     // ===== Module Convenience Accessor Methods =====
@@ -196,9 +191,62 @@ public class AgGridEnterpriseOptions<J extends AgGridEnterpriseOptions<J>> exten
         return rangeSelection;
     }
 
+    /**
+     * The properties of every enterprise module, flattened into the options JSON as {@code @JsonUnwrapped} did.
+     * Each module keeps its properties until one of its setters runs, so re-rendering a grid whose modules are
+     * unchanged neither introspects nor unwraps them. Serialising leaves the baseline of {@link #takeModuleChanges()}
+     * alone, so {@code toJson()} or logging the options does not swallow pending changes.
+     *
+     * @return the non-null module properties by JSON name
+     */
+    @JsonAnyGetter
+    public Map<String, Object> moduleProperties()
+    {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (OptionsModule module : modules())
+        {
+            properties.putAll(module.jsonProperties());
+        }
+        return properties;
+    }
+
+    /**
+     * Record the current module properties as the baseline of {@link #takeModuleChanges()}; called when the grid
+     * is rendered onto the page.
+     */
+    public void markRendered()
+    {
+        for (OptionsModule module : modules())
+        {
+            module.render();
+        }
+    }
+
+    /**
+     * Take the module properties changed since the grid was last {@link #markRendered() rendered} or the changes
+     * last taken, for a grid that is already on the page.
+     *
+     * @return changed properties by JSON name with null for a cleared property; empty when nothing changed
+     */
+    public Map<String, Object> takeModuleChanges()
+    {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (OptionsModule module : modules())
+        {
+            changes.putAll(module.changes());
+            module.render();
+        }
+        return changes;
+    }
+
+    private List<OptionsModule> modules()
+    {
+        return List.of(charts, serverSideRowModel, aggregation, pivoting, advancedFiltering, sideBarAndStatusBar, rangeSelection);
+    }
+
     // ===== END PHASE 2 MODULAR OPTIONS =====
     // All 83 enterprise properties replaced by 8 modular components above
-    // JSON serialization remains identical via @JsonUnwrapped pattern
+    // JSON serialization remains identical via moduleProperties()
 
     // ===== Inner Classes & Enums (extracted to separate files) =====
 
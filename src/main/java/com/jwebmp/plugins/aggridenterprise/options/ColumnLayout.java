@@ -0,0 +1,185 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A whole row group, pivot and value column layout, applied to a grid's columns in one pass by
+ * {@code AgGridEnterprise.configureLayout}.
+ * <p>
+ * Columns are named by field, which AG Grid also uses as the column id unless one is set. Row group and pivot
+ * columns are ordered as added. A layout replaces the previous one: columns it does not name are not grouped,
+ * pivoted or aggregated.
+ */
+public class ColumnLayout
+{
+    private final Map<String, Integer> rowGroups = new LinkedHashMap<>();
+    private final Map<String, Integer> pivots = new LinkedHashMap<>();
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    /**
+     * Group rows by the fields, after any row group columns already added.
+     *
+     * @param fields the fields to group by, outermost first
+     * @return this
+     */
+    public ColumnLayout addRowGroup(String... fields)
+    {
+        for (String field : fields)
+        {
+            add(rowGroups, field, "row group");
+        }
+        return this;
+    }
+
+    /**
+     * Pivot on the fields, after any pivot columns already added.
+     *
+     * @param fields the fields to pivot on, outermost first
+     * @return this
+     */
+    public ColumnLayout addPivot(String... fields)
+    {
+        for (String field : fields)
+        {
+            add(pivots, field, "pivot");
+        }
+        return this;
+    }
+
+    /**
+     * Aggregate the field as a value column.
+     *
+     * @param field   the field to aggregate
+     * @param aggFunc the aggregation function, e.g. {@code sum}
+     * @return this
+     */
+    public ColumnLayout addValue(String field, String aggFunc)
+    {
+        checkField(field);
+        if (aggFunc == null || aggFunc.isBlank())
+        {
+            throw new IllegalArgumentException("Value column " + field + " needs an aggregation function");
+        }
+        if (values.putIfAbsent(field, aggFunc) != null)
+        {
+            throw new IllegalArgumentException(field + " is already a value column");
+        }
+        return this;
+    }
+
+    /**
+     * Aggregate the field as a value column.
+     *
+     * @param field   the field to aggregate
+     * @param aggFunc the aggregation function
+     * @return this
+     */
+    public ColumnLayout addValue(String field, AgGridEnterpriseColumnDef.AggFunc aggFunc)
+    {
+        return addValue(field, aggFunc == null ? null : aggFunc.toString());
+    }
+
+    /**
+     * @param field a column field
+     * @return whether the layout groups, pivots or aggregates the column
+     */
+    public boolean contains(String field)
+    {
+        return rowGroups.containsKey(field) || pivots.containsKey(field) || values.containsKey(field);
+    }
+
+    /**
+     * @param field a column field
+     * @return the position of the column among the row group columns, or null when rows are not grouped by it
+     */
+    public Integer getRowGroupIndex(String field)
+    {
+        return rowGroups.get(field);
+    }
+
+    /**
+     * @param field a column field
+     * @return the position of the column among the pivot columns, or null when it is not pivoted on
+     */
+    public Integer getPivotIndex(String field)
+    {
+        return pivots.get(field);
+    }
+
+    /**
+     * @param field a column field
+     * @return the aggregation function of the column, or null when it is not a value column
+     */
+    public String getAggFunc(String field)
+    {
+        return values.get(field);
+    }
+
+    /**
+     * The argument of {@code api.applyColumnState} that applies this layout to a live grid: one state per named
+     * column, and a default state that ungroups, unpivots and stops aggregating every other column.
+     *
+     * @return the column state by JSON name; the default state keeps a null {@code aggFunc}
+     */
+    public Map<String, Object> toColumnState()
+    {
+        Map<String, Map<String, Object>> states = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> rowGroup : rowGroups.entrySet())
+        {
+            Map<String, Object> state = state(states, rowGroup.getKey());
+            state.put("rowGroup", true);
+            state.put("rowGroupIndex", rowGroup.getValue());
+        }
+        for (Map.Entry<String, Integer> pivot : pivots.entrySet())
+        {
+            Map<String, Object> state = state(states, pivot.getKey());
+            state.put("pivot", true);
+            state.put("pivotIndex", pivot.getValue());
+        }
+        for (Map.Entry<String, String> value : values.entrySet())
+        {
+            state(states, value.getKey()).put("aggFunc", value.getValue());
+        }
+
+        Map<String, Object> defaultState = new LinkedHashMap<>();
+        defaultState.put("rowGroup", false);
+        defaultState.put("pivot", false);
+        defaultState.put("aggFunc", null);
+
+        Map<String, Object> columnState = new LinkedHashMap<>();
+        columnState.put("state", new ArrayList<>(states.values()));
+        columnState.put("defaultState", defaultState);
+        return columnState;
+    }
+
+    private static Map<String, Object> state(Map<String, Map<String, Object>> states, String field)
+    {
+        Map<String, Object> state = states.get(field);
+        if (state == null)
+        {
+            state = new LinkedHashMap<>();
+            state.put("colId", field);
+            states.put(field, state);
+        }
+        return state;
+    }
+
+    private static void add(Map<String, Integer> columns, String field, String role)
+    {
+        checkField(field);
+        if (columns.putIfAbsent(field, columns.size()) != null)
+        {
+            throw new IllegalArgumentException(field + " is already a " + role + " column");
+        }
+    }
+
+    private static void checkField(String field)
+    {
+        if (field == null || field.isBlank())
+        {
+            throw new IllegalArgumentException("field must not be blank");
+        }
+    }
+}
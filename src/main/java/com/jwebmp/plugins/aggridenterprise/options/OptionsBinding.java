@@ -0,0 +1,265 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The JSON properties of an option class, bound once per class on first use, and written or read through field
+ * accessors instead of a Jackson bean serializer.
+ * <p>
+ * Only classes whose JSON is fully described by their fields can be bound: {@code @JsonAutoDetect} with field
+ * visibility ANY and getter visibility NONE, {@code @JsonInclude(NON_NULL)}, and no Jackson annotation other than
+ * {@link JsonProperty}, {@link JsonRawValue} and {@link JsonIgnore} on any field or method of the class, its
+ * superclasses or its interfaces. Binding any other class fails rather than rendering something Jackson would not.
+ * {@link AgGridEnterpriseOptions} and {@link AgGridEnterpriseColumnDef} therefore stay on Jackson. Bindings are
+ * built at runtime and produce JSON only; no TypeScript declarations are generated from them.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public final class OptionsBinding
+{
+    private static final ClassValue<OptionsBinding> BINDINGS = new ClassValue<>()
+    {
+        @Override
+        protected OptionsBinding computeValue(Class<?> type)
+        {
+            return new OptionsBinding(type);
+        }
+    };
+    private static final MethodType SHAPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Property[] properties;
+
+    private OptionsBinding(Class<?> type)
+    {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+        {
+            hierarchy.add(0, c);
+        }
+        check(type, hierarchy);
+        List<Property> bound = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Class<?> c : hierarchy)
+        {
+            MethodHandles.Lookup lookup;
+            try
+            {
+                lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalArgumentException(c.getName() + " must be open to " + OptionsBinding.class.getModule(), e);
+            }
+            for (Field field : c.getDeclaredFields())
+            {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic() || field.isAnnotationPresent(JsonIgnore.class))
+                {
+                    continue;
+                }
+                JsonProperty json = field.getAnnotation(JsonProperty.class);
+                String name = json == null || json.value()
+                                                  .isEmpty() ? field.getName() : json.value();
+                if (!names.add(name))
+                {
+                    throw new IllegalArgumentException(type.getName() + " declares the JSON property " + name + " twice");
+                }
+                try
+                {
+                    bound.add(new Property(name, field.isAnnotationPresent(JsonRawValue.class), lookup.unreflectGetter(field)
+                                                                                                      .asType(SHAPE)));
+                }
+                catch (IllegalAccessException e)
+                {
+                    throw new IllegalArgumentException("Cannot read " + c.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+        this.properties = bound.toArray(Property[]::new);
+    }
+
+    /**
+     * @param type the option class
+     * @return the binding of the class, created on first use
+     * @throws IllegalArgumentException when the class's JSON is not fully described by its fields
+     */
+    public static OptionsBinding of(Class<?> type)
+    {
+        return BINDINGS.get(type);
+    }
+
+    /**
+     * @param bean an instance of the bound class
+     * @return the non-null properties by JSON name, in declaration order, superclass first; raw values as {@link RawValue}
+     */
+    public Map<String, Object> properties(Object bean)
+    {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Property property : properties)
+        {
+            Object value = property.read(bean);
+            if (value != null)
+            {
+                values.put(property.name(), property.raw() ? new RawValue(value.toString()) : value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Write an instance as a JSON object, as Jackson's bean serializer would.
+     *
+     * @param bean      an instance of the bound class
+     * @param generator the generator to write to
+     * @param provider  serializes the property values
+     * @throws IOException when writing fails
+     */
+    public void write(Object bean, JsonGenerator generator, SerializerProvider provider) throws IOException
+    {
+        generator.writeStartObject(bean);
+        for (Property property : properties)
+        {
+            Object value = property.read(bean);
+            if (value == null)
+            {
+                continue;
+            }
+            generator.writeFieldName(property.name());
+            if (property.raw())
+            {
+                generator.writeRawValue(value.toString());
+            }
+            else
+            {
+                provider.defaultSerializeValue(value, generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void check(Class<?> type, List<Class<?>> hierarchy)
+    {
+        JsonAutoDetect detect = inherited(type, JsonAutoDetect.class);
+        if (detect == null || detect.fieldVisibility() != JsonAutoDetect.Visibility.ANY || detect.getterVisibility() != JsonAutoDetect.Visibility.NONE)
+        {
+            throw new IllegalArgumentException(type.getName() + " must detect fields only with @JsonAutoDetect");
+        }
+        JsonInclude include = inherited(type, JsonInclude.class);
+        if (include == null || include.value() != JsonInclude.Include.NON_NULL)
+        {
+            throw new IllegalArgumentException(type.getName() + " must be @JsonInclude(NON_NULL)");
+        }
+        Set<Class<?>> types = new HashSet<>(hierarchy);
+        for (Class<?> c : hierarchy)
+        {
+            collectInterfaces(c, types);
+        }
+        boolean isGetters = detect.isGetterVisibility() != JsonAutoDetect.Visibility.NONE;
+        for (Class<?> c : types)
+        {
+            for (Method method : c.getDeclaredMethods())
+            {
+                if (hasJacksonAnnotation(method.getAnnotations(), Set.of()))
+                {
+                    throw new IllegalArgumentException(type.getName() + " has a Jackson annotation on " + c.getName() + "." + method.getName());
+                }
+                if (isGetters && !c.isInterface() && Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+                        && method.getParameterCount() == 0 && method.getReturnType() == boolean.class && method.getName()
+                                                                                                                 .startsWith("is"))
+                {
+                    throw new IllegalArgumentException(type.getName() + " has the is-getter " + c.getName() + "." + method.getName());
+                }
+            }
+            if (!c.isInterface())
+            {
+                for (Field field : c.getDeclaredFields())
+                {
+                    if (hasJacksonAnnotation(field.getAnnotations(), Set.of(JsonProperty.class, JsonRawValue.class, JsonIgnore.class)))
+                    {
+                        throw new IllegalArgumentException(type.getName() + " has an unsupported Jackson annotation on " + c.getName() + "." + field.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean hasJacksonAnnotation(Annotation[] annotations, Set<Class<?>> allowed)
+    {
+        for (Annotation annotation : annotations)
+        {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.isAnnotationPresent(JacksonAnnotation.class) && !allowed.contains(annotationType))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectInterfaces(Class<?> c, Set<Class<?>> into)
+    {
+        for (Class<?> i : c.getInterfaces())
+        {
+            if (into.add(i))
+            {
+                collectInterfaces(i, into);
+            }
+        }
+    }
+
+    private static <A extends Annotation> A inherited(Class<?> type, Class<A> annotation)
+    {
+        for (Class<?> c = type; c != null; c = c.getSuperclass())
+        {
+            A found = c.getAnnotation(annotation);
+            if (found != null)
+            {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name   JSON property name
+     * @param raw    whether the value is written as raw JavaScript
+     * @param getter reads the field, typed {@code (Object)Object}
+     */
+    private record Property(String name, boolean raw, MethodHandle getter)
+    {
+        Object read(Object bean)
+        {
+            try
+            {
+                return (Object) getter.invokeExact(bean);
+            }
+            catch (Throwable e)
+            {
+                throw new IllegalStateException("Cannot read option " + name, e);
+            }
+        }
+    }
+}
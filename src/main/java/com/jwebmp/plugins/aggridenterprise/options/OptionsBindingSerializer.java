@@ -0,0 +1,28 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializes an option class through its {@link OptionsBinding}, so Jackson never builds a bean serializer for it.
+ * <p>
+ * Use as {@code @JsonSerialize(using = OptionsBindingSerializer.class)} on option classes whose JSON is fully
+ * described by their fields; subclasses inherit it and must meet the same rules.
+ */
+public class OptionsBindingSerializer extends StdSerializer<Object>
+{
+    public OptionsBindingSerializer()
+    {
+        super(Object.class);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException
+    {
+        OptionsBinding.of(value.getClass())
+                      .write(value, generator, provider);
+    }
+}
@@ -3,6 +3,7 @@ package com.jwebmp.plugins.aggridenterprise.options;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 /**
  * Options for the AG Grid Row Numbers feature.
@@ -11,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = OptionsBindingSerializer.class)
 public class RowNumbersOptions
 {
     /** Width of the row number column in pixels (if supported). */
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jwebmp.plugins.aggridenterprise.options.OptionsBindingSerializer;
 
 /**
  * Configuration for the Fill Handle behaviour in Cell Selection.
@@ -11,6 +13,7 @@ import com.fasterxml.jackson.annotation.JsonRawValue;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = OptionsBindingSerializer.class)
 public final class FillHandleOptions implements ISelectionHandleOptions<FillHandleOptions> {
 
     /** Fixed mode for Fill Handle per AG Grid API. */
@@ -3,6 +3,8 @@ package com.jwebmp.plugins.aggridenterprise.options.cellselection;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jwebmp.plugins.aggridenterprise.options.OptionsBindingSerializer;
 
 /**
  * Configuration for the Range Handle behaviour in Cell Selection.
@@ -10,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = OptionsBindingSerializer.class)
 public final class RangeHandleOptions implements ISelectionHandleOptions<RangeHandleOptions> {
 
     /**
@@ -0,0 +1,35 @@
+package com.jwebmp.plugins.aggridenterprise.options.enums;
+
+/**
+ * How a Java server-side datasource pages through deep blocks of rows.
+ */
+public enum ServerSidePaginationStrategy
+{
+    /**
+     * Skip {@code startRow} rows for every block; cost grows with scroll depth.
+     */
+    OFFSET("offset"),
+    /**
+     * Seek past the sort key values of the previous block's last row, carried as an opaque cursor; falls back to
+     * offset paging for blocks that do not follow a loaded one.
+     */
+    KEYSET("keyset");
+
+    private final String json;
+
+    ServerSidePaginationStrategy(String json)
+    {
+        this.json = json;
+    }
+
+    public String getJson()
+    {
+        return json;
+    }
+
+    @Override
+    public String toString()
+    {
+        return json;
+    }
+}
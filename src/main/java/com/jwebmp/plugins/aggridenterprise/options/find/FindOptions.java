@@ -3,12 +3,15 @@ package com.jwebmp.plugins.aggridenterprise.options.find;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jwebmp.plugins.aggridenterprise.options.OptionsBindingSerializer;
 
 /**
  * Concrete implementation of FindOptions.
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = OptionsBindingSerializer.class)
 public final class FindOptions implements IFindOptions<FindOptions> {
 
     @JsonProperty("currentPageOnly")
@@ -4,12 +4,16 @@ import com.jwebmp.plugins.aggrid.options.AgGridColumnDef;
 import com.jwebmp.plugins.aggrid.options.AgGridOptions;
 import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnDef;
 import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseOptions;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Mappings;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
+import java.util.ListIterator;
 
 /**
  * MapStruct mapper to convert a community AgGridColumnDef to an enterprise AgGridEnterpriseColumnDef.
@@ -42,6 +46,7 @@ public interface AgGridColDefEnterpriseMapper
             @Mapping(target = "initialAggFunc", ignore = true),
             @Mapping(target = "enableValue", ignore = true),
             @Mapping(target = "enableRowGroup", ignore = true),
+            @Mapping(target = "pivotIndex", ignore = true),
             @Mapping(target = "enablePivot", ignore = true),
             @Mapping(target = "pivot", ignore = true),
             @Mapping(target = "cellDataType", ignore = true),
@@ -61,6 +66,58 @@ public interface AgGridColDefEnterpriseMapper
     })
     AgGridEnterpriseColumnDef toEnterpriseColDef(AgGridColumnDef source);
     List<AgGridEnterpriseColumnDef> toEnterpriseColDefs(List<AgGridColumnDef> source);
+
+    /**
+     * Convert every community column definition in the list to an enterprise one in a single pass, replacing the
+     * entries in place so list positions are kept. Entries that already are enterprise definitions are left as they
+     * are, so they are never copied.
+     *
+     * @param columnDefs a modifiable list of column definitions; may be null
+     * @return the number of definitions converted
+     */
+    default int upgradeColumnDefs(List<AgGridColumnDef> columnDefs)
+    {
+        if (columnDefs == null)
+        {
+            return 0;
+        }
+        int converted = 0;
+        for (ListIterator<AgGridColumnDef> it = columnDefs.listIterator(); it.hasNext(); )
+        {
+            AgGridColumnDef columnDef = it.next();
+            if (columnDef != null && !(columnDef instanceof AgGridEnterpriseColumnDef))
+            {
+                it.set(toEnterpriseColDef(columnDef));
+                converted++;
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Copy an enterprise column definition, e.g. so a getter can hand out a definition its caller may change.
+     * Community properties use the same mappings as {@link #toEnterpriseColDef}; Enterprise-only properties are
+     * copied by {@link #copyEnterpriseOptions} and the pivot flags by {@link #copyPivotOptions}. Lists are copied, other nested option objects are shared.
+     */
+    @InheritConfiguration(name = "toEnterpriseColDef")
+    AgGridEnterpriseColumnDef copyEnterpriseColDef(AgGridEnterpriseColumnDef source);
+
+    @AfterMapping
+    default void copyEnterpriseOptions(AgGridEnterpriseColumnDef source, @MappingTarget AgGridEnterpriseColumnDef target)
+    {
+        source.copyEnterpriseOptionsTo(target);
+    }
+
+    /**
+     * Copy the pivot flags, which the enterprise definition redeclares and the mappings above therefore ignore.
+     * Applies to {@link #toEnterpriseColDef} and {@link #copyEnterpriseColDef} alike.
+     */
+    @AfterMapping
+    default void copyPivotOptions(AgGridColumnDef source, @MappingTarget AgGridEnterpriseColumnDef target)
+    {
+        target.setEnablePivot(source.getEnablePivot());
+        target.setPivot(source.getPivot());
+    }
 				
 				AgGridEnterpriseOptions toEnterpriseOptions(AgGridOptions source);
 }
@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -13,8 +14,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
+public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -98,6 +100,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setEnableAdvancedFilter(Boolean enableAdvancedFilter)
     {
         this.enableAdvancedFilter = enableAdvancedFilter;
+        changed();
         return this;
     }
 
@@ -109,6 +112,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setIncludeHiddenColumnsInAdvancedFilter(Boolean includeHiddenColumnsInAdvancedFilter)
     {
         this.includeHiddenColumnsInAdvancedFilter = includeHiddenColumnsInAdvancedFilter;
+        changed();
         return this;
     }
 
@@ -120,6 +124,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setAdvancedFilterParent(Object advancedFilterParent)
     {
         this.advancedFilterParent = advancedFilterParent;
+        changed();
         return this;
     }
 
@@ -131,6 +136,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setAdvancedFilterBuilderParams(Object advancedFilterBuilderParams)
     {
         this.advancedFilterBuilderParams = advancedFilterBuilderParams;
+        changed();
         return this;
     }
 
@@ -142,6 +148,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setAdvancedFilterParams(Object advancedFilterParams)
     {
         this.advancedFilterParams = advancedFilterParams;
+        changed();
         return this;
     }
 
@@ -153,6 +160,7 @@ public class AdvancedFilteringOptions<J extends AdvancedFilteringOptions<J>>
     public AdvancedFilteringOptions<J> setCellSelection(Object cellSelection)
     {
         this.cellSelection = cellSelection;
+        changed();
         return this;
     }
 }
@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Map;
@@ -15,8 +16,9 @@ import java.util.Map;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class AggregationOptions<J extends AggregationOptions<J>>
+public class AggregationOptions<J extends AggregationOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -105,6 +107,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setAggFuncs(Map<String, Object> aggFuncs)
     {
         this.aggFuncs = aggFuncs;
+        changed();
         return this;
     }
 
@@ -116,6 +119,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setAggregateOnlyChangedColumns(Boolean aggregateOnlyChangedColumns)
     {
         this.aggregateOnlyChangedColumns = aggregateOnlyChangedColumns;
+        changed();
         return this;
     }
 
@@ -127,6 +131,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setSuppressAggFilteredOnly(Boolean suppressAggFilteredOnly)
     {
         this.suppressAggFilteredOnly = suppressAggFilteredOnly;
+        changed();
         return this;
     }
 
@@ -138,6 +143,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setGroupAggFiltering(String groupAggFiltering)
     {
         this.groupAggFiltering = groupAggFiltering;
+        changed();
         return this;
     }
 
@@ -149,6 +155,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setAlwaysAggregateAtRootLevel(Boolean alwaysAggregateAtRootLevel)
     {
         this.alwaysAggregateAtRootLevel = alwaysAggregateAtRootLevel;
+        changed();
         return this;
     }
 
@@ -160,6 +167,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setGetGroupRowAgg(Object getGroupRowAgg)
     {
         this.getGroupRowAgg = getGroupRowAgg;
+        changed();
         return this;
     }
 
@@ -171,6 +179,7 @@ public class AggregationOptions<J extends AggregationOptions<J>>
     public AggregationOptions<J> setSuppressSetFilterByDefault(Boolean suppressSetFilterByDefault)
     {
         this.suppressSetFilterByDefault = suppressSetFilterByDefault;
+        changed();
         return this;
     }
 }
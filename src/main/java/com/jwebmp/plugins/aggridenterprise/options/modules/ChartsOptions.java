@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
@@ -15,8 +16,9 @@ import java.util.List;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ChartsOptions<J extends ChartsOptions<J>>
+public class ChartsOptions<J extends ChartsOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -129,6 +131,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setEnableCharts(Boolean enableCharts)
     {
         this.enableCharts = enableCharts;
+        changed();
         return this;
     }
 
@@ -140,6 +143,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setChartThemes(List<String> chartThemes)
     {
         this.chartThemes = chartThemes;
+        changed();
         return this;
     }
 
@@ -151,6 +155,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setChartThemeOverrides(Object chartThemeOverrides)
     {
         this.chartThemeOverrides = chartThemeOverrides;
+        changed();
         return this;
     }
 
@@ -162,6 +167,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setChartToolPanelsDef(Object chartToolPanelsDef)
     {
         this.chartToolPanelsDef = chartToolPanelsDef;
+        changed();
         return this;
     }
 
@@ -173,6 +179,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setChartGroupsDef(Object chartGroupsDef)
     {
         this.chartGroupsDef = chartGroupsDef;
+        changed();
         return this;
     }
 
@@ -184,6 +191,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setSuppressChartToolPanelsButton(Boolean suppressChartToolPanelsButton)
     {
         this.suppressChartToolPanelsButton = suppressChartToolPanelsButton;
+        changed();
         return this;
     }
 
@@ -195,6 +203,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setGetChartToolbarItems(Object getChartToolbarItems)
     {
         this.getChartToolbarItems = getChartToolbarItems;
+        changed();
         return this;
     }
 
@@ -206,6 +215,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setCreateChartContainer(Object createChartContainer)
     {
         this.createChartContainer = createChartContainer;
+        changed();
         return this;
     }
 
@@ -217,6 +227,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setCustomChartThemes(Object customChartThemes)
     {
         this.customChartThemes = customChartThemes;
+        changed();
         return this;
     }
 
@@ -228,6 +239,7 @@ public class ChartsOptions<J extends ChartsOptions<J>>
     public ChartsOptions<J> setChartMenuItems(Object chartMenuItems)
     {
         this.chartMenuItems = chartMenuItems;
+        changed();
         return this;
     }
 }
@@ -0,0 +1,109 @@
+package com.jwebmp.plugins.aggridenterprise.options.modules;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jwebmp.plugins.aggridenterprise.options.OptionsBinding;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Base of the enterprise option modules that {@code AgGridEnterpriseOptions} flattens into the grid options.
+ * <p>
+ * A module's properties are its fields that are not {@link JsonIgnore}d, read through the {@link OptionsBinding} of
+ * the module class. The non-null values are kept until a setter calls {@link #changed()}, so rendering the same
+ * options again neither introspects nor unwraps the module. Values are kept by reference: an option object changed
+ * after it was set is rendered as it is at the time.
+ * <p>
+ * The properties last {@link #render() rendered} are the baseline for {@link #changes()}, which a live grid applies
+ * with {@code api.updateGridOptions} instead of being rendered again. Reading {@link #jsonProperties()}, as
+ * serialisation does, leaves the baseline alone.
+ */
+public abstract class OptionsModule
+{
+    /**
+     * Non-null properties by JSON name; null until read or after a change.
+     */
+    @JsonIgnore
+    private transient Map<String, Object> properties;
+    /**
+     * Properties as last rendered; null until rendered.
+     */
+    @JsonIgnore
+    private transient Map<String, Object> rendered;
+
+    /**
+     * Drop the kept properties so the next read sees the change; called by every setter of a serialised property.
+     */
+    protected void changed()
+    {
+        this.properties = null;
+    }
+
+    /**
+     * The properties this module contributes to the grid options, as {@code @JsonInclude(NON_NULL)} renders them.
+     *
+     * @return the non-null properties by JSON name, in declaration order; unmodifiable
+     */
+    public Map<String, Object> jsonProperties()
+    {
+        Map<String, Object> current = this.properties;
+        if (current == null)
+        {
+            current = Collections.unmodifiableMap(OptionsBinding.of(getClass())
+                                                                .properties(this));
+            this.properties = current;
+        }
+        return current;
+    }
+
+    /**
+     * The properties for rendering, recorded as the baseline of {@link #changes()}.
+     *
+     * @return the non-null properties by JSON name, in declaration order; unmodifiable
+     */
+    public Map<String, Object> render()
+    {
+        Map<String, Object> current = jsonProperties();
+        this.rendered = current;
+        return current;
+    }
+
+    /**
+     * The properties whose value differs from the last render. Values are compared with {@code equals}, so an
+     * option object changed in place is only picked up when it is set again as a new object.
+     *
+     * @return changed properties by JSON name with null for a cleared property; every property when never rendered
+     */
+    public Map<String, Object> changes()
+    {
+        Map<String, Object> current = jsonProperties();
+        Map<String, Object> baseline = this.rendered;
+        if (current == baseline)
+        {
+            // No setter ran since the render
+            return Map.of();
+        }
+        if (baseline == null)
+        {
+            return current;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : current.entrySet())
+        {
+            if (!Objects.equals(entry.getValue(), baseline.get(entry.getKey())))
+            {
+                changes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String name : baseline.keySet())
+        {
+            if (!current.containsKey(name))
+            {
+                changes.put(name, null);
+            }
+        }
+        return changes;
+    }
+}
@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -14,8 +15,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class PivotingOptions<J extends PivotingOptions<J>>
+public class PivotingOptions<J extends PivotingOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -132,6 +134,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotPanelShow(String pivotPanelShow)
     {
         this.pivotPanelShow = pivotPanelShow;
+        changed();
         return this;
     }
 
@@ -143,6 +146,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotMode(Boolean pivotMode)
     {
         this.pivotMode = pivotMode;
+        changed();
         return this;
     }
 
@@ -154,6 +158,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotDefaultExpanded(Integer pivotDefaultExpanded)
     {
         this.pivotDefaultExpanded = pivotDefaultExpanded;
+        changed();
         return this;
     }
 
@@ -165,6 +170,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotRowTotals(String pivotRowTotals)
     {
         this.pivotRowTotals = pivotRowTotals;
+        changed();
         return this;
     }
 
@@ -176,6 +182,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotSuppressAutoColumn(Boolean pivotSuppressAutoColumn)
     {
         this.pivotSuppressAutoColumn = pivotSuppressAutoColumn;
+        changed();
         return this;
     }
 
@@ -187,6 +194,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setPivotMaxGeneratedColumns(Integer pivotMaxGeneratedColumns)
     {
         this.pivotMaxGeneratedColumns = pivotMaxGeneratedColumns;
+        changed();
         return this;
     }
 
@@ -198,6 +206,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setOnPivotMaxColumnsExceeded(Object onPivotMaxColumnsExceeded)
     {
         this.onPivotMaxColumnsExceeded = onPivotMaxColumnsExceeded;
+        changed();
         return this;
     }
 
@@ -209,6 +218,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setProcessPivotResultColDef(Object processPivotResultColDef)
     {
         this.processPivotResultColDef = processPivotResultColDef;
+        changed();
         return this;
     }
 
@@ -220,6 +230,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setProcessPivotResultColGroupDef(Object processPivotResultColGroupDef)
     {
         this.processPivotResultColGroupDef = processPivotResultColGroupDef;
+        changed();
         return this;
     }
 
@@ -231,6 +242,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setSuppressExpandablePivotGroups(Boolean suppressExpandablePivotGroups)
     {
         this.suppressExpandablePivotGroups = suppressExpandablePivotGroups;
+        changed();
         return this;
     }
 
@@ -242,6 +254,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setFunctionsReadOnly(Boolean functionsReadOnly)
     {
         this.functionsReadOnly = functionsReadOnly;
+        changed();
         return this;
     }
 
@@ -253,6 +266,7 @@ public class PivotingOptions<J extends PivotingOptions<J>>
     public PivotingOptions<J> setRemovePivotHeaderRowWhenSingleValueColumn(Boolean removePivotHeaderRowWhenSingleValueColumn)
     {
         this.removePivotHeaderRowWhenSingleValueColumn = removePivotHeaderRowWhenSingleValueColumn;
+        changed();
         return this;
     }
 }
@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -14,8 +15,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class RangeSelectionOptions<J extends RangeSelectionOptions<J>>
+public class RangeSelectionOptions<J extends RangeSelectionOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -66,6 +68,7 @@ public class RangeSelectionOptions<J extends RangeSelectionOptions<J>>
     public RangeSelectionOptions<J> setEnableRangeSelection(Boolean enableRangeSelection)
     {
         this.enableRangeSelection = enableRangeSelection;
+        changed();
         return this;
     }
 }
@@ -1,8 +1,10 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jwebmp.plugins.aggridenterprise.options.enums.ServerSidePaginationStrategy;
 
 /**
  * AG Grid Enterprise: Server-Side Row Model Configuration Module
@@ -14,8 +16,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
+public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -150,6 +153,14 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     @JsonProperty("suppressServerSideInfiniteScroll")
     private Boolean suppressServerSideInfiniteScroll;
 
+    /**
+     * Paging strategy of the generated Java datasource (not an AG Grid option, never serialised).
+     * KEYSET makes the grid send back the cursor of the preceding block so deep blocks are loaded with a seek
+     * instead of an offset. Default OFFSET.
+     */
+    @JsonIgnore
+    private ServerSidePaginationStrategy paginationStrategy;
+
     // ===== Constructors & Parent Management =====
 
     public ServerSideRowModelOptions()
@@ -192,6 +203,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSideDatasource(Object serverSideDatasource)
     {
         this.serverSideDatasource = serverSideDatasource;
+        changed();
         return this;
     }
 
@@ -203,6 +215,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setCacheBlockSize(Integer cacheBlockSize)
     {
         this.cacheBlockSize = cacheBlockSize;
+        changed();
         return this;
     }
 
@@ -214,6 +227,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setMaxBlocksInCache(Integer maxBlocksInCache)
     {
         this.maxBlocksInCache = maxBlocksInCache;
+        changed();
         return this;
     }
 
@@ -225,6 +239,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setMaxConcurrentDatasourceRequests(Integer maxConcurrentDatasourceRequests)
     {
         this.maxConcurrentDatasourceRequests = maxConcurrentDatasourceRequests;
+        changed();
         return this;
     }
 
@@ -236,6 +251,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setBlockLoadDebounceMillis(Integer blockLoadDebounceMillis)
     {
         this.blockLoadDebounceMillis = blockLoadDebounceMillis;
+        changed();
         return this;
     }
 
@@ -247,6 +263,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setSuppressServerSideFullWidthLoadingRow(Boolean suppressServerSideFullWidthLoadingRow)
     {
         this.suppressServerSideFullWidthLoadingRow = suppressServerSideFullWidthLoadingRow;
+        changed();
         return this;
     }
 
@@ -258,6 +275,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setPurgeClosedRowNodes(Boolean purgeClosedRowNodes)
     {
         this.purgeClosedRowNodes = purgeClosedRowNodes;
+        changed();
         return this;
     }
 
@@ -269,6 +287,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSidePivotResultFieldSeparator(String serverSidePivotResultFieldSeparator)
     {
         this.serverSidePivotResultFieldSeparator = serverSidePivotResultFieldSeparator;
+        changed();
         return this;
     }
 
@@ -280,6 +299,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSideSortAllLevels(Boolean serverSideSortAllLevels)
     {
         this.serverSideSortAllLevels = serverSideSortAllLevels;
+        changed();
         return this;
     }
 
@@ -291,6 +311,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSideEnableClientSideSort(Boolean serverSideEnableClientSideSort)
     {
         this.serverSideEnableClientSideSort = serverSideEnableClientSideSort;
+        changed();
         return this;
     }
 
@@ -302,6 +323,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSideOnlyRefreshFilteredGroups(Boolean serverSideOnlyRefreshFilteredGroups)
     {
         this.serverSideOnlyRefreshFilteredGroups = serverSideOnlyRefreshFilteredGroups;
+        changed();
         return this;
     }
 
@@ -313,6 +335,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setServerSideInitialRowCount(Integer serverSideInitialRowCount)
     {
         this.serverSideInitialRowCount = serverSideInitialRowCount;
+        changed();
         return this;
     }
 
@@ -324,6 +347,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setGetChildCount(Object getChildCount)
     {
         this.getChildCount = getChildCount;
+        changed();
         return this;
     }
 
@@ -335,6 +359,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setGetServerSideGroupLevelParams(Object getServerSideGroupLevelParams)
     {
         this.getServerSideGroupLevelParams = getServerSideGroupLevelParams;
+        changed();
         return this;
     }
 
@@ -346,6 +371,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setIsServerSideGroupOpenByDefault(Object isServerSideGroupOpenByDefault)
     {
         this.isServerSideGroupOpenByDefault = isServerSideGroupOpenByDefault;
+        changed();
         return this;
     }
 
@@ -357,6 +383,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setIsApplyServerSideTransaction(Object isApplyServerSideTransaction)
     {
         this.isApplyServerSideTransaction = isApplyServerSideTransaction;
+        changed();
         return this;
     }
 
@@ -368,6 +395,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setIsServerSideGroup(Object isServerSideGroup)
     {
         this.isServerSideGroup = isServerSideGroup;
+        changed();
         return this;
     }
 
@@ -379,6 +407,7 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setGetServerSideGroupKey(Object getServerSideGroupKey)
     {
         this.getServerSideGroupKey = getServerSideGroupKey;
+        changed();
         return this;
     }
 
@@ -390,6 +419,18 @@ public class ServerSideRowModelOptions<J extends ServerSideRowModelOptions<J>>
     public ServerSideRowModelOptions<J> setSuppressServerSideInfiniteScroll(Boolean suppressServerSideInfiniteScroll)
     {
         this.suppressServerSideInfiniteScroll = suppressServerSideInfiniteScroll;
+        changed();
+        return this;
+    }
+
+    public ServerSidePaginationStrategy getPaginationStrategy()
+    {
+        return paginationStrategy;
+    }
+
+    public ServerSideRowModelOptions<J> setPaginationStrategy(ServerSidePaginationStrategy paginationStrategy)
+    {
+        this.paginationStrategy = paginationStrategy;
         return this;
     }
 }
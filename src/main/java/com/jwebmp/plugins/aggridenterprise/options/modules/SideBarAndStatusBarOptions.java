@@ -1,6 +1,7 @@
 package com.jwebmp.plugins.aggridenterprise.options.modules;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -13,8 +14,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE, setterVisibility = JsonAutoDetect.Visibility.NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class SideBarAndStatusBarOptions<J extends SideBarAndStatusBarOptions<J>>
+public class SideBarAndStatusBarOptions<J extends SideBarAndStatusBarOptions<J>> extends OptionsModule
 {
+    @JsonIgnore
     private J parent;
 
     /**
@@ -78,6 +80,7 @@ public class SideBarAndStatusBarOptions<J extends SideBarAndStatusBarOptions<J>>
     public SideBarAndStatusBarOptions<J> setAllowDragFromColumnsToolPanel(Boolean allowDragFromColumnsToolPanel)
     {
         this.allowDragFromColumnsToolPanel = allowDragFromColumnsToolPanel;
+        changed();
         return this;
     }
 
@@ -89,6 +92,7 @@ public class SideBarAndStatusBarOptions<J extends SideBarAndStatusBarOptions<J>>
     public SideBarAndStatusBarOptions<J> setStatusBar(Object statusBar)
     {
         this.statusBar = statusBar;
+        changed();
         return this;
     }
 
@@ -100,6 +104,7 @@ public class SideBarAndStatusBarOptions<J extends SideBarAndStatusBarOptions<J>>
     public SideBarAndStatusBarOptions<J> setSideBar(Object sideBar)
     {
         this.sideBar = sideBar;
+        changed();
         return this;
     }
 }
@@ -64,6 +64,20 @@ public interface ISetFilterParams<J extends ISetFilterParams<J>> extends IFilter
     J setValuesRaw(String valuesRawJs);
     J setValues(List<String> values);
 
+    /**
+     * Load the values from the server when the filter opens instead of writing them into the page.
+     * The generated callback posts the grid id, column id and current filter model to the endpoint, which answers
+     * with SetFilterValuesRegistry.handle, and passes the values to params.success.
+     */
+    J setValuesFromServer(String endpointUrl, String gridId, String colId);
+
+    /**
+     * As setValuesFromServer, but each load also posts the current mini filter text and caseSensitive, so the server
+     * answers with only the top searchLimit matching values from its search index. Refresh the filter values as the
+     * mini filter changes (AgGridEnterprise.serverSetFilterSearchParams wires this up) to search per keystroke.
+     */
+    J setValuesFromServer(String endpointUrl, String gridId, String colId, Integer searchLimit);
+
     /**
      * Raw JavaScript keyCreator function. Example: "params => String(params.value?.id)".
      */
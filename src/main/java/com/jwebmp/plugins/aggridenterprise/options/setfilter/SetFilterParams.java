@@ -265,6 +265,33 @@ public final class SetFilterParams implements ISetFilterParams<SetFilterParams>
         return this;
     }
 
+    @Override
+    public SetFilterParams setValuesFromServer(String endpointUrl, String gridId, String colId) {
+        return setValuesFromServer(endpointUrl, gridId, colId, null);
+    }
+
+    @Override
+    public SetFilterParams setValuesFromServer(String endpointUrl, String gridId, String colId, Integer searchLimit) {
+        String search = searchLimit == null
+                ? "Promise.resolve('')"
+                : "Promise.resolve(params.api?.getColumnFilterInstance?.('%s')).then(f => f?.getMiniFilter?.() ?? '')".formatted(jsString(colId));
+        String body = searchLimit == null
+                ? "{ gridId: '%s', colId: '%s', filterModel: params.api?.getFilterModel() ?? {} }".formatted(jsString(gridId), jsString(colId))
+                : ("{ gridId: '%s', colId: '%s', filterModel: params.api?.getFilterModel() ?? {}, search: search, "
+                + "caseSensitive: params.colDef?.filterParams?.caseSensitive === true, endRow: %d }").formatted(jsString(gridId), jsString(colId), searchLimit);
+        this.values = ("(params) => { %s.then(search => fetch('%s', { method: 'POST', headers: { 'Content-Type': 'application/json' }, "
+                + "body: JSON.stringify(%s) }))"
+                + ".then(response => { if (!response.ok) { throw new Error('HTTP ' + response.status); } return response.json(); })"
+                + ".then(result => { if (result.failed) { console.error('setFilterValues failed', result.errorMessage); } params.success(result.values ?? []); })"
+                + ".catch(e => { console.error('setFilterValues failed', e); params.success([]); }); }")
+                .formatted(search, jsString(endpointUrl), body);
+        return this;
+    }
+
+    private static String jsString(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("'", "\\'").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
     @Override
     public String getKeyCreator() {
         return keyCreator;
@@ -0,0 +1,26 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+/**
+ * Java-side datasource for the AG Grid Server-Side Row Model (SSRM).
+ *
+ * Implementations answer the grid's {@code getRows} calls with a typed request and result instead of
+ * parsing the raw AG Grid payload in every REST endpoint. Register an implementation against a grid with
+ * {@code AgGridEnterprise#setServerSideDatasource(String, IServerSideDatasource)}; the generated TypeScript
+ * datasource posts each block request to the configured endpoint, which hands the body to
+ * {@link ServerSideDatasourceRegistry#handle(byte[])}.
+ *
+ * Implementations must be thread-safe: the same datasource instance serves every user of the grid.
+ *
+ * @param <T> Row data type (typically a POJO or a {@code Map<String, Object>})
+ */
+@FunctionalInterface
+public interface IServerSideDatasource<T>
+{
+    /**
+     * Load a block of rows for the given request.
+     *
+     * @param request the typed SSRM request (row range, grouping, pivoting, filter and sort models)
+     * @return the rows for the requested range, with the total row count when known
+     */
+    ServerSideGetRowsResult<T> getRows(ServerSideGetRowsRequest request);
+}
@@ -0,0 +1,44 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Server-side row model datasource that emits a block row by row instead of building it in memory.
+ *
+ * Served through {@link ServerSideDatasourceRegistry#handleStreaming(byte[], java.io.OutputStream)}, each row is
+ * serialised to the response as soon as it is emitted, so peak heap per request is one row rather than one block.
+ * Implementations typically iterate a JDBC {@code ResultSet} or a database cursor.
+ *
+ * Streaming datasources still answer {@link #getRows(ServerSideGetRowsRequest)} (by collecting the stream), so they
+ * can be used with the block cache and batched requests as well.
+ *
+ * @param <T> Row data type (typically a POJO or a {@code Map<String, Object>})
+ */
+@FunctionalInterface
+public interface IServerSideStreamingDatasource<T> extends IServerSideDatasource<T>
+{
+    /**
+     * Stream a block of rows for the given request.
+     *
+     * @param request the typed SSRM request
+     * @param sink    receives each row, and the row count when known
+     * @throws IOException when writing to the client fails
+     */
+    void streamRows(ServerSideGetRowsRequest request, ServerSideRowSink<T> sink) throws IOException;
+
+    @Override
+    default ServerSideGetRowsResult<T> getRows(ServerSideGetRowsRequest request)
+    {
+        ServerSideRowCollector<T> collector = new ServerSideRowCollector<>();
+        try
+        {
+            streamRows(request, collector);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return collector.toResult();
+    }
+}
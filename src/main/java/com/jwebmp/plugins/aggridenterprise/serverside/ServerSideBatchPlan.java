@@ -0,0 +1,116 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the requests of a batch into loads: requests with the same normalised models and group path whose row
+ * ranges touch or overlap are merged into one range, so the datasource performs a single range scan for them.
+ */
+final class ServerSideBatchPlan
+{
+    private ServerSideBatchPlan()
+    {
+    }
+
+    /**
+     * One datasource load answering one or more batched requests.
+     *
+     * @param modelKey canonical JSON of the shared request models
+     * @param merged   request covering the union of the member ranges
+     * @param members  indexes of the answered requests in the batch
+     */
+    record Load(String modelKey, ServerSideGetRowsRequest merged, List<Integer> members)
+    {
+    }
+
+    /**
+     * Plan the loads for the pending requests of a batch.
+     *
+     * @param requests all requests of the batch
+     * @param pending  indexes of the requests still to be loaded
+     * @return loads covering every pending request exactly once
+     */
+    static List<Load> plan(List<ServerSideGetRowsRequest> requests, List<Integer> pending)
+    {
+        Map<String, List<Integer>> byModel = new LinkedHashMap<>();
+        Map<String, String> modelKeys = new LinkedHashMap<>();
+        for (Integer index : pending)
+        {
+            ServerSideGetRowsRequest request = requests.get(index);
+            String modelKey = ServerSideBlockCacheKey.normalisedModel(request);
+            String group = modelKey + '\u0000' + request.groupKeys();
+            modelKeys.putIfAbsent(group, modelKey);
+            byModel.computeIfAbsent(group, k -> new ArrayList<>())
+                   .add(index);
+        }
+
+        List<Load> loads = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : byModel.entrySet())
+        {
+            String modelKey = modelKeys.get(entry.getKey());
+            List<Integer> indexes = entry.getValue();
+            indexes.sort(Comparator.comparingInt((Integer i) -> requests.get(i).start())
+                                   .thenComparingInt(i -> requests.get(i).end()));
+
+            ServerSideGetRowsRequest first = requests.get(indexes.get(0));
+            int end = first.end();
+            List<Integer> members = new ArrayList<>();
+            for (Integer index : indexes)
+            {
+                ServerSideGetRowsRequest request = requests.get(index);
+                if (!members.isEmpty() && request.start() > end)
+                {
+                    loads.add(new Load(modelKey, merge(first, end), members));
+                    members = new ArrayList<>();
+                    first = request;
+                }
+                end = members.isEmpty() ? request.end() : Math.max(end, request.end());
+                members.add(index);
+            }
+            loads.add(new Load(modelKey, merge(first, end), members));
+        }
+        return loads;
+    }
+
+    /**
+     * The merged request of a run of members. It starts where the run's first member starts, so that member's
+     * keyset cursor still applies and the merged load can seek instead of using an offset.
+     */
+    private static ServerSideGetRowsRequest merge(ServerSideGetRowsRequest first, int end)
+    {
+        return first.withRange(first.start(), end)
+                    .withCursor(first.cursor());
+    }
+
+    /**
+     * Cut the rows of one batched request out of the result of its merged load.
+     * <p>
+     * When the merged load returned fewer rows than it asked for and no row count, the end of the data is known
+     * and reported as the row count so blocks past it are not requested again.
+     *
+     * @param merged  the merged request
+     * @param result  the merged load's result
+     * @param request one member request
+     * @param <T>     row data type
+     * @return the member's result
+     */
+    static <T> ServerSideGetRowsResult<T> slice(ServerSideGetRowsRequest merged, ServerSideGetRowsResult<T> result, ServerSideGetRowsRequest request)
+    {
+        List<T> rows = result.rowData();
+        int from = Math.min(rows.size(), request.start() - merged.start());
+        int to = Math.min(rows.size(), request.end() - merged.start());
+        Integer rowCount = result.rowCount();
+        if (rowCount == null && rows.size() < merged.blockSize())
+        {
+            rowCount = merged.start() + rows.size();
+        }
+        // The merged load's cursor follows its last row, so only the member ending there can continue from it
+        String cursor = request.end() == merged.end() ? result.cursor() : null;
+        return new ServerSideGetRowsResult<>(new ArrayList<>(rows.subList(from, to)), rowCount, result.pivotResultFields(), cursor,
+                                             result.pivotResultColumns());
+    }
+}
@@ -0,0 +1,355 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.jwebmp.plugins.aggridenterprise.options.modules.ServerSideRowModelOptions;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Shared server-side cache of serialised SSRM blocks.
+ * <p>
+ * Blocks are stored as the JSON bytes that are written to the browser, so a hit costs no query and no
+ * serialisation, and the byte bound is exact. Entries are evicted least-recently-used first once either the
+ * entry bound or the byte bound is exceeded, and expire after a time-to-live.
+ * <p>
+ * Invalidate explicitly when the underlying data changes, per grid with {@link #invalidateGrid(String)} or
+ * selectively with {@link #invalidate(Predicate)}. Every invalidation advances the affected grids' generation; a
+ * loader reads {@link #generation(String)} before loading and stores with {@link #put(ServerSideBlockCacheKey, byte[], long)},
+ * so a block loaded from data that was invalidated while it loaded is dropped instead of being served until it
+ * expires.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideBlockCache
+{
+    /**
+     * Entry bound used when {@code maxBlocksInCache} is not configured.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    /**
+     * Byte bound used by {@link #forOptions(ServerSideRowModelOptions)}: 64 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    /**
+     * Time-to-live used by {@link #forOptions(ServerSideRowModelOptions)}.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<ServerSideBlockCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+    private final Map<String, Long> gridGenerations = new HashMap<>();
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries maximum number of cached blocks
+     * @param maxBytes   maximum total size of cached blocks in bytes
+     * @param ttl        time after which a block is reloaded; null or zero for no expiry
+     */
+    public ServerSideBlockCache(int maxEntries, long maxBytes, Duration ttl)
+    {
+        if (maxEntries <= 0 || maxBytes <= 0)
+        {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl == null || ttl.isZero() || ttl.isNegative() ? 0 : ttl.toNanos();
+    }
+
+    /**
+     * Create a cache sized from the grid's SSRM options: {@code maxBlocksInCache} bounds the entry count
+     * ({@link #DEFAULT_MAX_ENTRIES} when unset), with {@link #DEFAULT_MAX_BYTES} and {@link #DEFAULT_TTL}.
+     *
+     * @param options the grid's server-side row model options
+     * @return a new cache
+     */
+    public static ServerSideBlockCache forOptions(ServerSideRowModelOptions<?> options)
+    {
+        Integer maxBlocks = options == null ? null : options.getMaxBlocksInCache();
+        int entries = maxBlocks == null || maxBlocks <= 0 ? DEFAULT_MAX_ENTRIES : maxBlocks;
+        return new ServerSideBlockCache(entries, DEFAULT_MAX_BYTES, DEFAULT_TTL);
+    }
+
+    /**
+     * Get a cached block.
+     *
+     * @param key block key
+     * @return the serialised block, or null when absent or expired
+     */
+    public byte[] get(ServerSideBlockCacheKey key)
+    {
+        lock.lock();
+        try
+        {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime()))
+            {
+                remove(key);
+                entry = null;
+            }
+            if (entry == null)
+            {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The invalidation generation of a grid, read before loading a block that will be passed to
+     * {@link #put(ServerSideBlockCacheKey, byte[], long)}.
+     *
+     * @param gridId grid identifier
+     * @return a value that changes whenever blocks of the grid are invalidated
+     */
+    public long generation(String gridId)
+    {
+        lock.lock();
+        try
+        {
+            return generation + gridGenerations.getOrDefault(gridId, 0L);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a serialised block, evicting least-recently-used blocks to stay within bounds.
+     * Blocks larger than the byte bound are not cached.
+     *
+     * @param key   block key
+     * @param value serialised block
+     */
+    public void put(ServerSideBlockCacheKey key, byte[] value)
+    {
+        if (value == null || value.length > maxBytes)
+        {
+            return;
+        }
+        lock.lock();
+        try
+        {
+            store(key, value);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a serialised block unless its grid was invalidated since the load started.
+     *
+     * @param key        block key
+     * @param value      serialised block
+     * @param generation {@link #generation(String)} of the grid, read before the block was loaded
+     * @return whether the block was cached
+     */
+    public boolean put(ServerSideBlockCacheKey key, byte[] value, long generation)
+    {
+        if (value == null || value.length > maxBytes)
+        {
+            return false;
+        }
+        lock.lock();
+        try
+        {
+            if (generation(key.gridId()) != generation)
+            {
+                return false;
+            }
+            store(key, value);
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void store(ServerSideBlockCacheKey key, byte[] value)
+    {
+        long expiresAt = ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos;
+        Entry previous = entries.put(key, new Entry(value, expiresAt));
+        if (previous != null)
+        {
+            currentBytes -= previous.value.length;
+        }
+        currentBytes += value.length;
+        Iterator<Map.Entry<ServerSideBlockCacheKey, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && eldest.hasNext())
+        {
+            Map.Entry<ServerSideBlockCacheKey, Entry> e = eldest.next();
+            currentBytes -= e.getValue().value.length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drop every cached block of a grid, e.g. after its underlying data changed.
+     *
+     * @param gridId grid identifier
+     */
+    public void invalidateGrid(String gridId)
+    {
+        lock.lock();
+        try
+        {
+            gridGenerations.merge(gridId, 1L, Long::sum);
+            removeIf(key -> key.gridId().equals(gridId));
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every cached block matching a predicate, e.g. all blocks below a changed group path.
+     *
+     * @param filter keys to drop
+     */
+    public void invalidate(Predicate<ServerSideBlockCacheKey> filter)
+    {
+        lock.lock();
+        try
+        {
+            // Blocks still loading have no key to test yet, so every grid's in-flight loads are dropped
+            generation++;
+            removeIf(filter);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every cached block.
+     */
+    public void invalidateAll()
+    {
+        lock.lock();
+        try
+        {
+            generation++;
+            entries.clear();
+            currentBytes = 0;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of cached blocks
+     */
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return entries.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return total size of cached blocks in bytes
+     */
+    public long sizeInBytes()
+    {
+        lock.lock();
+        try
+        {
+            return currentBytes;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that had to load the block
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of blocks evicted to stay within bounds
+     */
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    private void removeIf(Predicate<ServerSideBlockCacheKey> filter)
+    {
+        Iterator<Map.Entry<ServerSideBlockCacheKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext())
+        {
+            Map.Entry<ServerSideBlockCacheKey, Entry> e = it.next();
+            if (filter.test(e.getKey()))
+            {
+                currentBytes -= e.getValue().value.length;
+                it.remove();
+            }
+        }
+    }
+
+    private void remove(ServerSideBlockCacheKey key)
+    {
+        Entry removed = entries.remove(key);
+        if (removed != null)
+        {
+            currentBytes -= removed.value.length;
+        }
+    }
+
+    private record Entry(byte[] value, long expiresAt)
+    {
+        boolean isExpired(long now)
+        {
+            return expiresAt != 0 && now - expiresAt > 0;
+        }
+    }
+}
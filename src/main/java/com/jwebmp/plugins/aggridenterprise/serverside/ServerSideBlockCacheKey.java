@@ -0,0 +1,98 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identity of one cached SSRM block.
+ * <p>
+ * Two requests share a key when they target the same grid, have the same normalised grouping, pivot, value,
+ * filter and sort models, the same open group path and the same row range.
+ *
+ * @param gridId     grid identifier
+ * @param modelKey   canonical JSON of the request models (see {@link #normalisedModel(ServerSideGetRowsRequest)})
+ * @param groupKeys  open group path being loaded
+ * @param blockIndex index of the block, {@code startRow / blockSize}
+ * @param blockSize  rows per block, {@code endRow - startRow}
+ */
+public record ServerSideBlockCacheKey(String gridId, String modelKey, List<String> groupKeys, int blockIndex, int blockSize)
+{
+    /**
+     * Whether a request addresses a whole block, i.e. starts on a multiple of its size.
+     * AG Grid always requests aligned blocks; anything else is not cached.
+     *
+     * @param request SSRM request
+     * @return true when the request can be cached by block index
+     */
+    public static boolean isBlockAligned(ServerSideGetRowsRequest request)
+    {
+        return request.blockSize() > 0 && request.start() % request.blockSize() == 0;
+    }
+
+    /**
+     * Build the cache key for a block-aligned request.
+     *
+     * @param gridId  grid identifier
+     * @param request SSRM request
+     * @return the key
+     * @throws IllegalArgumentException when the request is not block aligned
+     */
+    public static ServerSideBlockCacheKey of(String gridId, ServerSideGetRowsRequest request)
+    {
+        return of(gridId, normalisedModel(request), request);
+    }
+
+    static ServerSideBlockCacheKey of(String gridId, String modelKey, ServerSideGetRowsRequest request)
+    {
+        if (!isBlockAligned(request))
+        {
+            throw new IllegalArgumentException("Request rows " + request.start() + "-" + request.end() + " are not block aligned");
+        }
+        int blockSize = request.blockSize();
+        int blockIndex = request.start() / blockSize;
+        return new ServerSideBlockCacheKey(gridId, modelKey, request.groupKeys(), blockIndex, blockSize);
+    }
+
+    /**
+     * Canonical form of everything in a request except the row range and group keys.
+     * <p>
+     * Display-only column properties are dropped and map entries are ordered by key, so filter models that only
+     * differ in property order (or header names) produce the same string.
+     *
+     * @param request SSRM request
+     * @return canonical JSON string
+     */
+    public static String normalisedModel(ServerSideGetRowsRequest request)
+    {
+        Map<String, Object> model = new LinkedHashMap<>();
+        model.put("rowGroupCols", columns(request.rowGroupCols()));
+        model.put("valueCols", columns(request.valueCols()));
+        model.put("pivotCols", columns(request.pivotCols()));
+        model.put("pivotMode", request.isPivoting());
+        model.put("filterModel", request.filterModel());
+        model.put("sortModel", request.sortModel());
+        try
+        {
+            return ServerSideJson.mapper()
+                                 .writeValueAsString(model);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException("Unable to normalise SSRM request", e);
+        }
+    }
+
+    private static List<String> columns(List<ServerSideColumnVO> columns)
+    {
+        List<String> out = new ArrayList<>(columns.size());
+        for (ServerSideColumnVO column : columns)
+        {
+            out.add(column.id() + '|' + column.fieldOrId() + '|' + (column.aggFunc() == null ? "" : column.aggFunc()));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Column value object sent by AG Grid in the SSRM request for row group, value and pivot columns.
+ *
+ * @param id          column id
+ * @param displayName header name shown in the grid
+ * @param field       row data field backing the column
+ * @param aggFunc     aggregation function name, populated for value columns
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ServerSideColumnVO(String id, String displayName, String field, String aggFunc)
+{
+    /**
+     * The field to read from row data, falling back to the column id when no field is configured.
+     *
+     * @return the field name or column id
+     */
+    public String fieldOrId()
+    {
+        return field != null ? field : id;
+    }
+}
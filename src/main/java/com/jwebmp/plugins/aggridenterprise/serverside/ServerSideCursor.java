@@ -0,0 +1,274 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination cursor: the sort key values of the last row of a block.
+ * <p>
+ * A datasource returns the cursor with a block; the grid sends it back with the request for the block that starts
+ * where that one ended, and the datasource seeks past the key values instead of skipping {@code startRow} rows, so
+ * block latency does not grow with scroll depth. The cursor records the row it continues from and a fingerprint of
+ * the request models; a cursor that does not match the request (a random jump, a changed sort or filter) is
+ * ignored and the request falls back to offset paging.
+ * <p>
+ * The encoded form is opaque to the browser: URL-safe base64 of a small JSON array. Decimals decode as
+ * {@link java.math.BigDecimal} so they keep their precision. Temporal values travel as an ISO string tagged with
+ * their kind and decode to a type every JDBC 4.2 driver binds: {@link Timestamp} for date-times and instants,
+ * {@link LocalDate}, {@link LocalTime} and {@link OffsetDateTime}.
+ *
+ * @param row         index of the first row after the cursor
+ * @param fingerprint fingerprint of the request models and group keys the cursor belongs to
+ * @param values      sort key values of the last row, in ORDER BY order, ending with the tie-breaker key
+ */
+public record ServerSideCursor(int row, String fingerprint, List<Object> values)
+{
+    private static final ObjectReader READER = ServerSideJson.mapper()
+                                                             .reader()
+                                                             .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    public ServerSideCursor
+    {
+        values = values == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * Build the cursor following a block.
+     *
+     * @param request      the request the block answered
+     * @param rowsReturned number of rows in the block
+     * @param values       sort key values of the block's last row
+     * @return the cursor for the next block
+     */
+    public static ServerSideCursor after(ServerSideGetRowsRequest request, int rowsReturned, List<Object> values)
+    {
+        List<Object> keyValues = new ArrayList<>(values.size());
+        for (Object value : values)
+        {
+            keyValues.add(portable(value));
+        }
+        return new ServerSideCursor(request.start() + rowsReturned, fingerprint(request), keyValues);
+    }
+
+    /**
+     * Fingerprint of everything in a request except the row range: the normalised models and the group keys.
+     *
+     * @param request SSRM request
+     * @return short URL-safe hash
+     */
+    public static String fingerprint(ServerSideGetRowsRequest request)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ServerSideBlockCacheKey.normalisedModel(request)
+                                                 .getBytes(StandardCharsets.UTF_8));
+            for (String groupKey : request.groupKeys())
+            {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(groupKey)
+                                    .getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest();
+            return Base64.getUrlEncoder()
+                         .withoutPadding()
+                         .encodeToString(Arrays.copyOf(hash, 12));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Decode a cursor sent by the grid.
+     *
+     * @param encoded encoded cursor
+     * @return the cursor, or null when absent or malformed
+     */
+    public static ServerSideCursor decode(String encoded)
+    {
+        if (encoded == null || encoded.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            JsonNode node = READER.readTree(Base64.getUrlDecoder()
+                                                  .decode(encoded));
+            if (!node.isArray() || node.size() < 2)
+            {
+                return null;
+            }
+            List<Object> values = new ArrayList<>(node.size() - 2);
+            for (int i = 2; i < node.size(); i++)
+            {
+                values.add(value(node.get(i)));
+            }
+            return new ServerSideCursor(node.get(0)
+                                            .asInt(), node.get(1)
+                                                          .asText(), values);
+        }
+        catch (IllegalArgumentException | DateTimeException | IOException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return the opaque encoded cursor
+     */
+    public String encode()
+    {
+        List<Object> parts = new ArrayList<>(values.size() + 2);
+        parts.add(row);
+        parts.add(fingerprint);
+        parts.addAll(values);
+        try
+        {
+            return Base64.getUrlEncoder()
+                         .withoutPadding()
+                         .encodeToString(ServerSideJson.mapper()
+                                                       .writeValueAsBytes(parts));
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException("Cursor values cannot be serialised", e);
+        }
+    }
+
+    /**
+     * Whether this cursor continues exactly where a request starts, for the same models and group path.
+     *
+     * @param request SSRM request
+     * @param keyCount number of sort keys the request orders by, including the tie-breaker
+     * @return true when the request can seek from this cursor
+     */
+    public boolean appliesTo(ServerSideGetRowsRequest request, int keyCount)
+    {
+        return row == request.start()
+                && row > 0
+                && values.size() == keyCount
+                && fingerprint.equals(fingerprint(request));
+    }
+
+    private static Object portable(Object value)
+    {
+        if (value instanceof Timestamp timestamp)
+        {
+            return Map.of("timestamp", timestamp.toLocalDateTime()
+                                                .toString());
+        }
+        if (value instanceof java.sql.Date date)
+        {
+            return Map.of("date", date.toLocalDate()
+                                      .toString());
+        }
+        if (value instanceof Time time)
+        {
+            return Map.of("time", time.toLocalTime()
+                                      .toString());
+        }
+        if (value instanceof Date date)
+        {
+            return portable(new Timestamp(date.getTime()));
+        }
+        if (value instanceof Instant instant)
+        {
+            return portable(Timestamp.from(instant));
+        }
+        if (value instanceof LocalDateTime)
+        {
+            return Map.of("timestamp", value.toString());
+        }
+        if (value instanceof LocalDate)
+        {
+            return Map.of("date", value.toString());
+        }
+        if (value instanceof LocalTime)
+        {
+            return Map.of("time", value.toString());
+        }
+        if (value instanceof ZonedDateTime zoned)
+        {
+            return portable(zoned.toOffsetDateTime());
+        }
+        if (value instanceof OffsetDateTime offset)
+        {
+            return Map.of("offsetDateTime", offset.toString());
+        }
+        if (value instanceof TemporalAccessor)
+        {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Object value(JsonNode node)
+    {
+        if (node.isObject())
+        {
+            if (node.size() != 1)
+            {
+                throw new IllegalArgumentException("Unknown cursor value " + node);
+            }
+            Map.Entry<String, JsonNode> typed = node.fields()
+                                                    .next();
+            String iso = typed.getValue()
+                              .asText();
+            return switch (typed.getKey())
+            {
+                case "timestamp" -> Timestamp.valueOf(LocalDateTime.parse(iso));
+                case "date" -> LocalDate.parse(iso);
+                case "time" -> LocalTime.parse(iso);
+                case "offsetDateTime" -> OffsetDateTime.parse(iso);
+                default -> throw new IllegalArgumentException("Unknown cursor value type " + typed.getKey());
+            };
+        }
+        if (node.isFloatingPointNumber())
+        {
+            return node.decimalValue();
+        }
+        if (node.isNumber())
+        {
+            return node.numberValue();
+        }
+        if (node.isTextual())
+        {
+            return node.textValue();
+        }
+        if (node.isBoolean())
+        {
+            return node.booleanValue();
+        }
+        if (node.isNull())
+        {
+            return null;
+        }
+        throw new IllegalArgumentException("Unknown cursor value " + node);
+    }
+}
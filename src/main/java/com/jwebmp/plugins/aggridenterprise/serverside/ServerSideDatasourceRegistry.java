@@ -0,0 +1,434 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of server-side row model datasources keyed by grid id, and the single entry point that
+ * answers the generated TypeScript datasource.
+ *
+ * Applications expose one endpoint (REST route, servlet, Vert.x handler...) that passes the posted body to
+ * {@link #handle(byte[])} and writes the returned bytes as {@code application/json}. Every SSRM grid then
+ * shares that hot path instead of each grid parsing the AG Grid payload itself.
+ *
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideDatasourceRegistry
+{
+    private static final ServerSideDatasourceRegistry INSTANCE = new ServerSideDatasourceRegistry();
+    private static final byte[] BATCH_PREFIX = "{\"results\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, IServerSideDatasource<?>> datasources = new ConcurrentHashMap<>();
+    private final Map<String, ServerSideBlockCache> blockCaches = new ConcurrentHashMap<>();
+    private final Map<String, ServerSideSingleFlight> singleFlights = new ConcurrentHashMap<>();
+
+    /**
+     * Get the singleton registry instance.
+     *
+     * @return global ServerSideDatasourceRegistry
+     */
+    public static ServerSideDatasourceRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Register (or replace) the datasource serving a grid.
+     *
+     * @param gridId     grid identifier
+     * @param datasource datasource answering getRows for the grid
+     */
+    public void register(String gridId, IServerSideDatasource<?> datasource)
+    {
+        datasources.put(gridId, datasource);
+    }
+
+    /**
+     * Remove the datasource registered for a grid.
+     *
+     * @param gridId grid identifier
+     */
+    public void unregister(String gridId)
+    {
+        datasources.remove(gridId);
+        singleFlights.remove(gridId);
+        ServerSideBlockCache cache = blockCaches.remove(gridId);
+        if (cache != null)
+        {
+            cache.invalidateGrid(gridId);
+        }
+    }
+
+    /**
+     * Cache serialised blocks of a grid. The same cache instance may be shared by several grids.
+     *
+     * @param gridId grid identifier
+     * @param cache  block cache, or null to stop caching the grid
+     */
+    public void setBlockCache(String gridId, ServerSideBlockCache cache)
+    {
+        if (cache == null)
+        {
+            blockCaches.remove(gridId);
+        }
+        else
+        {
+            blockCaches.put(gridId, cache);
+        }
+    }
+
+    /**
+     * Get the block cache of a grid.
+     *
+     * @param gridId grid identifier
+     * @return the cache or null if the grid is not cached
+     */
+    public ServerSideBlockCache getBlockCache(String gridId)
+    {
+        return blockCaches.get(gridId);
+    }
+
+    /**
+     * Coalesce identical concurrent getRows loads of a grid. The same instance may be shared by several grids.
+     * <p>
+     * Only enable this for datasources whose rows do not depend on the calling user, as concurrent callers
+     * receive the same result.
+     *
+     * @param gridId       grid identifier
+     * @param singleFlight single-flight group, or null to stop coalescing the grid
+     */
+    public void setSingleFlight(String gridId, ServerSideSingleFlight singleFlight)
+    {
+        if (singleFlight == null)
+        {
+            singleFlights.remove(gridId);
+        }
+        else
+        {
+            singleFlights.put(gridId, singleFlight);
+        }
+    }
+
+    /**
+     * Get the single-flight group coalescing a grid's loads.
+     *
+     * @param gridId grid identifier
+     * @return the single-flight group or null if the grid's loads are not coalesced
+     */
+    public ServerSideSingleFlight getSingleFlight(String gridId)
+    {
+        return singleFlights.get(gridId);
+    }
+
+    /**
+     * Drop every cached block of a grid. Call this when the data behind the grid changes.
+     *
+     * @param gridId grid identifier
+     */
+    public void invalidate(String gridId)
+    {
+        ServerSideBlockCache cache = blockCaches.get(gridId);
+        if (cache != null)
+        {
+            cache.invalidateGrid(gridId);
+        }
+    }
+
+    /**
+     * Get the datasource registered for a grid.
+     *
+     * @param gridId grid identifier
+     * @return the datasource or null if none is registered
+     */
+    public IServerSideDatasource<?> getDatasource(String gridId)
+    {
+        return datasources.get(gridId);
+    }
+
+    /**
+     * Load rows for a grid through its registered datasource.
+     *
+     * @param gridId  grid identifier
+     * @param request typed SSRM request
+     * @return the datasource result
+     * @throws IllegalArgumentException when no datasource is registered for the grid
+     */
+    public ServerSideGetRowsResult<?> getRows(String gridId, ServerSideGetRowsRequest request)
+    {
+        IServerSideDatasource<?> datasource = datasources.get(gridId);
+        if (datasource == null)
+        {
+            throw new IllegalArgumentException("No server-side datasource registered for grid '" + gridId + "'");
+        }
+        return datasource.getRows(request);
+    }
+
+    /**
+     * Load rows for a grid already serialised as the JSON the browser expects.
+     * <p>
+     * This is the hot path behind {@link #handle(byte[])}: block-aligned requests are answered from the grid's
+     * {@link ServerSideBlockCache} when one is configured, and loaded blocks are added to it. When the grid has a
+     * {@link ServerSideSingleFlight}, identical concurrent loads share one datasource call.
+     *
+     * @param gridId  grid identifier
+     * @param request typed SSRM request
+     * @return JSON {@link ServerSideGetRowsResult}
+     * @throws JsonProcessingException when the result cannot be serialised
+     */
+    public byte[] getRowsAsJson(String gridId, ServerSideGetRowsRequest request) throws JsonProcessingException
+    {
+        ServerSideBlockCache cache = blockCaches.get(gridId);
+        ServerSideSingleFlight singleFlight = singleFlights.get(gridId);
+        if (cache != null && !ServerSideBlockCacheKey.isBlockAligned(request))
+        {
+            cache = null;
+        }
+        if (cache == null && singleFlight == null)
+        {
+            return ServerSideJson.mapper()
+                                 .writeValueAsBytes(getRows(gridId, request));
+        }
+
+        String modelKey = ServerSideBlockCacheKey.normalisedModel(request);
+        ServerSideBlockCacheKey cacheKey = null;
+        if (cache != null)
+        {
+            cacheKey = ServerSideBlockCacheKey.of(gridId, modelKey, request);
+            byte[] block = cache.get(cacheKey);
+            if (block != null)
+            {
+                return block;
+            }
+        }
+
+        ServerSideBlockCache blockCache = cache;
+        ServerSideBlockCacheKey blockKey = cacheKey;
+        ServerSideSingleFlight.BlockLoader loader = () -> {
+            long generation = blockCache == null ? 0 : blockCache.generation(gridId);
+            byte[] block = ServerSideJson.mapper()
+                                         .writeValueAsBytes(getRows(gridId, request));
+            if (blockCache != null)
+            {
+                blockCache.put(blockKey, block, generation);
+            }
+            return block;
+        };
+        if (singleFlight == null)
+        {
+            return loader.load();
+        }
+        return singleFlight.execute(ServerSideSingleFlight.Key.of(gridId, modelKey, request), loader);
+    }
+
+    /**
+     * Load several requests of a grid at once, answered as {@code {"results":[...]}} in request order.
+     * <p>
+     * Blocks found in the grid's {@link ServerSideBlockCache} are served from it. The remaining requests are grouped
+     * by their normalised models and group path, and contiguous or overlapping ranges are merged so the datasource
+     * is called once per range (a single range scan) instead of once per block. Each merged result is then split
+     * back into the requested blocks, which are cached individually unless the grid was invalidated while they loaded
+     * or the load was shared with another caller. A merged load starts at its first member, whose
+     * keyset cursor it keeps, and identical concurrent merged loads share one call through the grid's
+     * {@link ServerSideSingleFlight}.
+     *
+     * @param gridId   grid identifier
+     * @param requests typed SSRM requests
+     * @return JSON object with one {@link ServerSideGetRowsResult} per request
+     * @throws JsonProcessingException when a result cannot be serialised
+     */
+    public byte[] getRowsBatchAsJson(String gridId, List<ServerSideGetRowsRequest> requests) throws JsonProcessingException
+    {
+        byte[][] results = new byte[requests.size()][];
+        ServerSideBlockCache cache = blockCaches.get(gridId);
+        ServerSideSingleFlight singleFlight = singleFlights.get(gridId);
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++)
+        {
+            ServerSideGetRowsRequest request = requests.get(i);
+            if (cache != null && ServerSideBlockCacheKey.isBlockAligned(request))
+            {
+                results[i] = cache.get(ServerSideBlockCacheKey.of(gridId, request));
+            }
+            if (results[i] == null)
+            {
+                pending.add(i);
+            }
+        }
+
+        for (ServerSideBatchPlan.Load load : ServerSideBatchPlan.plan(requests, pending))
+        {
+            if (load.members()
+                    .size() == 1)
+            {
+                int index = load.members()
+                                .get(0);
+                results[index] = getRowsAsJson(gridId, requests.get(index));
+                continue;
+            }
+            // generation[0] stays -1 when this call joined a shared load, whose start may predate an invalidation
+            long[] generation = {-1};
+            ServerSideSingleFlight.RowsLoader loader = () -> {
+                generation[0] = cache == null ? 0 : cache.generation(gridId);
+                return getRows(gridId, load.merged());
+            };
+            ServerSideGetRowsResult<?> merged = singleFlight == null
+                                                ? loader.load()
+                                                : singleFlight.executeRows(ServerSideSingleFlight.Key.of(gridId, load.modelKey(), load.merged()), loader);
+            for (Integer index : load.members())
+            {
+                ServerSideGetRowsRequest request = requests.get(index);
+                byte[] block = ServerSideJson.mapper()
+                                             .writeValueAsBytes(ServerSideBatchPlan.slice(load.merged(), merged, request));
+                if (cache != null && generation[0] >= 0 && ServerSideBlockCacheKey.isBlockAligned(request))
+                {
+                    cache.put(ServerSideBlockCacheKey.of(gridId, load.modelKey(), request), block, generation[0]);
+                }
+                results[index] = block;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(BATCH_PREFIX);
+        for (int i = 0; i < results.length; i++)
+        {
+            if (i > 0)
+            {
+                out.write(',');
+            }
+            out.writeBytes(results[i]);
+        }
+        out.writeBytes(BATCH_SUFFIX);
+        return out.toByteArray();
+    }
+
+    /**
+     * Answer a request body posted by the generated TypeScript datasource.
+     * <p>
+     * Failures are reported in-band as {@code {"failed":true,"errorMessage":"..."}} so the grid can call
+     * {@code params.fail()} rather than the endpoint returning an error page. Exceptions are logged; the client
+     * only receives a generic message.
+     *
+     * @param body JSON {@link ServerSideGetRowsEnvelope}
+     * @return JSON {@link ServerSideGetRowsResult} (or the batch of them), or the failure object
+     */
+    public byte[] handle(byte[] body)
+    {
+        try
+        {
+            ServerSideGetRowsEnvelope envelope = ServerSideJson.mapper()
+                                                               .readValue(body, ServerSideGetRowsEnvelope.class);
+            if (envelope.gridId() == null || (envelope.request() == null && !envelope.isBatch()))
+            {
+                return ServerSideJson.failure("Request must contain gridId and request");
+            }
+            if (envelope.isBatch())
+            {
+                return getRowsBatchAsJson(envelope.gridId(), envelope.requests());
+            }
+            return getRowsAsJson(envelope.gridId(), envelope.request());
+        }
+        catch (IOException | RuntimeException e)
+        {
+            return ServerSideJson.failure(ServerSideDatasourceRegistry.class, e);
+        }
+    }
+
+    /**
+     * Stream a block of rows for a grid to the client as newline-delimited JSON.
+     * <p>
+     * Rows are serialised one at a time as the datasource emits them: an {@link IServerSideStreamingDatasource}
+     * never holds the block in memory and no JSON array of the whole block is built. Other datasources are loaded
+     * as usual and their rows are written out one per line. Streamed blocks bypass the block cache.
+     *
+     * @param gridId  grid identifier
+     * @param request typed SSRM request
+     * @param out     response stream; flushed but not closed
+     * @throws IOException when writing to the client fails
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void streamRows(String gridId, ServerSideGetRowsRequest request, OutputStream out) throws IOException
+    {
+        IServerSideDatasource<?> datasource = datasources.get(gridId);
+        ServerSideNdjsonWriter writer = new ServerSideNdjsonWriter<>(out);
+        try
+        {
+            if (datasource == null)
+            {
+                throw new IllegalArgumentException("No server-side datasource registered for grid '" + gridId + "'");
+            }
+            if (datasource instanceof IServerSideStreamingDatasource<?> streaming)
+            {
+                ((IServerSideStreamingDatasource) streaming).streamRows(request, writer);
+            }
+            else
+            {
+                ServerSideGetRowsResult<?> result = datasource.getRows(request);
+                for (Object row : result.rowData())
+                {
+                    writer.row(row);
+                }
+                writer.rowCount(result.rowCount());
+                writer.pivotResultFields(result.pivotResultFields());
+                writer.pivotResultColumns(result.pivotResultColumns());
+                writer.cursor(result.cursor());
+            }
+        }
+        catch (RuntimeException e)
+        {
+            writer.fail(ServerSideJson.logFailure(ServerSideDatasourceRegistry.class, e));
+            return;
+        }
+        writer.finish();
+    }
+
+    /**
+     * Answer a request body posted by the generated streaming TypeScript datasource, writing
+     * {@code application/x-ndjson} to the response (see {@link #streamRows(String, ServerSideGetRowsRequest, OutputStream)}).
+     * <p>
+     * Failures are reported in-band as a {@code {"failed":true,"errorMessage":"..."}} line.
+     *
+     * @param body JSON {@link ServerSideGetRowsEnvelope}
+     * @param out  response stream; flushed but not closed
+     * @throws IOException when writing to the client fails
+     */
+    public void handleStreaming(byte[] body, OutputStream out) throws IOException
+    {
+        ServerSideGetRowsEnvelope envelope;
+        try
+        {
+            envelope = ServerSideJson.mapper()
+                                     .readValue(body, ServerSideGetRowsEnvelope.class);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            new ServerSideNdjsonWriter<>(out).fail(ServerSideJson.logFailure(ServerSideDatasourceRegistry.class, e));
+            return;
+        }
+        if (envelope.gridId() == null || envelope.request() == null)
+        {
+            new ServerSideNdjsonWriter<>(out).fail("Request must contain gridId and request");
+            return;
+        }
+        streamRows(envelope.gridId(), envelope.request(), out);
+    }
+
+    /**
+     * Clear all registrations.
+     * Use with caution; typically only in test or cleanup scenarios.
+     */
+    public void clear()
+    {
+        datasources.clear();
+        blockCaches.clear();
+        singleFlights.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Body posted by the generated TypeScript datasource: the grid the request belongs to and either one AG Grid
+ * request or, when the datasource batches block loads, several of them.
+ *
+ * @param gridId   identifier the datasource was registered under
+ * @param request  the SSRM request
+ * @param requests batched SSRM requests, answered as {@code {"results":[...]}} in the same order
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ServerSideGetRowsEnvelope(String gridId, ServerSideGetRowsRequest request, List<ServerSideGetRowsRequest> requests)
+{
+    /**
+     * @return true when the envelope carries a batch of requests
+     */
+    public boolean isBatch()
+    {
+        return requests != null && !requests.isEmpty();
+    }
+}
@@ -0,0 +1,131 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed form of the {@code IServerSideGetRowsRequest} payload AG Grid passes to {@code getRows}.
+ *
+ * Missing collections are normalised to empty, unmodifiable lists/maps so datasources never need null checks.
+ *
+ * @param startRow     first row index requested (inclusive)
+ * @param endRow       last row index requested (exclusive)
+ * @param rowGroupCols columns the grid is grouped by
+ * @param valueCols    columns being aggregated
+ * @param pivotCols    columns being pivoted on
+ * @param pivotMode    whether the grid is in pivot mode
+ * @param groupKeys    keys of the open group being loaded, one per grouping level
+ * @param filterModel  active filter model (column filter models, or the Advanced Filter model)
+ * @param sortModel    active sort model
+ * @param cursor       keyset cursor returned with the preceding block, see {@link ServerSideCursor}; null for offset paging
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ServerSideGetRowsRequest(Integer startRow,
+                                       Integer endRow,
+                                       List<ServerSideColumnVO> rowGroupCols,
+                                       List<ServerSideColumnVO> valueCols,
+                                       List<ServerSideColumnVO> pivotCols,
+                                       Boolean pivotMode,
+                                       List<String> groupKeys,
+                                       Map<String, Object> filterModel,
+                                       List<ServerSideSortModelItem> sortModel,
+                                       String cursor)
+{
+    public ServerSideGetRowsRequest
+    {
+        rowGroupCols = immutable(rowGroupCols);
+        valueCols = immutable(valueCols);
+        pivotCols = immutable(pivotCols);
+        groupKeys = immutable(groupKeys);
+        sortModel = immutable(sortModel);
+        filterModel = filterModel == null ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(filterModel));
+    }
+
+    /**
+     * A request without a keyset cursor.
+     */
+    public ServerSideGetRowsRequest(Integer startRow, Integer endRow, List<ServerSideColumnVO> rowGroupCols, List<ServerSideColumnVO> valueCols,
+                                    List<ServerSideColumnVO> pivotCols, Boolean pivotMode, List<String> groupKeys, Map<String, Object> filterModel,
+                                    List<ServerSideSortModelItem> sortModel)
+    {
+        this(startRow, endRow, rowGroupCols, valueCols, pivotCols, pivotMode, groupKeys, filterModel, sortModel, null);
+    }
+
+    /**
+     * @return the first requested row index, 0 when not supplied
+     */
+    public int start()
+    {
+        return startRow == null ? 0 : startRow;
+    }
+
+    /**
+     * @return the exclusive end row index, equal to {@link #start()} when not supplied
+     */
+    public int end()
+    {
+        return endRow == null ? start() : endRow;
+    }
+
+    /**
+     * @return number of rows requested
+     */
+    public int blockSize()
+    {
+        return Math.max(0, end() - start());
+    }
+
+    /**
+     * @return true when the grid is in pivot mode and has pivot columns
+     */
+    public boolean isPivoting()
+    {
+        return Boolean.TRUE.equals(pivotMode) && !pivotCols.isEmpty();
+    }
+
+    /**
+     * Whether this request is for group rows rather than leaf rows, i.e. fewer group keys than grouping levels.
+     *
+     * @return true when group rows should be returned
+     */
+    public boolean isGroupLevel()
+    {
+        return rowGroupCols.size() > groupKeys.size();
+    }
+
+    /**
+     * Copy of this request covering a different row range. The keyset cursor is dropped as it only applies to the
+     * original start row.
+     *
+     * @param startRow first row (inclusive)
+     * @param endRow   last row (exclusive)
+     * @return a new request with the same models
+     */
+    public ServerSideGetRowsRequest withRange(int startRow, int endRow)
+    {
+        return new ServerSideGetRowsRequest(startRow, endRow, rowGroupCols, valueCols, pivotCols, pivotMode, groupKeys, filterModel, sortModel, null);
+    }
+
+    /**
+     * Copy of this request with a keyset cursor.
+     *
+     * @param cursor encoded {@link ServerSideCursor}, or null for offset paging
+     * @return a new request with the same models and range
+     */
+    public ServerSideGetRowsRequest withCursor(String cursor)
+    {
+        return new ServerSideGetRowsRequest(startRow, endRow, rowGroupCols, valueCols, pivotCols, pivotMode, groupKeys, filterModel, sortModel, cursor);
+    }
+
+    private static <E> List<E> immutable(List<E> list)
+    {
+        return list == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+}
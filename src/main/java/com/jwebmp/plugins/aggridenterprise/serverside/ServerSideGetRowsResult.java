@@ -0,0 +1,105 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed result of an SSRM {@code getRows} call, serialised to the {@code LoadSuccessParams} the grid expects.
+ *
+ * @param rowData            rows for the requested range
+ * @param rowCount           total number of rows at this level when known; null lets the grid keep scrolling
+ * @param pivotResultFields  pivot result field names when the request was pivoting
+ * @param cursor             keyset cursor positioned after the last row, see {@link ServerSideCursor}; null when
+ *                           keyset paging does not apply
+ * @param pivotResultColumns generated pivot result column definitions, see {@link ServerSidePivotColumnCache}; null
+ *                           to let the grid build the columns from {@code pivotResultFields}
+ * @param <T>                row data type
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ServerSideGetRowsResult<T>(List<T> rowData, Integer rowCount, List<String> pivotResultFields, String cursor,
+                                         ServerSidePivotResultColumns pivotResultColumns)
+{
+    public ServerSideGetRowsResult
+    {
+        rowData = rowData == null ? Collections.emptyList() : rowData;
+    }
+
+    /**
+     * A result without generated pivot result columns.
+     */
+    public ServerSideGetRowsResult(List<T> rowData, Integer rowCount, List<String> pivotResultFields, String cursor)
+    {
+        this(rowData, rowCount, pivotResultFields, cursor, null);
+    }
+
+    /**
+     * A result without a keyset cursor.
+     */
+    public ServerSideGetRowsResult(List<T> rowData, Integer rowCount, List<String> pivotResultFields)
+    {
+        this(rowData, rowCount, pivotResultFields, null);
+    }
+
+    /**
+     * Copy of this result carrying a keyset cursor.
+     *
+     * @param cursor encoded {@link ServerSideCursor}
+     * @return a new result with the same rows
+     */
+    public ServerSideGetRowsResult<T> withCursor(String cursor)
+    {
+        return new ServerSideGetRowsResult<>(rowData, rowCount, pivotResultFields, cursor, pivotResultColumns);
+    }
+
+    /**
+     * Copy of this result carrying generated pivot result column definitions.
+     *
+     * @param pivotResultColumns the column definitions
+     * @return a new result with the same rows
+     */
+    public ServerSideGetRowsResult<T> withPivotResultColumns(ServerSidePivotResultColumns pivotResultColumns)
+    {
+        return new ServerSideGetRowsResult<>(rowData, rowCount, pivotResultFields, cursor, pivotResultColumns);
+    }
+
+    /**
+     * A result with an unknown row count.
+     *
+     * @param rowData rows for the requested range
+     * @param <T>     row data type
+     * @return the result
+     */
+    public static <T> ServerSideGetRowsResult<T> of(List<T> rowData)
+    {
+        return new ServerSideGetRowsResult<>(rowData, null, null);
+    }
+
+    /**
+     * A result with a known total row count.
+     *
+     * @param rowData  rows for the requested range
+     * @param rowCount total rows at this level
+     * @param <T>      row data type
+     * @return the result
+     */
+    public static <T> ServerSideGetRowsResult<T> of(List<T> rowData, int rowCount)
+    {
+        return new ServerSideGetRowsResult<>(rowData, rowCount, null);
+    }
+
+    /**
+     * A pivoting result carrying the pivot result field names.
+     *
+     * @param rowData           rows for the requested range
+     * @param rowCount          total rows at this level, or null when unknown
+     * @param pivotResultFields generated pivot result field names
+     * @param <T>               row data type
+     * @return the result
+     */
+    public static <T> ServerSideGetRowsResult<T> pivot(List<T> rowData, Integer rowCount, List<String> pivotResultFields)
+    {
+        return new ServerSideGetRowsResult<>(rowData, rowCount, pivotResultFields);
+    }
+}
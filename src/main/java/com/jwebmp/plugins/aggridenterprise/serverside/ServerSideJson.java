@@ -0,0 +1,89 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Shared, pre-configured Jackson mapper for the server-side row model hot path.
+ *
+ * ObjectMapper is thread-safe once configured, so a single instance is reused instead of building a new
+ * mapper (and re-introspecting every type) per request. Map entries are written in key order so that
+ * equivalent filter models serialise identically, which the request keys used for caching rely on.
+ */
+public final class ServerSideJson
+{
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+                                                         .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                                                         .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+                                                         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                                                         .serializationInclusion(JsonInclude.Include.NON_NULL)
+                                                         .build();
+    /**
+     * Message sent to the browser for any exception; the exception itself only goes to the server log.
+     */
+    private static final String FAILED_MESSAGE = "The server could not complete the request";
+
+    private ServerSideJson()
+    {
+    }
+
+    /**
+     * @return the shared mapper; do not reconfigure it
+     */
+    public static ObjectMapper mapper()
+    {
+        return MAPPER;
+    }
+
+    /**
+     * The in-band failure object the generated TypeScript hands to {@code params.fail()}.
+     *
+     * @param message message shown to the client; never exception text, see {@link #failure(Class, Throwable)}
+     * @return JSON {@code {"failed":true,"errorMessage":"..."}}
+     */
+    public static byte[] failure(String message)
+    {
+        try
+        {
+            return MAPPER.writeValueAsBytes(Map.of("failed", true, "errorMessage", message == null ? "" : message));
+        }
+        catch (JsonProcessingException e)
+        {
+            return "{\"failed\":true}".getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Log an exception that ended a request and answer it with a generic failure object, so SQL, table names or
+     * driver messages in the exception never reach the browser.
+     *
+     * @param handler class answering the request, names the logger
+     * @param error   the exception
+     * @return JSON failure object with a generic message
+     */
+    public static byte[] failure(Class<?> handler, Throwable error)
+    {
+        return failure(logFailure(handler, error));
+    }
+
+    /**
+     * Log an exception that ended a request.
+     *
+     * @param handler class answering the request, names the logger
+     * @param error   the exception
+     * @return the generic message to send to the client instead of the exception text
+     */
+    public static String logFailure(Class<?> handler, Throwable error)
+    {
+        System.getLogger(handler.getName())
+              .log(System.Logger.Level.ERROR, FAILED_MESSAGE, error);
+        return FAILED_MESSAGE;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a streamed SSRM block as newline-delimited JSON with Jackson's streaming generator.
+ * <p>
+ * Every row is written as its own line, {@code {"row":{...}}}, as soon as it is emitted. The block ends with a
+ * trailer line {@code {"done":true,"rowCount":n,"pivotResultFields":[...],"pivotResultColumns":{...},"cursor":"..."}}, or with
+ * {@code {"failed":true,"errorMessage":"..."}} when loading failed part way.
+ *
+ * @param <T> row data type
+ */
+final class ServerSideNdjsonWriter<T> implements ServerSideRowSink<T>
+{
+    private static final ObjectWriter WRITER = ServerSideJson.mapper()
+                                                             .writer()
+                                                             .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final OutputStream out;
+    private final JsonGenerator generator;
+    private Integer rowCount;
+    private List<String> pivotResultFields;
+    private ServerSidePivotResultColumns pivotResultColumns;
+    private String cursor;
+    private boolean firstRow = true;
+
+    ServerSideNdjsonWriter(OutputStream out) throws IOException
+    {
+        this.out = out;
+        generator = WRITER.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void row(T row) throws IOException
+    {
+        generator.writeStartObject();
+        generator.writeFieldName("row");
+        WRITER.writeValue(generator, row);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if (firstRow)
+        {
+            // Get the first row to the client straight away; later rows leave in buffer-sized chunks
+            generator.flush();
+            firstRow = false;
+        }
+    }
+
+    @Override
+    public void rowCount(Integer rowCount)
+    {
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public void pivotResultFields(List<String> pivotResultFields)
+    {
+        this.pivotResultFields = pivotResultFields;
+    }
+
+    @Override
+    public void pivotResultColumns(ServerSidePivotResultColumns pivotResultColumns)
+    {
+        this.pivotResultColumns = pivotResultColumns;
+    }
+
+    @Override
+    public void cursor(String cursor)
+    {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Write the trailer line and flush.
+     *
+     * @throws IOException when writing fails
+     */
+    void finish() throws IOException
+    {
+        generator.writeStartObject();
+        generator.writeBooleanField("done", true);
+        if (rowCount != null)
+        {
+            generator.writeNumberField("rowCount", rowCount);
+        }
+        if (pivotResultFields != null)
+        {
+            generator.writeFieldName("pivotResultFields");
+            WRITER.writeValue(generator, pivotResultFields);
+        }
+        if (pivotResultColumns != null)
+        {
+            generator.writeFieldName("pivotResultColumns");
+            WRITER.writeValue(generator, pivotResultColumns);
+        }
+        if (cursor != null)
+        {
+            generator.writeStringField("cursor", cursor);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.close();
+    }
+
+    /**
+     * Write a failure line and flush; the client discards the rows already received.
+     * A row interrupted part way is terminated first, so the failure always arrives on its own line.
+     *
+     * @param message error message
+     * @throws IOException when writing fails
+     */
+    void fail(String message) throws IOException
+    {
+        generator.flush();
+        out.write('\n');
+        out.write(ServerSideJson.failure(message));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,250 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of generated pivot result column definitions and their serialised JSON.
+ * <p>
+ * Entries are keyed by the pivot columns, the value columns (with their aggregation), the layout's separator and a
+ * hash of the distinct pivot key set, so scrolling or re-sorting a wide pivot reuses the column tree built for the
+ * first block. A change to the distinct pivot values produces a different key and so rebuilds the columns; a hit is
+ * confirmed against the stored key set, so a hash collision never returns the wrong columns. Entries are evicted
+ * least-recently-used first.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSidePivotColumnCache
+{
+    /**
+     * Default number of column sets kept.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /**
+     * Builds the column definitions for a pivot key set.
+     */
+    @FunctionalInterface
+    public interface Factory
+    {
+        /**
+         * @param pivotCols columns being pivoted on
+         * @param valueCols aggregated value columns
+         * @param pivotKeys distinct pivot keys in column order, each outermost pivot column first
+         * @param layout    pivot result field naming
+         * @return the column definitions, serialisable with {@link ServerSideJson#mapper()}
+         */
+        List<?> build(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys, ServerSidePivotLayout layout);
+    }
+
+    private final Factory factory;
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param factory builds the column definitions on a miss
+     */
+    public ServerSidePivotColumnCache(Factory factory)
+    {
+        this(factory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param factory    builds the column definitions on a miss
+     * @param maxEntries number of column sets kept
+     */
+    public ServerSidePivotColumnCache(Factory factory, int maxEntries)
+    {
+        if (maxEntries <= 0)
+        {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.factory = factory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the serialised column definitions for a pivot key set, building them on a miss.
+     *
+     * @param pivotCols columns being pivoted on
+     * @param valueCols aggregated value columns
+     * @param pivotKeys distinct pivot keys in column order
+     * @param layout    pivot result field naming
+     * @return the column definitions and their key
+     */
+    public ServerSidePivotResultColumns get(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys,
+                                            ServerSidePivotLayout layout)
+    {
+        return entry(pivotCols, valueCols, pivotKeys, layout).json();
+    }
+
+    /**
+     * Get the column definition tree for a pivot key set, building it on a miss. The tree is shared: do not modify it.
+     *
+     * @param pivotCols columns being pivoted on
+     * @param valueCols aggregated value columns
+     * @param pivotKeys distinct pivot keys in column order
+     * @param layout    pivot result field naming
+     * @return the column definitions
+     */
+    public List<?> getColumnDefs(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys,
+                                 ServerSidePivotLayout layout)
+    {
+        return entry(pivotCols, valueCols, pivotKeys, layout).columnDefs();
+    }
+
+    /**
+     * Drop every cached column set, e.g. after changing how the factory builds them.
+     */
+    public void invalidateAll()
+    {
+        lock.lock();
+        try
+        {
+            entries.clear();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of column sets held
+     */
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return entries.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return lookups answered from the cache
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that built the columns
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    private Entry entry(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys, ServerSidePivotLayout layout)
+    {
+        Key key = Key.of(pivotCols, valueCols, pivotKeys, layout);
+        lock.lock();
+        try
+        {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.pivotKeys()
+                                        .equals(pivotKeys))
+            {
+                hits.increment();
+                return cached;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        misses.increment();
+
+        // Built outside the lock: a concurrent miss for the same key builds an identical entry
+        List<?> columnDefs = factory.build(pivotCols, valueCols, pivotKeys, layout);
+        String json;
+        try
+        {
+            json = ServerSideJson.mapper()
+                                 .writeValueAsString(columnDefs);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Unable to serialise pivot result columns", e);
+        }
+        List<List<String>> keys = new ArrayList<>(pivotKeys.size());
+        for (List<String> pivotKey : pivotKeys)
+        {
+            keys.add(new ArrayList<>(pivotKey));
+        }
+        Entry entry = new Entry(keys, columnDefs, new ServerSidePivotResultColumns(key.id(), json));
+        lock.lock();
+        try
+        {
+            entries.put(key, entry);
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet()
+                                                            .iterator();
+            while (entries.size() > maxEntries && eldest.hasNext())
+            {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    /**
+     * @param pivotCols pivot column fields
+     * @param valueCols value column ids with their aggregation
+     * @param separator pivot result field separator
+     * @param keyCount  number of distinct pivot keys
+     * @param keyHash   hash of the distinct pivot keys in order
+     */
+    private record Key(List<String> pivotCols, List<String> valueCols, String separator, int keyCount, long keyHash)
+    {
+        static Key of(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys, ServerSidePivotLayout layout)
+        {
+            long hash = 1125899906842597L;
+            for (List<String> pivotKey : pivotKeys)
+            {
+                for (String value : pivotKey)
+                {
+                    hash = 31 * hash + (value == null ? 0 : value.hashCode());
+                }
+                hash = 31 * hash + pivotKey.size();
+            }
+            return new Key(pivotCols.stream()
+                                    .map(ServerSideColumnVO::fieldOrId)
+                                    .toList(), valueCols.stream()
+                                                        .map(column -> column.id() + ':' + column.aggFunc())
+                                                        .toList(), layout.separator(), pivotKeys.size(), hash);
+        }
+
+        /**
+         * @return a short identifier sent to the browser to tell column sets apart
+         */
+        String id()
+        {
+            return Integer.toHexString(hashCode()) + '-' + Long.toHexString(keyHash) + '-' + keyCount;
+        }
+    }
+
+    private record Entry(List<List<String>> pivotKeys, List<?> columnDefs, ServerSidePivotResultColumns json)
+    {
+    }
+}
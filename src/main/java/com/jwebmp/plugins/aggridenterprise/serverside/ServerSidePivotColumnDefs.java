@@ -0,0 +1,118 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnDef;
+import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnGroupDef;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builds pivot result columns as a tree of {@link AgGridEnterpriseColumnGroupDef}s, one level per pivot column,
+ * with an {@link AgGridEnterpriseColumnDef} per value column at the bottom, named by the {@link ServerSidePivotLayout}.
+ * <p>
+ * The processors are the Java counterparts of the grid's {@code processPivotResultColDef} and
+ * {@code processPivotResultColGroupDef} callbacks; they run once per built column set, not once per block, when
+ * used through a {@link ServerSidePivotColumnCache}.
+ *
+ * <pre>{@code
+ * ServerSidePivotColumnCache columns = new ServerSidePivotColumnCache(new ServerSidePivotColumnDefs()
+ *         .setColDefProcessor(colDef -> colDef.setAggFunc("sum")));
+ * }</pre>
+ */
+public class ServerSidePivotColumnDefs implements ServerSidePivotColumnCache.Factory
+{
+    private Consumer<AgGridEnterpriseColumnDef<?>> colDefProcessor;
+    private Consumer<AgGridEnterpriseColumnGroupDef> groupProcessor;
+
+    /**
+     * @param colDefProcessor customises each generated pivot result column, or null
+     * @return this
+     */
+    public ServerSidePivotColumnDefs setColDefProcessor(Consumer<AgGridEnterpriseColumnDef<?>> colDefProcessor)
+    {
+        this.colDefProcessor = colDefProcessor;
+        return this;
+    }
+
+    /**
+     * @param groupProcessor customises each generated pivot result column group, or null
+     * @return this
+     */
+    public ServerSidePivotColumnDefs setGroupProcessor(Consumer<AgGridEnterpriseColumnGroupDef> groupProcessor)
+    {
+        this.groupProcessor = groupProcessor;
+        return this;
+    }
+
+    @Override
+    public List<?> build(List<ServerSideColumnVO> pivotCols, List<ServerSideColumnVO> valueCols, List<List<String>> pivotKeys, ServerSidePivotLayout layout)
+    {
+        List<Object> roots = new ArrayList<>();
+        // Pivot keys arrive sorted, so groups sharing a key prefix are adjacent: keep the open group per level
+        List<AgGridEnterpriseColumnGroupDef> open = new ArrayList<>();
+        List<String> previous = List.of();
+        for (List<String> pivotKey : pivotKeys)
+        {
+            int shared = 0;
+            while (shared < open.size() && shared < pivotKey.size() && pivotKey.get(shared)
+                                                                               .equals(previous.get(shared)))
+            {
+                shared++;
+            }
+            while (open.size() > shared)
+            {
+                open.remove(open.size() - 1);
+            }
+            for (int level = shared; level < pivotKey.size(); level++)
+            {
+                List<String> prefix = pivotKey.subList(0, level + 1);
+                AgGridEnterpriseColumnGroupDef group = new AgGridEnterpriseColumnGroupDef(String.join(layout.separator(), prefix), pivotKey.get(level))
+                        .setPivotKeys(new ArrayList<>(prefix));
+                if (groupProcessor != null)
+                {
+                    groupProcessor.accept(group);
+                }
+                if (level == 0)
+                {
+                    roots.add(group);
+                }
+                else
+                {
+                    open.get(level - 1)
+                        .addChild(group);
+                }
+                open.add(group);
+            }
+            for (ServerSideColumnVO valueCol : valueCols)
+            {
+                AgGridEnterpriseColumnDef<?> colDef = new AgGridEnterpriseColumnDef<>(layout.field(pivotKey, valueCol), header(valueCol));
+                if (valueCol.aggFunc() != null)
+                {
+                    colDef.setAggFunc(valueCol.aggFunc());
+                }
+                if (colDefProcessor != null)
+                {
+                    colDefProcessor.accept(colDef);
+                }
+                if (open.isEmpty())
+                {
+                    roots.add(colDef);
+                }
+                else
+                {
+                    open.get(open.size() - 1)
+                        .addChild(colDef);
+                }
+            }
+            previous = pivotKey;
+        }
+        return roots;
+    }
+
+    private static String header(ServerSideColumnVO valueCol)
+    {
+        String name = valueCol.displayName() != null ? valueCol.displayName() : valueCol.id();
+        return valueCol.aggFunc() == null ? name : valueCol.aggFunc() + "(" + name + ")";
+    }
+}
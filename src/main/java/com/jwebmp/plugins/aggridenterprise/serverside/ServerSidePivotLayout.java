@@ -0,0 +1,82 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.jwebmp.plugins.aggridenterprise.options.modules.PivotingOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.ServerSideRowModelOptions;
+
+import java.util.List;
+
+/**
+ * Naming and size limit of the pivot result columns a datasource generates.
+ * <p>
+ * A pivot result field joins the pivot keys and the value column id with the separator, e.g. {@code 2024_gold}
+ * for year 2024 and value column {@code gold}, matching the grid's {@code serverSidePivotResultFieldSeparator}.
+ * Datasources check the number of generated columns while they collect pivot keys, so a pivot that would exceed
+ * {@code pivotMaxGeneratedColumns} fails before its data is aggregated.
+ *
+ * @param separator           separator between pivot keys and the value column id
+ * @param maxGeneratedColumns most pivot result columns to generate, 0 for no limit
+ */
+public record ServerSidePivotLayout(String separator, int maxGeneratedColumns)
+{
+    /**
+     * AG Grid's default separator.
+     */
+    public static final String DEFAULT_SEPARATOR = "_";
+
+    /**
+     * The default separator without a column limit.
+     */
+    public static final ServerSidePivotLayout DEFAULT = new ServerSidePivotLayout(DEFAULT_SEPARATOR, 0);
+
+    public ServerSidePivotLayout
+    {
+        if (separator == null || separator.isEmpty())
+        {
+            separator = DEFAULT_SEPARATOR;
+        }
+        if (maxGeneratedColumns < 0)
+        {
+            throw new IllegalArgumentException("maxGeneratedColumns must not be negative");
+        }
+    }
+
+    /**
+     * Create a layout matching a grid's options.
+     *
+     * @param serverSide the grid's server-side row model options ({@code serverSidePivotResultFieldSeparator})
+     * @param pivoting   the grid's pivoting options ({@code pivotMaxGeneratedColumns})
+     * @return the layout
+     */
+    public static ServerSidePivotLayout forOptions(ServerSideRowModelOptions<?> serverSide, PivotingOptions<?> pivoting)
+    {
+        String separator = serverSide == null ? null : serverSide.getServerSidePivotResultFieldSeparator();
+        Integer max = pivoting == null ? null : pivoting.getPivotMaxGeneratedColumns();
+        return new ServerSidePivotLayout(separator, max == null || max <= 0 ? 0 : max);
+    }
+
+    /**
+     * @param pivotKeys pivot key values, outermost pivot column first
+     * @param valueCol  the aggregated value column
+     * @return the pivot result field name
+     */
+    public String field(List<String> pivotKeys, ServerSideColumnVO valueCol)
+    {
+        return String.join(separator, pivotKeys) + separator + valueCol.id();
+    }
+
+    /**
+     * Reject a pivot generating more columns than allowed.
+     *
+     * @param pivotKeyCount distinct pivot key combinations found so far
+     * @param valueColCount value columns per pivot key combination
+     * @throws IllegalArgumentException when the limit is exceeded
+     */
+    public void checkColumnCount(int pivotKeyCount, int valueColCount)
+    {
+        long columns = (long) pivotKeyCount * Math.max(valueColCount, 1);
+        if (maxGeneratedColumns > 0 && columns > maxGeneratedColumns)
+        {
+            throw new IllegalArgumentException("Pivot generates more than pivotMaxGeneratedColumns (" + maxGeneratedColumns + ") columns");
+        }
+    }
+}
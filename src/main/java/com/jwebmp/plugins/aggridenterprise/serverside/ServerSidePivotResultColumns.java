@@ -0,0 +1,14 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Pivot result column definitions sent with a pivoting block, applied in the browser with
+ * {@code api.setPivotResultColumns} when their key differs from the columns already applied.
+ *
+ * @param key        identifies the pivot columns, value columns and pivot key set the definitions were built for
+ * @param columnDefs the column definitions as serialised JSON, written verbatim
+ */
+public record ServerSidePivotResultColumns(String key, @JsonRawValue String columnDefs)
+{
+}
@@ -0,0 +1,53 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink that collects a streamed block back into a {@link ServerSideGetRowsResult}.
+ *
+ * @param <T> row data type
+ */
+final class ServerSideRowCollector<T> implements ServerSideRowSink<T>
+{
+    private final List<T> rows = new ArrayList<>();
+    private Integer rowCount;
+    private List<String> pivotResultFields;
+    private ServerSidePivotResultColumns pivotResultColumns;
+    private String cursor;
+
+    @Override
+    public void row(T row)
+    {
+        rows.add(row);
+    }
+
+    @Override
+    public void rowCount(Integer rowCount)
+    {
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public void pivotResultFields(List<String> pivotResultFields)
+    {
+        this.pivotResultFields = pivotResultFields;
+    }
+
+    @Override
+    public void pivotResultColumns(ServerSidePivotResultColumns pivotResultColumns)
+    {
+        this.pivotResultColumns = pivotResultColumns;
+    }
+
+    @Override
+    public void cursor(String cursor)
+    {
+        this.cursor = cursor;
+    }
+
+    ServerSideGetRowsResult<T> toResult()
+    {
+        return new ServerSideGetRowsResult<>(rows, rowCount, pivotResultFields, cursor, pivotResultColumns);
+    }
+}
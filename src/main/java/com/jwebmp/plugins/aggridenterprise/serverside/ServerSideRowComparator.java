@@ -0,0 +1,103 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Orders row maps by an SSRM sort model, for datasources that sort rows in Java.
+ * <p>
+ * Nulls sort first, numbers compare by value whatever their boxed type, other values by their natural order when
+ * both are of the same class and by their string form otherwise. Integral and {@link BigDecimal} values compare
+ * exactly, so distinct longs beyond 2^53 never tie; only two floating-point values compare as doubles.
+ */
+public final class ServerSideRowComparator
+{
+    private ServerSideRowComparator()
+    {
+    }
+
+    /**
+     * @param sortModel the request's sort model
+     * @param fieldOf   maps a sorted column id to the row field holding its value, or null to ignore the column
+     * @return the row order, or null when no column of the sort model applies
+     */
+    public static Comparator<Map<String, Object>> of(List<ServerSideSortModelItem> sortModel, Function<String, String> fieldOf)
+    {
+        Comparator<Map<String, Object>> order = null;
+        for (ServerSideSortModelItem sort : sortModel)
+        {
+            String field = fieldOf.apply(sort.colId());
+            if (field != null)
+            {
+                Comparator<Map<String, Object>> term = (a, b) -> compareValues(a.get(field), b.get(field));
+                term = sort.isDescending() ? term.reversed() : term;
+                order = order == null ? term : order.thenComparing(term);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * @param a first value
+     * @param b second value
+     * @return negative, zero or positive as {@code a} sorts before, with or after {@code b}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compareValues(Object a, Object b)
+    {
+        if (a == null || b == null)
+        {
+            return a == b ? 0 : (a == null ? -1 : 1);
+        }
+        if (a instanceof Number x && b instanceof Number y)
+        {
+            return compareNumbers(x, y);
+        }
+        if (a instanceof Comparable comparable && a.getClass() == b.getClass())
+        {
+            return comparable.compareTo(b);
+        }
+        return a.toString()
+                .compareTo(b.toString());
+    }
+
+    private static int compareNumbers(Number a, Number b)
+    {
+        if (integral(a) && integral(b))
+        {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        boolean exactA = exact(a);
+        boolean exactB = exact(b);
+        // A mixed pair compares exactly while the floating-point side is finite, so the order stays transitive
+        if ((exactA || Double.isFinite(a.doubleValue())) && (exactB || Double.isFinite(b.doubleValue())) && (exactA || exactB))
+        {
+            return decimal(a).compareTo(decimal(b));
+        }
+        return Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
+    private static boolean integral(Number value)
+    {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean exact(Number value)
+    {
+        return integral(value) || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private static BigDecimal decimal(Number value)
+    {
+        return switch (value)
+        {
+            case BigDecimal decimal -> decimal;
+            case BigInteger integer -> new BigDecimal(integer);
+            default -> integral(value) ? BigDecimal.valueOf(value.longValue()) : new BigDecimal(value.doubleValue());
+        };
+    }
+}
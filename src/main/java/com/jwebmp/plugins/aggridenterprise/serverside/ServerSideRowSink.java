@@ -0,0 +1,51 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the rows of a streamed SSRM block one at a time.
+ *
+ * @param <T> row data type
+ */
+public interface ServerSideRowSink<T>
+{
+    /**
+     * Emit the next row of the block.
+     *
+     * @param row the row
+     * @throws IOException when the row cannot be written to the client
+     */
+    void row(T row) throws IOException;
+
+    /**
+     * Set the total number of rows at this level, when known.
+     *
+     * @param rowCount total rows, or null when unknown
+     */
+    void rowCount(Integer rowCount);
+
+    /**
+     * Set the pivot result field names when the request was pivoting.
+     *
+     * @param pivotResultFields generated pivot result field names
+     */
+    void pivotResultFields(List<String> pivotResultFields);
+
+    /**
+     * Set the keyset cursor positioned after the block's last row.
+     *
+     * @param cursor encoded {@link ServerSideCursor}, or null when keyset paging does not apply
+     */
+    void cursor(String cursor);
+
+    /**
+     * Set the pivot result column definitions when the request was pivoting. Sinks that do not forward them to the
+     * browser ignore them.
+     *
+     * @param pivotResultColumns the column definitions, or null when they are not sent
+     */
+    default void pivotResultColumns(ServerSidePivotResultColumns pivotResultColumns)
+    {
+    }
+}
@@ -0,0 +1,204 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight coalescing of concurrent SSRM getRows loads.
+ * <p>
+ * When several users (or one client with {@code maxConcurrentDatasourceRequests > 1}) request the same normalised
+ * block at the same time, only the first caller runs the datasource; the others wait on its
+ * {@link CompletableFuture} and receive the same serialised bytes. {@code blockLoadDebounceMillis} only debounces
+ * within one browser, this collapses identical loads across all of them.
+ * <p>
+ * Only concurrent requests are coalesced: once a load completes its result is not kept (combine with
+ * {@link ServerSideBlockCache} for that). Failures are propagated to every waiting caller.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideSingleFlight
+{
+    private final Map<Key, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * Unserialised loads, e.g. the merged range of a batch that is split into blocks afterwards; kept apart from
+     * {@link #inFlight} so a merged load never joins a single block load of the same range.
+     */
+    private final Map<Key, CompletableFuture<ServerSideGetRowsResult<?>>> rowsInFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Loads a serialised block.
+     */
+    @FunctionalInterface
+    public interface BlockLoader
+    {
+        byte[] load() throws JsonProcessingException;
+    }
+
+    /**
+     * Loads the unserialised result of a request.
+     */
+    @FunctionalInterface
+    public interface RowsLoader
+    {
+        ServerSideGetRowsResult<?> load();
+    }
+
+    /**
+     * A load returning {@code V}, failing with {@code E}.
+     */
+    @FunctionalInterface
+    private interface Loader<V, E extends Exception>
+    {
+        V load() throws E;
+    }
+
+    /**
+     * Identity of one getRows request: the grid, the normalised models, the open group path and the row range.
+     *
+     * @param gridId    grid identifier
+     * @param modelKey  canonical JSON of the request models (see {@link ServerSideBlockCacheKey#normalisedModel})
+     * @param groupKeys open group path being loaded
+     * @param startRow  first row requested
+     * @param endRow    row after the last requested
+     */
+    public record Key(String gridId, String modelKey, List<String> groupKeys, int startRow, int endRow)
+    {
+        /**
+         * @param gridId  grid identifier
+         * @param request SSRM request
+         * @return the key of the request
+         */
+        public static Key of(String gridId, ServerSideGetRowsRequest request)
+        {
+            return of(gridId, ServerSideBlockCacheKey.normalisedModel(request), request);
+        }
+
+        static Key of(String gridId, String modelKey, ServerSideGetRowsRequest request)
+        {
+            return new Key(gridId, modelKey, request.groupKeys(), request.start(), request.end());
+        }
+    }
+
+    /**
+     * Run a load, or join the identical load already in flight.
+     *
+     * @param key    request identity
+     * @param loader loads the block when no identical load is in flight
+     * @return the serialised block
+     * @throws JsonProcessingException when the (shared) load failed to serialise
+     */
+    public byte[] execute(Key key, BlockLoader loader) throws JsonProcessingException
+    {
+        return run(inFlight, key, loader::load);
+    }
+
+    /**
+     * Run a load whose result is used unserialised, or join the identical load already in flight. Used for the
+     * merged range loads of a batch, which are split into blocks after loading.
+     *
+     * @param key    request identity
+     * @param loader loads the rows when no identical load is in flight
+     * @return the (shared) result; callers must not modify it
+     */
+    public ServerSideGetRowsResult<?> executeRows(Key key, RowsLoader loader)
+    {
+        return run(rowsInFlight, key, loader::load);
+    }
+
+    private <V, E extends Exception> V run(Map<Key, CompletableFuture<V>> flights, Key key, Loader<V, E> loader) throws E
+    {
+        requests.increment();
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null)
+        {
+            coalesced.increment();
+            return await(existing);
+        }
+        executions.increment();
+        try
+        {
+            V result = loader.load();
+            flight.complete(result);
+            return result;
+        }
+        catch (Exception | Error e)
+        {
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return number of loads currently in flight
+     */
+    public int getInFlightCount()
+    {
+        return inFlight.size() + rowsInFlight.size();
+    }
+
+    /**
+     * @return number of requests passed to {@link #execute(Key, BlockLoader)} or {@link #executeRows(Key, RowsLoader)}
+     */
+    public long getRequestCount()
+    {
+        return requests.sum();
+    }
+
+    /**
+     * @return number of requests that actually ran the loader
+     */
+    public long getExecutionCount()
+    {
+        return executions.sum();
+    }
+
+    /**
+     * @return number of requests answered by joining an identical in-flight load
+     */
+    public long getCoalescedCount()
+    {
+        return coalesced.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V await(CompletableFuture<V> flight) throws E
+    {
+        try
+        {
+            return flight.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re)
+            {
+                throw re;
+            }
+            if (cause instanceof Error err)
+            {
+                throw err;
+            }
+            if (cause instanceof Exception checked)
+            {
+                // Only the loader's own exception type can fail the flight
+                throw (E) checked;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A single entry of the SSRM request sort model.
+ *
+ * @param colId column id being sorted
+ * @param sort  'asc' | 'desc'
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ServerSideSortModelItem(String colId, String sort)
+{
+    /**
+     * @return true when this entry sorts descending
+     */
+    public boolean isDescending()
+    {
+        return "desc".equalsIgnoreCase(sort);
+    }
+}
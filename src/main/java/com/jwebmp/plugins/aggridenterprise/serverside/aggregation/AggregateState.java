@@ -0,0 +1,219 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.aggregation;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+
+import java.util.TreeMap;
+
+/**
+ * Running aggregate of one value column within one group, maintained as rows enter and leave the group.
+ * <p>
+ * Every state supports removal without rescanning the group: sums and counts are adjusted, {@code min}/{@code max}
+ * keep a sorted multiset of the values and {@code first}/{@code last} the values by insertion sequence, each
+ * updated in O(log n).
+ */
+interface AggregateState
+{
+    /**
+     * @param value    the row's value, possibly null
+     * @param sequence insertion sequence of the row, stable across updates
+     */
+    void add(Object value, long sequence);
+
+    /**
+     * @param value    the value previously added for the row
+     * @param sequence the sequence it was added with
+     */
+    void remove(Object value, long sequence);
+
+    /**
+     * @return the current aggregate, null when the group has no values
+     */
+    Object value();
+
+    /**
+     * @param aggFunc AG Grid aggregation name
+     * @return a new, empty state
+     * @throws IllegalArgumentException for unsupported aggregations
+     */
+    static AggregateState of(String aggFunc)
+    {
+        return switch (aggFunc == null ? "" : aggFunc)
+        {
+            case "sum" -> new Sum(false);
+            case "avg" -> new Sum(true);
+            case "count" -> new Count();
+            case "min" -> new Extreme(false);
+            case "max" -> new Extreme(true);
+            case "first" -> new Ordinal(false);
+            case "last" -> new Ordinal(true);
+            default -> throw new IllegalArgumentException("Unsupported aggregation '" + aggFunc + "'");
+        };
+    }
+
+    /**
+     * Sum or average. Integral values are summed exactly as longs while no fractional value is present.
+     */
+    final class Sum implements AggregateState
+    {
+        private final boolean average;
+        private long longSum;
+        private double doubleSum;
+        private long values;
+        private long fractional;
+
+        private Sum(boolean average)
+        {
+            this.average = average;
+        }
+
+        @Override
+        public void add(Object value, long sequence)
+        {
+            apply(value, 1);
+        }
+
+        @Override
+        public void remove(Object value, long sequence)
+        {
+            apply(value, -1);
+        }
+
+        private void apply(Object value, int sign)
+        {
+            if (!(value instanceof Number number))
+            {
+                return;
+            }
+            values += sign;
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            {
+                longSum += sign * number.longValue();
+            }
+            else
+            {
+                doubleSum += sign * number.doubleValue();
+                fractional += sign;
+            }
+        }
+
+        @Override
+        public Object value()
+        {
+            if (values == 0)
+            {
+                return null;
+            }
+            if (average)
+            {
+                return (longSum + doubleSum) / values;
+            }
+            return fractional == 0 ? (Object) longSum : (Object) (longSum + doubleSum);
+        }
+    }
+
+    /**
+     * Number of rows, including rows without a value.
+     */
+    final class Count implements AggregateState
+    {
+        private long count;
+
+        @Override
+        public void add(Object value, long sequence)
+        {
+            count++;
+        }
+
+        @Override
+        public void remove(Object value, long sequence)
+        {
+            count--;
+        }
+
+        @Override
+        public Object value()
+        {
+            return count;
+        }
+    }
+
+    /**
+     * Minimum or maximum over a sorted multiset of the non-null values.
+     */
+    final class Extreme implements AggregateState
+    {
+        private final boolean max;
+        private final TreeMap<Object, Integer> counts = new TreeMap<>(ServerSideRowComparator::compareValues);
+
+        private Extreme(boolean max)
+        {
+            this.max = max;
+        }
+
+        @Override
+        public void add(Object value, long sequence)
+        {
+            if (value != null)
+            {
+                counts.merge(value, 1, Integer::sum);
+            }
+        }
+
+        @Override
+        public void remove(Object value, long sequence)
+        {
+            if (value != null)
+            {
+                counts.computeIfPresent(value, (k, c) -> c == 1 ? null : c - 1);
+            }
+        }
+
+        @Override
+        public Object value()
+        {
+            if (counts.isEmpty())
+            {
+                return null;
+            }
+            return max ? counts.lastKey() : counts.firstKey();
+        }
+    }
+
+    /**
+     * Value of the earliest or latest inserted row still in the group.
+     */
+    final class Ordinal implements AggregateState
+    {
+        private final boolean last;
+        private final TreeMap<Long, Object> bySequence = new TreeMap<>();
+
+        private Ordinal(boolean last)
+        {
+            this.last = last;
+        }
+
+        @Override
+        public void add(Object value, long sequence)
+        {
+            bySequence.put(sequence, value);
+        }
+
+        @Override
+        public void remove(Object value, long sequence)
+        {
+            bySequence.remove(sequence);
+        }
+
+        @Override
+        public Object value()
+        {
+            if (bySequence.isEmpty())
+            {
+                return null;
+            }
+            return last ? bySequence.lastEntry()
+                                    .getValue() : bySequence.firstEntry()
+                                                            .getValue();
+        }
+    }
+}
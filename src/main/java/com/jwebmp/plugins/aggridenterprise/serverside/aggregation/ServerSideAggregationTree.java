@@ -0,0 +1,577 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.aggregation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jwebmp.plugins.aggridenterprise.serverside.IServerSideDatasource;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsResult;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+import com.jwebmp.plugins.aggridenterprise.serverside.sql.ServerSideSqlCompiler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group hierarchy with aggregates maintained incrementally as rows are added, updated and removed.
+ * <p>
+ * Each group keeps a running {@link AggregateState} per value column, so a row change walks only the groups on the
+ * row's path: O(depth) state updates (O(depth &middot; log n) for {@code min}, {@code max}, {@code first} and
+ * {@code last}) instead of re-aggregating the hierarchy. Every change returns the {@link ServerSideTransaction}s
+ * describing it, one per affected route: the leaf rows added, updated or removed and each ancestor group row whose
+ * aggregates changed, ready for {@code api.applyServerSideTransactionAsync} in the browser.
+ * <p>
+ * The tree also answers SSRM requests for its own grouping (or a leading part of it) when no filter is active and
+ * not pivoting; other requests go to the fallback datasource. Group rows carry their route in
+ * {@link #GROUP_ID_FIELD} and leaf rows their id field, which the grid's {@code getRowId} must return so
+ * transactions can find the rows.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideAggregationTree implements IServerSideDatasource<Map<String, Object>>
+{
+    /**
+     * Field holding the unique id of a group row: its route as a JSON array.
+     */
+    public static final String GROUP_ID_FIELD = "ssrmGroupId";
+
+    private final String rowIdField;
+    private final List<String> groupFields;
+    private final List<ServerSideColumnVO> valueCols;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Group root;
+    private final Map<Object, Leaf> leaves = new HashMap<>();
+    private long sequence;
+
+    private volatile IServerSideDatasource<Map<String, Object>> fallback;
+
+    /**
+     * @param rowIdField  field holding each row's unique id
+     * @param groupFields fields grouped by, outermost first
+     * @param valueCols   aggregated columns: field (or id) and {@code aggFunc}
+     * @throws IllegalArgumentException when an aggregation is not supported
+     */
+    public ServerSideAggregationTree(String rowIdField, List<String> groupFields, List<ServerSideColumnVO> valueCols)
+    {
+        this.rowIdField = rowIdField;
+        this.groupFields = List.copyOf(groupFields);
+        this.valueCols = List.copyOf(valueCols);
+        this.root = new Group(null, null, List.of(), newStates());
+    }
+
+    /**
+     * Datasource for requests the tree cannot answer: filtered, pivoted or grouped differently.
+     *
+     * @param fallback the datasource, or null to reject such requests
+     * @return this
+     */
+    public ServerSideAggregationTree setFallback(IServerSideDatasource<Map<String, Object>> fallback)
+    {
+        this.fallback = fallback;
+        return this;
+    }
+
+    /**
+     * Add rows; a row whose id is already present replaces it.
+     *
+     * @param rows rows keyed by field
+     * @return the transactions describing the change
+     */
+    public List<ServerSideTransaction> add(Collection<? extends Map<String, Object>> rows)
+    {
+        return apply(rows, List.of(), List.of());
+    }
+
+    /**
+     * Replace rows by id; rows not yet present are added.
+     *
+     * @param rows rows keyed by field
+     * @return the transactions describing the change
+     */
+    public List<ServerSideTransaction> update(Collection<? extends Map<String, Object>> rows)
+    {
+        return apply(List.of(), rows, List.of());
+    }
+
+    /**
+     * Remove rows by id; unknown ids are ignored.
+     *
+     * @param rowIds ids of the rows to remove
+     * @return the transactions describing the change
+     */
+    public List<ServerSideTransaction> remove(Collection<?> rowIds)
+    {
+        return apply(List.of(), List.of(), rowIds);
+    }
+
+    /**
+     * Apply adds, updates and removes as one batch. A group touched several times appears once in the result.
+     *
+     * @param add    rows to add
+     * @param update rows to update
+     * @param remove ids of rows to remove
+     * @return the transactions describing the net change, outermost routes first
+     * @throws IllegalArgumentException when a row has no id
+     */
+    public List<ServerSideTransaction> apply(Collection<? extends Map<String, Object>> add, Collection<? extends Map<String, Object>> update,
+                                             Collection<?> remove)
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            Changes changes = new Changes();
+            for (Map<String, Object> row : add)
+            {
+                upsert(row, changes);
+            }
+            for (Map<String, Object> row : update)
+            {
+                upsert(row, changes);
+            }
+            for (Object id : remove)
+            {
+                Leaf leaf = leaves.get(id);
+                if (leaf != null)
+                {
+                    changes.touchLeaf(id, leaf);
+                    detach(leaf, changes);
+                    leaves.remove(id);
+                }
+            }
+            return changes.transactions();
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * @return number of leaf rows
+     */
+    public int getRowCount()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return leaves.size();
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * @param route group keys from the top level down
+     * @return the group rows directly below the route, empty when the route does not exist
+     */
+    public List<Map<String, Object>> groupRows(List<String> route)
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            Group group = find(route);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (group != null)
+            {
+                for (Group child : group.children.values())
+                {
+                    rows.add(groupRow(child));
+                }
+            }
+            return rows;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    @Override
+    public ServerSideGetRowsResult<Map<String, Object>> getRows(ServerSideGetRowsRequest request)
+    {
+        if (!answers(request))
+        {
+            IServerSideDatasource<Map<String, Object>> delegate = fallback;
+            if (delegate == null)
+            {
+                throw new IllegalArgumentException("Request is not answered by the aggregation tree over " + groupFields);
+            }
+            return delegate.getRows(request);
+        }
+        List<Map<String, Object>> rows;
+        Comparator<Map<String, Object>> order;
+        lock.readLock()
+            .lock();
+        try
+        {
+            Group group = find(request.groupKeys());
+            rows = new ArrayList<>();
+            if (group != null && request.isGroupLevel())
+            {
+                for (Group child : group.children.values())
+                {
+                    rows.add(groupRow(child));
+                }
+            }
+            else if (group != null)
+            {
+                collectLeaves(group, rows);
+            }
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+        if (request.isGroupLevel())
+        {
+            String groupField = groupFields.get(request.groupKeys()
+                                                       .size());
+            order = ServerSideRowComparator.of(request.sortModel(), colId -> colId.startsWith(ServerSideSqlCompiler.AUTO_GROUP_COLUMN) ? groupField : colId);
+        }
+        else
+        {
+            order = ServerSideRowComparator.of(request.sortModel(), colId -> colId.startsWith(ServerSideSqlCompiler.AUTO_GROUP_COLUMN) ? null : colId);
+        }
+        if (order != null)
+        {
+            rows.sort(order);
+        }
+        int from = Math.min(request.start(), rows.size());
+        int to = Math.min(request.end(), rows.size());
+        return ServerSideGetRowsResult.of(rows.subList(from, to), rows.size());
+    }
+
+    private boolean answers(ServerSideGetRowsRequest request)
+    {
+        if (!request.filterModel()
+                    .isEmpty() || request.isPivoting() || request.rowGroupCols()
+                                                                 .size() > groupFields.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < request.rowGroupCols()
+                                   .size(); i++)
+        {
+            if (!request.rowGroupCols()
+                        .get(i)
+                        .fieldOrId()
+                        .equals(groupFields.get(i)))
+            {
+                return false;
+            }
+        }
+        for (ServerSideColumnVO requested : request.valueCols())
+        {
+            boolean maintained = false;
+            for (ServerSideColumnVO valueCol : valueCols)
+            {
+                maintained |= valueCol.fieldOrId()
+                                      .equals(requested.fieldOrId()) && String.valueOf(valueCol.aggFunc())
+                                                                              .equals(String.valueOf(requested.aggFunc()));
+            }
+            if (!maintained)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void upsert(Map<String, Object> row, Changes changes)
+    {
+        Object id = row.get(rowIdField);
+        if (id == null)
+        {
+            throw new IllegalArgumentException("Row has no '" + rowIdField + "' id: " + row);
+        }
+        Leaf old = leaves.get(id);
+        changes.touchLeaf(id, old);
+        long rowSequence;
+        if (old != null)
+        {
+            rowSequence = old.sequence;
+            detach(old, changes);
+        }
+        else
+        {
+            rowSequence = ++sequence;
+        }
+        Leaf leaf = new Leaf(id, new LinkedHashMap<>(row), rowSequence);
+        attach(leaf, changes);
+        leaves.put(id, leaf);
+    }
+
+    private void attach(Leaf leaf, Changes changes)
+    {
+        Group group = root;
+        group.addRow(leaf, valueCols);
+        for (String field : groupFields)
+        {
+            Object key = leaf.data.get(field);
+            String keyString = key == null ? null : key.toString();
+            Group child = group.children.get(keyString);
+            List<String> route = new ArrayList<>(group.route);
+            route.add(keyString);
+            changes.touchGroup(route, child != null);
+            if (child == null)
+            {
+                child = new Group(group, key, copy(route), newStates());
+                group.children.put(keyString, child);
+            }
+            child.addRow(leaf, valueCols);
+            group = child;
+        }
+        group.leaves.put(leaf.id, leaf);
+        leaf.group = group;
+    }
+
+    private void detach(Leaf leaf, Changes changes)
+    {
+        Group group = leaf.group;
+        group.leaves.remove(leaf.id);
+        while (group != null)
+        {
+            group.removeRow(leaf, valueCols);
+            if (group.parent != null)
+            {
+                changes.touchGroup(group.route, true);
+                if (group.rowCount == 0)
+                {
+                    group.parent.children.remove(group.route.get(group.route.size() - 1));
+                }
+            }
+            group = group.parent;
+        }
+    }
+
+    private Group find(List<String> route)
+    {
+        Group group = root;
+        for (String key : route)
+        {
+            group = group.children.get(key);
+            if (group == null)
+            {
+                return null;
+            }
+        }
+        return group;
+    }
+
+    private static void collectLeaves(Group group, List<Map<String, Object>> rows)
+    {
+        if (group.children.isEmpty())
+        {
+            for (Leaf leaf : group.leaves.values())
+            {
+                rows.add(leaf.data);
+            }
+            return;
+        }
+        for (Group child : group.children.values())
+        {
+            collectLeaves(child, rows);
+        }
+    }
+
+    private Map<String, Object> groupRow(Group group)
+    {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(GROUP_ID_FIELD, group.id);
+        row.put(groupFields.get(group.route.size() - 1), group.key);
+        for (int i = 0; i < valueCols.size(); i++)
+        {
+            row.put(valueCols.get(i)
+                             .fieldOrId(), group.states[i].value());
+        }
+        return row;
+    }
+
+    private AggregateState[] newStates()
+    {
+        AggregateState[] states = new AggregateState[valueCols.size()];
+        for (int i = 0; i < states.length; i++)
+        {
+            states[i] = AggregateState.of(valueCols.get(i)
+                                                   .aggFunc());
+        }
+        return states;
+    }
+
+    /**
+     * Immutable copy of a route; group keys may be null, which {@link List#copyOf} rejects.
+     */
+    private static List<String> copy(List<String> route)
+    {
+        return Collections.unmodifiableList(new ArrayList<>(route));
+    }
+
+    private static String groupId(List<String> route)
+    {
+        try
+        {
+            return ServerSideJson.mapper()
+                                 .writeValueAsString(route);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Unable to serialise group route", e);
+        }
+    }
+
+    private static final class Group
+    {
+        private final Group parent;
+        private final Object key;
+        private final List<String> route;
+        private final String id;
+        private final AggregateState[] states;
+        private final Map<String, Group> children = new LinkedHashMap<>();
+        private final Map<Object, Leaf> leaves = new LinkedHashMap<>();
+        private int rowCount;
+
+        private Group(Group parent, Object key, List<String> route, AggregateState[] states)
+        {
+            this.parent = parent;
+            this.key = key;
+            this.route = route;
+            this.id = groupId(route);
+            this.states = states;
+        }
+
+        private void addRow(Leaf leaf, List<ServerSideColumnVO> valueCols)
+        {
+            for (int i = 0; i < states.length; i++)
+            {
+                states[i].add(leaf.data.get(valueCols.get(i)
+                                                     .fieldOrId()), leaf.sequence);
+            }
+            rowCount++;
+        }
+
+        private void removeRow(Leaf leaf, List<ServerSideColumnVO> valueCols)
+        {
+            for (int i = 0; i < states.length; i++)
+            {
+                states[i].remove(leaf.data.get(valueCols.get(i)
+                                                        .fieldOrId()), leaf.sequence);
+            }
+            rowCount--;
+        }
+    }
+
+    private static final class Leaf
+    {
+        private final Object id;
+        private final Map<String, Object> data;
+        private final long sequence;
+        private Group group;
+
+        private Leaf(Object id, Map<String, Object> data, long sequence)
+        {
+            this.id = id;
+            this.data = data;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Routes and rows touched by one batch, with whether each existed before it.
+     */
+    private final class Changes
+    {
+        private final Map<List<String>, Boolean> groupsBefore = new LinkedHashMap<>();
+        private final Map<Object, List<String>> leavesBefore = new LinkedHashMap<>();
+
+        private void touchGroup(List<String> route, boolean existed)
+        {
+            groupsBefore.putIfAbsent(copy(route), existed);
+        }
+
+        private void touchLeaf(Object id, Leaf before)
+        {
+            if (!leavesBefore.containsKey(id))
+            {
+                leavesBefore.put(id, before == null ? null : before.group.route);
+            }
+        }
+
+        private List<ServerSideTransaction> transactions()
+        {
+            Map<List<String>, List<List<Map<String, Object>>>> byRoute = new LinkedHashMap<>();
+            for (Map.Entry<List<String>, Boolean> entry : groupsBefore.entrySet())
+            {
+                List<String> route = entry.getKey();
+                List<String> parentRoute = route.subList(0, route.size() - 1);
+                Group group = find(route);
+                if (group != null)
+                {
+                    operations(byRoute, parentRoute).get(entry.getValue() ? 1 : 0)
+                                                    .add(groupRow(group));
+                }
+                else if (entry.getValue())
+                {
+                    Map<String, Object> removed = new LinkedHashMap<>();
+                    removed.put(GROUP_ID_FIELD, groupId(route));
+                    removed.put(groupFields.get(route.size() - 1), route.get(route.size() - 1));
+                    operations(byRoute, parentRoute).get(2)
+                                                    .add(removed);
+                }
+            }
+            for (Map.Entry<Object, List<String>> entry : leavesBefore.entrySet())
+            {
+                Leaf now = leaves.get(entry.getKey());
+                List<String> before = entry.getValue();
+                if (now != null && before != null && now.group.route.equals(before))
+                {
+                    operations(byRoute, before).get(1)
+                                               .add(now.data);
+                    continue;
+                }
+                if (before != null)
+                {
+                    Map<String, Object> removed = new LinkedHashMap<>();
+                    removed.put(rowIdField, entry.getKey());
+                    operations(byRoute, before).get(2)
+                                               .add(removed);
+                }
+                if (now != null)
+                {
+                    operations(byRoute, now.group.route).get(0)
+                                                        .add(now.data);
+                }
+            }
+            List<ServerSideTransaction> transactions = new ArrayList<>(byRoute.size());
+            for (Map.Entry<List<String>, List<List<Map<String, Object>>>> entry : byRoute.entrySet())
+            {
+                List<List<Map<String, Object>>> operations = entry.getValue();
+                transactions.add(new ServerSideTransaction(entry.getKey(), operations.get(0), operations.get(1), operations.get(2)));
+            }
+            transactions.sort(Comparator.comparingInt(tx -> tx.route()
+                                                             .size()));
+            return transactions;
+        }
+
+        private List<List<Map<String, Object>>> operations(Map<List<String>, List<List<Map<String, Object>>>> byRoute, List<String> route)
+        {
+            return byRoute.computeIfAbsent(copy(route), r -> List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+        }
+    }
+}
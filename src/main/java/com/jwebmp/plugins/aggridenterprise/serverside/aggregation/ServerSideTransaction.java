@@ -0,0 +1,23 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.aggregation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An AG Grid SSRM transaction ({@code ServerSideTransaction}) for one route, applied in the browser with
+ * {@code api.applyServerSideTransactionAsync}.
+ *
+ * @param route  group keys of the store the rows belong to; empty for the top level
+ * @param add    rows added to the store
+ * @param update rows changed in the store, matched by row id
+ * @param remove rows removed from the store, matched by row id
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ServerSideTransaction(List<String> route,
+                                    List<Map<String, Object>> add,
+                                    List<Map<String, Object>> update,
+                                    List<Map<String, Object>> remove)
+{
+}
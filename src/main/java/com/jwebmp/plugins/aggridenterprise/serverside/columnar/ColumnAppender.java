@@ -0,0 +1,136 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable primitive storage for one column while a {@link ColumnarTable} is being built.
+ */
+final class ColumnAppender
+{
+    private final String name;
+    private final ColumnType type;
+    private final BitSet nulls = new BitSet();
+
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private Map<String, Integer> codes;
+    private String[] dictionary;
+    private int size;
+
+    ColumnAppender(String name, ColumnType type, int capacity)
+    {
+        this.name = name;
+        this.type = type;
+        switch (type)
+        {
+            case INT -> ints = new int[capacity];
+            case LONG -> longs = new long[capacity];
+            case DOUBLE -> doubles = new double[capacity];
+            case STRING ->
+            {
+                ints = new int[capacity];
+                codes = new HashMap<>();
+                dictionary = new String[16];
+            }
+        }
+    }
+
+    /**
+     * @param value the next row's value, converted to the column type
+     * @throws IllegalArgumentException when the value cannot be stored in the column
+     */
+    void append(Object value)
+    {
+        ensureCapacity();
+        if (value == null)
+        {
+            nulls.set(size);
+            if (type == ColumnType.STRING)
+            {
+                ints[size] = -1;
+            }
+            size++;
+            return;
+        }
+        switch (type)
+        {
+            case INT -> ints[size] = (int) number(value);
+            case LONG ->
+            {
+                Long exact = ColumnarColumn.longOperand(value);
+                longs[size] = exact != null ? exact : value instanceof Number n ? n.longValue() : (long) number(value);
+            }
+            case DOUBLE -> doubles[size] = number(value);
+            case STRING -> ints[size] = code(value.toString());
+        }
+        size++;
+    }
+
+    ColumnarColumn build()
+    {
+        return switch (type)
+        {
+            case INT -> new IntColumn(name, ColumnValues.of(Arrays.copyOf(ints, size)), size, nulls);
+            case LONG -> new LongColumn(name, ColumnValues.of(Arrays.copyOf(longs, size)), size, nulls);
+            case DOUBLE -> new DoubleColumn(name, ColumnValues.of(Arrays.copyOf(doubles, size)), size, nulls);
+            case STRING -> new StringColumn(name, ColumnValues.of(Arrays.copyOf(ints, size)), Arrays.copyOf(dictionary, codes.size()), size, nulls);
+        };
+    }
+
+    private int code(String value)
+    {
+        Integer code = codes.get(value);
+        if (code == null)
+        {
+            code = codes.size();
+            if (code == dictionary.length)
+            {
+                dictionary = Arrays.copyOf(dictionary, code * 2);
+            }
+            dictionary[code] = value;
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    private double number(Object value)
+    {
+        if (value instanceof Number number)
+        {
+            return number.doubleValue();
+        }
+        try
+        {
+            return ColumnarColumn.operand(value);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("Column '" + name + "' cannot store " + value, e);
+        }
+    }
+
+    private void ensureCapacity()
+    {
+        int capacity = switch (type)
+        {
+            case INT, STRING -> ints.length;
+            case LONG -> longs.length;
+            case DOUBLE -> doubles.length;
+        };
+        if (size < capacity)
+        {
+            return;
+        }
+        int grown = Math.max(16, capacity + (capacity >> 1));
+        switch (type)
+        {
+            case INT, STRING -> ints = Arrays.copyOf(ints, grown);
+            case LONG -> longs = Arrays.copyOf(longs, grown);
+            case DOUBLE -> doubles = Arrays.copyOf(doubles, grown);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+/**
+ * Storage type of a {@link ColumnarColumn}.
+ */
+public enum ColumnType
+{
+    /**
+     * 32-bit integers in an {@code int[]}.
+     */
+    INT,
+    /**
+     * 64-bit integers in a {@code long[]}. Dates and times are stored as epoch milliseconds (UTC).
+     */
+    LONG,
+    /**
+     * Floating point numbers in a {@code double[]}.
+     */
+    DOUBLE,
+    /**
+     * Dictionary-encoded strings: one {@code int} code per row into a table of distinct values.
+     */
+    STRING
+}
@@ -0,0 +1,106 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Row-indexed primitive values behind a {@link ColumnarColumn}: heap arrays, or a memory-mapped segment of a file
+ * written by {@link ColumnarStore}. Both are read through the same accessors, so scans, sorts and aggregations
+ * do not depend on where the values live.
+ */
+abstract class ColumnValues
+{
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    abstract int getInt(int row);
+
+    abstract long getLong(int row);
+
+    abstract double getDouble(int row);
+
+    static ColumnValues of(int[] values)
+    {
+        return new Heap(values, null, null);
+    }
+
+    static ColumnValues of(long[] values)
+    {
+        return new Heap(null, values, null);
+    }
+
+    static ColumnValues of(double[] values)
+    {
+        return new Heap(null, null, values);
+    }
+
+    /**
+     * @param segment little-endian values, one per row
+     */
+    static ColumnValues mapped(MemorySegment segment)
+    {
+        return new Mapped(segment);
+    }
+
+    private static final class Heap extends ColumnValues
+    {
+        private final int[] ints;
+        private final long[] longs;
+        private final double[] doubles;
+
+        private Heap(int[] ints, long[] longs, double[] doubles)
+        {
+            this.ints = ints;
+            this.longs = longs;
+            this.doubles = doubles;
+        }
+
+        @Override
+        int getInt(int row)
+        {
+            return ints[row];
+        }
+
+        @Override
+        long getLong(int row)
+        {
+            return longs[row];
+        }
+
+        @Override
+        double getDouble(int row)
+        {
+            return doubles[row];
+        }
+    }
+
+    private static final class Mapped extends ColumnValues
+    {
+        private final MemorySegment segment;
+
+        private Mapped(MemorySegment segment)
+        {
+            this.segment = segment;
+        }
+
+        @Override
+        int getInt(int row)
+        {
+            return segment.getAtIndex(INT, row);
+        }
+
+        @Override
+        long getLong(int row)
+        {
+            return segment.getAtIndex(LONG, row);
+        }
+
+        @Override
+        double getDouble(int row)
+        {
+            return segment.getAtIndex(DOUBLE, row);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+/**
+ * Aggregation function for group rows of a {@link ServerSideColumnarDatasource}, registered under the name the
+ * grid sends as a value column's {@code aggFunc} (the keys of {@code AggregationOptions.aggFuncs} for custom
+ * functions).
+ * <p>
+ * Implementations must be thread-safe: groups are aggregated in parallel.
+ */
+@FunctionalInterface
+public interface ColumnarAggregator
+{
+    /**
+     * @param column the aggregated column
+     * @param rows   row indexes of the group, never empty
+     * @return the aggregate value sent on the group row
+     */
+    Object aggregate(ColumnarColumn column, int[] rows);
+}
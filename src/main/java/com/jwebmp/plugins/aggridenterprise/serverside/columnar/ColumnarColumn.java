@@ -0,0 +1,359 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * One column of a {@link ColumnarTable}: primitive values indexed by row, held in a heap array or in a file mapped
+ * by {@link ColumnarStore}.
+ * <p>
+ * Null values are tracked in a {@link BitSet}. The ascending sort permutation and the per-row ranks are computed on
+ * first use and kept, so sorting a filtered view is a single pass over a precomputed index.
+ * <p>
+ * Columns are immutable once built and safe to read from many threads.
+ */
+public abstract class ColumnarColumn
+{
+    private final String name;
+    private final ColumnType type;
+    private final int size;
+    private final BitSet nulls;
+
+    private volatile int[] sortIndex;
+    private volatile int[] ranks;
+
+    ColumnarColumn(String name, ColumnType type, int size, BitSet nulls)
+    {
+        this.name = name;
+        this.type = type;
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    /**
+     * @return the column id
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return the storage type
+     */
+    public ColumnType getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param row row index
+     * @return true when the row has no value
+     */
+    public boolean isNull(int row)
+    {
+        return nulls.get(row);
+    }
+
+    /**
+     * @return the null rows; do not modify
+     */
+    BitSet getNulls()
+    {
+        return nulls;
+    }
+
+    /**
+     * @param row row index
+     * @return the boxed value of the row, or null
+     */
+    public abstract Object get(int row);
+
+    /**
+     * @param row row index of a non-null value
+     * @return the value as a double
+     * @throws IllegalStateException when the column is not numeric
+     */
+    public abstract double getDouble(int row);
+
+    /**
+     * Compare the values of two non-null rows.
+     */
+    abstract int compareValues(int a, int b);
+
+    /**
+     * Compare two rows in ascending order, nulls first.
+     *
+     * @param a first row
+     * @param b second row
+     * @return negative, zero or positive as row {@code a} sorts before, with or after row {@code b}
+     */
+    public int compareRows(int a, int b)
+    {
+        boolean aNull = isNull(a);
+        boolean bNull = isNull(b);
+        if (aNull || bNull)
+        {
+            return aNull == bNull ? 0 : (aNull ? -1 : 1);
+        }
+        return compareValues(a, b);
+    }
+
+    /**
+     * The rows in ascending value order, nulls first, ties by row index. Computed once and shared; do not modify.
+     *
+     * @return the ascending sort permutation
+     */
+    public int[] sortIndex()
+    {
+        int[] index = sortIndex;
+        if (index == null)
+        {
+            index = computeSortIndex();
+            sortIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Dense rank of each row in ascending order: equal values share a rank and nulls rank 0. Comparing ranks is
+     * equivalent to {@link #compareRows(int, int)}. Computed once and shared; do not modify.
+     *
+     * @return the rank of every row
+     */
+    public int[] ranks()
+    {
+        int[] result = ranks;
+        if (result == null)
+        {
+            int[] index = sortIndex();
+            result = new int[size];
+            int rank = 0;
+            for (int i = 0; i < index.length; i++)
+            {
+                if (i > 0 && compareRows(index[i - 1], index[i]) != 0)
+                {
+                    rank++;
+                }
+                result[index[i]] = rank;
+            }
+            ranks = result;
+        }
+        return result;
+    }
+
+    int[] computeSortIndex()
+    {
+        int[] index = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            index[i] = i;
+        }
+        IntSorter.sort(index, (a, b) -> {
+            int c = compareRows(a, b);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        return index;
+    }
+
+    /**
+     * Build the row test for a condition on this column. Operands are converted once, not per row.
+     *
+     * @param condition condition on this column
+     * @return a predicate over row indexes
+     * @throws IllegalArgumentException when the operator does not apply to the column type
+     */
+    IntPredicate predicate(ColumnCondition condition)
+    {
+        return switch (condition.operator())
+        {
+            case BLANK -> this::isNull;
+            case NOT_BLANK -> row -> !isNull(row);
+            case EQUALS ->
+            {
+                double value = operand(condition.value());
+                yield row -> !isNull(row) && getDouble(row) == value;
+            }
+            case NOT_EQUAL ->
+            {
+                double value = operand(condition.value());
+                yield row -> isNull(row) || getDouble(row) != value;
+            }
+            case LESS_THAN ->
+            {
+                double value = operand(condition.value());
+                yield row -> !isNull(row) && getDouble(row) < value;
+            }
+            case LESS_THAN_OR_EQUAL ->
+            {
+                double value = operand(condition.value());
+                yield row -> !isNull(row) && getDouble(row) <= value;
+            }
+            case GREATER_THAN ->
+            {
+                double value = operand(condition.value());
+                yield row -> !isNull(row) && getDouble(row) > value;
+            }
+            case GREATER_THAN_OR_EQUAL ->
+            {
+                double value = operand(condition.value());
+                yield row -> !isNull(row) && getDouble(row) >= value;
+            }
+            case IN_RANGE ->
+            {
+                double from = operand(condition.value());
+                double to = operand(condition.valueTo());
+                yield row -> !isNull(row) && getDouble(row) > from && getDouble(row) < to;
+            }
+            case TRUE -> row -> !isNull(row) && getDouble(row) != 0;
+            case FALSE -> row -> !isNull(row) && getDouble(row) == 0;
+            case IN ->
+            {
+                Set<Double> values = new HashSet<>();
+                boolean blanks = false;
+                for (Object value : condition.values())
+                {
+                    if (value == null)
+                    {
+                        blanks = true;
+                    }
+                    else
+                    {
+                        values.add(operand(value));
+                    }
+                }
+                boolean includeBlanks = blanks;
+                yield row -> isNull(row) ? includeBlanks : values.contains(getDouble(row));
+            }
+            case CONTAINS, NOT_CONTAINS, STARTS_WITH, ENDS_WITH -> throw new IllegalArgumentException(
+                    "Filter '" + condition.operator()
+                                          .getType() + "' does not apply to numeric column '" + name + "'");
+        };
+    }
+
+    /**
+     * Convert a filter operand to the numeric form stored in this column.
+     *
+     * @throws IllegalArgumentException when the operand is missing or not numeric
+     */
+    static double operand(Object value)
+    {
+        if (value instanceof Number number)
+        {
+            return number.doubleValue();
+        }
+        if (value instanceof Boolean bool)
+        {
+            return bool ? 1 : 0;
+        }
+        Long millis = epochMillis(value);
+        if (millis != null)
+        {
+            return millis;
+        }
+        if (value instanceof CharSequence text)
+        {
+            try
+            {
+                return Double.parseDouble(text.toString());
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("Not a number: '" + text + "'", e);
+            }
+        }
+        throw new IllegalArgumentException("Missing or unsupported numeric filter value: " + value);
+    }
+
+    /**
+     * Convert a filter operand to a long when it is exactly a whole number in range, so {@link ColumnType#LONG}
+     * columns compare past 2<sup>53</sup> without rounding.
+     *
+     * @return the exact long value, or null when the operand is not a whole number or not numeric at all
+     */
+    static Long longOperand(Object value)
+    {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Boolean bool)
+        {
+            return bool ? 1L : 0L;
+        }
+        Long millis = epochMillis(value);
+        if (millis != null)
+        {
+            return millis;
+        }
+        try
+        {
+            if (value instanceof BigDecimal decimal)
+            {
+                return decimal.longValueExact();
+            }
+            if (value instanceof BigInteger integer)
+            {
+                return integer.longValueExact();
+            }
+            if ((value instanceof Double || value instanceof Float) && Double.isFinite(((Number) value).doubleValue()))
+            {
+                return new BigDecimal(((Number) value).doubleValue()).longValueExact();
+            }
+            if (value instanceof CharSequence text)
+            {
+                return new BigDecimal(text.toString().trim()).longValueExact();
+            }
+        }
+        catch (ArithmeticException | NumberFormatException e)
+        {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * @return epoch milliseconds (UTC) of a date or time value, or null when the value is not one
+     */
+    static Long epochMillis(Object value)
+    {
+        if (value instanceof LocalDateTime dateTime)
+        {
+            return dateTime.toInstant(ZoneOffset.UTC)
+                           .toEpochMilli();
+        }
+        if (value instanceof LocalDate date)
+        {
+            return date.atStartOfDay(ZoneOffset.UTC)
+                       .toInstant()
+                       .toEpochMilli();
+        }
+        if (value instanceof Instant instant)
+        {
+            return instant.toEpochMilli();
+        }
+        if (value instanceof java.util.Date date)
+        {
+            return date.getTime();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterJoin;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterNode;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a {@link FilterNode} tree against a {@link ColumnarTable} into a {@link BitSet} of matching rows.
+ * <p>
+ * Each condition is one scan of its column; joins combine the bitsets with {@code and}/{@code or}. Large scans
+ * are split into chunks of whole 64-row words and run on the datasource's {@link ForkJoinPool}.
+ */
+final class ColumnarFilter
+{
+    /**
+     * Rows per parallel chunk; a multiple of 64 so chunks never share a bitset word.
+     */
+    static final int CHUNK_ROWS = 1 << 16;
+
+    private ColumnarFilter()
+    {
+    }
+
+    /**
+     * @param node  filter tree, or null for every row
+     * @param table the table
+     * @param pool  pool for parallel scans
+     * @return the matching rows
+     */
+    static BitSet evaluate(FilterNode node, ColumnarTable table, ForkJoinPool pool)
+    {
+        if (node == null)
+        {
+            BitSet all = new BitSet(table.getRowCount());
+            all.set(0, table.getRowCount());
+            return all;
+        }
+        if (node instanceof FilterJoin join)
+        {
+            BitSet result = null;
+            for (FilterNode child : join.children())
+            {
+                BitSet rows = evaluate(child, table, pool);
+                if (result == null)
+                {
+                    result = rows;
+                }
+                else if (join.join() == FilterJoin.Join.AND)
+                {
+                    result.and(rows);
+                }
+                else
+                {
+                    result.or(rows);
+                }
+            }
+            return result == null ? evaluate(null, table, pool) : result;
+        }
+        ColumnCondition condition = (ColumnCondition) node;
+        return scan(table.getRowCount(), table.getColumn(condition.colId())
+                                              .predicate(condition), pool);
+    }
+
+    /**
+     * @param rowCount  number of rows
+     * @param predicate row test
+     * @param pool      pool for parallel scans
+     * @return the rows passing the test
+     */
+    static BitSet scan(int rowCount, IntPredicate predicate, ForkJoinPool pool)
+    {
+        long[] words = new long[(rowCount + 63) >>> 6];
+        int chunks = (rowCount + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        IntConsumer chunk = c -> {
+            int to = Math.min(rowCount, (c + 1) * CHUNK_ROWS);
+            for (int row = c * CHUNK_ROWS; row < to; row++)
+            {
+                if (predicate.test(row))
+                {
+                    words[row >>> 6] |= 1L << row;
+                }
+            }
+        };
+        if (chunks <= 1)
+        {
+            IntStream.range(0, chunks)
+                     .forEach(chunk);
+        }
+        else
+        {
+            pool.submit(() -> IntStream.range(0, chunks)
+                                       .parallel()
+                                       .forEach(chunk))
+                .join();
+        }
+        return BitSet.valueOf(words);
+    }
+}
@@ -0,0 +1,256 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSidePivotLayout;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Pivots the matching rows of a {@link ColumnarTable}: group rows with one aggregated value per pivot key and value
+ * column.
+ * <p>
+ * One pass over the rows hashes each row's group key and pivot key, collecting the pivot key space as it goes and
+ * failing as soon as it exceeds the layout's column limit. Two counting sorts then order the rows by group and
+ * pivot key, so every (group, pivot key) cell is a contiguous run that is aggregated once. The pivot result fields
+ * and the row data come from the same pass.
+ */
+final class ColumnarPivot
+{
+    private ColumnarPivot()
+    {
+    }
+
+    /**
+     * @param rows   pivoted group rows, in group key order
+     * @param fields pivot result field names, in pivot key order
+     * @param keys   distinct pivot keys as strings, in pivot key order
+     */
+    record Result(List<Map<String, Object>> rows, List<String> fields, List<List<String>> keys)
+    {
+    }
+
+    /**
+     * @param rows         matching rows
+     * @param groupField   field of the grouped column, or null for a single row over all matching rows
+     * @param table        the data
+     * @param pivotColumns pivot columns, outermost first
+     * @param valueCols    value columns
+     * @param functions    aggregation per value column
+     * @param layout       pivot result field naming and column limit
+     * @param pool         pool for parallel aggregation
+     * @return the pivoted rows and their pivot result fields
+     * @throws IllegalArgumentException when the pivot generates more columns than the layout allows
+     */
+    static Result pivot(BitSet rows, String groupField, ColumnarTable table, List<ColumnarColumn> pivotColumns, List<ServerSideColumnVO> valueCols,
+                        ColumnarAggregator[] functions, ServerSidePivotLayout layout, ForkJoinPool pool)
+    {
+        ColumnarColumn groupColumn = groupField == null ? null : table.getColumn(groupField);
+        ColumnarColumn[] valueColumns = new ColumnarColumn[valueCols.size()];
+        for (int v = 0; v < valueColumns.length; v++)
+        {
+            valueColumns[v] = table.getColumn(valueCols.get(v)
+                                                       .fieldOrId());
+        }
+
+        int n = rows.cardinality();
+        int[] members = new int[n];
+        int[] groupOf = new int[n];
+        int[] pivotOf = new int[n];
+        Map<Object, Integer> groupIndex = new HashMap<>();
+        int[] groupFirstRow = new int[16];
+        Map<List<Object>, Integer> pivotIndex = new HashMap<>();
+        List<List<Object>> pivotKeys = new ArrayList<>();
+        int i = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1))
+        {
+            members[i] = row;
+            if (groupColumn != null)
+            {
+                Object key = groupColumn.get(row);
+                Integer group = groupIndex.get(key);
+                if (group == null)
+                {
+                    group = groupIndex.size();
+                    groupIndex.put(key, group);
+                    if (group == groupFirstRow.length)
+                    {
+                        groupFirstRow = Arrays.copyOf(groupFirstRow, group * 2);
+                    }
+                    groupFirstRow[group] = row;
+                }
+                groupOf[i] = group;
+            }
+            Object[] values = new Object[pivotColumns.size()];
+            for (int c = 0; c < values.length; c++)
+            {
+                values[c] = pivotColumns.get(c)
+                                        .get(row);
+            }
+            List<Object> pivotKey = Arrays.asList(values);
+            Integer pivot = pivotIndex.get(pivotKey);
+            if (pivot == null)
+            {
+                layout.checkColumnCount(pivotKeys.size() + 1, valueCols.size());
+                pivot = pivotKeys.size();
+                pivotIndex.put(pivotKey, pivot);
+                pivotKeys.add(pivotKey);
+            }
+            pivotOf[i++] = pivot;
+        }
+        int groupCount = groupColumn != null ? groupIndex.size() : (n == 0 ? 0 : 1);
+        int pivotCount = pivotKeys.size();
+        int[] groupFirst = groupFirstRow;
+
+        // Renumber groups and pivot keys in key order, so the counting sorts below leave the cells in that order
+        int[] groupRank = ranks(groupCount, (a, b) -> groupColumn == null ? 0 : groupColumn.compareRows(groupFirst[a], groupFirst[b]));
+        int[] pivotRank = ranks(pivotCount, (a, b) -> compareKeys(pivotKeys.get(a), pivotKeys.get(b)));
+        int[] firstRowByRank = new int[groupCount];
+        List<String> fields = new ArrayList<>(pivotCount * valueCols.size());
+        List<List<String>> keyStringsByRank = new ArrayList<>(pivotCount);
+        String[][] fieldByRank = new String[pivotCount][valueCols.size()];
+        List<List<Object>> keysByRank = new ArrayList<>(pivotKeys);
+        for (int p = 0; p < pivotCount; p++)
+        {
+            keysByRank.set(pivotRank[p], pivotKeys.get(p));
+        }
+        for (int g = 0; g < groupCount; g++)
+        {
+            firstRowByRank[groupRank[g]] = groupFirst[g];
+        }
+        for (int p = 0; p < pivotCount; p++)
+        {
+            List<String> keyStrings = keysByRank.get(p)
+                                                .stream()
+                                                .map(value -> value == null ? "" : value.toString())
+                                                .toList();
+            keyStringsByRank.add(keyStrings);
+            for (int v = 0; v < valueCols.size(); v++)
+            {
+                fieldByRank[p][v] = layout.field(keyStrings, valueCols.get(v));
+                fields.add(fieldByRank[p][v]);
+            }
+        }
+        for (int k = 0; k < n; k++)
+        {
+            groupOf[k] = groupRank[groupOf[k]];
+            pivotOf[k] = pivotRank[pivotOf[k]];
+        }
+
+        // Least significant key first: stable by pivot, then by group
+        int[] positions = IntStream.range(0, n)
+                                   .toArray();
+        positions = countingSort(positions, pivotOf, pivotCount);
+        int[] groupStarts = new int[groupCount + 1];
+        positions = countingSort(positions, groupOf, groupCount, groupStarts);
+        int[] ordered = positions;
+
+        IntFunction<Map<String, Object>> groupRow = g -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            if (groupColumn != null)
+            {
+                out.put(groupField, groupColumn.get(firstRowByRank[g]));
+            }
+            int from = groupStarts[g];
+            int to = groupStarts[g + 1];
+            while (from < to)
+            {
+                int pivot = pivotOf[ordered[from]];
+                int end = from + 1;
+                while (end < to && pivotOf[ordered[end]] == pivot)
+                {
+                    end++;
+                }
+                int[] cell = new int[end - from];
+                for (int k = 0; k < cell.length; k++)
+                {
+                    cell[k] = members[ordered[from + k]];
+                }
+                for (int v = 0; v < valueColumns.length; v++)
+                {
+                    out.put(fieldByRank[pivot][v], functions[v].aggregate(valueColumns[v], cell));
+                }
+                from = end;
+            }
+            return out;
+        };
+        List<Map<String, Object>> result;
+        if (n >= ColumnarFilter.CHUNK_ROWS && groupCount > 1)
+        {
+            result = pool.submit(() -> IntStream.range(0, groupCount)
+                                                .parallel()
+                                                .mapToObj(groupRow)
+                                                .toList())
+                         .join();
+        }
+        else
+        {
+            result = IntStream.range(0, groupCount)
+                              .mapToObj(groupRow)
+                              .toList();
+        }
+        return new Result(result, fields, keyStringsByRank);
+    }
+
+    private static int[] ranks(int count, IntSorter.IntComparator comparator)
+    {
+        int[] order = IntStream.range(0, count)
+                               .toArray();
+        IntSorter.sort(order, comparator);
+        int[] rank = new int[count];
+        for (int r = 0; r < count; r++)
+        {
+            rank[order[r]] = r;
+        }
+        return rank;
+    }
+
+    private static int compareKeys(List<Object> a, List<Object> b)
+    {
+        for (int c = 0; c < a.size(); c++)
+        {
+            int result = ServerSideRowComparator.compareValues(a.get(c), b.get(c));
+            if (result != 0)
+            {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int[] countingSort(int[] positions, int[] keyOf, int keyCount)
+    {
+        return countingSort(positions, keyOf, keyCount, new int[keyCount + 1]);
+    }
+
+    /**
+     * Stable sort of positions by a small integer key; {@code starts[k]} receives the first index of key {@code k}.
+     */
+    private static int[] countingSort(int[] positions, int[] keyOf, int keyCount, int[] starts)
+    {
+        for (int position : positions)
+        {
+            starts[keyOf[position] + 1]++;
+        }
+        for (int k = 0; k < keyCount; k++)
+        {
+            starts[k + 1] += starts[k];
+        }
+        int[] next = Arrays.copyOf(starts, keyCount);
+        int[] sorted = new int[positions.length];
+        for (int position : positions)
+        {
+            sorted[next[keyOf[position]]++] = position;
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,234 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Off-heap storage for {@link ColumnarTable}s as memory-mapped files.
+ * <p>
+ * {@link #write(ColumnarTable, Path)} stores each column's values and null bitmap in a file of its own, plus a
+ * {@code table.meta} file holding the column names, types and string dictionaries. {@link #open(Path)} maps the
+ * column files read-only: row values stay in the OS page cache instead of the Java heap, so they add nothing to
+ * garbage collection, survive a restart without reloading (pages are faulted in on first touch) and are shared by
+ * every JVM on the machine that maps the same directory. Only the null bitmaps, string dictionaries and (once
+ * used) sort indexes are held on the heap.
+ * <p>
+ * The metadata file is written last and moved into place atomically, so readers never open a partly written
+ * table. Write a changed table to a new directory rather than over a mapped one.
+ *
+ * <pre>{@code
+ * ColumnarStore.write(trades, Path.of("/data/trades-2024-06-30"));
+ * ColumnarTable mapped = ColumnarStore.open(Path.of("/data/trades-2024-06-30"));
+ * grid.setServerSideDatasource("/api/trades", new ServerSideColumnarDatasource(mapped));
+ * }</pre>
+ */
+public final class ColumnarStore
+{
+    /**
+     * Name of the metadata file in a table directory.
+     */
+    public static final String METADATA_FILE = "table.meta";
+
+    private static final int MAGIC = 0x4147_4354;
+    private static final int VERSION = 1;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private ColumnarStore()
+    {
+    }
+
+    /**
+     * Write a table to a directory, creating it when needed.
+     *
+     * @param table     the table
+     * @param directory target directory
+     * @throws IOException when the files cannot be written
+     */
+    public static void write(ColumnarTable table, Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        int rowCount = table.getRowCount();
+        int index = 0;
+        for (ColumnarColumn column : table.getColumns())
+        {
+            writeColumn(column, rowCount, directory.resolve(columnFile(index++)));
+        }
+
+        Path temporary = directory.resolve(METADATA_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rowCount);
+            out.writeInt(table.getColumns()
+                              .size());
+            for (ColumnarColumn column : table.getColumns())
+            {
+                writeString(out, column.getName());
+                out.writeUTF(column.getType()
+                                   .name());
+                if (column instanceof StringColumn strings)
+                {
+                    out.writeInt(strings.getDictionarySize());
+                    for (int code = 0; code < strings.getDictionarySize(); code++)
+                    {
+                        writeString(out, strings.getDictionaryValue(code));
+                    }
+                }
+            }
+        }
+        Files.move(temporary, directory.resolve(METADATA_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map a table written by {@link #write(ColumnarTable, Path)}.
+     *
+     * @param directory table directory
+     * @return the table, with its values read from the mapped files
+     * @throws IOException when the files cannot be read or are not a columnar table
+     */
+    public static ColumnarTable open(Path directory) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(METADATA_FILE)))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                throw new IOException("Not a columnar table: " + directory);
+            }
+            int rowCount = in.readInt();
+            int columnCount = in.readInt();
+            Map<String, ColumnarColumn> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++)
+            {
+                String name = readString(in);
+                ColumnType type = ColumnType.valueOf(in.readUTF());
+                String[] dictionary = null;
+                if (type == ColumnType.STRING)
+                {
+                    dictionary = new String[in.readInt()];
+                    for (int code = 0; code < dictionary.length; code++)
+                    {
+                        dictionary[code] = readString(in);
+                    }
+                }
+                columns.put(name, mapColumn(name, type, dictionary, rowCount, directory.resolve(columnFile(i))));
+            }
+            return new ColumnarTable(columns, rowCount);
+        }
+    }
+
+    private static String columnFile(int index)
+    {
+        return "column-" + index + ".bin";
+    }
+
+    private static int width(ColumnType type)
+    {
+        return type == ColumnType.LONG || type == ColumnType.DOUBLE ? Long.BYTES : Integer.BYTES;
+    }
+
+    /**
+     * Values in little-endian order, then the null bitmap as {@code (rowCount + 63) / 64} longs.
+     */
+    private static void writeColumn(ColumnarColumn column, int rowCount, Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            for (int row = 0; row < rowCount; row++)
+            {
+                if (buffer.remaining() < Long.BYTES)
+                {
+                    drain(buffer, channel);
+                }
+                switch (column)
+                {
+                    case IntColumn ints -> buffer.putInt(ints.isNull(row) ? 0 : ints.getInt(row));
+                    case StringColumn strings -> buffer.putInt(strings.getCode(row));
+                    case LongColumn longs -> buffer.putLong(longs.isNull(row) ? 0 : longs.getLong(row));
+                    default -> buffer.putDouble(column.isNull(row) ? 0 : column.getDouble(row));
+                }
+            }
+            long[] words = column.getNulls()
+                                 .toLongArray();
+            int wordCount = (rowCount + 63) >>> 6;
+            for (int i = 0; i < wordCount; i++)
+            {
+                if (buffer.remaining() < Long.BYTES)
+                {
+                    drain(buffer, channel);
+                }
+                buffer.putLong(i < words.length ? words[i] : 0);
+            }
+            drain(buffer, channel);
+            channel.force(false);
+        }
+    }
+
+    private static ColumnarColumn mapColumn(String name, ColumnType type, String[] dictionary, int rowCount, Path file) throws IOException
+    {
+        int width = width(type);
+        long valueBytes = (long) rowCount * width;
+        int wordCount = (rowCount + 63) >>> 6;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (channel.size() != valueBytes + (long) wordCount * Long.BYTES)
+            {
+                throw new IOException("Column file " + file + " does not match the table metadata");
+            }
+            // One segment of any size, unmapped once the column is unreachable; it stays valid after the channel is closed
+            MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+            BitSet nulls = BitSet.valueOf(mapped.asSlice(valueBytes)
+                                                .toArray(ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN)));
+            ColumnValues values = ColumnValues.mapped(mapped.asSlice(0, valueBytes));
+            return switch (type)
+            {
+                case INT -> new IntColumn(name, values, rowCount, nulls);
+                case LONG -> new LongColumn(name, values, rowCount, nulls);
+                case DOUBLE -> new DoubleColumn(name, values, rowCount, nulls);
+                case STRING -> new StringColumn(name, values, dictionary, rowCount, nulls);
+            };
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+}
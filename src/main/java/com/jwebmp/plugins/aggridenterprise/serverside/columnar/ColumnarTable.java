@@ -0,0 +1,199 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory table held column by column in primitive arrays, for answering SSRM requests without a
+ * database round trip (see {@link ServerSideColumnarDatasource}). A built table can be written to disk and mapped
+ * back off-heap with {@link ColumnarStore}.
+ *
+ * <pre>{@code
+ * ColumnarTable sales = ColumnarTable.builder()
+ *         .column("id", ColumnType.INT)
+ *         .column("country", ColumnType.STRING)
+ *         .column("amount", ColumnType.DOUBLE)
+ *         .row(1, "France", 10.5)
+ *         .row(2, "Germany", 20.0)
+ *         .build();
+ * }</pre>
+ */
+public final class ColumnarTable
+{
+    private final Map<String, ColumnarColumn> columns;
+    private final int rowCount;
+
+    ColumnarTable(Map<String, ColumnarColumn> columns, int rowCount)
+    {
+        this.columns = Collections.unmodifiableMap(columns);
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @return a builder for a new table
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    /**
+     * @return the columns in declaration order
+     */
+    public Collection<ColumnarColumn> getColumns()
+    {
+        return columns.values();
+    }
+
+    /**
+     * @param colId column id
+     * @return true when the table has the column
+     */
+    public boolean hasColumn(String colId)
+    {
+        return columns.containsKey(colId);
+    }
+
+    /**
+     * @param colId column id
+     * @return the column
+     * @throws IllegalArgumentException when the table has no such column
+     */
+    public ColumnarColumn getColumn(String colId)
+    {
+        ColumnarColumn column = columns.get(colId);
+        if (column == null)
+        {
+            throw new IllegalArgumentException("Column '" + colId + "' is not in the table");
+        }
+        return column;
+    }
+
+    /**
+     * @param row row index
+     * @return the row as a map keyed by column id
+     */
+    public Map<String, Object> row(int row)
+    {
+        Map<String, Object> values = new LinkedHashMap<>(columns.size() * 2);
+        for (ColumnarColumn column : columns.values())
+        {
+            values.put(column.getName(), column.get(row));
+        }
+        return values;
+    }
+
+    /**
+     * Collects rows into column storage.
+     */
+    public static final class Builder
+    {
+        private final List<ColumnAppender> appenders = new ArrayList<>();
+        private final Map<String, Integer> positions = new LinkedHashMap<>();
+        private int capacity = 1024;
+        private int rowCount;
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Pre-size the column arrays, avoiding copies when the row count is known. Call before adding columns.
+         *
+         * @param capacity expected number of rows
+         * @return this
+         */
+        public Builder capacity(int capacity)
+        {
+            this.capacity = Math.max(16, capacity);
+            return this;
+        }
+
+        /**
+         * Declare the next column.
+         *
+         * @param colId grid column id
+         * @param type  storage type
+         * @return this
+         * @throws IllegalStateException when rows were already added or the column is declared twice
+         */
+        public Builder column(String colId, ColumnType type)
+        {
+            if (rowCount > 0)
+            {
+                throw new IllegalStateException("Columns must be declared before rows are added");
+            }
+            if (positions.putIfAbsent(colId, appenders.size()) != null)
+            {
+                throw new IllegalStateException("Column '" + colId + "' is declared twice");
+            }
+            appenders.add(new ColumnAppender(colId, type, capacity));
+            return this;
+        }
+
+        /**
+         * Add a row with one value per column, in declaration order.
+         *
+         * @param values the row values; null for no value
+         * @return this
+         * @throws IllegalArgumentException when the value count does not match the columns or a value does not fit
+         */
+        public Builder row(Object... values)
+        {
+            if (values.length != appenders.size())
+            {
+                throw new IllegalArgumentException("Expected " + appenders.size() + " values, got " + values.length);
+            }
+            for (int i = 0; i < values.length; i++)
+            {
+                appenders.get(i)
+                         .append(values[i]);
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * Add a row from a map keyed by column id. Missing columns are null, unknown keys are ignored.
+         *
+         * @param values the row values
+         * @return this
+         */
+        public Builder row(Map<String, ?> values)
+        {
+            for (Map.Entry<String, Integer> position : positions.entrySet())
+            {
+                appenders.get(position.getValue())
+                         .append(values.get(position.getKey()));
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * @return the table
+         */
+        public ColumnarTable build()
+        {
+            Map<String, ColumnarColumn> columns = new LinkedHashMap<>();
+            for (ColumnAppender appender : appenders)
+            {
+                ColumnarColumn column = appender.build();
+                columns.put(column.getName(), column);
+            }
+            return new ColumnarTable(columns, rowCount);
+        }
+    }
+}
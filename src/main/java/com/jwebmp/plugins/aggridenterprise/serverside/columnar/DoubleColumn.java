@@ -0,0 +1,35 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.util.BitSet;
+
+/**
+ * {@link ColumnType#DOUBLE} column.
+ */
+final class DoubleColumn extends ColumnarColumn
+{
+    private final ColumnValues values;
+
+    DoubleColumn(String name, ColumnValues values, int size, BitSet nulls)
+    {
+        super(name, ColumnType.DOUBLE, size, nulls);
+        this.values = values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+        return isNull(row) ? null : values.getDouble(row);
+    }
+
+    @Override
+    public double getDouble(int row)
+    {
+        return values.getDouble(row);
+    }
+
+    @Override
+    int compareValues(int a, int b)
+    {
+        return Double.compare(values.getDouble(a), values.getDouble(b));
+    }
+}
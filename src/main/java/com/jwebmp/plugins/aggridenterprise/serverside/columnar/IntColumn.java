@@ -0,0 +1,72 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * {@link ColumnType#INT} column.
+ */
+final class IntColumn extends ColumnarColumn
+{
+    private final ColumnValues values;
+
+    IntColumn(String name, ColumnValues values, int size, BitSet nulls)
+    {
+        super(name, ColumnType.INT, size, nulls);
+        this.values = values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+        return isNull(row) ? null : values.getInt(row);
+    }
+
+    @Override
+    public double getDouble(int row)
+    {
+        return values.getInt(row);
+    }
+
+    /**
+     * @param row row index of a non-null value
+     * @return the primitive value
+     */
+    int getInt(int row)
+    {
+        return values.getInt(row);
+    }
+
+    @Override
+    int compareValues(int a, int b)
+    {
+        return Integer.compare(values.getInt(a), values.getInt(b));
+    }
+
+    @Override
+    int[] computeSortIndex()
+    {
+        // Pack value and row into one long so a primitive sort orders by value, then row
+        long[] packed = new long[size()];
+        int[] index = new int[size()];
+        int nullCount = 0;
+        int count = 0;
+        for (int row = 0; row < size(); row++)
+        {
+            if (isNull(row))
+            {
+                index[nullCount++] = row;
+            }
+            else
+            {
+                packed[count++] = ((long) values.getInt(row) << 32) | row;
+            }
+        }
+        Arrays.sort(packed, 0, count);
+        for (int i = 0; i < count; i++)
+        {
+            index[nullCount + i] = (int) packed[i];
+        }
+        return index;
+    }
+}
@@ -0,0 +1,81 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+/**
+ * Stable merge sort of row indexes with a primitive comparator, avoiding {@code Integer[]} boxing.
+ */
+final class IntSorter
+{
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Compares two row indexes.
+     */
+    @FunctionalInterface
+    interface IntComparator
+    {
+        int compare(int a, int b);
+    }
+
+    private IntSorter()
+    {
+    }
+
+    /**
+     * Sort the array in place.
+     *
+     * @param values     row indexes
+     * @param comparator ordering of the rows
+     */
+    static void sort(int[] values, IntComparator comparator)
+    {
+        if (values.length < 2)
+        {
+            return;
+        }
+        int[] buffer = values.clone();
+        mergeSort(buffer, values, 0, values.length, comparator);
+    }
+
+    /**
+     * Sorts {@code source[from, to)} into {@code target[from, to)}; both start with the same contents.
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntComparator comparator)
+    {
+        if (to - from <= INSERTION_THRESHOLD)
+        {
+            for (int i = from + 1; i < to; i++)
+            {
+                int value = target[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(target[j], value) > 0)
+                {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(target, source, from, mid, comparator);
+        mergeSort(target, source, mid, to, comparator);
+        if (comparator.compare(source[mid - 1], source[mid]) <= 0)
+        {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++)
+        {
+            if (right >= to || (left < mid && comparator.compare(source[left], source[right]) <= 0))
+            {
+                target[i] = source[left++];
+            }
+            else
+            {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
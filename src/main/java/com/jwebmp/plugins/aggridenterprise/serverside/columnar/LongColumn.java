@@ -0,0 +1,114 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterOperator;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link ColumnType#LONG} column. Filters with whole-number operands compare values as longs, so ids and other
+ * values past 2<sup>53</sup> match exactly; fractional operands fall back to the double comparison.
+ */
+final class LongColumn extends ColumnarColumn
+{
+    private final ColumnValues values;
+
+    LongColumn(String name, ColumnValues values, int size, BitSet nulls)
+    {
+        super(name, ColumnType.LONG, size, nulls);
+        this.values = values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+        return isNull(row) ? null : values.getLong(row);
+    }
+
+    @Override
+    public double getDouble(int row)
+    {
+        return values.getLong(row);
+    }
+
+    /**
+     * @param row row index of a non-null value
+     * @return the primitive value
+     */
+    long getLong(int row)
+    {
+        return values.getLong(row);
+    }
+
+    @Override
+    IntPredicate predicate(ColumnCondition condition)
+    {
+        IntPredicate exact = exactPredicate(condition);
+        return exact != null ? exact : super.predicate(condition);
+    }
+
+    /**
+     * @return the row test comparing longs, or null when an operand is not a whole number
+     */
+    private IntPredicate exactPredicate(ColumnCondition condition)
+    {
+        switch (condition.operator())
+        {
+            case EQUALS, NOT_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL, IN_RANGE ->
+            {
+                Long operand = longOperand(condition.value());
+                Long operandTo = condition.operator() == FilterOperator.IN_RANGE ? longOperand(condition.valueTo()) : operand;
+                if (operand == null || operandTo == null)
+                {
+                    return null;
+                }
+                long value = operand;
+                long to = operandTo;
+                return switch (condition.operator())
+                {
+                    case EQUALS -> row -> !isNull(row) && getLong(row) == value;
+                    case NOT_EQUAL -> row -> isNull(row) || getLong(row) != value;
+                    case LESS_THAN -> row -> !isNull(row) && getLong(row) < value;
+                    case LESS_THAN_OR_EQUAL -> row -> !isNull(row) && getLong(row) <= value;
+                    case GREATER_THAN -> row -> !isNull(row) && getLong(row) > value;
+                    case GREATER_THAN_OR_EQUAL -> row -> !isNull(row) && getLong(row) >= value;
+                    default -> row -> !isNull(row) && getLong(row) > value && getLong(row) < to;
+                };
+            }
+            case IN ->
+            {
+                Set<Long> values = new HashSet<>();
+                boolean blanks = false;
+                for (Object value : condition.values())
+                {
+                    if (value == null)
+                    {
+                        blanks = true;
+                        continue;
+                    }
+                    Long operand = longOperand(value);
+                    if (operand == null)
+                    {
+                        return null;
+                    }
+                    values.add(operand);
+                }
+                boolean includeBlanks = blanks;
+                return row -> isNull(row) ? includeBlanks : values.contains(getLong(row));
+            }
+            default ->
+            {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    int compareValues(int a, int b)
+    {
+        return Long.compare(values.getLong(a), values.getLong(b));
+    }
+}
@@ -0,0 +1,571 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.IServerSideDatasource;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideBlockCacheKey;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsResult;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSidePivotColumnCache;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSidePivotLayout;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSidePivotResultColumns;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterModelParser;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterOperator;
+import com.jwebmp.plugins.aggridenterprise.serverside.sql.ServerSideSqlCompiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * SSRM datasource answering requests from a {@link ColumnarTable} held in the JVM.
+ * <p>
+ * Filters are evaluated into bitsets, leaf rows are ordered by walking each sort column's precomputed permutation
+ * index (or by comparing precomputed ranks for multi-column sorts) and group rows are formed by walking the group
+ * column's permutation, then aggregated in parallel. Large scans and aggregations run on the configured
+ * {@link ForkJoinPool}.
+ * <p>
+ * The ordered rows (or group rows) of the most recently used models are kept, so scrolling through a view costs
+ * an array slice per block. Every block reports the exact row count.
+ * <p>
+ * In pivot mode each group row carries one aggregate per pivot key and value column, named by the
+ * {@link ServerSidePivotLayout}; the pivot key space and the data are computed in the same pass and the pivot
+ * result fields are returned with every block. With a {@link ServerSidePivotColumnCache} the blocks also carry
+ * the generated pivot result column definitions, built once per distinct pivot key set.
+ * <p>
+ * Built-in aggregations are {@code sum}, {@code min}, {@code max}, {@code count}, {@code avg}, {@code first} and
+ * {@code last}; custom ones are added with {@link #registerAggregator(String, ColumnarAggregator)}.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideColumnarDatasource implements IServerSideDatasource<Map<String, Object>>
+{
+    /**
+     * Number of views (ordered rows per model and group path) kept by default.
+     */
+    public static final int DEFAULT_MAX_CACHED_VIEWS = 32;
+
+    private final ColumnarTable table;
+    private final ForkJoinPool pool;
+    private final int maxCachedViews;
+    private final Map<String, ColumnarAggregator> aggregators = new ConcurrentHashMap<>();
+    private volatile ServerSidePivotLayout pivotLayout = ServerSidePivotLayout.DEFAULT;
+    private volatile ServerSidePivotColumnCache pivotColumnCache;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, View> views = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * A datasource running on the common pool.
+     *
+     * @param table the data
+     */
+    public ServerSideColumnarDatasource(ColumnarTable table)
+    {
+        this(table, ForkJoinPool.commonPool(), DEFAULT_MAX_CACHED_VIEWS);
+    }
+
+    /**
+     * @param table          the data
+     * @param pool           pool for parallel scans and aggregation
+     * @param maxCachedViews number of views kept, 0 to disable
+     */
+    public ServerSideColumnarDatasource(ColumnarTable table, ForkJoinPool pool, int maxCachedViews)
+    {
+        if (maxCachedViews < 0)
+        {
+            throw new IllegalArgumentException("maxCachedViews must not be negative");
+        }
+        this.table = table;
+        this.pool = pool;
+        this.maxCachedViews = maxCachedViews;
+        aggregators.put("sum", ServerSideColumnarDatasource::sum);
+        aggregators.put("min", (column, rows) -> extreme(column, rows, -1));
+        aggregators.put("max", (column, rows) -> extreme(column, rows, 1));
+        aggregators.put("count", (column, rows) -> rows.length);
+        aggregators.put("avg", ServerSideColumnarDatasource::avg);
+        aggregators.put("first", (column, rows) -> column.get(rows[0]));
+        aggregators.put("last", (column, rows) -> column.get(rows[rows.length - 1]));
+    }
+
+    /**
+     * Register (or replace) an aggregation function.
+     *
+     * @param name       the {@code aggFunc} name sent by the grid
+     * @param aggregator the function
+     * @return this
+     */
+    public ServerSideColumnarDatasource registerAggregator(String name, ColumnarAggregator aggregator)
+    {
+        aggregators.put(name, aggregator);
+        return this;
+    }
+
+    /**
+     * Name and limit pivot result columns, usually from {@link ServerSidePivotLayout#forOptions} with the grid's options.
+     *
+     * @param pivotLayout the layout, or null for the default
+     * @return this
+     */
+    public ServerSideColumnarDatasource setPivotLayout(ServerSidePivotLayout pivotLayout)
+    {
+        this.pivotLayout = pivotLayout == null ? ServerSidePivotLayout.DEFAULT : pivotLayout;
+        lock.lock();
+        try
+        {
+            views.clear();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Send generated pivot result column definitions with pivoting blocks.
+     *
+     * @param pivotColumnCache cache building the definitions, or null to let the grid build columns from the fields
+     * @return this
+     */
+    public ServerSideColumnarDatasource setPivotColumnCache(ServerSidePivotColumnCache pivotColumnCache)
+    {
+        this.pivotColumnCache = pivotColumnCache;
+        lock.lock();
+        try
+        {
+            views.clear();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * @return the pivot result column naming and limit
+     */
+    public ServerSidePivotLayout getPivotLayout()
+    {
+        return pivotLayout;
+    }
+
+    @Override
+    public ServerSideGetRowsResult<Map<String, Object>> getRows(ServerSideGetRowsRequest request)
+    {
+        View view = view(request);
+        int size = view.size();
+        int from = Math.min(request.start(), size);
+        int to = Math.min(request.end(), size);
+        List<Map<String, Object>> rows;
+        if (view.groupRows() != null)
+        {
+            rows = view.groupRows()
+                       .subList(from, to);
+        }
+        else
+        {
+            rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++)
+            {
+                rows.add(table.row(view.rows()[i]));
+            }
+        }
+        if (view.pivotResultFields() != null)
+        {
+            return ServerSideGetRowsResult.pivot(rows, size, view.pivotResultFields())
+                                          .withPivotResultColumns(view.pivotResultColumns());
+        }
+        return ServerSideGetRowsResult.of(rows, size);
+    }
+
+    /**
+     * @return the data
+     */
+    public ColumnarTable getTable()
+    {
+        return table;
+    }
+
+    /**
+     * @return the pool running parallel scans and aggregation
+     */
+    public ForkJoinPool getPool()
+    {
+        return pool;
+    }
+
+    /**
+     * @return number of views currently kept
+     */
+    public int getCachedViewCount()
+    {
+        lock.lock();
+        try
+        {
+            return views.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private View view(ServerSideGetRowsRequest request)
+    {
+        String key = ServerSideBlockCacheKey.normalisedModel(request) + '|' + request.groupKeys();
+        lock.lock();
+        try
+        {
+            View cached = views.get(key);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        BitSet rows = matchingRows(request);
+        View view;
+        if (request.isPivoting() && (request.isGroupLevel() || request.rowGroupCols()
+                                                                       .isEmpty()))
+        {
+            view = pivotView(request, rows);
+        }
+        else if (request.isGroupLevel())
+        {
+            view = new View(null, groupRows(request, rows), null, null);
+        }
+        else
+        {
+            view = new View(leafOrder(request, rows), null, null, null);
+        }
+        if (maxCachedViews > 0)
+        {
+            lock.lock();
+            try
+            {
+                views.put(key, view);
+                while (views.size() > maxCachedViews)
+                {
+                    views.remove(views.keySet()
+                                      .iterator()
+                                      .next());
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        return view;
+    }
+
+    private BitSet matchingRows(ServerSideGetRowsRequest request)
+    {
+        BitSet rows = ColumnarFilter.evaluate(FilterModelParser.parse(request.filterModel()), table, pool);
+        int levels = Math.min(request.groupKeys()
+                                     .size(), request.rowGroupCols()
+                                                     .size());
+        for (int level = 0; level < levels; level++)
+        {
+            ColumnarColumn column = table.getColumn(request.rowGroupCols()
+                                                           .get(level)
+                                                           .fieldOrId());
+            String key = request.groupKeys()
+                                .get(level);
+            ColumnCondition match = new ColumnCondition(column.getName(), null, key == null ? FilterOperator.BLANK : FilterOperator.EQUALS,
+                                                        key, null, null);
+            rows.and(ColumnarFilter.scan(table.getRowCount(), column.predicate(match), pool));
+        }
+        return rows;
+    }
+
+    private int[] leafOrder(ServerSideGetRowsRequest request, BitSet rows)
+    {
+        List<ColumnarColumn> columns = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        for (ServerSideSortModelItem sort : request.sortModel())
+        {
+            if (!sort.colId()
+                     .startsWith(ServerSideSqlCompiler.AUTO_GROUP_COLUMN))
+            {
+                columns.add(table.getColumn(sort.colId()));
+                descending.add(sort.isDescending());
+            }
+        }
+        if (columns.isEmpty())
+        {
+            return rows.stream()
+                       .toArray();
+        }
+        if (columns.size() == 1)
+        {
+            // The permutation index is already in order: keep the matching rows as they come
+            int[] index = columns.get(0)
+                                 .sortIndex();
+            int[] ordered = new int[rows.cardinality()];
+            int n = 0;
+            boolean desc = descending.get(0);
+            for (int i = 0; i < index.length; i++)
+            {
+                int row = index[desc ? index.length - 1 - i : i];
+                if (rows.get(row))
+                {
+                    ordered[n++] = row;
+                }
+            }
+            return ordered;
+        }
+        int[][] ranks = new int[columns.size()][];
+        for (int i = 0; i < ranks.length; i++)
+        {
+            ranks[i] = columns.get(i)
+                              .ranks();
+        }
+        boolean[] desc = new boolean[ranks.length];
+        for (int i = 0; i < desc.length; i++)
+        {
+            desc[i] = descending.get(i);
+        }
+        int[] ordered = rows.stream()
+                            .toArray();
+        IntSorter.sort(ordered, (a, b) -> {
+            for (int i = 0; i < ranks.length; i++)
+            {
+                int c = Integer.compare(ranks[i][a], ranks[i][b]);
+                if (c != 0)
+                {
+                    return desc[i] ? -c : c;
+                }
+            }
+            return Integer.compare(a, b);
+        });
+        return ordered;
+    }
+
+    private List<Map<String, Object>> groupRows(ServerSideGetRowsRequest request, BitSet rows)
+    {
+        ServerSideColumnVO groupCol = request.rowGroupCols()
+                                             .get(request.groupKeys()
+                                                         .size());
+        String groupField = groupCol.fieldOrId();
+        ColumnarColumn column = table.getColumn(groupField);
+        List<ServerSideColumnVO> valueCols = request.valueCols();
+        ColumnarColumn[] valueColumns = new ColumnarColumn[valueCols.size()];
+        for (int i = 0; i < valueColumns.length; i++)
+        {
+            valueColumns[i] = table.getColumn(valueCols.get(i)
+                                                       .fieldOrId());
+        }
+        ColumnarAggregator[] functions = functions(valueCols);
+
+        // Walking the group column's permutation yields the matching rows already grouped, in key order
+        int[] index = column.sortIndex();
+        int[] grouped = new int[rows.cardinality()];
+        int[] starts = new int[16];
+        int groups = 0;
+        int n = 0;
+        for (int row : index)
+        {
+            if (rows.get(row))
+            {
+                if (n == 0 || column.compareRows(grouped[n - 1], row) != 0)
+                {
+                    if (groups == starts.length)
+                    {
+                        starts = Arrays.copyOf(starts, groups * 2);
+                    }
+                    starts[groups++] = n;
+                }
+                grouped[n++] = row;
+            }
+        }
+        int[] groupStarts = starts;
+        int groupCount = groups;
+        int rowCount = n;
+        IntFunction<Map<String, Object>> groupRow = g -> {
+            int[] members = Arrays.copyOfRange(grouped, groupStarts[g], g + 1 < groupCount ? groupStarts[g + 1] : rowCount);
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put(groupField, column.get(members[0]));
+            for (int i = 0; i < valueColumns.length; i++)
+            {
+                out.put(valueCols.get(i)
+                                 .fieldOrId(), functions[i].aggregate(valueColumns[i], members));
+            }
+            return out;
+        };
+        List<Map<String, Object>> result;
+        if (rowCount >= ColumnarFilter.CHUNK_ROWS && groupCount > 1)
+        {
+            result = pool.submit(() -> IntStream.range(0, groupCount)
+                                                .parallel()
+                                                .mapToObj(groupRow)
+                                                .toList())
+                         .join();
+        }
+        else
+        {
+            result = IntStream.range(0, groupCount)
+                              .mapToObj(groupRow)
+                              .toList();
+        }
+
+        return sortGroups(result, groupOrder(request, groupCol, Set.of()));
+    }
+
+    private View pivotView(ServerSideGetRowsRequest request, BitSet rows)
+    {
+        ServerSideColumnVO groupCol = request.isGroupLevel() ? request.rowGroupCols()
+                                                                      .get(request.groupKeys()
+                                                                                  .size()) : null;
+        List<ColumnarColumn> pivotColumns = new ArrayList<>();
+        for (ServerSideColumnVO pivotCol : request.pivotCols())
+        {
+            pivotColumns.add(table.getColumn(pivotCol.fieldOrId()));
+        }
+        ColumnarPivot.Result pivot = ColumnarPivot.pivot(rows, groupCol == null ? null : groupCol.fieldOrId(), table, pivotColumns, request.valueCols(),
+                                                         functions(request.valueCols()), pivotLayout, pool);
+        List<Map<String, Object>> result = pivot.rows();
+        if (groupCol != null)
+        {
+            result = sortGroups(result, groupOrder(request, groupCol, new HashSet<>(pivot.fields())));
+        }
+        ServerSidePivotColumnCache columnCache = pivotColumnCache;
+        ServerSidePivotResultColumns columns = columnCache == null ? null
+                                                                   : columnCache.get(request.pivotCols(), request.valueCols(), pivot.keys(), pivotLayout);
+        return new View(null, result, pivot.fields(), columns);
+    }
+
+    private ColumnarAggregator[] functions(List<ServerSideColumnVO> valueCols)
+    {
+        ColumnarAggregator[] functions = new ColumnarAggregator[valueCols.size()];
+        for (int i = 0; i < functions.length; i++)
+        {
+            ServerSideColumnVO valueCol = valueCols.get(i);
+            functions[i] = aggregators.get(valueCol.aggFunc() == null ? "" : valueCol.aggFunc());
+            if (functions[i] == null)
+            {
+                throw new IllegalArgumentException("Unsupported aggregation '" + valueCol.aggFunc() + "'");
+            }
+        }
+        return functions;
+    }
+
+    private static List<Map<String, Object>> sortGroups(List<Map<String, Object>> groups, Comparator<Map<String, Object>> order)
+    {
+        if (order == null)
+        {
+            return groups;
+        }
+        List<Map<String, Object>> sorted = new ArrayList<>(groups);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    private static Comparator<Map<String, Object>> groupOrder(ServerSideGetRowsRequest request, ServerSideColumnVO groupCol, Set<String> pivotResultFields)
+    {
+        return ServerSideRowComparator.of(request.sortModel(), colId -> {
+            if (colId.startsWith(ServerSideSqlCompiler.AUTO_GROUP_COLUMN) || colId.equals(groupCol.id()) || colId.equals(groupCol.fieldOrId()))
+            {
+                return groupCol.fieldOrId();
+            }
+            if (pivotResultFields.contains(colId))
+            {
+                return colId;
+            }
+            for (ServerSideColumnVO valueCol : request.valueCols())
+            {
+                if (colId.equals(valueCol.id()) || colId.equals(valueCol.fieldOrId()))
+                {
+                    return valueCol.fieldOrId();
+                }
+            }
+            // Columns that are neither grouped nor aggregated have no value on a group row
+            return null;
+        });
+    }
+
+    private static Object sum(ColumnarColumn column, int[] rows)
+    {
+        if (column.getType() == ColumnType.DOUBLE)
+        {
+            double total = 0;
+            for (int row : rows)
+            {
+                if (!column.isNull(row))
+                {
+                    total += column.getDouble(row);
+                }
+            }
+            return total;
+        }
+        long total = 0;
+        for (int row : rows)
+        {
+            if (!column.isNull(row))
+            {
+                total += column instanceof LongColumn longs ? longs.getLong(row)
+                                                          : column instanceof IntColumn ints ? ints.getInt(row) : (long) column.getDouble(row);
+            }
+        }
+        return total;
+    }
+
+    private static Object avg(ColumnarColumn column, int[] rows)
+    {
+        double total = 0;
+        int count = 0;
+        for (int row : rows)
+        {
+            if (!column.isNull(row))
+            {
+                total += column.getDouble(row);
+                count++;
+            }
+        }
+        return count == 0 ? null : total / count;
+    }
+
+    private static Object extreme(ColumnarColumn column, int[] rows, int sign)
+    {
+        int best = -1;
+        for (int row : rows)
+        {
+            if (!column.isNull(row) && (best < 0 || Integer.signum(column.compareRows(row, best)) == sign))
+            {
+                best = row;
+            }
+        }
+        return best < 0 ? null : column.get(best);
+    }
+
+    /**
+     * Ordered leaf rows or aggregated group rows for one model and group path, with the pivot result fields (and
+     * columns) when pivoting.
+     */
+    private record View(int[] rows, List<Map<String, Object>> groupRows, List<String> pivotResultFields,
+                        ServerSidePivotResultColumns pivotResultColumns)
+    {
+        int size()
+        {
+            return groupRows != null ? groupRows.size() : rows.length;
+        }
+    }
+}
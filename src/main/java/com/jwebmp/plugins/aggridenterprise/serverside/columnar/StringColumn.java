@@ -0,0 +1,248 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * {@link ColumnType#STRING} column, dictionary encoded: each row holds the code of its value in a table of the
+ * distinct values, or -1 for null.
+ * <p>
+ * Filters are evaluated once per distinct value and then applied per row by code, and the sort permutation is a
+ * counting sort over the ranks of the distinct values.
+ */
+final class StringColumn extends ColumnarColumn
+{
+    private final ColumnValues codes;
+    private final String[] dictionary;
+    private final int[] codeRanks;
+
+    StringColumn(String name, ColumnValues codes, String[] dictionary, int size, BitSet nulls)
+    {
+        super(name, ColumnType.STRING, size, nulls);
+        this.codes = codes;
+        this.dictionary = dictionary;
+        this.codeRanks = rankCodes(dictionary);
+    }
+
+    @Override
+    public Object get(int row)
+    {
+        int code = codes.getInt(row);
+        return code < 0 ? null : dictionary[code];
+    }
+
+    @Override
+    public double getDouble(int row)
+    {
+        throw new IllegalStateException("Column '" + getName() + "' is not numeric");
+    }
+
+    /**
+     * @param row row index
+     * @return the dictionary code of the row, -1 for null
+     */
+    int getCode(int row)
+    {
+        return codes.getInt(row);
+    }
+
+    /**
+     * @return number of distinct non-null values
+     */
+    int getDictionarySize()
+    {
+        return dictionary.length;
+    }
+
+    /**
+     * @param code dictionary code
+     * @return the value of the code
+     */
+    String getDictionaryValue(int code)
+    {
+        return dictionary[code];
+    }
+
+    @Override
+    int compareValues(int a, int b)
+    {
+        return Integer.compare(codeRanks[codes.getInt(a)], codeRanks[codes.getInt(b)]);
+    }
+
+    @Override
+    int[] computeSortIndex()
+    {
+        // Counting sort by value rank, slot 0 holding nulls; rows stay in index order within a value
+        int[] starts = new int[dictionary.length + 2];
+        for (int row = 0; row < size(); row++)
+        {
+            starts[slot(row) + 1]++;
+        }
+        for (int i = 1; i < starts.length; i++)
+        {
+            starts[i] += starts[i - 1];
+        }
+        int[] index = new int[size()];
+        for (int row = 0; row < size(); row++)
+        {
+            index[starts[slot(row)]++] = row;
+        }
+        return index;
+    }
+
+    private int slot(int row)
+    {
+        int code = codes.getInt(row);
+        return code < 0 ? 0 : codeRanks[code] + 1;
+    }
+
+    @Override
+    IntPredicate predicate(ColumnCondition condition)
+    {
+        boolean text = condition.isText();
+        String value = normalise(condition.value(), text);
+        boolean nullMatches;
+        Predicate<String> test;
+        switch (condition.operator())
+        {
+            case EQUALS ->
+            {
+                nullMatches = false;
+                test = v -> v.equals(value);
+            }
+            case NOT_EQUAL ->
+            {
+                nullMatches = true;
+                test = v -> !v.equals(value);
+            }
+            case CONTAINS ->
+            {
+                nullMatches = false;
+                test = v -> v.contains(value);
+            }
+            case NOT_CONTAINS ->
+            {
+                nullMatches = true;
+                test = v -> !v.contains(value);
+            }
+            case STARTS_WITH ->
+            {
+                nullMatches = false;
+                test = v -> v.startsWith(value);
+            }
+            case ENDS_WITH ->
+            {
+                nullMatches = false;
+                test = v -> v.endsWith(value);
+            }
+            case LESS_THAN ->
+            {
+                nullMatches = false;
+                test = v -> v.compareTo(value) < 0;
+            }
+            case LESS_THAN_OR_EQUAL ->
+            {
+                nullMatches = false;
+                test = v -> v.compareTo(value) <= 0;
+            }
+            case GREATER_THAN ->
+            {
+                nullMatches = false;
+                test = v -> v.compareTo(value) > 0;
+            }
+            case GREATER_THAN_OR_EQUAL ->
+            {
+                nullMatches = false;
+                test = v -> v.compareTo(value) >= 0;
+            }
+            case IN_RANGE ->
+            {
+                String to = normalise(condition.valueTo(), text);
+                nullMatches = false;
+                test = v -> v.compareTo(value) > 0 && v.compareTo(to) < 0;
+            }
+            case BLANK ->
+            {
+                nullMatches = true;
+                test = String::isEmpty;
+            }
+            case NOT_BLANK ->
+            {
+                nullMatches = false;
+                test = v -> !v.isEmpty();
+            }
+            case TRUE ->
+            {
+                nullMatches = false;
+                test = "true"::equalsIgnoreCase;
+            }
+            case FALSE ->
+            {
+                nullMatches = false;
+                test = "false"::equalsIgnoreCase;
+            }
+            case IN ->
+            {
+                Set<String> values = new HashSet<>();
+                boolean blanks = false;
+                for (Object item : condition.values())
+                {
+                    if (item == null)
+                    {
+                        blanks = true;
+                    }
+                    else
+                    {
+                        values.add(item.toString());
+                    }
+                }
+                nullMatches = blanks;
+                test = values::contains;
+            }
+            default -> throw new IllegalArgumentException("Unsupported filter '" + condition.operator()
+                                                                                           .getType() + "'");
+        }
+        boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++)
+        {
+            matches[code] = test.test(text ? dictionary[code].toLowerCase(Locale.ROOT) : dictionary[code]);
+        }
+        return row -> {
+            int code = codes.getInt(row);
+            return code < 0 ? nullMatches : matches[code];
+        };
+    }
+
+    private static String normalise(Object value, boolean text)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+        String string = value.toString();
+        return text ? string.toLowerCase(Locale.ROOT) : string;
+    }
+
+    private static int[] rankCodes(String[] dictionary)
+    {
+        Integer[] order = new Integer[dictionary.length];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> dictionary[a].compareTo(dictionary[b]));
+        int[] ranks = new int[dictionary.length];
+        for (int rank = 0; rank < order.length; rank++)
+        {
+            ranks[order[rank]] = rank;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,109 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the AG Grid Advanced Filter model ({@code enableAdvancedFilter}) into a {@link FilterNode} tree, so compound
+ * expressions built in the browser are evaluated by the same backends as column filters: SQL generation,
+ * column-at-a-time bitset scans and compiled row predicates.
+ * <p>
+ * Supported shapes:
+ * <ul>
+ *     <li>joins: {@code {"filterType":"join","type":"AND"|"OR","conditions":[...]}}, nested to any depth</li>
+ *     <li>column conditions: {@code {"filterType":"text"|"number"|"date"|"dateString"|"boolean"|"object",
+ *     "colId":...,"type":...,"filter":...}}</li>
+ * </ul>
+ * {@code dateString} conditions are parsed as dates and {@code object} conditions compare as text.
+ */
+public final class AdvancedFilterModelParser
+{
+    private AdvancedFilterModelParser()
+    {
+    }
+
+    /**
+     * Tell an Advanced Filter model from a column filter model keyed by column id.
+     *
+     * @param model a request's filter model
+     * @return true when the model is a join or a single column condition
+     */
+    public static boolean isAdvancedFilterModel(Map<?, ?> model)
+    {
+        return model != null && ("join".equals(model.get("filterType")) || model.get("filterType") instanceof String && model.get("colId") instanceof String);
+    }
+
+    /**
+     * Parse an Advanced Filter model.
+     *
+     * @param model the Advanced Filter model
+     * @return the filter tree, or null when nothing is filtered
+     * @throws IllegalArgumentException when the model contains an unsupported condition
+     */
+    public static FilterNode parse(Map<?, ?> model)
+    {
+        if (model == null || model.isEmpty())
+        {
+            return null;
+        }
+        if ("join".equals(model.get("filterType")))
+        {
+            List<FilterNode> children = new ArrayList<>();
+            if (model.get("conditions") instanceof List<?> conditions)
+            {
+                for (Object condition : conditions)
+                {
+                    if (condition instanceof Map<?, ?> conditionModel)
+                    {
+                        FilterNode child = parse(conditionModel);
+                        if (child != null)
+                        {
+                            children.add(child);
+                        }
+                    }
+                }
+            }
+            FilterJoin.Join join = "OR".equalsIgnoreCase(string(model.get("type"))) ? FilterJoin.Join.OR : FilterJoin.Join.AND;
+            return FilterJoin.of(join, children);
+        }
+        return condition(model);
+    }
+
+    private static ColumnCondition condition(Map<?, ?> model)
+    {
+        String colId = string(model.get("colId"));
+        if (colId == null)
+        {
+            throw new IllegalArgumentException("Advanced filter condition without colId");
+        }
+        String filterType = string(model.get("filterType"));
+        String type = string(model.get("type"));
+        FilterOperator operator = type == null ? FilterOperator.EQUALS : FilterOperator.fromType(type);
+        switch (filterType == null ? "text" : filterType)
+        {
+            case "text", "object" ->
+            {
+                return new ColumnCondition(colId, "text", operator, model.get("filter"), null, null);
+            }
+            case "number" ->
+            {
+                return new ColumnCondition(colId, "number", operator, model.get("filter"), null, null);
+            }
+            case "date", "dateString" ->
+            {
+                return new ColumnCondition(colId, "date", operator, FilterModelParser.date(model.get("filter")), null, null);
+            }
+            case "boolean" ->
+            {
+                return new ColumnCondition(colId, "boolean", operator, null, null, null);
+            }
+            default -> throw new IllegalArgumentException("Unsupported advanced filter type '" + filterType + "' on column '" + colId + "'");
+        }
+    }
+
+    private static String string(Object value)
+    {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single condition on one column.
+ *
+ * @param colId      column the condition applies to
+ * @param filterType AG Grid filter type: {@code text}, {@code number}, {@code date}, {@code set}, ...
+ * @param operator   comparison
+ * @param value      operand ({@code filter}, or {@code dateFrom} as a {@link java.time.LocalDateTime}); null when
+ *                   the operator takes none
+ * @param valueTo    upper bound of {@link FilterOperator#IN_RANGE}
+ * @param values     set filter values for {@link FilterOperator#IN}; empty otherwise
+ */
+public record ColumnCondition(String colId, String filterType, FilterOperator operator, Object value, Object valueTo, List<Object> values) implements FilterNode
+{
+    public ColumnCondition
+    {
+        values = values == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * @return true for text filters, which compare case-insensitively
+     */
+    public boolean isText()
+    {
+        return "text".equals(filterType);
+    }
+}
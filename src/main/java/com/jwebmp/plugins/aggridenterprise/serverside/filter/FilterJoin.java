@@ -0,0 +1,46 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import java.util.List;
+
+/**
+ * AND / OR combination of filter nodes.
+ *
+ * @param join     how the children are combined
+ * @param children combined nodes, at least two
+ */
+public record FilterJoin(Join join, List<FilterNode> children) implements FilterNode
+{
+    /**
+     * Boolean operator of a join.
+     */
+    public enum Join
+    {
+        AND,
+        OR
+    }
+
+    public FilterJoin
+    {
+        children = List.copyOf(children);
+    }
+
+    /**
+     * Combine nodes, collapsing empty and single-node joins.
+     *
+     * @param join  how the nodes are combined
+     * @param nodes nodes to combine
+     * @return the join, the only node, or null when there are no nodes
+     */
+    public static FilterNode of(Join join, List<FilterNode> nodes)
+    {
+        if (nodes.isEmpty())
+        {
+            return null;
+        }
+        if (nodes.size() == 1)
+        {
+            return nodes.get(0);
+        }
+        return new FilterJoin(join, nodes);
+    }
+}
@@ -0,0 +1,173 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the AG Grid column filter model of an SSRM request into a {@link FilterNode} tree.
+ * <p>
+ * Supported shapes:
+ * <ul>
+ *     <li>text, number and date filters with a single condition ({@code type}, {@code filter}/{@code filterTo},
+ *     {@code dateFrom}/{@code dateTo})</li>
+ *     <li>combined conditions, as {@code operator} + {@code conditions} or the legacy
+ *     {@code condition1}/{@code condition2}</li>
+ *     <li>set filters ({@code values})</li>
+ *     <li>multi filters ({@code filterModels}, combined with AND)</li>
+ *     <li>the Advanced Filter model, handed to {@link AdvancedFilterModelParser}</li>
+ * </ul>
+ * Columns are combined with AND. Date operands are parsed to {@link LocalDateTime}.
+ */
+public final class FilterModelParser
+{
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private FilterModelParser()
+    {
+    }
+
+    /**
+     * Parse a column filter model keyed by column id, or an Advanced Filter model.
+     *
+     * @param filterModel the request's filter model
+     * @return the filter tree, or null when nothing is filtered
+     * @throws IllegalArgumentException when the model contains an unsupported filter
+     */
+    public static FilterNode parse(Map<String, Object> filterModel)
+    {
+        if (filterModel == null || filterModel.isEmpty())
+        {
+            return null;
+        }
+        if (AdvancedFilterModelParser.isAdvancedFilterModel(filterModel))
+        {
+            return AdvancedFilterModelParser.parse(filterModel);
+        }
+        List<FilterNode> columns = new ArrayList<>(filterModel.size());
+        for (Map.Entry<String, Object> entry : filterModel.entrySet())
+        {
+            if (entry.getValue() instanceof Map<?, ?> model)
+            {
+                FilterNode node = parseColumn(entry.getKey(), model);
+                if (node != null)
+                {
+                    columns.add(node);
+                }
+            }
+        }
+        return FilterJoin.of(FilterJoin.Join.AND, columns);
+    }
+
+    /**
+     * Parse the filter model of one column.
+     *
+     * @param colId column id
+     * @param model the column's filter model
+     * @return the filter tree, or null when the model filters nothing
+     */
+    public static FilterNode parseColumn(String colId, Map<?, ?> model)
+    {
+        String filterType = string(model.get("filterType"));
+        if ("multi".equals(filterType))
+        {
+            List<FilterNode> nodes = new ArrayList<>();
+            if (model.get("filterModels") instanceof List<?> models)
+            {
+                for (Object child : models)
+                {
+                    if (child instanceof Map<?, ?> childModel)
+                    {
+                        FilterNode node = parseColumn(colId, childModel);
+                        if (node != null)
+                        {
+                            nodes.add(node);
+                        }
+                    }
+                }
+            }
+            return FilterJoin.of(FilterJoin.Join.AND, nodes);
+        }
+        if ("set".equals(filterType))
+        {
+            List<Object> values = model.get("values") instanceof List<?> list ? new ArrayList<>(list) : List.of();
+            return new ColumnCondition(colId, filterType, FilterOperator.IN, null, null, values);
+        }
+
+        List<FilterNode> conditions = new ArrayList<>();
+        if (model.get("conditions") instanceof List<?> list)
+        {
+            for (Object condition : list)
+            {
+                if (condition instanceof Map<?, ?> conditionModel)
+                {
+                    conditions.add(condition(colId, filterType, conditionModel));
+                }
+            }
+        }
+        else if (model.get("condition1") instanceof Map<?, ?> condition1)
+        {
+            conditions.add(condition(colId, filterType, condition1));
+            if (model.get("condition2") instanceof Map<?, ?> condition2)
+            {
+                conditions.add(condition(colId, filterType, condition2));
+            }
+        }
+        else
+        {
+            return condition(colId, filterType, model);
+        }
+        FilterJoin.Join join = "OR".equalsIgnoreCase(string(model.get("operator"))) ? FilterJoin.Join.OR : FilterJoin.Join.AND;
+        return FilterJoin.of(join, conditions);
+    }
+
+    private static ColumnCondition condition(String colId, String parentFilterType, Map<?, ?> model)
+    {
+        String filterType = model.get("filterType") == null ? parentFilterType : string(model.get("filterType"));
+        String type = string(model.get("type"));
+        FilterOperator operator = type == null ? FilterOperator.EQUALS : FilterOperator.fromType(type);
+        if ("date".equals(filterType))
+        {
+            return new ColumnCondition(colId, filterType, operator, date(model.get("dateFrom")), date(model.get("dateTo")), null);
+        }
+        return new ColumnCondition(colId, filterType, operator, model.get("filter"), model.get("filterTo"), null);
+    }
+
+    /**
+     * Parse an AG Grid date filter operand, {@code yyyy-MM-dd HH:mm:ss} or {@code yyyy-MM-dd}.
+     *
+     * @param value operand
+     * @return the date time, or null when absent
+     * @throws IllegalArgumentException when the operand is not a date
+     */
+    public static LocalDateTime date(Object value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        String text = value.toString();
+        try
+        {
+            if (text.length() == 10)
+            {
+                return LocalDate.parse(text)
+                                .atStartOfDay();
+            }
+            return LocalDateTime.parse(text, DATE_TIME);
+        }
+        catch (DateTimeParseException e)
+        {
+            throw new IllegalArgumentException("Invalid date filter value '" + text + "'", e);
+        }
+    }
+
+    private static String string(Object value)
+    {
+        return value == null ? null : value.toString();
+    }
+}
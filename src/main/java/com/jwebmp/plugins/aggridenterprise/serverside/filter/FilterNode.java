@@ -0,0 +1,13 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+/**
+ * Node of a parsed AG Grid filter model.
+ * <p>
+ * Column filter models (text, number, date, set and multi filters, with either the {@code conditions} list or the
+ * legacy {@code condition1}/{@code condition2} form) and Advanced Filter models are parsed by
+ * {@link FilterModelParser} into a tree of {@link FilterJoin} and {@link ColumnCondition} nodes, which backends
+ * (SQL, columnar, compiled predicates) translate without knowing the AG Grid JSON shapes.
+ */
+public sealed interface FilterNode permits FilterJoin, ColumnCondition
+{
+}
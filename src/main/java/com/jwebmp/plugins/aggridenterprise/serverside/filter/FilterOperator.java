@@ -0,0 +1,64 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+/**
+ * Comparison applied by a {@link ColumnCondition}, named after the AG Grid filter option {@code type} values.
+ */
+public enum FilterOperator
+{
+    EQUALS("equals"),
+    NOT_EQUAL("notEqual"),
+    CONTAINS("contains"),
+    NOT_CONTAINS("notContains"),
+    STARTS_WITH("startsWith"),
+    ENDS_WITH("endsWith"),
+    LESS_THAN("lessThan"),
+    LESS_THAN_OR_EQUAL("lessThanOrEqual"),
+    GREATER_THAN("greaterThan"),
+    GREATER_THAN_OR_EQUAL("greaterThanOrEqual"),
+    /**
+     * Between {@code value} and {@code valueTo}, both exclusive as in AG Grid's default {@code inRangeInclusive}.
+     */
+    IN_RANGE("inRange"),
+    BLANK("blank"),
+    NOT_BLANK("notBlank"),
+    /**
+     * Set filter: the value is one of {@code values}; a null entry selects blanks.
+     */
+    IN("in"),
+    TRUE("true"),
+    FALSE("false");
+
+    private final String type;
+
+    FilterOperator(String type)
+    {
+        this.type = type;
+    }
+
+    /**
+     * @return the AG Grid filter option name
+     */
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * Resolve an AG Grid filter option name.
+     *
+     * @param type filter option {@code type}
+     * @return the operator
+     * @throws IllegalArgumentException when the option is unknown
+     */
+    public static FilterOperator fromType(String type)
+    {
+        for (FilterOperator operator : values())
+        {
+            if (operator.type.equals(type))
+            {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported filter type '" + type + "'");
+    }
+}
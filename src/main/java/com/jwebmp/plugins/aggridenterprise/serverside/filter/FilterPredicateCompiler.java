@@ -0,0 +1,527 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiles filter models into {@link Predicate}s over in-memory rows, for applications that keep their rows in Java
+ * collections.
+ * <p>
+ * Column values are read through accessors resolved once per column: for a row class, a public getter
+ * ({@code getX}/{@code isX}) or record accessor is bound with {@link LambdaMetafactory} into a plain
+ * {@link Function}, falling back to a {@link MethodHandle} for public fields; explicit accessors take precedence.
+ * Operands are normalised while compiling, so a row test is one accessor call and one comparison. Compiled
+ * predicates are cached by their {@link FilterNode} tree (least-recently-used first), so repeating a filter model,
+ * as every block request of a filtered grid does, compiles it once.
+ * <p>
+ * Comparisons follow the AG Grid filters: text compares case-insensitively, {@code inRange} excludes both bounds,
+ * negative operators ({@code notEqual}, {@code notContains}) and {@code blank} match missing values, and set filters
+ * compare by string form with a null entry selecting blanks.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ *
+ * <pre>{@code
+ * FilterPredicateCompiler<Order> compiler = FilterPredicateCompiler.forType(Order.class);
+ * List<Order> matches = orders.stream()
+ *                             .filter(compiler.compile(request.filterModel()))
+ *                             .toList();
+ * }</pre>
+ *
+ * @param <T> the row type
+ */
+public final class FilterPredicateCompiler<T>
+{
+    /**
+     * Default number of compiled predicates kept.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Function<String, Function<? super T, ?>> resolver;
+    private final Map<String, Function<? super T, ?>> accessors = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<FilterNode, Predicate<T>> compiled = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private FilterPredicateCompiler(Function<String, Function<? super T, ?>> resolver, int maxEntries)
+    {
+        if (maxEntries <= 0)
+        {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.resolver = resolver;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * A compiler for rows of a class, reading each column from the getter, record accessor or public field named
+     * after its column id.
+     *
+     * @param type the row class, public and in a package readable by this module
+     * @param <T>  the row type
+     * @return the compiler
+     */
+    public static <T> FilterPredicateCompiler<T> forType(Class<T> type)
+    {
+        return forType(type, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param type       the row class, public and in a package readable by this module
+     * @param maxEntries number of compiled predicates kept
+     * @param <T>        the row type
+     * @return the compiler
+     */
+    public static <T> FilterPredicateCompiler<T> forType(Class<T> type, int maxEntries)
+    {
+        return new FilterPredicateCompiler<>(colId -> accessor(type, colId), maxEntries);
+    }
+
+    /**
+     * A compiler for map rows keyed by column id, as returned by the SQL and columnar datasources.
+     *
+     * @return the compiler
+     */
+    public static FilterPredicateCompiler<Map<String, Object>> forMaps()
+    {
+        return new FilterPredicateCompiler<>(colId -> row -> row.get(colId), DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Read a column through an explicit accessor, e.g. for computed or nested values.
+     *
+     * @param colId    column identifier
+     * @param accessor reads the column's value from a row
+     * @return this
+     */
+    public FilterPredicateCompiler<T> withAccessor(String colId, Function<? super T, ?> accessor)
+    {
+        accessors.put(colId, accessor);
+        invalidateAll();
+        return this;
+    }
+
+    /**
+     * Compile a column filter model or an Advanced Filter model.
+     *
+     * @param filterModel filter model keyed by column id, or the Advanced Filter model, as sent by the grid
+     * @return the row test; every row passes an empty model
+     * @throws IllegalArgumentException when the model uses an unsupported filter or an unknown column
+     */
+    public Predicate<T> compile(Map<String, Object> filterModel)
+    {
+        // Columns are ANDed, so parse them in a fixed order and equal models share one cache entry
+        return compile(FilterModelParser.parse(filterModel == null || AdvancedFilterModelParser.isAdvancedFilterModel(filterModel) ? filterModel
+                                                                                                                                 : new TreeMap<>(filterModel)));
+    }
+
+    /**
+     * Compile a parsed filter tree.
+     *
+     * @param node filter tree, or null for every row
+     * @return the row test
+     * @throws IllegalArgumentException when the tree uses an unsupported filter or an unknown column
+     */
+    public Predicate<T> compile(FilterNode node)
+    {
+        if (node == null)
+        {
+            return row -> true;
+        }
+        lock.lock();
+        try
+        {
+            Predicate<T> cached = compiled.get(node);
+            if (cached != null)
+            {
+                hits.increment();
+                return cached;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        misses.increment();
+        Predicate<T> predicate = build(node);
+        lock.lock();
+        try
+        {
+            compiled.put(node, predicate);
+            Iterator<Map.Entry<FilterNode, Predicate<T>>> eldest = compiled.entrySet()
+                                                                         .iterator();
+            while (compiled.size() > maxEntries && eldest.hasNext())
+            {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return predicate;
+    }
+
+    /**
+     * Drop every compiled predicate.
+     */
+    public void invalidateAll()
+    {
+        lock.lock();
+        try
+        {
+            compiled.clear();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return compilations answered from the cache
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return compilations that built a predicate
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    private Predicate<T> build(FilterNode node)
+    {
+        if (node instanceof FilterJoin join)
+        {
+            if (join.children()
+                    .isEmpty())
+            {
+                return row -> true;
+            }
+            List<Predicate<T>> children = new ArrayList<>(join.children()
+                                                              .size());
+            for (FilterNode child : join.children())
+            {
+                children.add(build(child));
+            }
+            Predicate<T> combined = children.get(0);
+            for (int i = 1; i < children.size(); i++)
+            {
+                combined = join.join() == FilterJoin.Join.AND ? combined.and(children.get(i)) : combined.or(children.get(i));
+            }
+            return combined;
+        }
+        ColumnCondition condition = (ColumnCondition) node;
+        Function<? super T, ?> accessor = accessors.computeIfAbsent(condition.colId(), resolver);
+        Predicate<Object> test = test(condition);
+        return row -> test.test(accessor.apply(row));
+    }
+
+    /**
+     * @param condition the condition
+     * @return the test of one column value, null when the row has none
+     */
+    private static Predicate<Object> test(ColumnCondition condition)
+    {
+        FilterOperator operator = condition.operator();
+        switch (operator)
+        {
+            case BLANK ->
+            {
+                return value -> value == null || value instanceof String string && string.isEmpty();
+            }
+            case NOT_BLANK ->
+            {
+                return value -> value != null && !(value instanceof String string && string.isEmpty());
+            }
+            case TRUE ->
+            {
+                return value -> Boolean.TRUE.equals(value) || value != null && "true".equalsIgnoreCase(value.toString());
+            }
+            case FALSE ->
+            {
+                return value -> Boolean.FALSE.equals(value) || value != null && "false".equalsIgnoreCase(value.toString());
+            }
+            case IN ->
+            {
+                Set<String> values = new HashSet<>();
+                boolean blanks = false;
+                for (Object item : condition.values())
+                {
+                    if (item == null)
+                    {
+                        blanks = true;
+                    }
+                    else
+                    {
+                        values.add(item.toString());
+                    }
+                }
+                boolean nullMatches = blanks;
+                return value -> value == null ? nullMatches : values.contains(value.toString());
+            }
+        }
+        if (condition.isText())
+        {
+            return textTest(operator, lower(condition.value()), lower(condition.valueTo()));
+        }
+        Object operand = operand(condition.filterType(), condition.value());
+        Object operandTo = operand(condition.filterType(), condition.valueTo());
+        boolean date = "date".equals(condition.filterType());
+        Predicate<Object> test = switch (operator)
+        {
+            case EQUALS -> v -> ServerSideRowComparator.compareValues(v, operand) == 0;
+            case NOT_EQUAL -> v -> ServerSideRowComparator.compareValues(v, operand) != 0;
+            case LESS_THAN -> v -> ServerSideRowComparator.compareValues(v, operand) < 0;
+            case LESS_THAN_OR_EQUAL -> v -> ServerSideRowComparator.compareValues(v, operand) <= 0;
+            case GREATER_THAN -> v -> ServerSideRowComparator.compareValues(v, operand) > 0;
+            case GREATER_THAN_OR_EQUAL -> v -> ServerSideRowComparator.compareValues(v, operand) >= 0;
+            case IN_RANGE -> v -> ServerSideRowComparator.compareValues(v, operand) > 0
+                    && ServerSideRowComparator.compareValues(v, operandTo) < 0;
+            default -> throw new IllegalArgumentException("Unsupported filter '" + operator.getType() + "' on column '" + condition.colId() + "'");
+        };
+        boolean nullMatches = operator == FilterOperator.NOT_EQUAL;
+        return value -> value == null ? nullMatches : test.test(date ? dateTime(value) : value);
+    }
+
+    private static Predicate<Object> textTest(FilterOperator operator, String operand, String operandTo)
+    {
+        Predicate<String> test = switch (operator)
+        {
+            case EQUALS -> v -> v.equals(operand);
+            case NOT_EQUAL -> v -> !v.equals(operand);
+            case CONTAINS -> v -> v.contains(operand);
+            case NOT_CONTAINS -> v -> !v.contains(operand);
+            case STARTS_WITH -> v -> v.startsWith(operand);
+            case ENDS_WITH -> v -> v.endsWith(operand);
+            case LESS_THAN -> v -> v.compareTo(operand) < 0;
+            case LESS_THAN_OR_EQUAL -> v -> v.compareTo(operand) <= 0;
+            case GREATER_THAN -> v -> v.compareTo(operand) > 0;
+            case GREATER_THAN_OR_EQUAL -> v -> v.compareTo(operand) >= 0;
+            case IN_RANGE -> v -> v.compareTo(operand) > 0 && v.compareTo(operandTo) < 0;
+            default -> throw new IllegalArgumentException("Unsupported text filter '" + operator.getType() + "'");
+        };
+        boolean nullMatches = operator == FilterOperator.NOT_EQUAL || operator == FilterOperator.NOT_CONTAINS;
+        return value -> value == null ? nullMatches : test.test(value.toString()
+                                                                     .toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Normalise an operand once: numbers of number filters to {@code long} when whole, {@link BigDecimal} when exact
+     * and {@code double} otherwise, dates to {@link LocalDateTime}. Whole numbers stay exact, so they match long row
+     * values beyond 2^53.
+     */
+    private static Object operand(String filterType, Object value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        if ("number".equals(filterType))
+        {
+            return number(value);
+        }
+        if ("date".equals(filterType))
+        {
+            return value instanceof LocalDateTime ? value : FilterModelParser.date(value);
+        }
+        return value;
+    }
+
+    private static Number number(Object value)
+    {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Double || value instanceof Float)
+        {
+            return ((Number) value).doubleValue();
+        }
+        BigDecimal decimal;
+        try
+        {
+            decimal = value instanceof BigDecimal exact ? exact : new BigDecimal(value.toString());
+        }
+        catch (NumberFormatException e)
+        {
+            // NaN and Infinity have no exact form
+            return Double.parseDouble(value.toString());
+        }
+        try
+        {
+            return decimal.longValueExact();
+        }
+        catch (ArithmeticException e)
+        {
+            return decimal;
+        }
+    }
+
+    private static Object dateTime(Object value)
+    {
+        if (value instanceof LocalDateTime)
+        {
+            return value;
+        }
+        if (value instanceof LocalDate localDate)
+        {
+            return localDate.atStartOfDay();
+        }
+        if (value instanceof OffsetDateTime offset)
+        {
+            return offset.toLocalDateTime();
+        }
+        if (value instanceof ZonedDateTime zoned)
+        {
+            return zoned.toLocalDateTime();
+        }
+        if (value instanceof Instant instant)
+        {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+        if (value instanceof Date date)
+        {
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+        return value instanceof String string ? FilterModelParser.date(string) : value;
+    }
+
+    private static String lower(Object value)
+    {
+        return value == null ? "" : value.toString()
+                                         .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve the accessor of a column on a row class: getter or record accessor, then public field.
+     */
+    private static <T> Function<? super T, ?> accessor(Class<T> type, String colId)
+    {
+        String suffix = colId.isEmpty() ? colId : Character.toUpperCase(colId.charAt(0)) + colId.substring(1);
+        for (String name : List.of("get" + suffix, "is" + suffix, colId))
+        {
+            Method method;
+            try
+            {
+                method = type.getMethod(name);
+            }
+            catch (NoSuchMethodException e)
+            {
+                continue;
+            }
+            if (method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers()))
+            {
+                continue;
+            }
+            return bind(type, method);
+        }
+        try
+        {
+            Field field = type.getField(colId);
+            if (!Modifier.isStatic(field.getModifiers()))
+            {
+                MethodHandle getter = MethodHandles.publicLookup()
+                                                   .unreflectGetter(field)
+                                                   .asType(MethodType.methodType(Object.class, Object.class));
+                return row -> invoke(getter, row);
+            }
+        }
+        catch (NoSuchFieldException | IllegalAccessException e)
+        {
+            // Reported below
+        }
+        throw new IllegalArgumentException("No getter, record accessor or public field for column '" + colId + "' on " + type.getName());
+    }
+
+    /**
+     * Bind a getter into a {@link Function} with {@link LambdaMetafactory}, so calls are as cheap as a lambda; falls
+     * back to a {@link MethodHandle} where the row class cannot be linked from this module.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<? super T, ?> bind(Class<T> type, Method method)
+    {
+        try
+        {
+            FilterPredicateCompiler.class.getModule()
+                                         .addReads(type.getModule());
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflect(method);
+            Class<?> boxed = MethodType.methodType(method.getReturnType())
+                                       .wrap()
+                                       .returnType();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                                                          MethodType.methodType(Object.class, Object.class), getter,
+                                                          MethodType.methodType(boxed, type));
+            return (Function<? super T, ?>) site.getTarget()
+                                                .invoke();
+        }
+        catch (Throwable e)
+        {
+            try
+            {
+                MethodHandle getter = MethodHandles.publicLookup()
+                                                   .unreflect(method)
+                                                   .asType(MethodType.methodType(Object.class, Object.class));
+                return row -> invoke(getter, row);
+            }
+            catch (IllegalAccessException inaccessible)
+            {
+                throw new IllegalArgumentException("Cannot access " + method + " from " + FilterPredicateCompiler.class.getModule(), inaccessible);
+            }
+        }
+    }
+
+    private static Object invoke(MethodHandle getter, Object row)
+    {
+        try
+        {
+            return getter.invokeExact(row);
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
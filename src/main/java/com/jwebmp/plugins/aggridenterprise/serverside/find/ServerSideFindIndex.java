@@ -0,0 +1,494 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowComparator;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import com.jwebmp.plugins.aggridenterprise.serverside.aggregation.ServerSideTransaction;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterPredicateCompiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Server-side index for the grid's Find feature over rows that are not all loaded in the browser.
+ * <p>
+ * The displayed text of each indexed column is held per row, lower-cased, with a trigram inverted index over it. A
+ * search intersects the posting sets of the text's trigrams, counts the occurrences in the surviving rows (in the
+ * requested case), and returns the matching rows in display order with their display index and match count, so
+ * the grid can jump to the n-th match without loading the blocks in between. Rows are added, updated and removed
+ * incrementally, including from the {@link ServerSideTransaction}s of a
+ * {@link com.jwebmp.plugins.aggridenterprise.serverside.aggregation.ServerSideAggregationTree}.
+ * <p>
+ * Display indexes are positions in the flat (ungrouped) row list under the given filter and sort; they are found in
+ * one pass over the rows without sorting them all.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideFindIndex
+{
+    private final String rowIdField;
+    private final List<String> columns;
+    private final Map<String, Function<Object, String>> formatters = new HashMap<>();
+    private final FilterPredicateCompiler<Map<String, Object>> filters = FilterPredicateCompiler.forMaps();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final Map<Long, Set<Integer>> postings = new HashMap<>();
+    private long sequence;
+
+    /**
+     * @param rowIdField field holding each row's unique id
+     * @param columns    displayed columns searched, in display order
+     */
+    public ServerSideFindIndex(String rowIdField, List<String> columns)
+    {
+        this.rowIdField = rowIdField;
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Format a column's values as the grid displays them (e.g. its {@code valueFormatter}), re-indexing held rows.
+     *
+     * @param colId     column identifier
+     * @param formatter turns a value into its displayed text; null values are never passed
+     * @return this
+     */
+    public ServerSideFindIndex setValueFormatter(String colId, Function<Object, String> formatter)
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            formatters.put(colId, formatter);
+            List<Map<String, Object>> rows = new ArrayList<>(slots.size());
+            for (Entry entry : entries)
+            {
+                if (entry != null)
+                {
+                    rows.add(entry.row());
+                }
+            }
+            for (Map<String, Object> row : rows)
+            {
+                put(row);
+            }
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Add or replace rows, matched by row id.
+     *
+     * @param rows the rows
+     */
+    public void add(Collection<? extends Map<String, Object>> rows)
+    {
+        apply(rows, List.of(), List.of());
+    }
+
+    /**
+     * Replace rows, matched by row id.
+     *
+     * @param rows the changed rows
+     */
+    public void update(Collection<? extends Map<String, Object>> rows)
+    {
+        apply(List.of(), rows, List.of());
+    }
+
+    /**
+     * Remove rows by id.
+     *
+     * @param rowIds ids of the removed rows
+     */
+    public void remove(Collection<?> rowIds)
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            for (Object rowId : rowIds)
+            {
+                delete(String.valueOf(rowId));
+            }
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * Apply added, changed and removed rows together.
+     *
+     * @param add    added rows
+     * @param update changed rows
+     * @param remove removed rows, of which only the row id is read
+     */
+    public void apply(Collection<? extends Map<String, Object>> add, Collection<? extends Map<String, Object>> update,
+                      Collection<? extends Map<String, Object>> remove)
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            for (Map<String, Object> row : remove)
+            {
+                delete(String.valueOf(row.get(rowIdField)));
+            }
+            for (Map<String, Object> row : add)
+            {
+                put(row);
+            }
+            for (Map<String, Object> row : update)
+            {
+                put(row);
+            }
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * Apply the leaf rows of SSRM transactions, keeping the index in step with the grid. Group rows (those without a
+     * row id) are ignored.
+     *
+     * @param transactions transactions as produced for the grid
+     */
+    public void apply(List<ServerSideTransaction> transactions)
+    {
+        for (ServerSideTransaction transaction : transactions)
+        {
+            apply(leaves(transaction.add()), leaves(transaction.update()), leaves(transaction.remove()));
+        }
+    }
+
+    /**
+     * @return number of rows held
+     */
+    public int size()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return slots.size();
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * Find text in every row, in the order rows were first added.
+     *
+     * @param text          the Find text
+     * @param caseSensitive whether case must match
+     * @return the matches in that order
+     */
+    public ServerSideFindResult find(String text, boolean caseSensitive)
+    {
+        return find(text, caseSensitive, row -> true, (Comparator<Map<String, Object>>) null);
+    }
+
+    /**
+     * Find text under a filter model and sort model, as the grid displays the rows.
+     *
+     * @param text          the Find text
+     * @param caseSensitive whether case must match, as {@code FindOptions.caseSensitive}
+     * @param filterModel   the grid's filter model, or null
+     * @param sortModel     the grid's sort model, or null
+     * @return the matches in display order
+     */
+    public ServerSideFindResult find(String text, boolean caseSensitive, Map<String, Object> filterModel, List<ServerSideSortModelItem> sortModel)
+    {
+        Comparator<Map<String, Object>> order = sortModel == null ? null : ServerSideRowComparator.of(sortModel, colId -> colId);
+        return find(text, caseSensitive, filters.compile(filterModel), order);
+    }
+
+    /**
+     * Find text among the rows passing a filter, in the order given.
+     *
+     * @param text          the Find text
+     * @param caseSensitive whether case must match
+     * @param filter        rows shown by the grid
+     * @param order         display order, or null for the order rows were first added
+     * @return the matches in display order
+     */
+    public ServerSideFindResult find(String text, boolean caseSensitive, Predicate<Map<String, Object>> filter, Comparator<Map<String, Object>> order)
+    {
+        if (text == null || text.isEmpty())
+        {
+            return new ServerSideFindResult(0, List.of());
+        }
+        String folded = fold(text);
+        String key = caseSensitive ? text : folded;
+        lock.readLock()
+            .lock();
+        try
+        {
+            Comparator<Entry> display = order == null ? Comparator.comparingLong(Entry::sequence)
+                                                      : Comparator.<Entry, Map<String, Object>>comparing(Entry::row, order)
+                                                                  .thenComparingLong(Entry::sequence);
+            List<Entry> matched = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            for (int slot : candidates(folded))
+            {
+                Entry entry = entries.get(slot);
+                if (entry == null || !filter.test(entry.row()))
+                {
+                    continue;
+                }
+                int count = entry.count(key, caseSensitive);
+                if (count > 0)
+                {
+                    matched.add(entry);
+                    counts.add(count);
+                }
+            }
+            Integer[] ranks = new Integer[matched.size()];
+            for (int i = 0; i < ranks.length; i++)
+            {
+                ranks[i] = i;
+            }
+            Arrays.sort(ranks, (a, b) -> display.compare(matched.get(a), matched.get(b)));
+            List<Entry> sorted = new ArrayList<>(ranks.length);
+            for (Integer rank : ranks)
+            {
+                sorted.add(matched.get(rank));
+            }
+
+            // Rows displayed before each match: count each shown row at the number of matches ordered before it
+            int[] before = new int[sorted.size() + 1];
+            for (Entry entry : entries)
+            {
+                if (entry != null && filter.test(entry.row()))
+                {
+                    before[insertionPoint(sorted, entry, display)]++;
+                }
+            }
+            List<ServerSideFindMatch> rows = new ArrayList<>(sorted.size());
+            int total = 0;
+            int shown = 0;
+            for (int i = 0; i < sorted.size(); i++)
+            {
+                shown += before[i];
+                int count = counts.get(ranks[i]);
+                rows.add(new ServerSideFindMatch(sorted.get(i)
+                                                       .rowId(), shown - 1, count));
+                total += count;
+            }
+            return new ServerSideFindResult(total, rows);
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    /**
+     * Rows that may contain the folded text: those holding all its trigrams, or every row for shorter text.
+     */
+    private Collection<Integer> candidates(String folded)
+    {
+        if (folded.length() < 3)
+        {
+            return slots.values();
+        }
+        List<Set<Integer>> sets = new ArrayList<>();
+        for (int c = 0; c + 3 <= folded.length(); c++)
+        {
+            Set<Integer> set = postings.get(trigram(folded, c));
+            if (set == null)
+            {
+                return List.of();
+            }
+            sets.add(set);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        List<Integer> result = new ArrayList<>();
+        for (Integer slot : sets.get(0))
+        {
+            boolean all = true;
+            for (int i = 1; i < sets.size() && all; i++)
+            {
+                all = sets.get(i)
+                          .contains(slot);
+            }
+            if (all)
+            {
+                result.add(slot);
+            }
+        }
+        return result;
+    }
+
+    private static int insertionPoint(List<Entry> sorted, Entry entry, Comparator<Entry> display)
+    {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (display.compare(sorted.get(mid), entry) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void put(Map<String, Object> row)
+    {
+        String rowId = String.valueOf(row.get(rowIdField));
+        Integer slot = slots.get(rowId);
+        long rowSequence;
+        if (slot != null)
+        {
+            Entry previous = entries.get(slot);
+            unindex(slot, previous);
+            rowSequence = previous.sequence();
+        }
+        else
+        {
+            slot = freeSlots.isEmpty() ? entries.size() : freeSlots.remove(freeSlots.size() - 1);
+            if (slot == entries.size())
+            {
+                entries.add(null);
+            }
+            slots.put(rowId, slot);
+            rowSequence = sequence++;
+        }
+        String[] cells = new String[columns.size()];
+        for (int i = 0; i < cells.length; i++)
+        {
+            Object value = row.get(columns.get(i));
+            Function<Object, String> formatter = formatters.get(columns.get(i));
+            cells[i] = value == null ? "" : formatter == null ? value.toString() : formatter.apply(value);
+        }
+        Entry entry = new Entry(rowId, row, cells, rowSequence);
+        entries.set(slot, entry);
+        for (String cell : cells)
+        {
+            String folded = fold(cell);
+            for (int c = 0; c + 3 <= folded.length(); c++)
+            {
+                postings.computeIfAbsent(trigram(folded, c), t -> new HashSet<>())
+                        .add(slot);
+            }
+        }
+    }
+
+    private void delete(String rowId)
+    {
+        Integer slot = slots.remove(rowId);
+        if (slot != null)
+        {
+            unindex(slot, entries.get(slot));
+            entries.set(slot, null);
+            freeSlots.add(slot);
+        }
+    }
+
+    private void unindex(int slot, Entry entry)
+    {
+        for (String cell : entry.cells())
+        {
+            String folded = fold(cell);
+            for (int c = 0; c + 3 <= folded.length(); c++)
+            {
+                long trigram = trigram(folded, c);
+                Set<Integer> set = postings.get(trigram);
+                if (set != null)
+                {
+                    set.remove(slot);
+                    if (set.isEmpty())
+                    {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Map<String, Object>> leaves(List<Map<String, Object>> rows)
+    {
+        if (rows == null)
+        {
+            return List.of();
+        }
+        List<Map<String, Object>> leaves = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows)
+        {
+            if (row.get(rowIdField) != null)
+            {
+                leaves.add(row);
+            }
+        }
+        return leaves;
+    }
+
+    private static long trigram(String text, int at)
+    {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static String fold(String text)
+    {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param rowId    row id
+     * @param row      the row
+     * @param cells    displayed text of each indexed column
+     * @param sequence order in which the row was first added
+     */
+    private record Entry(String rowId, Map<String, Object> row, String[] cells, long sequence)
+    {
+        /**
+         * @return non-overlapping occurrences of the text across the cells
+         */
+        int count(String key, boolean caseSensitive)
+        {
+            int count = 0;
+            for (String cell : cells)
+            {
+                String text = caseSensitive ? cell : fold(cell);
+                for (int at = text.indexOf(key); at >= 0; at = text.indexOf(key, at + key.length()))
+                {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
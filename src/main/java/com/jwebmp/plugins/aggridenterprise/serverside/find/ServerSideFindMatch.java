@@ -0,0 +1,12 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+/**
+ * A row containing the Find text.
+ *
+ * @param rowId    the row's id
+ * @param rowIndex the row's display index under the request's filter and sort
+ * @param matches  occurrences of the text in the row's searched columns
+ */
+public record ServerSideFindMatch(String rowId, int rowIndex, int matches)
+{
+}
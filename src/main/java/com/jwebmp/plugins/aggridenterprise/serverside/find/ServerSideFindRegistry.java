@@ -0,0 +1,116 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link ServerSideFindIndex}es keyed by grid id, and the entry point that answers the generated
+ * {@code serverSideFind} method.
+ * <p>
+ * Applications expose one endpoint that passes the posted body to {@link #handle(byte[])} and writes the returned
+ * bytes as {@code application/json}.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideFindRegistry
+{
+    private static final ServerSideFindRegistry INSTANCE = new ServerSideFindRegistry();
+
+    private final Map<String, ServerSideFindIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Get the singleton registry instance.
+     *
+     * @return global ServerSideFindRegistry
+     */
+    public static ServerSideFindRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Register (or replace) the Find index of a grid.
+     *
+     * @param gridId grid identifier
+     * @param index  the grid's index
+     */
+    public void register(String gridId, ServerSideFindIndex index)
+    {
+        indexes.put(gridId, index);
+    }
+
+    /**
+     * Remove the Find index of a grid.
+     *
+     * @param gridId grid identifier
+     */
+    public void unregister(String gridId)
+    {
+        indexes.remove(gridId);
+    }
+
+    /**
+     * @param gridId grid identifier
+     * @return the registered index, or null
+     */
+    public ServerSideFindIndex getIndex(String gridId)
+    {
+        return indexes.get(gridId);
+    }
+
+    /**
+     * Find text in a grid's rows.
+     *
+     * @param request grid, text, case and the grid's filter and sort models
+     * @return the matches in display order
+     * @throws IllegalArgumentException when no index is registered for the grid
+     */
+    public ServerSideFindResult find(ServerSideFindRequest request)
+    {
+        ServerSideFindIndex index = getIndex(request.gridId());
+        if (index == null)
+        {
+            throw new IllegalArgumentException("No find index registered for grid '" + request.gridId() + "'");
+        }
+        return index.find(request.text(), request.caseSensitive(), request.filterModel(), request.sortModel());
+    }
+
+    /**
+     * Answer a request body posted by the generated {@code serverSideFind} method.
+     * <p>
+     * Failures are reported in-band as {@code {"failed":true,"errorMessage":"..."}}.
+     *
+     * @param body JSON {@link ServerSideFindRequest}
+     * @return JSON {@link ServerSideFindResult}, or the failure object
+     */
+    public byte[] handle(byte[] body)
+    {
+        try
+        {
+            ServerSideFindRequest request = ServerSideJson.mapper()
+                                                          .readValue(body, ServerSideFindRequest.class);
+            if (request.gridId() == null)
+            {
+                return ServerSideJson.failure("Request must contain gridId");
+            }
+            return ServerSideJson.mapper()
+                                 .writeValueAsBytes(find(request));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            return ServerSideJson.failure(ServerSideFindRegistry.class, e);
+        }
+    }
+
+    /**
+     * Clear all registrations.
+     * Use with caution; typically only in test or cleanup scenarios.
+     */
+    public void clear()
+    {
+        indexes.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request for a server-side Find, posted by the generated {@code serverSideFind} method.
+ *
+ * @param gridId        grid identifier
+ * @param text          the Find text
+ * @param caseSensitive whether case must match
+ * @param filterModel   the grid's filter model
+ * @param sortModel     the grid's sort model
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ServerSideFindRequest(String gridId, String text, boolean caseSensitive, Map<String, Object> filterModel,
+                                    List<ServerSideSortModelItem> sortModel)
+{
+}
@@ -0,0 +1,41 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+import java.util.List;
+
+/**
+ * Result of a server-side Find.
+ *
+ * @param totalMatches occurrences of the text across all rows
+ * @param rows         rows containing the text, in display order
+ */
+public record ServerSideFindResult(int totalMatches, List<ServerSideFindMatch> rows)
+{
+    public ServerSideFindResult
+    {
+        rows = List.copyOf(rows);
+    }
+
+    /**
+     * The row holding a given occurrence, to jump to the n-th match.
+     *
+     * @param match occurrence number, 1 for the first as in the grid's {@code findGoTo}
+     * @return the row, or null when out of range
+     */
+    public ServerSideFindMatch locate(int match)
+    {
+        if (match < 1)
+        {
+            return null;
+        }
+        int seen = 0;
+        for (ServerSideFindMatch row : rows)
+        {
+            seen += row.matches();
+            if (match <= seen)
+            {
+                return row;
+            }
+        }
+        return null;
+    }
+}
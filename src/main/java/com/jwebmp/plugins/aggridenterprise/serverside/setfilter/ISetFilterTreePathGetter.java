@@ -0,0 +1,51 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a Set Filter value into its tree list path, the Java counterpart of the filter's
+ * {@code treeListPathGetter}, run once per value when {@link SetFilterTree} is built on the server.
+ */
+@FunctionalInterface
+public interface ISetFilterTreePathGetter
+{
+    /**
+     * @param value a distinct value, never null
+     * @return the path from the root to the value, or null to list the value at the top level
+     */
+    List<String> getPath(String value);
+
+    /**
+     * Paths of year, month and day for ISO-8601 dates and date-times such as {@code 2024-03-15} or
+     * {@code 2024-03-15T10:30:00}; other values are listed at the top level.
+     *
+     * @return the path getter
+     */
+    static ISetFilterTreePathGetter isoDate()
+    {
+        return value ->
+        {
+            if (value.length() < 10 || value.charAt(4) != '-' || value.charAt(7) != '-')
+            {
+                return null;
+            }
+            return List.of(value.substring(0, 4), value.substring(5, 7), value.substring(8, 10));
+        };
+    }
+
+    /**
+     * Paths from splitting each value on a literal separator, e.g. {@code "Europe/France/Paris"}.
+     *
+     * @param separator the separator between path levels
+     * @return the path getter
+     */
+    static ISetFilterTreePathGetter split(String separator)
+    {
+        if (separator == null || separator.isEmpty())
+        {
+            throw new IllegalArgumentException("separator must not be empty");
+        }
+        return value -> List.of(value.split(Pattern.quote(separator), -1));
+    }
+}
@@ -0,0 +1,22 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.Collection;
+
+/**
+ * Supplies the distinct values of a column for the Set Filter, loaded by the grid when the filter opens instead of
+ * being written into the page.
+ * <p>
+ * Implementations should apply the request's filter model when they can, so with {@code refreshValuesOnOpen} the
+ * list only offers values still present under the other columns' filters. Results are cached by
+ * {@link SetFilterValuesRegistry}: invalidate it when the underlying data changes.
+ */
+@FunctionalInterface
+public interface ISetFilterValuesProvider
+{
+    /**
+     * @param request grid, column and the filter model of the other columns; never carries a range, search or
+     *                tree path, which the registry answers from the cached full list
+     * @return all the distinct values, in any order; nulls are offered as the blank entry
+     */
+    Collection<?> getValues(SetFilterValuesRequest request);
+}
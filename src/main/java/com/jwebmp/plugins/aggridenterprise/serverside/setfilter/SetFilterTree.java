@@ -0,0 +1,125 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Set Filter tree list built once on the server from sorted distinct values and an
+ * {@link ISetFilterTreePathGetter}, so the browser does not build the tree from every value when the filter opens
+ * and can load the children of each node as it is expanded.
+ * <p>
+ * Children keep the order in which their first value appears, so sorted ISO dates give a chronological tree. Values
+ * whose paths coincide (e.g. date-times on the same day) share one leaf. A null value is listed as a top-level leaf
+ * with a null key.
+ * <p>
+ * Immutable once built and safe to share between threads.
+ */
+public final class SetFilterTree
+{
+    private final Map<List<String>, List<SetFilterTreeNode>> children;
+    private final Map<List<String>, List<String>> leafValues;
+
+    /**
+     * @param values     sorted distinct values
+     * @param pathGetter splits each value into its path
+     */
+    public SetFilterTree(List<String> values, ISetFilterTreePathGetter pathGetter)
+    {
+        Node root = new Node(null, List.of());
+        for (String value : values)
+        {
+            List<String> path = value == null ? null : pathGetter.getPath(value);
+            if (path == null || path.isEmpty())
+            {
+                path = Collections.singletonList(value);
+            }
+            Node node = root;
+            for (int level = 0; level < path.size(); level++)
+            {
+                node = node.child(path.get(level), path.subList(0, level + 1));
+                node.leafCount++;
+            }
+            node.values.add(value);
+        }
+
+        Map<List<String>, List<SetFilterTreeNode>> children = new HashMap<>();
+        Map<List<String>, List<String>> leafValues = new HashMap<>();
+        List<Node> pending = new ArrayList<>(List.of(root));
+        while (!pending.isEmpty())
+        {
+            Node node = pending.remove(pending.size() - 1);
+            if (!node.values.isEmpty())
+            {
+                leafValues.put(node.path, Collections.unmodifiableList(node.values));
+            }
+            if (node.children.isEmpty())
+            {
+                continue;
+            }
+            List<SetFilterTreeNode> nodes = new ArrayList<>(node.children.size());
+            for (Node child : node.children.values())
+            {
+                String value = child.children.isEmpty() && child.values.size() == 1 ? child.values.get(0) : null;
+                nodes.add(new SetFilterTreeNode(child.key, child.path, value, child.leafCount, child.children.size()));
+                pending.add(child);
+            }
+            children.put(node.path, Collections.unmodifiableList(nodes));
+        }
+        this.children = children;
+        this.leafValues = leafValues;
+    }
+
+    /**
+     * @param parentPath path of an expanded node, empty for the top level
+     * @return the node's direct children, empty when the path is unknown or a leaf
+     */
+    public List<SetFilterTreeNode> children(List<String> parentPath)
+    {
+        return children.getOrDefault(parentPath, List.of());
+    }
+
+    /**
+     * All values under a node, e.g. to turn a ticked year into Set Filter model values.
+     *
+     * @param path path of a node, empty for the whole tree
+     * @return the values at and under the node, in value order within each leaf
+     */
+    public List<String> values(List<String> path)
+    {
+        List<String> own = leafValues.getOrDefault(path, List.of());
+        if (!children.containsKey(path))
+        {
+            return own;
+        }
+        List<String> values = new ArrayList<>(own);
+        for (SetFilterTreeNode child : children(path))
+        {
+            values.addAll(values(child.path()));
+        }
+        return values;
+    }
+
+    private static final class Node
+    {
+        private final String key;
+        private final List<String> path;
+        private final LinkedHashMap<String, Node> children = new LinkedHashMap<>();
+        private final List<String> values = new ArrayList<>(1);
+        private int leafCount;
+
+        private Node(String key, List<String> path)
+        {
+            this.key = key;
+            this.path = path;
+        }
+
+        private Node child(String key, List<String> path)
+        {
+            return children.computeIfAbsent(key, k -> new Node(k, new ArrayList<>(path)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One node of a server-built Set Filter tree list.
+ *
+ * @param key        this level's path element
+ * @param path       path from the root to this node, ending with {@code key}
+ * @param value      the Set Filter value of a leaf, null for a group node
+ * @param leafCount  number of values under this node, 1 for a leaf
+ * @param childCount number of direct children, 0 for a leaf
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SetFilterTreeNode(String key, List<String> path, String value, int leafCount, int childCount)
+{
+    /**
+     * @return whether this node is a value rather than a group
+     */
+    public boolean isLeaf()
+    {
+        return childCount == 0;
+    }
+}
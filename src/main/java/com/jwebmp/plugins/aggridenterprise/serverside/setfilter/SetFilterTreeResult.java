@@ -0,0 +1,13 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.List;
+
+/**
+ * The children of one Set Filter tree list node, answered to a request carrying a {@code parentPath}.
+ *
+ * @param nodes      the direct children of the requested node, in value order
+ * @param valueCount total number of distinct values for the column and filter model
+ */
+public record SetFilterTreeResult(List<SetFilterTreeNode> nodes, int valueCount)
+{
+}
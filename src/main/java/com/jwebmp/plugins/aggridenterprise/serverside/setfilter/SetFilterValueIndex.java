@@ -0,0 +1,299 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Sorted distinct Set Filter values with a search index for the mini filter.
+ * <p>
+ * A search returns the values starting with the text first (a binary search over the values sorted by their
+ * search form), then the values containing it elsewhere, each in value order, stopping at the limit. Substrings of
+ * three or more characters are looked up in a trigram index: the posting lists of the text's trigrams are
+ * intersected, shortest first, and only the surviving candidates are compared. The case-insensitive and
+ * case-sensitive structures are each built on first use, as is the {@link SetFilterTree} of a tree list column.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public final class SetFilterValueIndex
+{
+    private static final int[] NONE = new int[0];
+
+    private final List<String> values;
+    private volatile Structure insensitive;
+    private volatile Structure sensitive;
+    private volatile Tree tree;
+
+    /**
+     * @param values sorted distinct values, unmodifiable; a null value is the blank entry and never matches a search
+     */
+    public SetFilterValueIndex(List<String> values)
+    {
+        this.values = values;
+    }
+
+    /**
+     * @return the sorted distinct values
+     */
+    public List<String> values()
+    {
+        return values;
+    }
+
+    /**
+     * @return number of values
+     */
+    public int size()
+    {
+        return values.size();
+    }
+
+    /**
+     * Find the values matching mini filter text, prefix matches first.
+     *
+     * @param text          the mini filter text; blank returns the first values
+     * @param caseSensitive whether case must match, as {@code SetFilterParams.caseSensitive}
+     * @param limit         most values to return
+     * @return the matching values
+     */
+    public List<String> search(String text, boolean caseSensitive, int limit)
+    {
+        if (text == null || text.isEmpty())
+        {
+            return values.subList(0, Math.min(limit, values.size()));
+        }
+        Structure structure = structure(caseSensitive);
+        String key = caseSensitive ? text : fold(text);
+        List<String> matches = new ArrayList<>(Math.min(limit, 64));
+
+        // Prefix matches are one contiguous range of the search-ordered values
+        int from = lowerBound(structure, key);
+        int to = from;
+        while (to < structure.order.length && structure.keys[structure.order[to]].startsWith(key))
+        {
+            to++;
+        }
+        int[] prefixed = Arrays.copyOfRange(structure.order, from, to);
+        Arrays.sort(prefixed);
+        for (int i = 0; i < prefixed.length && matches.size() < limit; i++)
+        {
+            matches.add(values.get(prefixed[i]));
+        }
+        if (matches.size() >= limit)
+        {
+            return matches;
+        }
+
+        int[] candidates = key.length() >= 3 ? candidates(structure, key) : null;
+        int count = candidates == null ? values.size() : candidates.length;
+        for (int i = 0; i < count && matches.size() < limit; i++)
+        {
+            int value = candidates == null ? i : candidates[i];
+            String form = structure.keys[value];
+            if (form != null && !form.startsWith(key) && form.contains(key))
+            {
+                matches.add(values.get(value));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The values as a tree list, built on first use and kept with this index.
+     *
+     * @param pathGetter splits each value into its path
+     * @return the tree for the path getter
+     */
+    public SetFilterTree tree(ISetFilterTreePathGetter pathGetter)
+    {
+        Tree current = tree;
+        if (current == null || current.pathGetter() != pathGetter)
+        {
+            current = new Tree(pathGetter, new SetFilterTree(values, pathGetter));
+            tree = current;
+        }
+        return current.tree();
+    }
+
+    private Structure structure(boolean caseSensitive)
+    {
+        Structure structure = caseSensitive ? sensitive : insensitive;
+        if (structure == null)
+        {
+            synchronized (this)
+            {
+                structure = caseSensitive ? sensitive : insensitive;
+                if (structure == null)
+                {
+                    structure = build(caseSensitive);
+                    if (caseSensitive)
+                    {
+                        sensitive = structure;
+                    }
+                    else
+                    {
+                        insensitive = structure;
+                    }
+                }
+            }
+        }
+        return structure;
+    }
+
+    private Structure build(boolean caseSensitive)
+    {
+        int n = values.size();
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++)
+        {
+            String value = values.get(i);
+            keys[i] = value == null ? null : (caseSensitive ? value : fold(value));
+        }
+        // Blank values sort first and never match a non-empty search
+        int[] order = IntStream.range(0, n)
+                               .boxed()
+                               .sorted((a, b) -> keys[a] == null ? (keys[b] == null ? 0 : -1) : keys[b] == null ? 1 : keys[a].compareTo(keys[b]))
+                               .mapToInt(Integer::intValue)
+                               .toArray();
+
+        Map<Long, int[]> postings = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        for (int i = 0; i < n; i++)
+        {
+            String key = keys[i];
+            if (key == null)
+            {
+                continue;
+            }
+            for (int c = 0; c + 3 <= key.length(); c++)
+            {
+                long trigram = trigram(key, c);
+                int[] list = postings.get(trigram);
+                int length = list == null ? 0 : lengths.get(trigram);
+                if (length > 0 && list[length - 1] == i)
+                {
+                    // Repeated within the same value
+                    continue;
+                }
+                if (list == null)
+                {
+                    list = new int[4];
+                }
+                else if (length == list.length)
+                {
+                    list = Arrays.copyOf(list, length * 2);
+                }
+                list[length] = i;
+                postings.put(trigram, list);
+                lengths.put(trigram, length + 1);
+            }
+        }
+        Map<Long, int[]> trimmed = new HashMap<>(postings.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, int[]> entry : postings.entrySet())
+        {
+            trimmed.put(entry.getKey(), Arrays.copyOf(entry.getValue(), lengths.get(entry.getKey())));
+        }
+        return new Structure(keys, order, trimmed);
+    }
+
+    /**
+     * Values containing every trigram of the key, in value order.
+     */
+    private static int[] candidates(Structure structure, String key)
+    {
+        List<int[]> lists = new ArrayList<>();
+        for (int c = 0; c + 3 <= key.length(); c++)
+        {
+            int[] list = structure.postings.getOrDefault(trigram(key, c), NONE);
+            if (list.length == 0)
+            {
+                return NONE;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0);
+        for (int l = 1; l < lists.size() && result.length > 0; l++)
+        {
+            result = intersect(result, lists.get(l));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b)
+    {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length)
+        {
+            if (a[i] == b[j])
+            {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+            else if (a[i] < b[j])
+            {
+                i++;
+            }
+            else
+            {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int lowerBound(Structure structure, String key)
+    {
+        int low = 0;
+        int high = structure.order.length;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            String form = structure.keys[structure.order[mid]];
+            if (form == null || form.compareTo(key) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long trigram(String key, int at)
+    {
+        return ((long) key.charAt(at) << 32) | ((long) key.charAt(at + 1) << 16) | key.charAt(at + 2);
+    }
+
+    private static String fold(String value)
+    {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param pathGetter the path getter the tree was built with
+     * @param tree       the built tree
+     */
+    private record Tree(ISetFilterTreePathGetter pathGetter, SetFilterTree tree)
+    {
+    }
+
+    /**
+     * @param keys     search form of each value, null for the blank entry
+     * @param order    value indexes sorted by search form
+     * @param postings value indexes containing each trigram, ascending
+     */
+    private record Structure(String[] keys, int[] order, Map<Long, int[]> postings)
+    {
+    }
+}
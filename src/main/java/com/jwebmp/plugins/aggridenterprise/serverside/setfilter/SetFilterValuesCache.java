@@ -0,0 +1,234 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded cache of sorted distinct Set Filter values, with their mini filter search index, per grid, column and
+ * filter model.
+ * <p>
+ * Entries are evicted least-recently-used first once either the entry bound or the total number of cached values is
+ * exceeded, so one very wide column cannot push the heap past the value budget.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class SetFilterValuesCache
+{
+    /**
+     * Default number of value lists kept.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    /**
+     * Default number of values kept across all lists.
+     */
+    public static final long DEFAULT_MAX_VALUES = 2_000_000L;
+
+    private final int maxEntries;
+    private final long maxValues;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, SetFilterValueIndex> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long currentValues;
+
+    /**
+     * A cache with the default bounds.
+     */
+    public SetFilterValuesCache()
+    {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_VALUES);
+    }
+
+    /**
+     * @param maxEntries number of value lists kept
+     * @param maxValues  number of values kept across all lists
+     */
+    public SetFilterValuesCache(int maxEntries, long maxValues)
+    {
+        if (maxEntries <= 0 || maxValues <= 0)
+        {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * @param gridId      grid identifier
+     * @param colId       column identifier
+     * @param filterModel normalised filter model of the other columns
+     * @return the cached sorted values, or null when absent
+     */
+    public SetFilterValueIndex get(String gridId, String colId, String filterModel)
+    {
+        lock.lock();
+        try
+        {
+            SetFilterValueIndex values = entries.get(new Key(gridId, colId, filterModel));
+            if (values == null)
+            {
+                misses.increment();
+            }
+            else
+            {
+                hits.increment();
+            }
+            return values;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store sorted values. Lists larger than the whole value budget are not cached.
+     *
+     * @param gridId      grid identifier
+     * @param colId       column identifier
+     * @param filterModel normalised filter model of the other columns
+     * @param values      sorted values
+     */
+    public void put(String gridId, String colId, String filterModel, SetFilterValueIndex values)
+    {
+        if (values.size() > maxValues)
+        {
+            return;
+        }
+        lock.lock();
+        try
+        {
+            SetFilterValueIndex previous = entries.put(new Key(gridId, colId, filterModel), values);
+            if (previous != null)
+            {
+                currentValues -= previous.size();
+            }
+            currentValues += values.size();
+            Iterator<Map.Entry<Key, SetFilterValueIndex>> eldest = entries.entrySet()
+                                                                   .iterator();
+            while ((entries.size() > maxEntries || currentValues > maxValues) && eldest.hasNext())
+            {
+                currentValues -= eldest.next()
+                                       .getValue()
+                                       .size();
+                eldest.remove();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop the cached values of a grid, e.g. after its underlying data changed.
+     *
+     * @param gridId grid identifier
+     */
+    public void invalidateGrid(String gridId)
+    {
+        invalidate(key -> key.gridId()
+                             .equals(gridId));
+    }
+
+    /**
+     * Drop the cached values of one column of a grid.
+     *
+     * @param gridId grid identifier
+     * @param colId  column identifier
+     */
+    public void invalidateColumn(String gridId, String colId)
+    {
+        invalidate(key -> key.gridId()
+                             .equals(gridId) && key.colId()
+                                                   .equals(colId));
+    }
+
+    /**
+     * Drop every cached value list.
+     */
+    public void invalidateAll()
+    {
+        invalidate(key -> true);
+    }
+
+    /**
+     * @return number of cached value lists
+     */
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return entries.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of values held across all lists
+     */
+    public long valueCount()
+    {
+        lock.lock();
+        try
+        {
+            return currentValues;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that missed
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    private void invalidate(Predicate<Key> filter)
+    {
+        lock.lock();
+        try
+        {
+            Iterator<Map.Entry<Key, SetFilterValueIndex>> it = entries.entrySet()
+                                                               .iterator();
+            while (it.hasNext())
+            {
+                Map.Entry<Key, SetFilterValueIndex> e = it.next();
+                if (filter.test(e.getKey()))
+                {
+                    currentValues -= e.getValue()
+                                      .size();
+                    it.remove();
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private record Key(String gridId, String colId, String filterModel)
+    {
+    }
+}
@@ -0,0 +1,277 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of Set Filter value providers keyed by grid and column, and the entry point that answers the generated
+ * {@code values} callback.
+ * <p>
+ * Applications expose one endpoint that passes the posted body to {@link #handle(byte[])} and writes the returned
+ * bytes as {@code application/json}. Values are de-duplicated, sorted (blanks first) and cached per column and
+ * filter model, so reopening a filter or refreshing it on open costs no provider call until the cache is
+ * invalidated.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class SetFilterValuesRegistry
+{
+    private static final SetFilterValuesRegistry INSTANCE = new SetFilterValuesRegistry();
+    private static final Comparator<String> ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final Map<ColumnKey, ISetFilterValuesProvider> providers = new ConcurrentHashMap<>();
+    private final Map<ColumnKey, ISetFilterTreePathGetter> pathGetters = new ConcurrentHashMap<>();
+    private volatile SetFilterValuesCache cache = new SetFilterValuesCache();
+
+    /**
+     * Get the singleton registry instance.
+     *
+     * @return global SetFilterValuesRegistry
+     */
+    public static SetFilterValuesRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Register (or replace) the provider of a column's values, dropping values cached for the column.
+     *
+     * @param gridId   grid identifier
+     * @param colId    column identifier
+     * @param provider value provider
+     */
+    public void register(String gridId, String colId, ISetFilterValuesProvider provider)
+    {
+        providers.put(new ColumnKey(gridId, colId), provider);
+        invalidate(gridId, colId);
+    }
+
+    /**
+     * Register (or replace) the provider of a tree list column's values and the path getter that arranges them, so
+     * requests carrying a {@code parentPath} are answered with the children of that node.
+     *
+     * @param gridId     grid identifier
+     * @param colId      column identifier
+     * @param provider   value provider
+     * @param pathGetter splits each value into its tree path
+     */
+    public void register(String gridId, String colId, ISetFilterValuesProvider provider, ISetFilterTreePathGetter pathGetter)
+    {
+        pathGetters.put(new ColumnKey(gridId, colId), pathGetter);
+        register(gridId, colId, provider);
+    }
+
+    /**
+     * Remove the provider of a column's values.
+     *
+     * @param gridId grid identifier
+     * @param colId  column identifier
+     */
+    public void unregister(String gridId, String colId)
+    {
+        providers.remove(new ColumnKey(gridId, colId));
+        pathGetters.remove(new ColumnKey(gridId, colId));
+        invalidate(gridId, colId);
+    }
+
+    /**
+     * @param gridId grid identifier
+     * @param colId  column identifier
+     * @return the registered provider, or null
+     */
+    public ISetFilterValuesProvider getProvider(String gridId, String colId)
+    {
+        return providers.get(new ColumnKey(gridId, colId));
+    }
+
+    /**
+     * Replace the value cache, e.g. to change its bounds or share it.
+     *
+     * @param cache the cache, or null to call the providers on every request
+     */
+    public void setCache(SetFilterValuesCache cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * @return the value cache, or null when caching is disabled
+     */
+    public SetFilterValuesCache getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Drop the cached values of a grid after its data changed.
+     *
+     * @param gridId grid identifier
+     */
+    public void invalidate(String gridId)
+    {
+        SetFilterValuesCache current = cache;
+        if (current != null)
+        {
+            current.invalidateGrid(gridId);
+        }
+    }
+
+    /**
+     * Drop the cached values of one column after its data changed.
+     *
+     * @param gridId grid identifier
+     * @param colId  column identifier
+     */
+    public void invalidate(String gridId, String colId)
+    {
+        SetFilterValuesCache current = cache;
+        if (current != null)
+        {
+            current.invalidateColumn(gridId, colId);
+        }
+    }
+
+    /**
+     * Get a range of a column's sorted distinct values. A request with a mini filter search returns the matching
+     * values instead, those starting with the search text first, looked up in the cached list's
+     * {@link SetFilterValueIndex}; pass {@code endRow} to keep only the top matches.
+     *
+     * @param request grid, column, filter model, range and optional search
+     * @return the values and the total number of distinct values
+     * @throws IllegalArgumentException when no provider is registered for the column
+     */
+    public SetFilterValuesResult getValues(SetFilterValuesRequest request)
+    {
+        SetFilterValueIndex index = sortedValues(request);
+        List<String> values = request.isSearch() ? index.search(request.search(), request.caseSensitive(), request.end()) : index.values();
+        int from = Math.min(request.start(), values.size());
+        int to = Math.max(from, Math.min(request.end(), values.size()));
+        return new SetFilterValuesResult(values.subList(from, to), index.size());
+    }
+
+    /**
+     * Get the children of one node of a tree list column, built once per cached value list.
+     *
+     * @param request grid, column, filter model and parent path (null or empty for the top level)
+     * @return the node's children and the total number of distinct values
+     * @throws IllegalArgumentException when the column was not registered with a path getter
+     */
+    public SetFilterTreeResult getTreeChildren(SetFilterValuesRequest request)
+    {
+        ISetFilterTreePathGetter pathGetter = pathGetters.get(new ColumnKey(request.gridId(), request.colId()));
+        if (pathGetter == null)
+        {
+            throw new IllegalArgumentException("Column '" + request.colId() + "' of grid '" + request.gridId() + "' is not a tree list column");
+        }
+        SetFilterValueIndex index = sortedValues(request);
+        List<String> parentPath = request.parentPath() == null ? List.of() : request.parentPath();
+        return new SetFilterTreeResult(index.tree(pathGetter)
+                                            .children(parentPath), index.size());
+    }
+
+    /**
+     * Answer a request body posted by the generated {@code values} callback.
+     * <p>
+     * Failures are reported in-band as {@code {"failed":true,"errorMessage":"..."}} so the filter can still open.
+     *
+     * @param body JSON {@link SetFilterValuesRequest}
+     * @return JSON {@link SetFilterValuesResult}, {@link SetFilterTreeResult} when the request carries a
+     * {@code parentPath}, or the failure object
+     */
+    public byte[] handle(byte[] body)
+    {
+        try
+        {
+            SetFilterValuesRequest request = ServerSideJson.mapper()
+                                                           .readValue(body, SetFilterValuesRequest.class);
+            if (request.gridId() == null || request.colId() == null)
+            {
+                return ServerSideJson.failure("Request must contain gridId and colId");
+            }
+            return ServerSideJson.mapper()
+                                 .writeValueAsBytes(request.parentPath() != null ? getTreeChildren(request) : getValues(request));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            return ServerSideJson.failure(SetFilterValuesRegistry.class, e);
+        }
+    }
+
+    /**
+     * Clear all registrations and cached values.
+     * Use with caution; typically only in test or cleanup scenarios.
+     */
+    public void clear()
+    {
+        providers.clear();
+        pathGetters.clear();
+        SetFilterValuesCache current = cache;
+        if (current != null)
+        {
+            current.invalidateAll();
+        }
+    }
+
+    private SetFilterValueIndex sortedValues(SetFilterValuesRequest request)
+    {
+        ISetFilterValuesProvider provider = getProvider(request.gridId(), request.colId());
+        if (provider == null)
+        {
+            throw new IllegalArgumentException("No set filter values provider registered for column '" + request.colId() + "' of grid '" + request.gridId() + "'");
+        }
+        SetFilterValuesCache current = cache;
+        String filterModel = normalise(request.filterModel());
+        SetFilterValueIndex values = current == null ? null : current.get(request.gridId(), request.colId(), filterModel);
+        if (values != null)
+        {
+            return values;
+        }
+        // The full list is cached, so providers never see the range, search text or path; those are answered from it
+        Collection<?> raw = provider.getValues(new SetFilterValuesRequest(request.gridId(), request.colId(), request.filterModel()));
+        TreeSet<String> distinct = new TreeSet<>(ORDER);
+        if (raw != null)
+        {
+            for (Object value : raw)
+            {
+                distinct.add(value == null ? null : value.toString());
+            }
+        }
+        values = new SetFilterValueIndex(Collections.unmodifiableList(new ArrayList<>(distinct)));
+        if (current != null)
+        {
+            current.put(request.gridId(), request.colId(), filterModel, values);
+        }
+        return values;
+    }
+
+    private static String normalise(Map<String, Object> filterModel)
+    {
+        if (filterModel.isEmpty())
+        {
+            return "";
+        }
+        try
+        {
+            return ServerSideJson.mapper()
+                                 .writeValueAsString(filterModel);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException("Unable to serialise filter model", e);
+        }
+    }
+
+    private record ColumnKey(String gridId, String colId)
+    {
+    }
+}
@@ -0,0 +1,82 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request for the Set Filter values of one column, posted by the generated {@code values} callback.
+ *
+ * @param gridId        grid identifier
+ * @param colId         column whose values are listed
+ * @param filterModel   the grid's filter model; the entry for {@code colId} itself is ignored
+ * @param startRow      first value to return (inclusive), null for the first
+ * @param endRow        last value to return (exclusive), null for all remaining values
+ * @param search        mini filter text the values must contain, null or empty for all values
+ * @param caseSensitive whether the search matches case, as the filter's {@code caseSensitive} param
+ * @param parentPath    for a tree list column, the path of the node whose children are wanted (empty for the top
+ *                      level); null to list values
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SetFilterValuesRequest(String gridId, String colId, Map<String, Object> filterModel, Integer startRow, Integer endRow, String search,
+                                     boolean caseSensitive, List<String> parentPath)
+{
+    public SetFilterValuesRequest
+    {
+        Map<String, Object> others = new LinkedHashMap<>(filterModel == null ? Map.of() : filterModel);
+        others.remove(colId);
+        filterModel = Collections.unmodifiableMap(others);
+    }
+
+    /**
+     * A request for all values of a column.
+     */
+    public SetFilterValuesRequest(String gridId, String colId, Map<String, Object> filterModel)
+    {
+        this(gridId, colId, filterModel, null, null);
+    }
+
+    /**
+     * A request for a range of a column's values.
+     */
+    public SetFilterValuesRequest(String gridId, String colId, Map<String, Object> filterModel, Integer startRow, Integer endRow)
+    {
+        this(gridId, colId, filterModel, startRow, endRow, null, false);
+    }
+
+    /**
+     * A request for a range of a column's values matching a mini filter search.
+     */
+    public SetFilterValuesRequest(String gridId, String colId, Map<String, Object> filterModel, Integer startRow, Integer endRow, String search,
+                                  boolean caseSensitive)
+    {
+        this(gridId, colId, filterModel, startRow, endRow, search, caseSensitive, null);
+    }
+
+    /**
+     * @return whether the request narrows the values to a mini filter search
+     */
+    public boolean isSearch()
+    {
+        return search != null && !search.isEmpty();
+    }
+
+    /**
+     * @return first value to return, defaulting to 0
+     */
+    public int start()
+    {
+        return startRow == null ? 0 : Math.max(startRow, 0);
+    }
+
+    /**
+     * @return last value to return (exclusive), defaulting to all values
+     */
+    public int end()
+    {
+        return endRow == null ? Integer.MAX_VALUE : endRow;
+    }
+}
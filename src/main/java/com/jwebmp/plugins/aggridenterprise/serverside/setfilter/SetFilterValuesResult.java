@@ -0,0 +1,13 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import java.util.List;
+
+/**
+ * Set Filter values answered to the generated {@code values} callback.
+ *
+ * @param values     the requested range of distinct values, sorted
+ * @param valueCount total number of distinct values for the column and filter model
+ */
+public record SetFilterValuesResult(List<String> values, int valueCount)
+{
+}
@@ -0,0 +1,718 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideCursor;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.ColumnCondition;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterJoin;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterModelParser;
+import com.jwebmp.plugins.aggridenterprise.serverside.filter.FilterNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compiles typed SSRM requests into parameterised SQL.
+ * <p>
+ * The filter model (text, number, date, set and multi filters) becomes the WHERE clause, open group keys become
+ * equality predicates, the sort model becomes ORDER BY and the row range becomes the dialect's paging clause.
+ * While rows are grouped below the open level, the statement selects the next group column and the aggregated
+ * value columns with GROUP BY. Every value is bound as a parameter and every column goes through the
+ * {@link SqlTableMapping} whitelist.
+ * <p>
+ * Statement text is cached by request shape (which columns are filtered with which operators, the sort, the
+ * group level, the size of set filters), so requests that only differ in values or row range reuse the same SQL
+ * string and hit the driver's and database's prepared statement caches. The least recently used shape is evicted
+ * once the cache is full.
+ * <p>
+ * When the mapping declares a {@link SqlTableMapping#keyColumn(String) key column}, leaf rows are ordered by the
+ * sort model followed by the key, and a request carrying a matching {@link ServerSideCursor} seeks past the
+ * cursor's key values instead of using an offset, so deep blocks cost the same as the first one. The sorted columns
+ * then place NULLs below every value (see {@link SqlDialect#orderNullsLow}), whatever the database's default, so
+ * the seek also continues past NULLs.
+ * <p>
+ * Thread-safe for concurrent access from multiple components.
+ */
+public class ServerSideSqlCompiler
+{
+    /**
+     * Number of statement shapes kept by default.
+     */
+    public static final int DEFAULT_MAX_CACHED_SHAPES = 1024;
+    /**
+     * Column id AG Grid uses for the auto group column in sort models.
+     */
+    public static final String AUTO_GROUP_COLUMN = "ag-Grid-AutoColumn";
+
+    private static final String LIKE_ESCAPE = " ESCAPE '\\'";
+
+    private final SqlTableMapping table;
+    private final SqlDialect dialect;
+    private final int maxCachedShapes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, String> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param table   column whitelist and FROM clause
+     * @param dialect SQL dialect
+     */
+    public ServerSideSqlCompiler(SqlTableMapping table, SqlDialect dialect)
+    {
+        this(table, dialect, DEFAULT_MAX_CACHED_SHAPES);
+    }
+
+    /**
+     * @param table           column whitelist and FROM clause
+     * @param dialect         SQL dialect
+     * @param maxCachedShapes number of statement shapes kept, least recently used ones are evicted beyond it
+     */
+    public ServerSideSqlCompiler(SqlTableMapping table, SqlDialect dialect, int maxCachedShapes)
+    {
+        this.table = table;
+        this.dialect = dialect;
+        this.maxCachedShapes = maxCachedShapes;
+    }
+
+    /**
+     * Compile a request.
+     *
+     * @param request typed SSRM request
+     * @return the statement and its parameters
+     * @throws IllegalArgumentException when the request references an unmapped column, an unsupported filter or
+     *                                  aggregation, or pivots
+     */
+    public SqlQuery compile(ServerSideGetRowsRequest request)
+    {
+        FilterNode filter = FilterModelParser.parse(request.filterModel());
+
+        // First pass: parameters and the shape key only; the SQL text is rendered on a shape miss
+        Emitter bind = new Emitter(false);
+        render(request, filter, bind);
+        String shape = bind.shape.toString();
+        String sql = cached(shape);
+        if (sql == null)
+        {
+            misses.increment();
+            Emitter text = new Emitter(true);
+            render(request, filter, text);
+            sql = text.sql.toString();
+            cache(shape, sql);
+        }
+        else
+        {
+            hits.increment();
+        }
+        return new SqlQuery(sql, bind.parameters);
+    }
+
+    private String cached(String shape)
+    {
+        lock.lock();
+        try
+        {
+            return statements.get(shape);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void cache(String shape, String sql)
+    {
+        lock.lock();
+        try
+        {
+            statements.put(shape, sql);
+            Iterator<String> eldest = statements.keySet()
+                                                .iterator();
+            while (statements.size() > maxCachedShapes && eldest.hasNext())
+            {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The column ids leaf rows of a request are ordered by: the sort model followed by the key column.
+     * The values of these columns in a block's last row make up its {@link ServerSideCursor}.
+     *
+     * @param request typed SSRM request
+     * @return the ordering column ids, empty for group levels
+     */
+    public List<String> orderColumns(ServerSideGetRowsRequest request)
+    {
+        if (request.isGroupLevel())
+        {
+            return List.of();
+        }
+        List<String> columns = new ArrayList<>();
+        for (OrderTerm term : leafOrder(request))
+        {
+            columns.add(term.colId());
+        }
+        return columns;
+    }
+
+    /**
+     * @return the column whitelist
+     */
+    public SqlTableMapping getTable()
+    {
+        return table;
+    }
+
+    /**
+     * @return the SQL dialect
+     */
+    public SqlDialect getDialect()
+    {
+        return dialect;
+    }
+
+    /**
+     * @return number of cached statement shapes
+     */
+    public int getCachedShapeCount()
+    {
+        lock.lock();
+        try
+        {
+            return statements.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of compilations that reused a cached statement
+     */
+    public long getShapeHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of compilations that rendered a new statement
+     */
+    public long getShapeMissCount()
+    {
+        return misses.sum();
+    }
+
+    /*
+     * The SQL text must be fully determined by the complete shape key together with the table mapping, so that
+     * equal shapes always render equal SQL. A fragment may be rendered before the tokens that determine it: the
+     * seek clause is rendered from the leaf order, whose columns and directions are emitted afterwards as the
+     * ORDER BY tokens.
+     */
+    private void render(ServerSideGetRowsRequest request, FilterNode filter, Emitter out)
+    {
+        if (request.isPivoting() && !request.pivotCols()
+                                            .isEmpty())
+        {
+            throw new IllegalArgumentException("Pivoting is not supported by the SQL compiler");
+        }
+        List<ServerSideColumnVO> groupCols = request.rowGroupCols();
+        List<String> groupKeys = request.groupKeys();
+        int level = groupKeys.size();
+        if (level > groupCols.size())
+        {
+            throw new IllegalArgumentException("Request has more group keys than row group columns");
+        }
+        boolean grouping = level < groupCols.size();
+        ServerSideColumnVO groupCol = grouping ? groupCols.get(level) : null;
+
+        out.sql("SELECT ");
+        if (grouping)
+        {
+            String field = groupCol.fieldOrId();
+            out.shape("G")
+               .shape(field)
+               .sql(table.expression(field))
+               .sql(" AS ")
+               .sql(dialect.quote(field));
+            for (ServerSideColumnVO valueCol : request.valueCols())
+            {
+                String valueField = valueCol.fieldOrId();
+                out.shape(valueField)
+                   .shape(valueCol.aggFunc())
+                   .sql(", ")
+                   .sql(aggregate(valueCol.aggFunc(), table.expression(valueField)))
+                   .sql(" AS ")
+                   .sql(dialect.quote(valueField));
+            }
+        }
+        else
+        {
+            out.shape("L");
+            boolean first = true;
+            for (Map.Entry<String, String> column : table.getColumns()
+                                                         .entrySet())
+            {
+                out.sql(first ? "" : ", ")
+                   .sql(column.getValue())
+                   .sql(" AS ")
+                   .sql(dialect.quote(column.getKey()));
+                first = false;
+            }
+        }
+        out.sql(" FROM ")
+           .sql(table.getFrom());
+
+        for (int i = 0; i < level; i++)
+        {
+            String field = groupCols.get(i)
+                                    .fieldOrId();
+            Object key = groupKeys.get(i);
+            out.shape(key == null ? "KN" : "K")
+               .shape(field)
+               .sql(i == 0 ? " WHERE " : " AND ")
+               .sql(table.expression(field));
+            // The group of NULL values is opened with IS NULL, as = never matches NULL
+            if (key == null)
+            {
+                out.sql(" IS NULL");
+            }
+            else
+            {
+                out.sql(" = ")
+                   .param(key);
+            }
+        }
+        if (filter != null)
+        {
+            out.shape("F")
+               .sql(level == 0 ? " WHERE " : " AND ");
+            renderNode(filter, out);
+        }
+
+        List<OrderTerm> leafOrder = grouping ? null : leafOrder(request);
+        boolean seek = leafOrder != null && table.getKeyColumn() != null && seekable(request, leafOrder.size());
+        if (seek)
+        {
+            out.shape("C")
+               .sql(level == 0 && filter == null ? " WHERE " : " AND ");
+            renderSeek(leafOrder, ServerSideCursor.decode(request.cursor())
+                                                  .values(), out);
+        }
+
+        if (grouping)
+        {
+            out.sql(" GROUP BY ")
+               .sql(table.expression(groupCol.fieldOrId()));
+            boolean firstSort = true;
+            for (ServerSideSortModelItem sort : request.sortModel())
+            {
+                String target = groupSortTarget(sort.colId(), groupCol, request.valueCols());
+                if (target == null)
+                {
+                    continue;
+                }
+                out.shape("S")
+                   .shape(sort.colId())
+                   .shape(sort.isDescending())
+                   .sql(firstSort ? " ORDER BY " : ", ")
+                   .sql(target)
+                   .sql(sort.isDescending() ? " DESC" : " ASC");
+                firstSort = false;
+            }
+        }
+        else
+        {
+            for (int i = 0; i < leafOrder.size(); i++)
+            {
+                OrderTerm term = leafOrder.get(i);
+                out.shape("S")
+                   .shape(term.colId())
+                   .shape(term.descending())
+                   .sql(i == 0 ? " ORDER BY " : ", ");
+                if (term.nullsLow())
+                {
+                    out.sql(dialect.orderNullsLow(term.expression(), term.descending()));
+                }
+                else
+                {
+                    out.sql(term.expression())
+                       .sql(term.descending() ? " DESC" : " ASC");
+                }
+            }
+        }
+
+        if (request.endRow() != null)
+        {
+            out.shape("P")
+               .sql(dialect.pagingClause());
+            // A seek starts right after the cursor, so it never skips rows
+            for (Object parameter : dialect.pagingParameters(seek ? 0 : request.start(), request.blockSize()))
+            {
+                out.parameters.add(parameter);
+            }
+        }
+    }
+
+    private static boolean seekable(ServerSideGetRowsRequest request, int keyCount)
+    {
+        ServerSideCursor cursor = ServerSideCursor.decode(request.cursor());
+        return cursor != null && cursor.appliesTo(request, keyCount);
+    }
+
+    /*
+     * Rows strictly after the cursor in ORDER BY order:
+     * (k0 > ?) OR (k0 = ? AND k1 > ?) OR (k0 = ? AND k1 = ? AND k2 > ?) ..., with < for descending keys.
+     * Sorted columns place NULLs below every value, so a NULL cursor value is matched with IS NULL and followed by
+     * every non-NULL value when ascending and by nothing when descending, and a descending key is followed by
+     * its NULLs. Which cursor values are NULL is part of the statement shape.
+     */
+    private void renderSeek(List<OrderTerm> order, List<Object> values, Emitter out)
+    {
+        out.sql("(");
+        boolean first = true;
+        for (int i = 0; i < order.size(); i++)
+        {
+            OrderTerm term = order.get(i);
+            Object value = values.get(i);
+            out.shape(value == null ? "N" : "V");
+            if (value == null && term.descending())
+            {
+                continue;
+            }
+            out.sql(first ? "(" : " OR (");
+            first = false;
+            for (int j = 0; j < i; j++)
+            {
+                renderSeekEquals(order.get(j), values.get(j), out);
+                out.sql(" AND ");
+            }
+            String expression = term.expression();
+            if (value == null)
+            {
+                out.sql(expression)
+                   .sql(" IS NOT NULL");
+            }
+            else if (term.descending() && term.nullsLow())
+            {
+                out.sql("(")
+                   .sql(expression)
+                   .sql(" < ")
+                   .param(value)
+                   .sql(" OR ")
+                   .sql(expression)
+                   .sql(" IS NULL)");
+            }
+            else
+            {
+                out.sql(expression)
+                   .sql(term.descending() ? " < " : " > ")
+                   .param(value);
+            }
+            out.sql(")");
+        }
+        if (first)
+        {
+            // Every key is NULL and descending: nothing follows the cursor
+            out.sql("1 = 0");
+        }
+        out.sql(")");
+    }
+
+    private static void renderSeekEquals(OrderTerm term, Object value, Emitter out)
+    {
+        out.sql(term.expression());
+        if (value == null)
+        {
+            out.sql(" IS NULL");
+        }
+        else
+        {
+            out.sql(" = ")
+               .param(value);
+        }
+    }
+
+    private List<OrderTerm> leafOrder(ServerSideGetRowsRequest request)
+    {
+        String keyColumn = table.getKeyColumn();
+        List<OrderTerm> terms = new ArrayList<>(request.sortModel()
+                                                       .size() + 1);
+        boolean keyed = false;
+        for (ServerSideSortModelItem sort : request.sortModel())
+        {
+            if (sort.colId()
+                    .startsWith(AUTO_GROUP_COLUMN))
+            {
+                continue;
+            }
+            boolean key = sort.colId()
+                              .equals(keyColumn);
+            // The key column is never NULL; other columns only need a fixed NULL placement when rows are seeked
+            terms.add(new OrderTerm(sort.colId(), table.expression(sort.colId()), sort.isDescending(), keyColumn != null && !key));
+            keyed |= key;
+        }
+        if (keyColumn != null && !keyed)
+        {
+            terms.add(new OrderTerm(keyColumn, table.expression(keyColumn), false, false));
+        }
+        return terms;
+    }
+
+    private void renderNode(FilterNode node, Emitter out)
+    {
+        if (node instanceof FilterJoin join)
+        {
+            out.shape(join.join())
+               .shape(join.children()
+                          .size())
+               .sql("(");
+            for (int i = 0; i < join.children()
+                                    .size(); i++)
+            {
+                if (i > 0)
+                {
+                    out.sql(join.join() == FilterJoin.Join.AND ? " AND " : " OR ");
+                }
+                renderNode(join.children()
+                               .get(i), out);
+            }
+            out.sql(")");
+        }
+        else if (node instanceof ColumnCondition condition)
+        {
+            renderCondition(condition, out);
+        }
+    }
+
+    private void renderCondition(ColumnCondition condition, Emitter out)
+    {
+        String expression = table.expression(condition.colId());
+        boolean text = condition.isText();
+        String lhs = text ? "LOWER(" + expression + ")" : expression;
+        out.shape(condition.colId())
+           .shape(condition.operator())
+           .shape(text);
+        switch (condition.operator())
+        {
+            case EQUALS -> out.sql(lhs)
+                              .sql(" = ")
+                              .param(operand(condition.value(), text));
+            case NOT_EQUAL -> out.sql("(")
+                                 .sql(expression)
+                                 .sql(" IS NULL OR ")
+                                 .sql(lhs)
+                                 .sql(" <> ")
+                                 .param(operand(condition.value(), text))
+                                 .sql(")");
+            case CONTAINS -> out.sql(lhs)
+                                .sql(" LIKE ")
+                                .param("%" + escapeLike(condition.value(), text) + "%")
+                                .sql(LIKE_ESCAPE);
+            case NOT_CONTAINS -> out.sql("(")
+                                    .sql(expression)
+                                    .sql(" IS NULL OR ")
+                                    .sql(lhs)
+                                    .sql(" NOT LIKE ")
+                                    .param("%" + escapeLike(condition.value(), text) + "%")
+                                    .sql(LIKE_ESCAPE)
+                                    .sql(")");
+            case STARTS_WITH -> out.sql(lhs)
+                                   .sql(" LIKE ")
+                                   .param(escapeLike(condition.value(), text) + "%")
+                                   .sql(LIKE_ESCAPE);
+            case ENDS_WITH -> out.sql(lhs)
+                                 .sql(" LIKE ")
+                                 .param("%" + escapeLike(condition.value(), text))
+                                 .sql(LIKE_ESCAPE);
+            case LESS_THAN -> out.sql(lhs)
+                                 .sql(" < ")
+                                 .param(operand(condition.value(), text));
+            case LESS_THAN_OR_EQUAL -> out.sql(lhs)
+                                          .sql(" <= ")
+                                          .param(operand(condition.value(), text));
+            case GREATER_THAN -> out.sql(lhs)
+                                    .sql(" > ")
+                                    .param(operand(condition.value(), text));
+            case GREATER_THAN_OR_EQUAL -> out.sql(lhs)
+                                             .sql(" >= ")
+                                             .param(operand(condition.value(), text));
+            case IN_RANGE -> out.sql("(")
+                                .sql(lhs)
+                                .sql(" > ")
+                                .param(operand(condition.value(), text))
+                                .sql(" AND ")
+                                .sql(lhs)
+                                .sql(" < ")
+                                .param(operand(condition.valueTo(), text))
+                                .sql(")");
+            case BLANK -> out.sql(text ? "(" + expression + " IS NULL OR " + expression + " = '')" : expression + " IS NULL");
+            case NOT_BLANK -> out.sql(text ? "(" + expression + " IS NOT NULL AND " + expression + " <> '')" : expression + " IS NOT NULL");
+            case TRUE -> out.sql(expression)
+                            .sql(" = ")
+                            .param(Boolean.TRUE);
+            case FALSE -> out.sql(expression)
+                             .sql(" = ")
+                             .param(Boolean.FALSE);
+            case IN -> renderIn(expression, condition.values(), out);
+        }
+    }
+
+    private void renderIn(String expression, List<Object> values, Emitter out)
+    {
+        List<Object> present = new ArrayList<>(values.size());
+        boolean blanks = false;
+        for (Object value : values)
+        {
+            if (value == null)
+            {
+                blanks = true;
+            }
+            else
+            {
+                present.add(value);
+            }
+        }
+        out.shape(present.size())
+           .shape(blanks);
+        if (present.isEmpty() && !blanks)
+        {
+            out.sql("1 = 0");
+            return;
+        }
+        out.sql("(");
+        if (!present.isEmpty())
+        {
+            out.sql(expression)
+               .sql(" IN (");
+            for (int i = 0; i < present.size(); i++)
+            {
+                out.sql(i == 0 ? "" : ", ")
+                   .param(present.get(i));
+            }
+            out.sql(")");
+        }
+        if (blanks)
+        {
+            out.sql(present.isEmpty() ? "" : " OR ")
+               .sql(expression)
+               .sql(" IS NULL");
+        }
+        out.sql(")");
+    }
+
+    private String groupSortTarget(String colId, ServerSideColumnVO groupCol, List<ServerSideColumnVO> valueCols)
+    {
+        if (colId.startsWith(AUTO_GROUP_COLUMN) || colId.equals(groupCol.id()) || colId.equals(groupCol.fieldOrId()))
+        {
+            return table.expression(groupCol.fieldOrId());
+        }
+        for (ServerSideColumnVO valueCol : valueCols)
+        {
+            if (colId.equals(valueCol.id()) || colId.equals(valueCol.fieldOrId()))
+            {
+                return dialect.quote(valueCol.fieldOrId());
+            }
+        }
+        // Columns that are neither grouped nor aggregated have no value on a group row
+        return null;
+    }
+
+    private static String aggregate(String aggFunc, String expression)
+    {
+        String function = switch (aggFunc == null ? "" : aggFunc)
+        {
+            case "sum" -> "SUM";
+            case "min" -> "MIN";
+            case "max" -> "MAX";
+            case "count" -> "COUNT";
+            case "avg" -> "AVG";
+            default -> throw new IllegalArgumentException("Unsupported aggregation '" + aggFunc + "'");
+        };
+        return function + "(" + expression + ")";
+    }
+
+    private static Object operand(Object value, boolean text)
+    {
+        if (text && value != null)
+        {
+            return value.toString()
+                        .toLowerCase(Locale.ROOT);
+        }
+        return value;
+    }
+
+    private static String escapeLike(Object value, boolean text)
+    {
+        String raw = value == null ? "" : value.toString();
+        if (text)
+        {
+            raw = raw.toLowerCase(Locale.ROOT);
+        }
+        return raw.replace("\\", "\\\\")
+                  .replace("%", "\\%")
+                  .replace("_", "\\_");
+    }
+
+    /**
+     * @param nullsLow whether the term is ordered with {@link SqlDialect#orderNullsLow}
+     */
+    private record OrderTerm(String colId, String expression, boolean descending, boolean nullsLow)
+    {
+    }
+
+    /**
+     * Collects either the shape key or the SQL text of a statement, and its parameters.
+     */
+    private static final class Emitter
+    {
+        private final StringBuilder sql;
+        private final StringBuilder shape;
+        private final List<Object> parameters = new ArrayList<>();
+
+        private Emitter(boolean renderSql)
+        {
+            this.sql = renderSql ? new StringBuilder(256) : null;
+            this.shape = renderSql ? null : new StringBuilder(64);
+        }
+
+        private Emitter sql(String text)
+        {
+            if (sql != null)
+            {
+                sql.append(text);
+            }
+            return this;
+        }
+
+        private Emitter shape(Object token)
+        {
+            if (shape != null)
+            {
+                shape.append(token)
+                     .append(';');
+            }
+            return this;
+        }
+
+        private Emitter param(Object value)
+        {
+            parameters.add(value);
+            return sql("?");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.IServerSideStreamingDatasource;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideCursor;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideRowSink;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SSRM datasource answering requests from a JDBC {@link DataSource} with a {@link ServerSideSqlCompiler}.
+ * <p>
+ * Rows are read as maps keyed by grid column id (group rows by the group and value column fields) and streamed
+ * to the sink as the result set is iterated. When a block returns fewer rows than requested its end is reported
+ * as the row count. When the mapping declares a key column, each leaf block carries a {@link ServerSideCursor} for
+ * keyset paging of the next block.
+ */
+public class ServerSideSqlDatasource implements IServerSideStreamingDatasource<Map<String, Object>>
+{
+    private final DataSource dataSource;
+    private final ServerSideSqlCompiler compiler;
+
+    /**
+     * @param dataSource JDBC connection source
+     * @param compiler   request compiler for the queried table
+     */
+    public ServerSideSqlDatasource(DataSource dataSource, ServerSideSqlCompiler compiler)
+    {
+        this.dataSource = dataSource;
+        this.compiler = compiler;
+    }
+
+    @Override
+    public void streamRows(ServerSideGetRowsRequest request, ServerSideRowSink<Map<String, Object>> sink) throws IOException
+    {
+        SqlQuery query = compiler.compile(request);
+        int rows = 0;
+        Map<String, Object> lastRow = null;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = query.prepare(connection);
+             ResultSet resultSet = statement.executeQuery())
+        {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            String[] labels = new String[columnCount];
+            for (int i = 0; i < columnCount; i++)
+            {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+            while (resultSet.next())
+            {
+                Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+                for (int i = 0; i < columnCount; i++)
+                {
+                    row.put(labels[i], resultSet.getObject(i + 1));
+                }
+                sink.row(row);
+                lastRow = row;
+                rows++;
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new IllegalStateException("Server-side SQL query failed: " + e.getMessage(), e);
+        }
+        if (request.endRow() != null && rows < request.blockSize())
+        {
+            sink.rowCount(request.start() + rows);
+        }
+        if (lastRow != null && compiler.getTable()
+                                       .getKeyColumn() != null && !request.isGroupLevel())
+        {
+            List<Object> keyValues = new ArrayList<>();
+            for (String column : compiler.orderColumns(request))
+            {
+                keyValues.add(lastRow.get(column));
+            }
+            sink.cursor(ServerSideCursor.after(request, rows, keyValues)
+                                        .encode());
+        }
+    }
+
+    /**
+     * @return the request compiler
+     */
+    public ServerSideSqlCompiler getCompiler()
+    {
+        return compiler;
+    }
+}
@@ -0,0 +1,52 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+/**
+ * Database specific parts of the SQL generated by {@link ServerSideSqlCompiler}.
+ * <p>
+ * {@link StandardSqlDialect} covers the common databases; implement this interface for anything else.
+ */
+public interface SqlDialect
+{
+    /**
+     * Quote an identifier used as a column alias.
+     *
+     * @param identifier unquoted identifier
+     * @return quoted identifier
+     */
+    default String quote(String identifier)
+    {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * An ORDER BY item sorting NULLs below every value: first when ascending, last when descending. Keyset paging
+     * orders by it so it can seek past NULLs whatever the database's default NULL ordering. The default emulates
+     * {@code NULLS FIRST}/{@code NULLS LAST} with a CASE term, which every database accepts.
+     *
+     * @param expression sorted column expression
+     * @param descending whether the order is descending
+     * @return the ORDER BY item(s), without a leading comma
+     */
+    default String orderNullsLow(String expression, boolean descending)
+    {
+        String direction = descending ? " DESC" : " ASC";
+        return "CASE WHEN " + expression + " IS NULL THEN 0 ELSE 1 END" + direction + ", " + expression + direction;
+    }
+
+    /**
+     * The paging clause appended after ORDER BY, with placeholders for offset and limit so every page of a query
+     * shares one prepared statement.
+     *
+     * @return the clause, starting with a space
+     */
+    String pagingClause();
+
+    /**
+     * Parameters bound to the placeholders of {@link #pagingClause()}.
+     *
+     * @param offset rows to skip
+     * @param limit  rows to return
+     * @return the parameters in placeholder order
+     */
+    Object[] pagingParameters(int offset, int limit);
+}
@@ -0,0 +1,48 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compiled, parameterised statement.
+ *
+ * @param sql        statement text with {@code ?} placeholders; identical for requests of the same shape
+ * @param parameters values bound to the placeholders, in order
+ */
+public record SqlQuery(String sql, List<Object> parameters)
+{
+    public SqlQuery
+    {
+        // A null is a valid parameter value, which List.copyOf rejects
+        parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+    }
+
+    /**
+     * Prepare the statement on a connection and bind its parameters.
+     *
+     * @param connection JDBC connection
+     * @return the bound statement; the caller closes it
+     * @throws SQLException when preparing or binding fails
+     */
+    public PreparedStatement prepare(Connection connection) throws SQLException
+    {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try
+        {
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+        }
+        catch (SQLException e)
+        {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+}
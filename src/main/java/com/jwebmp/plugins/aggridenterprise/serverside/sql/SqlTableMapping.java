@@ -0,0 +1,124 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Whitelist of the grid columns a {@link ServerSideSqlCompiler} may reference and the SQL expressions behind them.
+ * <p>
+ * Column ids in the request are only ever resolved through this mapping, never copied into the SQL, so a request
+ * naming an unmapped column is rejected rather than injected.
+ *
+ * <pre>{@code
+ * SqlTableMapping sales = new SqlTableMapping("sales s")
+ *         .column("country", "s.country")
+ *         .column("year", "s.sale_year")
+ *         .column("amount", "s.amount")
+ *         .column("id", "s.id")
+ *         .keyColumn("id");
+ * }</pre>
+ */
+public class SqlTableMapping
+{
+    private final String from;
+    private final Map<String, String> columns = new LinkedHashMap<>();
+    private String keyColumn;
+
+    /**
+     * @param from the FROM clause (table, join or sub-query), trusted SQL
+     */
+    public SqlTableMapping(String from)
+    {
+        this.from = from;
+    }
+
+    /**
+     * Map a grid column id to a SQL expression.
+     *
+     * @param colId      grid column id (or field)
+     * @param expression trusted SQL expression
+     * @return this
+     */
+    public SqlTableMapping column(String colId, String expression)
+    {
+        columns.put(colId, expression);
+        return this;
+    }
+
+    /**
+     * Map a grid column id to the identically named SQL column.
+     *
+     * @param colId grid column id, also the SQL column name
+     * @return this
+     */
+    public SqlTableMapping column(String colId)
+    {
+        return column(colId, colId);
+    }
+
+    /**
+     * Declare the unique column used as the final ORDER BY tie-breaker. Rows are then always returned in a total
+     * order, which keyset (seek) pagination requires: a block only carries a cursor when a key column is set.
+     *
+     * @param colId mapped grid column id whose values are unique, typically the primary key
+     * @return this
+     * @throws IllegalArgumentException when the column is not mapped
+     */
+    public SqlTableMapping keyColumn(String colId)
+    {
+        expression(colId);
+        this.keyColumn = colId;
+        return this;
+    }
+
+    /**
+     * @return the tie-breaker key column id, or null when none is declared
+     */
+    public String getKeyColumn()
+    {
+        return keyColumn;
+    }
+
+    /**
+     * @return the FROM clause
+     */
+    public String getFrom()
+    {
+        return from;
+    }
+
+    /**
+     * @return mapped columns in declaration order
+     */
+    public Map<String, String> getColumns()
+    {
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * @param colId grid column id
+     * @return true when the column is mapped
+     */
+    public boolean hasColumn(String colId)
+    {
+        return columns.containsKey(colId);
+    }
+
+    /**
+     * Resolve a grid column id.
+     *
+     * @param colId grid column id
+     * @return the SQL expression
+     * @throws IllegalArgumentException when the column is not mapped
+     */
+    public String expression(String colId)
+    {
+        String expression = columns.get(colId);
+        if (expression == null)
+        {
+            throw new IllegalArgumentException("Column '" + colId + "' is not mapped");
+        }
+        return expression;
+    }
+}
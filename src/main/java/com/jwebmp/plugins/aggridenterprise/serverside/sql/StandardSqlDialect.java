@@ -0,0 +1,65 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+/**
+ * Built-in SQL dialects.
+ */
+public enum StandardSqlDialect implements SqlDialect
+{
+    /**
+     * SQL:2008 {@code OFFSET n ROWS FETCH NEXT m ROWS ONLY}: H2, HSQLDB, PostgreSQL, Oracle 12c+, SQL Server 2012+, Db2.
+     */
+    ANSI
+            {
+                @Override
+                public String pagingClause()
+                {
+                    return " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+                }
+
+                @Override
+                public Object[] pagingParameters(int offset, int limit)
+                {
+                    return new Object[]{offset, limit};
+                }
+            },
+    /**
+     * {@code LIMIT m OFFSET n}: MySQL, MariaDB, PostgreSQL, SQLite, H2.
+     */
+    LIMIT_OFFSET
+            {
+                @Override
+                public String pagingClause()
+                {
+                    return " LIMIT ? OFFSET ?";
+                }
+
+                @Override
+                public Object[] pagingParameters(int offset, int limit)
+                {
+                    return new Object[]{limit, offset};
+                }
+            },
+    /**
+     * {@link #LIMIT_OFFSET} with MySQL back-tick quoted identifiers.
+     */
+    MYSQL
+            {
+                @Override
+                public String quote(String identifier)
+                {
+                    return '`' + identifier.replace("`", "``") + '`';
+                }
+
+                @Override
+                public String pagingClause()
+                {
+                    return " LIMIT ? OFFSET ?";
+                }
+
+                @Override
+                public Object[] pagingParameters(int offset, int limit)
+                {
+                    return new Object[]{limit, offset};
+                }
+            }
+}
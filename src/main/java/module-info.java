@@ -15,6 +15,13 @@ module com.jwebmp.plugins.aggridenterprise {
     exports com.jwebmp.plugins.aggridenterprise.options.advancedfilter;
     exports com.jwebmp.plugins.aggridenterprise.options.enums;
     exports com.jwebmp.plugins.aggridenterprise.charts;
+    exports com.jwebmp.plugins.aggridenterprise.serverside;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.filter;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.sql;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.aggregation;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+    exports com.jwebmp.plugins.aggridenterprise.serverside.find;
 
     requires transitive com.jwebmp.plugins.aggrid;
     requires transitive com.jwebmp.plugins.agchartsenterprise;
@@ -24,6 +31,7 @@ module com.jwebmp.plugins.aggridenterprise {
     requires com.jwebmp.core.angular;
     requires com.guicedee.guicedinjection;
     requires com.fasterxml.jackson.databind;
+    requires java.sql;
     requires static lombok;
 
     requires org.mapstruct;
@@ -35,6 +43,7 @@ module com.jwebmp.plugins.aggridenterprise {
 
     opens com.jwebmp.plugins.aggridenterprise to com.google.guice, com.fasterxml.jackson.databind, com.jwebmp.core, org.mapstruct;
     opens com.jwebmp.plugins.aggridenterprise.charts to com.google.guice, com.fasterxml.jackson.databind, com.jwebmp.core, org.mapstruct;
+    opens com.jwebmp.plugins.aggridenterprise.serverside to com.google.guice, com.fasterxml.jackson.databind, com.jwebmp.core;
     opens com.jwebmp.plugins.aggridenterprise.options to com.fasterxml.jackson.databind, com.jwebmp.core, com.google.guice, org.mapstruct;
     opens com.jwebmp.plugins.aggridenterprise.options.modules to com.fasterxml.jackson.databind, com.jwebmp.core, com.google.guice, org.mapstruct;
     opens com.jwebmp.plugins.aggridenterprise.options.mapping to com.fasterxml.jackson.databind, com.jwebmp.core, com.google.guice, org.mapstruct;
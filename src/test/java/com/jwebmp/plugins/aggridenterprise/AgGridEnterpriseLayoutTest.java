@@ -0,0 +1,107 @@
+package com.jwebmp.plugins.aggridenterprise;
+
+import com.jwebmp.plugins.aggrid.options.AgGridColumnDef;
+import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnDef;
+import com.jwebmp.plugins.aggridenterprise.options.ColumnLayout;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for applying column layouts and option changes to a grid that is already on the page.
+ */
+public class AgGridEnterpriseLayoutTest {
+
+    static class LayoutGrid extends AgGridEnterprise<LayoutGrid> {
+        LayoutGrid() {
+            super("layoutGrid");
+        }
+    }
+
+    private static LayoutGrid grid() {
+        LayoutGrid grid = new LayoutGrid();
+        AgGridColumnDef<?> country = new AgGridColumnDef<>("country", "Country");
+        country.setEnablePivot(true);
+        grid.addColumn(country);
+        grid.addColumn(new AgGridColumnDef<>("sport", "Sport"));
+        grid.addColumn(new AgGridColumnDef<>("year", "Year"));
+        grid.addEnterpriseColumn("gold").setRowGroup(true);
+        return grid;
+    }
+
+    private static List<String> fields(LayoutGrid grid) {
+        return grid.getOptions().getColumnDefs().stream().map(AgGridColumnDef::getField).toList();
+    }
+
+    @Test
+    void testConfigureLayoutAppliesToColumnDefs() {
+        LayoutGrid grid = grid();
+        grid.configureLayout(new ColumnLayout().addRowGroup("country")
+                                               .addPivot("year", "sport")
+                                               .addValue("gold", "sum"));
+
+        // the layout's pivot order is carried by pivotIndex, so every column keeps its place
+        assertEquals(List.of("country", "sport", "year", "gold"), fields(grid));
+        List<AgGridColumnDef<?>> defs = grid.getOptions().getColumnDefs();
+
+        AgGridEnterpriseColumnDef<?> country = assertInstanceOf(AgGridEnterpriseColumnDef.class, defs.get(0));
+        assertTrue(country.getRowGroup());
+        assertEquals(Integer.valueOf(0), country.getRowGroupIndex());
+        assertTrue(country.getEnableRowGroup());
+        assertTrue(country.getEnablePivot());
+        assertNull(country.getPivot());
+        assertNull(country.getPivotIndex());
+
+        AgGridEnterpriseColumnDef<?> sport = assertInstanceOf(AgGridEnterpriseColumnDef.class, defs.get(1));
+        AgGridEnterpriseColumnDef<?> year = assertInstanceOf(AgGridEnterpriseColumnDef.class, defs.get(2));
+        assertTrue(sport.getPivot());
+        assertEquals(Integer.valueOf(1), sport.getPivotIndex());
+        assertTrue(year.getPivot());
+        assertTrue(year.getEnablePivot());
+        assertEquals(Integer.valueOf(0), year.getPivotIndex());
+
+        AgGridEnterpriseColumnDef<?> gold = (AgGridEnterpriseColumnDef<?>) defs.get(3);
+        assertNull(gold.getRowGroup());
+        assertEquals("sum", gold.getAggFunc());
+        assertTrue(gold.getEnableValue());
+
+        String delta = grid.takeColumnLayoutDelta();
+        assertTrue(delta.contains("{\"colId\":\"year\",\"pivot\":true,\"pivotIndex\":0}"));
+        assertTrue(delta.contains("{\"colId\":\"sport\",\"pivot\":true,\"pivotIndex\":1}"));
+        assertNull(grid.takeColumnLayoutDelta());
+    }
+
+    @Test
+    void testClearPivotClearsEveryColumn() {
+        LayoutGrid grid = grid();
+        grid.configureLayout(new ColumnLayout().addPivot("sport")
+                                               .addValue("gold", "sum"));
+        grid.takeColumnLayoutDelta();
+
+        grid.clearPivot();
+        for (AgGridColumnDef<?> def : grid.getOptions().getColumnDefs()) {
+            assertNull(def.getPivot(), def.getField());
+            assertNull(def.getEnablePivot(), def.getField());
+            assertNull(def.getAggFunc(), def.getField());
+            if (def instanceof AgGridEnterpriseColumnDef<?> enterprise) {
+                assertNull(enterprise.getPivotIndex(), def.getField());
+            }
+        }
+        assertNull(((AgGridEnterpriseColumnDef<?>) grid.getOptions().getColumnDefs().get(3)).getEnableValue());
+        assertEquals(List.of("country", "sport", "year", "gold"), fields(grid));
+        assertEquals("{\"defaultState\":{\"aggFunc\":null,\"pivot\":false}}", grid.takeColumnLayoutDelta());
+    }
+
+    @Test
+    void testSerialisingOptionsKeepsTheGridOptionsDelta() {
+        LayoutGrid grid = grid();
+        grid.takeGridOptionsDelta();
+
+        grid.getOptions().configurePivoting().setPivotMode(true);
+        assertTrue(grid.getOptions().toJson().contains("pivotMode"));
+        assertEquals("{\"pivotMode\":true}", grid.takeGridOptionsDelta());
+        assertNull(grid.takeGridOptionsDelta());
+    }
+}
@@ -0,0 +1,31 @@
+package com.jwebmp.plugins.aggridenterprise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for rendering precompiled TypeScript templates.
+ */
+public class TsTemplateTest {
+
+    @Test
+    void testRenderMatchesFormatted() {
+        String template = """
+                serverSideGetRows(params: any) {
+                    fetch('%s', { body: JSON.stringify({ gridId: '%s' }) });
+                    setTimeout(() => this.flush(), %d); // 100%%
+                }
+                """;
+        TsTemplate compiled = TsTemplate.of(template);
+        assertSame(compiled, TsTemplate.of(template));
+        assertEquals(3, compiled.arity());
+        assertEquals(template.formatted("/rows", "grid", 25), compiled.render("/rows", "grid", 25));
+    }
+
+    @Test
+    void testRejectsWrongArgumentsAndPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> TsTemplate.of("this.%s?.api").render());
+        assertThrows(IllegalArgumentException.class, () -> TsTemplate.of("width: %5s"));
+    }
+}
@@ -1,8 +1,13 @@
 package com.jwebmp.plugins.aggridenterprise.options;
 
+import com.jwebmp.plugins.aggrid.options.AgGridColumnDef;
+import com.jwebmp.plugins.aggridenterprise.options.mapping.AgGridColDefEnterpriseMapper;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @Log4j2
@@ -35,4 +40,47 @@ class AgGridEnterpriseOptionsTest
 				assertEquals(json.indexOf("\"pivotMode\""), json.lastIndexOf("\"pivotMode\""));
 				
 		}
-}
\ No newline at end of file
+		
+		@Test
+		void getDefaultColDefReturnsCopy()
+		{
+				AgGridEnterpriseOptions<?> agGridEnterpriseOptions = new AgGridEnterpriseOptions<>();
+				AgGridEnterpriseColumnDef<?> defaults = new AgGridEnterpriseColumnDef<>("country");
+				defaults.setEnableRowGroup(true);
+				defaults.setAllowedAggFuncs(AgGridEnterpriseColumnDef.AggFunc.SUM);
+				defaults.setEnablePivot(true);
+				defaults.setPivot(true);
+				agGridEnterpriseOptions.setDefaultColDef(defaults);
+				
+				AgGridEnterpriseColumnDef<?> copy = agGridEnterpriseOptions.getDefaultColDef();
+				assertNotSame(defaults, copy);
+				assertTrue(copy.getEnableRowGroup());
+				assertTrue(copy.getEnablePivot());
+				assertTrue(copy.getPivot());
+				assertEquals(defaults.getAllowedAggFuncs(), copy.getAllowedAggFuncs());
+				
+				copy.setEnableRowGroup(false);
+				copy.getAllowedAggFuncs().add("avg");
+				assertTrue(agGridEnterpriseOptions.getDefaultColDef().getEnableRowGroup());
+				assertEquals(1, agGridEnterpriseOptions.getDefaultColDef().getAllowedAggFuncs().size());
+		}
+		
+		@Test
+		void upgradeColumnDefsConvertsInPlace()
+		{
+				AgGridEnterpriseColumnDef<?> enterprise = new AgGridEnterpriseColumnDef<>("sales");
+				AgGridColumnDef<?> country = new AgGridColumnDef<>("country", "Country");
+				country.setEnablePivot(true);
+				List<AgGridColumnDef> defs = new ArrayList<>();
+				defs.add(country);
+				defs.add(enterprise);
+				
+				assertEquals(1, AgGridColDefEnterpriseMapper.INSTANCE.upgradeColumnDefs(defs));
+				assertInstanceOf(AgGridEnterpriseColumnDef.class, defs.get(0));
+				assertTrue(defs.get(0).getEnablePivot());
+				assertEquals("country", defs.get(0).getField());
+				assertEquals("Country", defs.get(0).getHeaderName());
+				assertSame(enterprise, defs.get(1));
+				assertEquals(0, AgGridColDefEnterpriseMapper.INSTANCE.upgradeColumnDefs(defs));
+		}
+}
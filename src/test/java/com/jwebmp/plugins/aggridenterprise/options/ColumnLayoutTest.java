@@ -0,0 +1,56 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bulk row group, pivot and value column layouts.
+ */
+public class ColumnLayoutTest {
+
+    @Test
+    void testLayoutOrdersColumnsAsAdded() {
+        ColumnLayout layout = new ColumnLayout().addRowGroup("country", "year")
+                                                .addPivot("sport")
+                                                .addValue("gold", "sum")
+                                                .addValue("silver", AgGridEnterpriseColumnDef.AggFunc.AVG);
+
+        assertEquals(Integer.valueOf(0), layout.getRowGroupIndex("country"));
+        assertEquals(Integer.valueOf(1), layout.getRowGroupIndex("year"));
+        assertEquals(Integer.valueOf(0), layout.getPivotIndex("sport"));
+        assertEquals("avg", layout.getAggFunc("silver"));
+        assertTrue(layout.contains("gold"));
+        assertFalse(layout.contains("athlete"));
+        assertNull(layout.getRowGroupIndex("sport"));
+    }
+
+    @Test
+    void testColumnStateIsOneApplyColumnStateCall() throws Exception {
+        ColumnLayout layout = new ColumnLayout().addRowGroup("country")
+                                                .addPivot("sport")
+                                                .addValue("gold", "sum")
+                                                .addValue("country", "count");
+
+        String json = new ObjectMapper().writeValueAsString(layout.toColumnState());
+        assertEquals("{\"state\":["
+                + "{\"colId\":\"country\",\"rowGroup\":true,\"rowGroupIndex\":0,\"aggFunc\":\"count\"},"
+                + "{\"colId\":\"sport\",\"pivot\":true,\"pivotIndex\":0},"
+                + "{\"colId\":\"gold\",\"aggFunc\":\"sum\"}],"
+                + "\"defaultState\":{\"rowGroup\":false,\"pivot\":false,\"aggFunc\":null}}", json);
+    }
+
+    @Test
+    void testInvalidColumnsAreRejected() {
+        ColumnLayout layout = new ColumnLayout().addRowGroup("country");
+        assertThrows(IllegalArgumentException.class, () -> layout.addRowGroup("country"));
+        assertThrows(IllegalArgumentException.class, () -> layout.addPivot(" "));
+        assertThrows(IllegalArgumentException.class, () -> layout.addValue("gold", (String) null));
+        assertEquals(Map.of("colId", "country", "rowGroup", true, "rowGroupIndex", 0),
+                ((List<?>) layout.toColumnState().get("state")).get(0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.jwebmp.plugins.aggridenterprise.options;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jwebmp.plugins.aggridenterprise.options.cellselection.FillHandleDirection;
+import com.jwebmp.plugins.aggridenterprise.options.cellselection.FillHandleOptions;
+import com.jwebmp.plugins.aggridenterprise.options.cellselection.RangeHandleOptions;
+import com.jwebmp.plugins.aggridenterprise.options.find.FindOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.AdvancedFilteringOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.AggregationOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.ChartsOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.PivotingOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.RangeSelectionOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.ServerSideRowModelOptions;
+import com.jwebmp.plugins.aggridenterprise.options.modules.SideBarAndStatusBarOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for option classes serialized through their bound fields.
+ */
+public class OptionsBindingTest {
+
+    /**
+     * Switches the bound serializer off so Jackson's own bean serializer renders the class.
+     */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    interface BeanSerialized {
+    }
+
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class AnnotatedGetter {
+        private String name;
+
+        @JsonProperty("label")
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Test
+    void testBoundJsonMatchesJacksonBeanSerialization() throws Exception {
+        ObjectMapper bound = new ObjectMapper();
+        ObjectMapper bean = new ObjectMapper().addMixIn(FillHandleOptions.class, BeanSerialized.class)
+                                              .addMixIn(FindOptions.class, BeanSerialized.class);
+
+        FillHandleOptions fill = new FillHandleOptions().setDirection(FillHandleDirection.values()[0])
+                                                        .setSetFillValue("params => params.currentCellValue");
+        assertEquals(bean.writeValueAsString(fill), bound.writeValueAsString(fill));
+
+        FindOptions find = new FindOptions().setCaseSensitive(true);
+        assertEquals(bean.writeValueAsString(find), bound.writeValueAsString(find));
+        assertEquals("{\"caseSensitive\":true}", bound.writeValueAsString(find));
+    }
+
+    @Test
+    void testClassesNotDescribedByTheirFieldsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> OptionsBinding.of(AnnotatedGetter.class));
+        assertThrows(IllegalArgumentException.class, () -> OptionsBinding.of(String.class));
+    }
+
+    /**
+     * Every class serialized through {@link OptionsBindingSerializer}, and every options module, which renders its
+     * properties through its binding.
+     */
+    private static final List<Class<?>> BOUND = List.of(
+            AgGridEnterpriseColumnGroupDef.class, RowNumbersOptions.class, SideBarDef.class, SideBarToolPanelDef.class,
+            StatusBarDef.class, StatusBarPanelDef.class, FindOptions.class, FillHandleOptions.class, RangeHandleOptions.class,
+            ChartsOptions.class, ServerSideRowModelOptions.class, AggregationOptions.class, PivotingOptions.class,
+            AdvancedFilteringOptions.class, SideBarAndStatusBarOptions.class, RangeSelectionOptions.class);
+
+    @Test
+    void testEveryBoundClassBindsAndMatchesJackson() throws Exception {
+        ObjectMapper bean = new ObjectMapper();
+        for (Class<?> type : BOUND) {
+            bean.addMixIn(type, BeanSerialized.class);
+        }
+        for (Class<?> type : BOUND) {
+            OptionsBinding binding = OptionsBinding.of(type);
+            Object instance = type.getDeclaredConstructor().newInstance();
+            assertEquals(bean.writeValueAsString(instance), bean.writeValueAsString(binding.properties(instance)), type.getName());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jwebmp.plugins.aggridenterprise.options.modules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwebmp.plugins.aggridenterprise.options.enums.ServerSidePaginationStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cached JSON properties of enterprise option modules.
+ */
+public class OptionsModuleTest {
+
+    @Test
+    void testPropertiesAreKeptUntilASetterRuns() {
+        PivotingOptions<?> pivoting = new PivotingOptions<>();
+        pivoting.setPivotMode(true)
+                .setPivotDefaultExpanded(1);
+
+        Map<String, Object> properties = pivoting.jsonProperties();
+        assertEquals(Map.of("pivotMode", true, "pivotDefaultExpanded", 1), properties);
+        assertSame(properties, pivoting.jsonProperties());
+
+        pivoting.setPivotMode(null);
+        assertEquals(Map.of("pivotDefaultExpanded", 1), pivoting.jsonProperties());
+    }
+
+    @Test
+    void testPropertiesMatchJacksonFieldSerialization() {
+        ServerSideRowModelOptions<?> serverSide = new ServerSideRowModelOptions<>();
+        serverSide.setCacheBlockSize(100)
+                  .setServerSidePivotResultFieldSeparator("_")
+                  .setPaginationStrategy(ServerSidePaginationStrategy.KEYSET);
+
+        Map<?, ?> jackson = new ObjectMapper().convertValue(serverSide, Map.class);
+        assertEquals(jackson, serverSide.jsonProperties());
+        assertFalse(serverSide.jsonProperties().containsKey("paginationStrategy"));
+    }
+
+    @Test
+    void testChangesAreRelativeToTheLastRender() {
+        PivotingOptions<?> pivoting = new PivotingOptions<>();
+        pivoting.setPivotMode(true)
+                .setPivotPanelShow("always");
+        assertEquals(pivoting.jsonProperties(), pivoting.changes());
+
+        pivoting.render();
+        assertTrue(pivoting.changes().isEmpty());
+
+        pivoting.setPivotMode(true)
+                .setPivotPanelShow(null)
+                .setPivotDefaultExpanded(2);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("pivotDefaultExpanded", 2);
+        expected.put("pivotPanelShow", null);
+        assertEquals(expected, pivoting.changes());
+    }
+
+    @Test
+    void testReadingPropertiesKeepsTheBaseline() {
+        PivotingOptions<?> pivoting = new PivotingOptions<>();
+        pivoting.render();
+
+        pivoting.setPivotMode(true);
+        pivoting.jsonProperties();
+        assertEquals(Map.of("pivotMode", true), pivoting.changes());
+    }
+}
@@ -0,0 +1,154 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the server-side SSRM block cache and its use in ServerSideDatasourceRegistry.
+ */
+public class ServerSideBlockCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerSideDatasourceRegistry.getInstance().clear();
+    }
+
+    private static ServerSideGetRowsRequest request(int start, int end, Map<String, Object> filterModel) {
+        return new ServerSideGetRowsRequest(start, end, null, null, null, false, null, filterModel, null);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testKeyIgnoresFilterModelPropertyOrder() {
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("country", Map.of("filterType", "set", "values", List.of("USA")));
+        a.put("year", Map.of("filterType", "number", "type", "equals", "filter", 2024));
+        Map<String, Object> b = new LinkedHashMap<>();
+        b.put("year", Map.of("filterType", "number", "type", "equals", "filter", 2024));
+        b.put("country", Map.of("filterType", "set", "values", List.of("USA")));
+
+        assertEquals(ServerSideBlockCacheKey.of("g", request(100, 200, a)),
+                     ServerSideBlockCacheKey.of("g", request(100, 200, b)));
+        assertNotEquals(ServerSideBlockCacheKey.of("g", request(0, 100, a)),
+                        ServerSideBlockCacheKey.of("g", request(100, 200, a)));
+    }
+
+    @Test
+    void testUnalignedRequestsAreNotCacheable() {
+        assertTrue(ServerSideBlockCacheKey.isBlockAligned(request(200, 300, null)));
+        assertFalse(ServerSideBlockCacheKey.isBlockAligned(request(50, 150, null)));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvictionByEntries() {
+        ServerSideBlockCache cache = new ServerSideBlockCache(2, 1024, null);
+        ServerSideBlockCacheKey k0 = ServerSideBlockCacheKey.of("g", request(0, 100, null));
+        ServerSideBlockCacheKey k1 = ServerSideBlockCacheKey.of("g", request(100, 200, null));
+        ServerSideBlockCacheKey k2 = ServerSideBlockCacheKey.of("g", request(200, 300, null));
+
+        cache.put(k0, bytes("a"));
+        cache.put(k1, bytes("b"));
+        assertNotNull(cache.get(k0)); // k1 is now least recently used
+        cache.put(k2, bytes("c"));
+
+        assertNotNull(cache.get(k0));
+        assertNull(cache.get(k1));
+        assertNotNull(cache.get(k2));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testByteBound() {
+        ServerSideBlockCache cache = new ServerSideBlockCache(100, 10, null);
+        cache.put(ServerSideBlockCacheKey.of("g", request(0, 100, null)), bytes("123456"));
+        cache.put(ServerSideBlockCacheKey.of("g", request(100, 200, null)), bytes("123456"));
+        assertEquals(1, cache.size());
+        assertEquals(6, cache.sizeInBytes());
+
+        cache.put(ServerSideBlockCacheKey.of("g", request(200, 300, null)), bytes("this block is too large"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testExpiry() throws Exception {
+        ServerSideBlockCache cache = new ServerSideBlockCache(10, 1024, Duration.ofMillis(1));
+        ServerSideBlockCacheKey key = ServerSideBlockCacheKey.of("g", request(0, 100, null));
+        cache.put(key, bytes("a"));
+        Thread.sleep(5);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRegistryServesRepeatedBlocksFromCache() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ServerSideDatasourceRegistry registry = ServerSideDatasourceRegistry.getInstance();
+        registry.register("sales", req -> {
+            loads.incrementAndGet();
+            return ServerSideGetRowsResult.of(List.of(Map.of("row", req.start())), 1000);
+        });
+        registry.setBlockCache("sales", new ServerSideBlockCache(10, 1024 * 1024, null));
+
+        byte[] first = registry.getRowsAsJson("sales", request(0, 100, null));
+        byte[] second = registry.getRowsAsJson("sales", request(0, 100, null));
+        assertArrayEquals(first, second);
+        assertEquals(1, loads.get());
+
+        registry.invalidate("sales");
+        registry.getRowsAsJson("sales", request(0, 100, null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testPutDropsBlocksLoadedAcrossAnInvalidation() {
+        ServerSideBlockCache cache = new ServerSideBlockCache(10, 1024, null);
+        ServerSideBlockCacheKey key = ServerSideBlockCacheKey.of("g", request(0, 100, null));
+        ServerSideBlockCacheKey other = ServerSideBlockCacheKey.of("h", request(0, 100, null));
+        long generation = cache.generation("g");
+        long otherGeneration = cache.generation("h");
+
+        cache.invalidateGrid("g");
+        assertFalse(cache.put(key, bytes("stale"), generation));
+        assertNull(cache.get(key));
+        assertTrue(cache.put(other, bytes("b"), otherGeneration));
+
+        assertTrue(cache.put(key, bytes("fresh"), cache.generation("g")));
+        assertArrayEquals(bytes("fresh"), cache.get(key));
+
+        long afterGrid = cache.generation("g");
+        cache.invalidate(k -> false);
+        assertFalse(cache.put(key, bytes("stale"), afterGrid));
+    }
+
+    @Test
+    void testRegistryDoesNotCacheBlocksInvalidatedWhileLoading() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ServerSideDatasourceRegistry registry = ServerSideDatasourceRegistry.getInstance();
+        registry.register("sales", req -> {
+            if (loads.incrementAndGet() == 1) {
+                registry.invalidate("sales");
+            }
+            return ServerSideGetRowsResult.of(List.of(Map.of("row", loads.get())), 1000);
+        });
+        registry.setBlockCache("sales", new ServerSideBlockCache(10, 1024 * 1024, null));
+
+        byte[] stale = registry.getRowsAsJson("sales", request(0, 100, null));
+        byte[] fresh = registry.getRowsAsJson("sales", request(0, 100, null));
+        assertFalse(Arrays.equals(stale, fresh));
+        assertArrayEquals(fresh, registry.getRowsAsJson("sales", request(0, 100, null)));
+        assertEquals(2, loads.get());
+    }
+}
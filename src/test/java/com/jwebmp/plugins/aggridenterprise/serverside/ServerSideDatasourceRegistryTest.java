@@ -0,0 +1,250 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ServerSideDatasourceRegistry request handling, including batched block loads.
+ */
+public class ServerSideDatasourceRegistryTest {
+
+    private final List<ServerSideGetRowsRequest> loads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        ServerSideDatasourceRegistry.getInstance().clear();
+    }
+
+    /**
+     * Datasource over rows 0..249, recording each call.
+     */
+    private IServerSideDatasource<Map<String, Object>> rows() {
+        return request -> {
+            loads.add(request);
+            List<Map<String, Object>> out = new ArrayList<>();
+            for (int i = request.start(); i < Math.min(request.end(), 250); i++) {
+                out.add(Map.of("id", i));
+            }
+            return ServerSideGetRowsResult.of(out);
+        };
+    }
+
+    private static JsonNode handle(String body) throws Exception {
+        byte[] response = ServerSideDatasourceRegistry.getInstance().handle(body.getBytes(StandardCharsets.UTF_8));
+        return ServerSideJson.mapper().readTree(response);
+    }
+
+    @Test
+    void testSingleRequest() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", rows());
+        JsonNode result = handle("{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":100}}");
+        assertEquals(100, result.get("rowData").size());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void testEnvelopeIsParsedIntoTheTypedRequest() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", rows());
+        handle("{\"gridId\":\"sales\",\"request\":{\"startRow\":100,\"endRow\":200,"
+                + "\"groupKeys\":[\"Ireland\"],\"sortModel\":[{\"colId\":\"id\",\"sort\":\"desc\"}],\"unknown\":1}}");
+        assertEquals(1, loads.size());
+        assertEquals(100, loads.get(0).start());
+        assertEquals(200, loads.get(0).end());
+        assertEquals(List.of("Ireland"), loads.get(0).groupKeys());
+    }
+
+    @Test
+    void testIncompleteOrMalformedEnvelopeFailsInBand() throws Exception {
+        JsonNode missingGrid = handle("{\"request\":{\"startRow\":0,\"endRow\":100}}");
+        assertTrue(missingGrid.get("failed").asBoolean());
+        assertEquals("Request must contain gridId and request", missingGrid.get("errorMessage").asText());
+
+        JsonNode malformed = handle("{\"gridId\":");
+        assertTrue(malformed.get("failed").asBoolean());
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void testUnknownGridFailsInBand() throws Exception {
+        JsonNode result = handle("{\"gridId\":\"missing\",\"request\":{\"startRow\":0,\"endRow\":100}}");
+        assertTrue(result.get("failed").asBoolean());
+        assertFalse(result.get("errorMessage").asText().contains("missing"));
+    }
+
+    @Test
+    void testFailureEnvelopeDoesNotEchoExceptionText() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", request -> {
+            throw new IllegalStateException("Table \"SALES_2024\" not found; SQL statement: SELECT * FROM SALES_2024");
+        });
+        JsonNode result = handle("{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":100}}");
+        assertTrue(result.get("failed").asBoolean());
+        assertFalse(result.get("errorMessage").asText().isEmpty());
+        assertFalse(result.get("errorMessage").asText().contains("SALES_2024"));
+    }
+
+    @Test
+    void testBatchMergesContiguousBlocksIntoOneLoad() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", rows());
+        JsonNode result = handle("{\"gridId\":\"sales\",\"requests\":["
+                + "{\"startRow\":200,\"endRow\":300},"
+                + "{\"startRow\":0,\"endRow\":100},"
+                + "{\"startRow\":100,\"endRow\":200},"
+                + "{\"startRow\":500,\"endRow\":600}]}");
+
+        JsonNode results = result.get("results");
+        assertEquals(4, results.size());
+        assertEquals(200, results.get(0).get("rowData").get(0).get("id").asInt());
+        assertEquals(50, results.get(0).get("rowData").size());
+        assertEquals(250, results.get(0).get("rowCount").asInt());
+        assertEquals(0, results.get(1).get("rowData").get(0).get("id").asInt());
+        assertEquals(100, results.get(2).get("rowData").get(0).get("id").asInt());
+        assertEquals(0, results.get(3).get("rowData").size());
+
+        assertEquals(2, loads.size());
+        assertEquals(0, loads.get(0).start());
+        assertEquals(300, loads.get(0).end());
+    }
+
+    @Test
+    void testBatchMergedLoadKeepsTheFirstMembersCursor() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", rows());
+        handle("{\"gridId\":\"sales\",\"requests\":["
+                + "{\"startRow\":200,\"endRow\":300},"
+                + "{\"startRow\":100,\"endRow\":200,\"cursor\":\"c100\"},"
+                + "{\"startRow\":500,\"endRow\":600,\"cursor\":\"c500\"},"
+                + "{\"startRow\":600,\"endRow\":700}]}");
+
+        assertEquals(2, loads.size());
+        assertEquals(100, loads.get(0).start());
+        assertEquals(300, loads.get(0).end());
+        assertEquals("c100", loads.get(0).cursor());
+        assertEquals(500, loads.get(1).start());
+        assertEquals("c500", loads.get(1).cursor());
+    }
+
+    @Test
+    void testConcurrentIdenticalBatchesShareMergedLoads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ServerSideSingleFlight singleFlight = new ServerSideSingleFlight();
+        ServerSideDatasourceRegistry registry = ServerSideDatasourceRegistry.getInstance();
+        IServerSideDatasource<Map<String, Object>> rows = rows();
+        registry.register("sales", (IServerSideDatasource<Map<String, Object>>) request -> {
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (loads) {
+                return rows.getRows(request);
+            }
+        });
+        registry.setSingleFlight("sales", singleFlight);
+        String body = "{\"gridId\":\"sales\",\"requests\":[{\"startRow\":0,\"endRow\":100},{\"startRow\":100,\"endRow\":200}]}";
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<JsonNode>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(pool.submit(() -> handle(body)));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (singleFlight.getRequestCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<JsonNode> result : results) {
+                assertEquals(100, result.get(5, TimeUnit.SECONDS).get("results").get(1).get("rowData").get(0).get("id").asInt());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.size());
+        assertEquals(1, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    void testBatchDoesNotMergeDifferentModels() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", rows());
+        handle("{\"gridId\":\"sales\",\"requests\":["
+                + "{\"startRow\":0,\"endRow\":100,\"sortModel\":[{\"colId\":\"id\",\"sort\":\"asc\"}]},"
+                + "{\"startRow\":100,\"endRow\":200,\"sortModel\":[{\"colId\":\"id\",\"sort\":\"desc\"}]}]}");
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void testStreamingWritesOneRowPerLineAndTrailer() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", (IServerSideStreamingDatasource<Map<String, Object>>) (request, sink) -> {
+            for (int i = request.start(); i < request.end(); i++) {
+                sink.row(Map.of("id", i));
+            }
+            sink.rowCount(1000);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ServerSideDatasourceRegistry.getInstance().handleStreaming(
+                "{\"gridId\":\"sales\",\"request\":{\"startRow\":10,\"endRow\":13}}".getBytes(StandardCharsets.UTF_8), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("{\"row\":{\"id\":10}}", lines[0]);
+        assertEquals("{\"row\":{\"id\":12}}", lines[2]);
+        assertEquals("{\"done\":true,\"rowCount\":1000}", lines[3]);
+
+        // streaming datasources still answer plain getRows
+        JsonNode result = handle("{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":5}}");
+        assertEquals(5, result.get("rowData").size());
+        assertEquals(1000, result.get("rowCount").asInt());
+    }
+
+    @Test
+    void testStreamingTrailerCarriesPivotResultColumns() throws Exception {
+        ServerSidePivotResultColumns columns = new ServerSidePivotResultColumns("k1", "[{\"field\":\"2024_gold\"}]");
+        ServerSideDatasourceRegistry.getInstance().register("sales", (IServerSideDatasource<Map<String, Object>>) request ->
+                new ServerSideGetRowsResult<>(List.of(Map.of("id", 0)), 1, List.of("2024_gold"), null, columns));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ServerSideDatasourceRegistry.getInstance().handleStreaming(
+                "{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":100}}".getBytes(StandardCharsets.UTF_8), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("{\"done\":true,\"rowCount\":1,\"pivotResultFields\":[\"2024_gold\"],"
+                + "\"pivotResultColumns\":{\"key\":\"k1\",\"columnDefs\":[{\"field\":\"2024_gold\"}]}}", lines[1]);
+
+        // a streaming datasource's columns reach plain getRows through the collector
+        ServerSideDatasourceRegistry.getInstance().register("sales", (IServerSideStreamingDatasource<Map<String, Object>>) (request, sink) -> {
+            sink.row(Map.of("id", 0));
+            sink.pivotResultColumns(columns);
+        });
+        JsonNode result = handle("{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":100}}");
+        assertEquals("k1", result.get("pivotResultColumns").get("key").asText());
+    }
+
+    @Test
+    void testStreamingFailureEndsWithFailedLine() throws Exception {
+        ServerSideDatasourceRegistry.getInstance().register("sales", (IServerSideStreamingDatasource<Map<String, Object>>) (request, sink) -> {
+            sink.row(Map.of("id", 0));
+            throw new IllegalStateException("cursor closed");
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ServerSideDatasourceRegistry.getInstance().handleStreaming(
+                "{\"gridId\":\"sales\",\"request\":{\"startRow\":0,\"endRow\":100}}".getBytes(StandardCharsets.UTF_8), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        JsonNode last = ServerSideJson.mapper().readTree(lines[lines.length - 1]);
+        assertTrue(last.get("failed").asBoolean());
+        assertFalse(last.get("errorMessage").asText().contains("cursor closed"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import com.jwebmp.plugins.aggridenterprise.options.AgGridEnterpriseColumnGroupDef;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for caching generated pivot result columns by pivot key set.
+ */
+public class ServerSidePivotColumnCacheTest {
+
+    private static final List<ServerSideColumnVO> PIVOT = List.of(new ServerSideColumnVO("year", "Year", "year", null));
+    private static final List<ServerSideColumnVO> VALUES = List.of(new ServerSideColumnVO("gold", "Gold", "gold", "sum"));
+
+    @Test
+    void testColumnsAreBuiltOncePerKeySet() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        ServerSidePivotColumnCache cache = new ServerSidePivotColumnCache((pivotCols, valueCols, keys, layout) -> {
+            builds.incrementAndGet();
+            return keys.stream().map(key -> Map.of("field", layout.field(key, valueCols.get(0)))).toList();
+        }, 2);
+
+        ServerSidePivotResultColumns first = cache.get(PIVOT, VALUES, List.of(List.of("2020"), List.of("2024")), ServerSidePivotLayout.DEFAULT);
+        ServerSidePivotResultColumns again = cache.get(PIVOT, VALUES, List.of(List.of("2020"), List.of("2024")), ServerSidePivotLayout.DEFAULT);
+        assertSame(first, again);
+        assertEquals("[{\"field\":\"2020_gold\"},{\"field\":\"2024_gold\"}]", first.columnDefs());
+        assertEquals(1, builds.get());
+        assertEquals(1L, cache.getHitCount());
+
+        ServerSidePivotResultColumns changed = cache.get(PIVOT, VALUES, List.of(List.of("2020"), List.of("2024"), List.of("2028")),
+                ServerSidePivotLayout.DEFAULT);
+        assertNotEquals(first.key(), changed.key());
+        assertEquals(2, builds.get());
+
+        cache.get(PIVOT, VALUES, List.of(List.of("2020")), new ServerSidePivotLayout("|", 0));
+        assertEquals(2, cache.size());
+        String json = ServerSideJson.mapper().writeValueAsString(new ServerSideGetRowsResult<>(List.of(), 0, null, null, first));
+        assertTrue(json.contains("\"columnDefs\":[{\"field\":\"2020_gold\"}"), json);
+    }
+
+    @Test
+    void testColumnDefsAreGroupedByPivotKey() {
+        ServerSidePivotColumnCache cache = new ServerSidePivotColumnCache(new ServerSidePivotColumnDefs());
+        List<ServerSideColumnVO> pivotCols = List.of(new ServerSideColumnVO("country", "Country", "country", null), PIVOT.get(0));
+        List<?> roots = cache.getColumnDefs(pivotCols, VALUES,
+                List.of(List.of("France", "2020"), List.of("France", "2024"), List.of("Italy", "2024")), ServerSidePivotLayout.DEFAULT);
+
+        assertEquals(2, roots.size());
+        AgGridEnterpriseColumnGroupDef france = (AgGridEnterpriseColumnGroupDef) roots.get(0);
+        assertEquals("France", france.getGroupId());
+        assertEquals(2, france.getChildren().size());
+        AgGridEnterpriseColumnGroupDef year = (AgGridEnterpriseColumnGroupDef) france.getChildren().get(1);
+        assertEquals("France_2024", year.getGroupId());
+        assertEquals(List.of("France", "2024"), year.getPivotKeys());
+        assertEquals(1, year.getChildren().size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ordering row values in Java.
+ */
+public class ServerSideRowComparatorTest {
+
+    private static final long TWO_POW_53 = 1L << 53;
+
+    @Test
+    void testLongsBeyondDoublePrecisionStayDistinct() {
+        assertTrue(ServerSideRowComparator.compareValues(TWO_POW_53, TWO_POW_53 + 1) < 0);
+        assertTrue(ServerSideRowComparator.compareValues(Long.MAX_VALUE, Long.MAX_VALUE - 1) > 0);
+        assertEquals(0, ServerSideRowComparator.compareValues(7, 7L));
+
+        // the multiset behind the min and max aggregates keeps one key per distinct value
+        TreeMap<Object, Integer> counts = new TreeMap<>(ServerSideRowComparator::compareValues);
+        counts.merge(TWO_POW_53, 1, Integer::sum);
+        counts.merge(TWO_POW_53 + 1, 1, Integer::sum);
+        assertEquals(2, counts.size());
+        assertEquals(TWO_POW_53 + 1, counts.lastKey());
+    }
+
+    @Test
+    void testDecimalsAndMixedTypesCompareExactly() {
+        BigDecimal big = new BigDecimal("9007199254740993.5");
+        assertTrue(ServerSideRowComparator.compareValues(big, new BigDecimal("9007199254740993.25")) > 0);
+        assertTrue(ServerSideRowComparator.compareValues(TWO_POW_53 + 1, big) < 0);
+        assertTrue(ServerSideRowComparator.compareValues(BigInteger.valueOf(TWO_POW_53 + 1), TWO_POW_53) > 0);
+        assertEquals(0, ServerSideRowComparator.compareValues(new BigDecimal("2.50"), 2.5));
+
+        // a double next to a long it cannot represent does not tie with it
+        assertTrue(ServerSideRowComparator.compareValues((double) TWO_POW_53, TWO_POW_53 + 1) < 0);
+        assertTrue(ServerSideRowComparator.compareValues(1.5, 2.5f) < 0);
+        assertTrue(ServerSideRowComparator.compareValues(Double.POSITIVE_INFINITY, Long.MAX_VALUE) > 0);
+    }
+
+    @Test
+    void testSortOrdersLargeLongs() {
+        List<Map<String, Object>> rows = new ArrayList<>(List.of(Map.of("id", TWO_POW_53 + 2),
+                                                                 Map.of("id", TWO_POW_53),
+                                                                 Map.of("id", TWO_POW_53 + 1)));
+        rows.sort(ServerSideRowComparator.of(List.of(new ServerSideSortModelItem("id", "desc")), Function.identity()));
+        assertEquals(List.of(TWO_POW_53 + 2, TWO_POW_53 + 1, TWO_POW_53), rows.stream().map(row -> row.get("id")).toList());
+    }
+}
@@ -0,0 +1,99 @@
+package com.jwebmp.plugins.aggridenterprise.serverside;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for single-flight coalescing of concurrent SSRM loads.
+ */
+public class ServerSideSingleFlightTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerSideDatasourceRegistry.getInstance().clear();
+    }
+
+    private static ServerSideGetRowsRequest request(int start, int end) {
+        return new ServerSideGetRowsRequest(start, end, null, null, null, false, null, null, null);
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ServerSideSingleFlight singleFlight = new ServerSideSingleFlight();
+        ServerSideDatasourceRegistry registry = ServerSideDatasourceRegistry.getInstance();
+        registry.register("sales", req -> {
+            loads.incrementAndGet();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ServerSideGetRowsResult.of(List.of(Map.of("row", req.start())), 1000);
+        });
+        registry.setSingleFlight("sales", singleFlight);
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> registry.getRowsAsJson("sales", request(0, 100))));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (singleFlight.getRequestCount() < callers && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            byte[] first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers, singleFlight.getRequestCount());
+        assertEquals(1, singleFlight.getExecutionCount());
+        assertEquals(callers - 1, singleFlight.getCoalescedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testDifferentRangesAreNotCoalesced() {
+        assertNotEquals(ServerSideSingleFlight.Key.of("g", request(0, 100)),
+                        ServerSideSingleFlight.Key.of("g", request(100, 200)));
+        assertNotEquals(ServerSideSingleFlight.Key.of("g", request(0, 100)),
+                        ServerSideSingleFlight.Key.of("h", request(0, 100)));
+    }
+
+    @Test
+    void testFailureIsPropagatedAndNotRemembered() throws Exception {
+        ServerSideSingleFlight singleFlight = new ServerSideSingleFlight();
+        ServerSideSingleFlight.Key key = ServerSideSingleFlight.Key.of("g", request(0, 100));
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(key, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, singleFlight.getInFlightCount());
+
+        byte[] value = singleFlight.execute(key, () -> new byte[]{1});
+        assertArrayEquals(new byte[]{1}, value);
+        assertEquals(2, singleFlight.getExecutionCount());
+    }
+}
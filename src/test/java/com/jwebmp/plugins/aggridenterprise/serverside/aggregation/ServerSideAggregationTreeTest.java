@@ -0,0 +1,113 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.aggregation;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsResult;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for incrementally maintained group aggregates and the transactions they emit.
+ */
+public class ServerSideAggregationTreeTest {
+
+    private static final ServerSideColumnVO COUNTRY = new ServerSideColumnVO("country", "Country", "country", null);
+    private static final ServerSideColumnVO YEAR = new ServerSideColumnVO("year", "Year", "year", null);
+
+    private static ServerSideAggregationTree tree() {
+        ServerSideAggregationTree tree = new ServerSideAggregationTree("id", List.of("country", "year"), List.of(
+                new ServerSideColumnVO("gold", "Gold", "gold", "sum"),
+                new ServerSideColumnVO("best", "Best", "best", "max"),
+                new ServerSideColumnVO("athlete", "Athlete", "athlete", "first")));
+        tree.add(List.of(
+                row(1, "France", 2024, 3, 9.5, "Ana"),
+                row(2, "France", 2024, 2, 9.9, "Ben"),
+                row(3, "France", 2020, 1, 8.0, "Cleo"),
+                row(4, "Italy", 2024, 4, 7.5, "Dan")));
+        return tree;
+    }
+
+    private static Map<String, Object> row(int id, String country, int year, int gold, double best, String athlete) {
+        return Map.of("id", id, "country", country, "year", year, "gold", gold, "best", best, "athlete", athlete);
+    }
+
+    private static Map<String, Object> group(List<Map<String, Object>> rows, Object key, String field) {
+        return rows.stream().filter(r -> key.equals(r.get(field))).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testGroupRowsCarryAggregates() {
+        ServerSideAggregationTree tree = tree();
+        assertEquals(4, tree.getRowCount());
+
+        ServerSideGetRowsResult<Map<String, Object>> top = tree.getRows(new ServerSideGetRowsRequest(0, 100, List.of(COUNTRY, YEAR), null, null, false, null, null,
+                List.of(new ServerSideSortModelItem("gold", "desc"))));
+        assertEquals(2, (int) top.rowCount());
+        Map<String, Object> france = top.rowData().get(0);
+        assertEquals("France", france.get("country"));
+        assertEquals(6L, france.get("gold"));
+        assertEquals(9.9, france.get("best"));
+        assertEquals("Ana", france.get("athlete"));
+        assertEquals("[\"France\"]", france.get(ServerSideAggregationTree.GROUP_ID_FIELD));
+
+        ServerSideGetRowsResult<Map<String, Object>> leaves = tree.getRows(new ServerSideGetRowsRequest(0, 100, List.of(COUNTRY, YEAR), null, null, false,
+                List.of("France", "2024"), null, null));
+        assertEquals(2, (int) leaves.rowCount());
+
+        ServerSideGetRowsRequest filtered = new ServerSideGetRowsRequest(0, 100, List.of(COUNTRY), null, null, false, null,
+                Map.of("gold", Map.of("filterType", "number", "type", "greaterThan", "filter", 1)), null);
+        assertThrows(IllegalArgumentException.class, () -> tree.getRows(filtered));
+    }
+
+    @Test
+    void testUpdateEmitsTransactionPerAffectedRoute() {
+        ServerSideAggregationTree tree = tree();
+        List<ServerSideTransaction> transactions = tree.update(List.of(row(1, "France", 2024, 10, 9.5, "Ana")));
+
+        assertEquals(3, transactions.size());
+        assertEquals(List.of(), transactions.get(0).route());
+        assertEquals(13L, transactions.get(0).update().get(0).get("gold"));
+        assertEquals(List.of("France"), transactions.get(1).route());
+        assertEquals(12L, transactions.get(1).update().get(0).get("gold"));
+        assertEquals(List.of("France", "2024"), transactions.get(2).route());
+        assertEquals(10, transactions.get(2).update().get(0).get("gold"));
+        assertTrue(transactions.get(2).add().isEmpty());
+        assertTrue(transactions.get(2).remove().isEmpty());
+
+        // Moving a row to a new group removes it from the old store and creates the group
+        transactions = tree.update(List.of(row(3, "Spain", 2020, 1, 8.0, "Cleo")));
+        ServerSideTransaction top = transactions.get(0);
+        assertEquals(1, top.add().size());
+        assertEquals("Spain", top.add().get(0).get("country"));
+        assertEquals("France", top.update().get(0).get("country"));
+        ServerSideTransaction france = transactions.stream().filter(tx -> tx.route().equals(List.of("France"))).findFirst().orElseThrow();
+        assertEquals("[\"France\",\"2020\"]", france.remove().get(0).get(ServerSideAggregationTree.GROUP_ID_FIELD));
+        ServerSideTransaction spain = transactions.stream().filter(tx -> tx.route().equals(List.of("Spain", "2020"))).findFirst().orElseThrow();
+        assertEquals(3, spain.add().get(0).get("id"));
+    }
+
+    @Test
+    void testRemovingExtremesRecomputesAndEmptiesGroups() {
+        ServerSideAggregationTree tree = tree();
+        tree.remove(List.of(2));
+        Map<String, Object> france = group(tree.groupRows(List.of()), "France", "country");
+        assertEquals(9.5, france.get("best"));
+        assertEquals(4L, france.get("gold"));
+
+        tree.remove(List.of(1));
+        france = group(tree.groupRows(List.of()), "France", "country");
+        assertEquals(8.0, france.get("best"));
+        assertEquals("Cleo", france.get("athlete"));
+
+        List<ServerSideTransaction> transactions = tree.remove(List.of(3, 99));
+        assertEquals(List.of(), transactions.get(0).route());
+        assertEquals("France", transactions.get(0).remove().get(0).get("country"));
+        assertTrue(tree.groupRows(List.of("France")).isEmpty());
+        assertEquals(1, tree.getRowCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for writing columnar tables to disk and mapping them back.
+ */
+public class ColumnarStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static ColumnarTable trades() {
+        ColumnarTable.Builder builder = ColumnarTable.builder()
+                .column("id", ColumnType.INT)
+                .column("desk", ColumnType.STRING)
+                .column("traded", ColumnType.LONG)
+                .column("notional", ColumnType.DOUBLE);
+        for (int i = 0; i < 1000; i++) {
+            builder.row(i, i % 7 == 0 ? null : "desk-" + (i % 3), LocalDate.of(2024, 1, 1).plusDays(i % 30), i % 11 == 0 ? null : i * 1.5);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testMappedTableAnswersLikeHeapTable() throws IOException {
+        ColumnarTable heap = trades();
+        ColumnarStore.write(heap, directory);
+        ColumnarTable mapped = ColumnarStore.open(directory);
+
+        assertEquals(heap.getRowCount(), mapped.getRowCount());
+        for (int row = 0; row < heap.getRowCount(); row += 37) {
+            assertEquals(heap.row(row), mapped.row(row));
+        }
+
+        ServerSideColumnVO desk = new ServerSideColumnVO("desk", "Desk", "desk", null);
+        ServerSideColumnVO notional = new ServerSideColumnVO("notional", "Notional", "notional", "sum");
+        List<ServerSideGetRowsRequest> requests = List.of(
+                new ServerSideGetRowsRequest(0, 50, null, null, null, false, null,
+                        Map.of("traded", Map.of("filterType", "date", "type", "greaterThan", "dateFrom", "2024-01-20 00:00:00")),
+                        List.of(new ServerSideSortModelItem("notional", "desc"))),
+                new ServerSideGetRowsRequest(0, 50, List.of(desk), List.of(notional), null, false, null, null, null));
+        for (ServerSideGetRowsRequest request : requests) {
+            assertEquals(new ServerSideColumnarDatasource(heap).getRows(request),
+                         new ServerSideColumnarDatasource(mapped).getRows(request));
+        }
+    }
+
+    @Test
+    void testMismatchedFilesAreRejected() throws IOException {
+        ColumnarStore.write(trades(), directory);
+        Files.write(directory.resolve("column-1.bin"), new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> ColumnarStore.open(directory));
+    }
+}
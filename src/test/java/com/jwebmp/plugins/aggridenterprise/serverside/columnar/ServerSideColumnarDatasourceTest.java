@@ -0,0 +1,189 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.columnar;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsResult;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSidePivotLayout;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory columnar SSRM datasource.
+ */
+public class ServerSideColumnarDatasourceTest {
+
+    private static ColumnarTable sales() {
+        return ColumnarTable.builder()
+                .column("id", ColumnType.INT)
+                .column("country", ColumnType.STRING)
+                .column("year", ColumnType.INT)
+                .column("amount", ColumnType.DOUBLE)
+                .row(1, "France", 2023, 10.0)
+                .row(2, "France", 2024, 20.0)
+                .row(3, "Germany", 2024, 30.0)
+                .row(4, "United Kingdom", 2024, 40.0)
+                .row(5, null, 2024, 50.0)
+                .row(6, "Germany", 2023, null)
+                .build();
+    }
+
+    private static ServerSideGetRowsRequest request(int start, int end, List<ServerSideColumnVO> groups, List<ServerSideColumnVO> values,
+                                                    List<String> keys, Map<String, Object> filter, List<ServerSideSortModelItem> sort) {
+        return new ServerSideGetRowsRequest(start, end, groups, values, null, false, keys, filter, sort);
+    }
+
+    @Test
+    void testFilteredSortedPage() {
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales());
+        ServerSideGetRowsRequest request = request(0, 2, null, null, null,
+                Map.of("year", Map.of("filterType", "number", "type", "equals", "filter", 2024),
+                       "country", Map.of("filterType", "text", "type", "notContains", "filter", "king")),
+                List.of(new ServerSideSortModelItem("amount", "desc")));
+
+        ServerSideGetRowsResult<Map<String, Object>> first = datasource.getRows(request);
+        assertEquals(List.of(5, 3), first.rowData().stream().map(r -> r.get("id")).toList());
+        assertEquals(3, (int) first.rowCount());
+
+        ServerSideGetRowsResult<Map<String, Object>> second = datasource.getRows(request.withRange(2, 4));
+        assertEquals(List.of(2), second.rowData().stream().map(r -> r.get("id")).toList());
+        assertEquals(1, datasource.getCachedViewCount());
+    }
+
+    @Test
+    void testAdvancedFilterModelIsEvaluatedIntoBitsets() {
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales());
+        Map<String, Object> advanced = Map.of("filterType", "join", "type", "OR", "conditions", List.of(
+                Map.of("filterType", "join", "type", "AND", "conditions", List.of(
+                        Map.of("filterType", "text", "colId", "country", "type", "startsWith", "filter", "fr"),
+                        Map.of("filterType", "number", "colId", "year", "type", "greaterThan", "filter", 2023))),
+                Map.of("filterType", "number", "colId", "amount", "type", "blank")));
+
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource.getRows(request(0, 10, null, null, null, advanced,
+                List.of(new ServerSideSortModelItem("id", "asc"))));
+        assertEquals(List.of(2, 6), result.rowData().stream().map(r -> r.get("id")).toList());
+    }
+
+    @Test
+    void testLongFiltersCompareExactlyPastDoublePrecision() {
+        long big = 9_007_199_254_740_993L;
+        ColumnarTable table = ColumnarTable.builder()
+                .column("id", ColumnType.LONG)
+                .row(big - 1)
+                .row(big)
+                .row(big + 1)
+                .row("9007199254740994")
+                .build();
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(table);
+        List<ServerSideSortModelItem> sort = List.of(new ServerSideSortModelItem("id", "asc"));
+
+        assertEquals(List.of(big), datasource.getRows(request(0, 10, null, null, null,
+                Map.of("id", Map.of("filterType", "number", "type", "equals", "filter", big)), sort))
+                .rowData().stream().map(r -> r.get("id")).toList());
+        assertEquals(List.of(big + 1, big + 1), datasource.getRows(request(0, 10, null, null, null,
+                Map.of("id", Map.of("filterType", "number", "type", "greaterThan", "filter", String.valueOf(big))), sort))
+                .rowData().stream().map(r -> r.get("id")).toList());
+        assertEquals(List.of(big - 1, big + 1, big + 1), datasource.getRows(request(0, 10, null, null, null,
+                Map.of("id", Map.of("filterType", "set", "values", List.of(String.valueOf(big - 1), String.valueOf(big + 1)))), sort))
+                .rowData().stream().map(r -> r.get("id")).toList());
+    }
+
+    @Test
+    void testMultiColumnSortWithNullsFirst() {
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales());
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource.getRows(request(0, 100, null, null, null, null,
+                List.of(new ServerSideSortModelItem("country", "asc"), new ServerSideSortModelItem("year", "desc"))));
+
+        assertEquals(List.of(5, 2, 1, 3, 6, 4), result.rowData().stream().map(r -> r.get("id")).toList());
+    }
+
+    @Test
+    void testGroupRowsAreAggregated() {
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideColumnVO year = new ServerSideColumnVO("year", "Year", "year", null);
+        ServerSideColumnVO total = new ServerSideColumnVO("amount", "Amount", "amount", "sum");
+        ServerSideColumnVO spread = new ServerSideColumnVO("id", "Spread", "id", "spread");
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales())
+                .registerAggregator("spread", (column, rows) -> column.getDouble(rows[rows.length - 1]) - column.getDouble(rows[0]));
+
+        ServerSideGetRowsResult<Map<String, Object>> top = datasource.getRows(request(0, 100, List.of(country, year), List.of(total, spread),
+                null, null, List.of(new ServerSideSortModelItem("amount", "desc"))));
+        assertEquals(4, (int) top.rowCount());
+        assertEquals("Germany", top.rowData().get(3).get("country"));
+        assertEquals(30.0, top.rowData().get(3).get("amount"));
+        assertEquals(3.0, top.rowData().get(3).get("id"));
+        assertNull(top.rowData().get(0).get("country"));
+
+        ServerSideGetRowsResult<Map<String, Object>> years = datasource.getRows(request(0, 100, List.of(country, year), List.of(total),
+                List.of("France"), null, null));
+        assertEquals(List.of(2023, 2024), years.rowData().stream().map(r -> r.get("year")).toList());
+        assertEquals(20.0, years.rowData().get(1).get("amount"));
+    }
+
+    @Test
+    void testPivotReturnsFieldsWithData() {
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales()).setPivotLayout(new ServerSidePivotLayout("|", 0));
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideColumnVO year = new ServerSideColumnVO("year", "Year", "year", null);
+        ServerSideColumnVO amount = new ServerSideColumnVO("amount", "Amount", "amount", "sum");
+        ServerSideGetRowsRequest request = new ServerSideGetRowsRequest(0, 100, List.of(country), List.of(amount), List.of(year), true, null, null,
+                List.of(new ServerSideSortModelItem("2024|amount", "desc")));
+
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource.getRows(request);
+        assertEquals(List.of("2023|amount", "2024|amount"), result.pivotResultFields());
+        assertEquals(4, (int) result.rowCount());
+        Map<String, Object> top = result.rowData().get(0);
+        assertNull(top.get("country"));
+        assertEquals(50.0, top.get("2024|amount"));
+        assertFalse(top.containsKey("2023|amount"));
+        Map<String, Object> france = result.rowData().stream().filter(r -> "France".equals(r.get("country"))).findFirst().orElseThrow();
+        assertEquals(10.0, france.get("2023|amount"));
+        assertEquals(20.0, france.get("2024|amount"));
+
+        ServerSideGetRowsResult<Map<String, Object>> totals = datasource.getRows(
+                new ServerSideGetRowsRequest(0, 100, null, List.of(amount), List.of(year), true, null, null, null));
+        assertEquals(1, (int) totals.rowCount());
+        assertEquals(Map.of("2023|amount", 10.0, "2024|amount", 140.0), totals.rowData().get(0));
+    }
+
+    @Test
+    void testPivotBeyondMaxGeneratedColumnsIsRejected() {
+        ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(sales()).setPivotLayout(new ServerSidePivotLayout("_", 3));
+        ServerSideColumnVO amount = new ServerSideColumnVO("amount", "Amount", "amount", "sum");
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        assertThrows(IllegalArgumentException.class, () -> datasource.getRows(
+                new ServerSideGetRowsRequest(0, 100, null, List.of(amount), List.of(country), true, null, null, null)));
+        assertEquals(2, datasource.getRows(new ServerSideGetRowsRequest(0, 100, null, List.of(amount),
+                List.of(new ServerSideColumnVO("year", "Year", "year", null)), true, null, null, null)).pivotResultFields().size());
+    }
+
+    @Test
+    void testParallelScanOnDedicatedPool() {
+        int rows = ColumnarFilter.CHUNK_ROWS * 3 + 7;
+        ColumnarTable.Builder builder = ColumnarTable.builder().capacity(rows)
+                .column("id", ColumnType.LONG)
+                .column("bucket", ColumnType.STRING);
+        for (int i = 0; i < rows; i++) {
+            builder.row((long) i, "b" + (i % 10));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ServerSideColumnarDatasource datasource = new ServerSideColumnarDatasource(builder.build(), pool, 4);
+            ServerSideGetRowsResult<Map<String, Object>> result = datasource.getRows(request(0, 3, null, null, null,
+                    Map.of("bucket", Map.of("filterType", "set", "values", List.of("b3"))),
+                    List.of(new ServerSideSortModelItem("id", "desc"))));
+
+            int expected = (rows + 6) / 10;
+            assertEquals(expected, (int) result.rowCount());
+            long last = rows - 1 - ((rows - 1 - 3) % 10);
+            assertEquals(List.of(last, last - 10, last - 20), result.rowData().stream().map(r -> r.get("id")).toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
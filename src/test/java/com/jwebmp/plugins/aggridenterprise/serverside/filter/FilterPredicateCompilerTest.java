@@ -0,0 +1,122 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for compiling filter models into row predicates.
+ */
+public class FilterPredicateCompilerTest {
+
+    public record Athlete(String name, String country, int age, LocalDate born) {
+    }
+
+    public record Trade(long id, double price) {
+    }
+
+    public static class Medal {
+        public String sport;
+        private final double gold;
+
+        public Medal(String sport, double gold) {
+            this.sport = sport;
+            this.gold = gold;
+        }
+
+        public double getGold() {
+            return gold;
+        }
+    }
+
+    private static final List<Athlete> ATHLETES = List.of(
+            new Athlete("Michael Phelps", "United States", 23, LocalDate.of(1985, 6, 30)),
+            new Athlete("Ian Thorpe", "Australia", 17, LocalDate.of(1982, 10, 13)),
+            new Athlete("Natalie Coughlin", null, 25, LocalDate.of(1982, 8, 23)),
+            new Athlete("Leisel Jones", "Australia", 18, LocalDate.of(1985, 8, 30)));
+
+    @Test
+    void testColumnFilterModelsCompileToRecordAccessors() {
+        FilterPredicateCompiler<Athlete> compiler = FilterPredicateCompiler.forType(Athlete.class);
+        Map<String, Object> model = Map.of(
+                "name", Map.of("filterType", "text", "operator", "OR", "conditions", List.of(
+                        Map.of("type", "contains", "filter", "PHELPS"),
+                        Map.of("type", "startsWith", "filter", "ian"))),
+                "age", Map.of("filterType", "number", "type", "inRange", "filter", 17, "filterTo", 24));
+        assertEquals(List.of("Michael Phelps"), names(compiler.compile(model)));
+
+        Map<String, Object> set = new HashMap<>();
+        set.put("country", Map.of("filterType", "set", "values", Arrays.asList("Australia", null)));
+        set.put("born", Map.of("filterType", "date", "type", "lessThan", "dateFrom", "1985-01-01 00:00:00"));
+        assertEquals(List.of("Ian Thorpe", "Natalie Coughlin"), names(compiler.compile(set)));
+
+        Map<String, Object> notEqual = Map.of("country", Map.of("filterType", "text", "type", "notEqual", "filter", "australia"));
+        assertEquals(List.of("Michael Phelps", "Natalie Coughlin"), names(compiler.compile(notEqual)));
+        assertEquals(4, names(compiler.compile(Map.of())).size());
+    }
+
+    @Test
+    void testCompiledPredicatesAreCachedByModel() {
+        FilterPredicateCompiler<Medal> compiler = FilterPredicateCompiler.forType(Medal.class)
+                .withAccessor("upperSport", medal -> medal.sport.toUpperCase());
+        Map<String, Object> model = Map.of("gold", Map.of("filterType", "number", "type", "greaterThan", "filter", 1),
+                "sport", Map.of("filterType", "text", "type", "equals", "filter", "swimming"));
+        Predicate<Medal> first = compiler.compile(model);
+        assertSame(first, compiler.compile(new HashMap<>(model)));
+        assertEquals(1L, compiler.getHitCount());
+        assertTrue(first.test(new Medal("Swimming", 2)));
+        assertFalse(first.test(new Medal("Swimming", 1)));
+
+        assertTrue(compiler.compile(Map.of("upperSport", Map.of("filterType", "text", "type", "equals", "filter", "ROWING")))
+                .test(new Medal("rowing", 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> compiler.compile(Map.of("silver", Map.of("filterType", "number", "type", "equals", "filter", 1))));
+
+        Predicate<Map<String, Object>> maps = FilterPredicateCompiler.forMaps()
+                .compile(Map.of("gold", Map.of("filterType", "number", "type", "lessThanOrEqual", "filter", 3)));
+        assertTrue(maps.test(Map.of("gold", 3L)));
+        assertFalse(maps.test(new HashMap<>()));
+    }
+
+    @Test
+    void testAdvancedFilterModelsCompileToPredicates() {
+        FilterPredicateCompiler<Athlete> compiler = FilterPredicateCompiler.forType(Athlete.class);
+        Map<String, Object> advanced = Map.of("filterType", "join", "type", "OR", "conditions", List.of(
+                Map.of("filterType", "text", "colId", "country", "type", "blank"),
+                Map.of("filterType", "join", "type", "AND", "conditions", List.of(
+                        Map.of("filterType", "number", "colId", "age", "type", "lessThan", "filter", 18),
+                        Map.of("filterType", "dateString", "colId", "born", "type", "greaterThan", "filter", "1982-01-01")))));
+        assertEquals(List.of("Ian Thorpe", "Natalie Coughlin"), names(compiler.compile(advanced)));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(Map.of("filterType", "text", "colId", "name", "type", "near")));
+        // text operators on a number filter are rejected when compiled, not when the first row is tested
+        assertThrows(IllegalArgumentException.class,
+                () -> compiler.compile(Map.of("age", Map.of("filterType", "number", "type", "contains", "filter", 1))));
+    }
+
+    @Test
+    void testWholeNumberOperandsCompareExactly() {
+        FilterPredicateCompiler<Trade> compiler = FilterPredicateCompiler.forType(Trade.class);
+        List<Trade> trades = List.of(new Trade(9007199254740992L, 1.5), new Trade(9007199254740993L, 2.5));
+
+        Predicate<Trade> equals = compiler.compile(Map.of("id", Map.of("filterType", "number", "type", "equals", "filter", 9007199254740993L)));
+        assertEquals(List.of(trades.get(1)), trades.stream().filter(equals).toList());
+        Predicate<Trade> fromText = compiler.compile(Map.of("id", Map.of("filterType", "number", "type", "lessThan", "filter", "9007199254740993")));
+        assertEquals(List.of(trades.get(0)), trades.stream().filter(fromText).toList());
+
+        Predicate<Trade> price = compiler.compile(Map.of("price", Map.of("filterType", "number", "type", "greaterThanOrEqual", "filter", 2)));
+        assertEquals(List.of(trades.get(1)), trades.stream().filter(price).toList());
+        Predicate<Trade> decimal = compiler.compile(Map.of("price", Map.of("filterType", "number", "type", "equals", "filter", "2.50")));
+        assertEquals(List.of(trades.get(1)), trades.stream().filter(decimal).toList());
+    }
+
+    private static List<String> names(Predicate<Athlete> predicate) {
+        return ATHLETES.stream().filter(predicate).map(Athlete::name).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.find;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import com.jwebmp.plugins.aggridenterprise.serverside.aggregation.ServerSideTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the server-side Find index.
+ */
+public class ServerSideFindIndexTest {
+
+    private static Map<String, Object> row(int id, String athlete, String country, int year) {
+        return Map.of("id", id, "athlete", athlete, "country", country, "year", year);
+    }
+
+    private static ServerSideFindIndex athletes() {
+        ServerSideFindIndex index = new ServerSideFindIndex("id", List.of("athlete", "country"));
+        index.add(List.of(
+                row(1, "Michael Phelps", "United States", 2008),
+                row(2, "Ian Thorpe", "Australia", 2000),
+                row(3, "Grant Hackett", "Australia", 2004),
+                row(4, "Ryan Lochte", "United States", 2012),
+                row(5, "Ian Crocker", "United States", 2004)));
+        return index;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ServerSideFindRegistry.getInstance().clear();
+    }
+
+    @Test
+    void testMatchesAreCountedAndIndexedInDisplayOrder() {
+        ServerSideFindIndex index = athletes();
+
+        ServerSideFindResult all = index.find("an", false);
+        assertEquals(List.of("2", "3", "4", "5"), all.rows().stream().map(ServerSideFindMatch::rowId).toList());
+        assertEquals(List.of(1, 2, 3, 4), all.rows().stream().map(ServerSideFindMatch::rowIndex).toList());
+        assertEquals(4, all.totalMatches());
+        assertEquals("4", all.locate(3).rowId());
+        assertNull(all.locate(5));
+
+        ServerSideFindResult shortText = index.find("t", false);
+        assertEquals(List.of(3, 2, 4, 4, 3), shortText.rows().stream().map(ServerSideFindMatch::matches).toList());
+        assertEquals("2", shortText.locate(5).rowId());
+
+        ServerSideFindResult sorted = index.find("united", false,
+                Map.of("year", Map.of("filterType", "number", "type", "greaterThan", "filter", 2000)),
+                List.of(new ServerSideSortModelItem("year", "desc")));
+        assertEquals(List.of("4", "1", "5"), sorted.rows().stream().map(ServerSideFindMatch::rowId).toList());
+        assertEquals(List.of(0, 1, 3), sorted.rows().stream().map(ServerSideFindMatch::rowIndex).toList());
+
+        assertEquals(0, index.find("IAN", true).totalMatches());
+        assertEquals(2, index.find("Ian", true).rows().size());
+    }
+
+    @Test
+    void testIndexFollowsTransactions() throws Exception {
+        ServerSideFindIndex index = athletes();
+        index.apply(List.of(new ServerSideTransaction(List.of(),
+                List.of(row(6, "Ian Wright", "Great Britain", 2016)),
+                List.of(row(2, "Ian Thorpe", "AUS", 2000)),
+                List.of(Map.of("id", 3)))));
+        index.apply(List.of(new ServerSideTransaction(List.of(), null, List.of(Map.of("ssrmGroupId", "Australia", "country", "Australia")), null)));
+
+        assertEquals(0, index.find("australia", false).totalMatches());
+        assertEquals(List.of("2", "5", "6"), index.find("ian ", false).rows().stream().map(ServerSideFindMatch::rowId).toList());
+        assertEquals(5, index.size());
+
+        ServerSideFindRegistry.getInstance().register("grid", index);
+        JsonNode json = ServerSideJson.mapper().readTree(ServerSideFindRegistry.getInstance().handle(
+                "{\"gridId\":\"grid\",\"text\":\"lochte\",\"sortModel\":[{\"colId\":\"athlete\",\"sort\":\"asc\"}]}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, json.get("totalMatches").asInt());
+        assertEquals(4, json.get("rows").get(0).get("rowIndex").asInt());
+        assertTrue(ServerSideJson.mapper().readTree(ServerSideFindRegistry.getInstance().handle(
+                "{\"gridId\":\"other\",\"text\":\"x\"}".getBytes(StandardCharsets.UTF_8))).get("failed").asBoolean());
+    }
+}
@@ -0,0 +1,70 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for server-built Set Filter tree lists.
+ */
+public class SetFilterTreeTest {
+
+    @AfterEach
+    void tearDown() {
+        SetFilterValuesRegistry.getInstance().clear();
+    }
+
+    @Test
+    void testDatesAreArrangedByYearMonthAndDay() {
+        SetFilterTree tree = new SetFilterTree(Arrays.asList(null, "2023-12-31", "2024-01-05T08:00", "2024-01-05T17:30", "2024-02-01", "other"),
+                ISetFilterTreePathGetter.isoDate());
+
+        List<SetFilterTreeNode> roots = tree.children(List.of());
+        assertEquals(Arrays.asList(null, "2023", "2024", "other"), roots.stream().map(SetFilterTreeNode::key).toList());
+        assertEquals(3, roots.get(2).leafCount());
+        assertEquals(2, roots.get(2).childCount());
+        assertTrue(roots.get(3).isLeaf());
+        assertEquals("other", roots.get(3).value());
+
+        SetFilterTreeNode fifth = tree.children(List.of("2024", "01")).get(0);
+        assertEquals(List.of("2024", "01", "05"), fifth.path());
+        assertNull(fifth.value());
+        assertEquals(2, fifth.leafCount());
+        assertEquals(List.of("2024-01-05T08:00", "2024-01-05T17:30", "2024-02-01"), tree.values(List.of("2024")));
+        assertEquals(List.of(), tree.children(List.of("1999")));
+    }
+
+    @Test
+    void testRegistryServesChildrenFromOneProviderCall() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        SetFilterValuesRegistry registry = SetFilterValuesRegistry.getInstance();
+        registry.register("grid", "region", request -> {
+            loads.incrementAndGet();
+            return List.of("Europe/France/Paris", "Europe/France/Lyon", "Europe/Italy/Rome", "Asia/Japan/Tokyo");
+        }, ISetFilterTreePathGetter.split("/"));
+
+        JsonNode roots = ServerSideJson.mapper().readTree(registry.handle(
+                "{\"gridId\":\"grid\",\"colId\":\"region\",\"parentPath\":[]}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Asia", roots.get("nodes").get(0).get("key").asText());
+        assertEquals(3, roots.get("nodes").get(1).get("leafCount").asInt());
+
+        SetFilterTreeResult france = registry.getTreeChildren(new SetFilterValuesRequest("grid", "region", null, null, null, null, false,
+                List.of("Europe", "France")));
+        assertEquals(List.of("Lyon", "Paris"), france.nodes().stream().map(SetFilterTreeNode::key).toList());
+        assertEquals("Europe/France/Lyon", france.nodes().get(0).value());
+        assertEquals(4, france.valueCount());
+        assertEquals(1, loads.get());
+
+        JsonNode failure = ServerSideJson.mapper().readTree(registry.handle(
+                "{\"gridId\":\"grid\",\"colId\":\"other\",\"parentPath\":[]}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(failure.get("failed").asBoolean());
+    }
+}
@@ -0,0 +1,58 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Set Filter mini filter search index.
+ */
+public class SetFilterValueIndexTest {
+
+    private static final SetFilterValueIndex COUNTRIES = new SetFilterValueIndex(
+            Arrays.asList(null, "Bermuda", "Germany", "Guernsey", "germanic", "Kyrgyzstan", "San Marino", "Saint Germain"));
+
+    @Test
+    void testPrefixMatchesComeBeforeSubstringMatches() {
+        assertEquals(List.of("Germany", "germanic", "Saint Germain"), COUNTRIES.search("GERM", false, 10));
+        assertEquals(List.of("Germany"), COUNTRIES.search("Germ", false, 1));
+        assertEquals(List.of("Germany", "Saint Germain"), COUNTRIES.search("Germ", true, 10));
+        assertEquals(List.of("Bermuda", "Germany", "germanic", "Saint Germain"), COUNTRIES.search("erm", false, 10));
+        assertEquals(List.of("Guernsey", "Kyrgyzstan"), COUNTRIES.search("y", false, 10).subList(1, 3));
+        assertEquals(List.of(), COUNTRIES.search("xyz", false, 10));
+        assertEquals(Arrays.asList(null, "Bermuda"), COUNTRIES.search("", false, 2));
+    }
+
+    @Test
+    void testIndexAgreesWithScanningTheValues() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(Integer.toString(i * 7919 % 100000, 36) + (i % 3 == 0 ? "Ab" : "ab"));
+        }
+        values.sort(null);
+        SetFilterValueIndex index = new SetFilterValueIndex(values);
+        for (String text : List.of("1ab", "zab", "AB", "a", "q1", "12")) {
+            for (boolean caseSensitive : new boolean[]{false, true}) {
+                String key = caseSensitive ? text : text.toLowerCase(Locale.ROOT);
+                List<String> expected = new ArrayList<>();
+                for (String value : values) {
+                    if ((caseSensitive ? value : value.toLowerCase(Locale.ROOT)).startsWith(key)) {
+                        expected.add(value);
+                    }
+                }
+                for (String value : values) {
+                    String form = caseSensitive ? value : value.toLowerCase(Locale.ROOT);
+                    if (!form.startsWith(key) && form.contains(key)) {
+                        expected.add(value);
+                    }
+                }
+                assertEquals(expected, index.search(text, caseSensitive, Integer.MAX_VALUE), text + " " + caseSensitive);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.setfilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for serving Set Filter values from registered providers.
+ */
+public class SetFilterValuesRegistryTest {
+
+    private final List<SetFilterValuesRequest> loads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        SetFilterValuesRegistry.getInstance().clear();
+        SetFilterValuesRegistry.getInstance().setCache(new SetFilterValuesCache());
+    }
+
+    private ISetFilterValuesProvider countries() {
+        return request -> {
+            loads.add(request);
+            return request.filterModel().isEmpty()
+                    ? Arrays.asList("Italy", "France", null, "Germany", "France")
+                    : List.of("France");
+        };
+    }
+
+    @Test
+    void testValuesAreSortedDistinctAndCached() {
+        SetFilterValuesRegistry registry = SetFilterValuesRegistry.getInstance();
+        registry.register("grid", "country", countries());
+
+        SetFilterValuesResult all = registry.getValues(new SetFilterValuesRequest("grid", "country",
+                Map.of("country", Map.of("filterType", "set", "values", List.of("Italy")))));
+        assertEquals(Arrays.asList(null, "France", "Germany", "Italy"), all.values());
+        assertEquals(4, all.valueCount());
+        assertTrue(loads.get(0).filterModel().isEmpty());
+
+        SetFilterValuesResult page = registry.getValues(new SetFilterValuesRequest("grid", "country", null, 1, 3));
+        assertEquals(List.of("France", "Germany"), page.values());
+        assertEquals(1, loads.size());
+
+        SetFilterValuesResult filtered = registry.getValues(new SetFilterValuesRequest("grid", "country",
+                Map.of("year", Map.of("filterType", "number", "type", "equals", "filter", 2024))));
+        assertEquals(List.of("France"), filtered.values());
+        assertEquals(2, loads.size());
+
+        registry.invalidate("grid");
+        registry.getValues(new SetFilterValuesRequest("grid", "country", null));
+        assertEquals(3, loads.size());
+    }
+
+    @Test
+    void testRangedFirstRequestStillCachesTheFullList() {
+        SetFilterValuesRegistry registry = SetFilterValuesRegistry.getInstance();
+        registry.register("grid", "country", request -> {
+            loads.add(request);
+            List<String> values = List.of("France", "Germany", "Italy", "Spain");
+            return values.subList(request.start(), Math.min(request.end(), values.size()));
+        });
+
+        assertEquals(List.of("Germany", "Italy"), registry.getValues(new SetFilterValuesRequest("grid", "country", null, 1, 3)).values());
+        assertNull(loads.get(0).startRow());
+        assertNull(loads.get(0).endRow());
+
+        SetFilterValuesResult all = registry.getValues(new SetFilterValuesRequest("grid", "country", null));
+        assertEquals(List.of("France", "Germany", "Italy", "Spain"), all.values());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void testCacheEvictsBeyondValueBudget() {
+        SetFilterValuesCache cache = new SetFilterValuesCache(10, 5);
+        cache.put("grid", "a", "", new SetFilterValueIndex(List.of("1", "2", "3")));
+        cache.put("grid", "b", "", new SetFilterValueIndex(List.of("4", "5", "6")));
+        assertNull(cache.get("grid", "a", ""));
+        assertEquals(List.of("4", "5", "6"), cache.get("grid", "b", "").values());
+        assertEquals(3L, cache.valueCount());
+
+        cache.put("grid", "c", "", new SetFilterValueIndex(List.of("1", "2", "3", "4", "5", "6")));
+        assertNull(cache.get("grid", "c", ""));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testSearchIsAnsweredFromTheCachedList() {
+        SetFilterValuesRegistry registry = SetFilterValuesRegistry.getInstance();
+        registry.register("grid", "country", countries());
+
+        SetFilterValuesResult matches = registry.getValues(new SetFilterValuesRequest("grid", "country", null, null, 1, "an", false));
+        assertEquals(List.of("France"), matches.values());
+        assertEquals(4, matches.valueCount());
+        assertNull(loads.get(0).search());
+
+        SetFilterValuesResult sensitive = registry.getValues(new SetFilterValuesRequest("grid", "country", null, null, null, "it", true));
+        assertEquals(List.of(), sensitive.values());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void testHandleAnswersJsonAndReportsFailuresInBand() throws Exception {
+        SetFilterValuesRegistry.getInstance().register("grid", "country", countries());
+        byte[] answer = SetFilterValuesRegistry.getInstance().handle(
+                "{\"gridId\":\"grid\",\"colId\":\"country\",\"filterModel\":{}}".getBytes(StandardCharsets.UTF_8));
+        JsonNode json = ServerSideJson.mapper().readTree(answer);
+        assertEquals(4, json.get("valueCount").asInt());
+        assertTrue(json.get("values").get(0).isNull());
+
+        JsonNode failure = ServerSideJson.mapper().readTree(SetFilterValuesRegistry.getInstance().handle(
+                "{\"gridId\":\"grid\",\"colId\":\"unknown\"}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(failure.get("failed").asBoolean());
+    }
+}
@@ -0,0 +1,197 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideCursor;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for filter/sort model to SQL compilation.
+ */
+public class ServerSideSqlCompilerTest {
+
+    private final ServerSideSqlCompiler compiler = new ServerSideSqlCompiler(new SqlTableMapping("sales")
+            .column("country")
+            .column("year", "sale_year")
+            .column("amount")
+            .column("sold", "sold_on"), StandardSqlDialect.LIMIT_OFFSET);
+
+    private static ServerSideGetRowsRequest request(Map<String, Object> filterModel, List<ServerSideSortModelItem> sortModel) {
+        return new ServerSideGetRowsRequest(100, 200, null, null, null, false, null, filterModel, sortModel);
+    }
+
+    @Test
+    void testLeafQueryWithFiltersSortAndPaging() {
+        Map<String, Object> filterModel = new LinkedHashMap<>();
+        filterModel.put("country", Map.of("filterType", "text", "type", "contains", "filter", "Un_"));
+        filterModel.put("amount", Map.of("filterType", "number", "operator", "OR", "conditions", List.of(
+                Map.of("filterType", "number", "type", "lessThan", "filter", 10),
+                Map.of("filterType", "number", "type", "inRange", "filter", 100, "filterTo", 200))));
+
+        SqlQuery query = compiler.compile(request(filterModel, List.of(new ServerSideSortModelItem("year", "desc"))));
+
+        assertEquals("SELECT country AS \"country\", sale_year AS \"year\", amount AS \"amount\", sold_on AS \"sold\" FROM sales"
+                + " WHERE (LOWER(country) LIKE ? ESCAPE '\\' AND (amount < ? OR (amount > ? AND amount < ?)))"
+                + " ORDER BY sale_year DESC LIMIT ? OFFSET ?", query.sql());
+        assertEquals(List.of("%un\\_%", 10, 100, 200, 100, 100), query.parameters());
+    }
+
+    @Test
+    void testAdvancedFilterModelCompilesToNestedConditions() {
+        Map<String, Object> advanced = Map.of("filterType", "join", "type", "AND", "conditions", List.of(
+                Map.of("filterType", "dateString", "colId", "sold", "type", "greaterThanOrEqual", "filter", "2024-01-01"),
+                Map.of("filterType", "join", "type", "OR", "conditions", List.of(
+                        Map.of("filterType", "text", "colId", "country", "type", "equals", "filter", "France"),
+                        Map.of("filterType", "number", "colId", "amount", "type", "lessThan", "filter", 5)))));
+
+        SqlQuery query = compiler.compile(request(advanced, null));
+
+        assertTrue(query.sql().contains("WHERE (sold_on >= ? AND (LOWER(country) = ? OR amount < ?))"), query.sql());
+        assertEquals(List.of(LocalDateTime.of(2024, 1, 1, 0, 0), "france", 5), query.parameters().subList(0, 3));
+    }
+
+    @Test
+    void testSetLegacyAndDateFilters() {
+        Map<String, Object> filterModel = new LinkedHashMap<>();
+        filterModel.put("country", Map.of("filterType", "set", "values", Arrays.asList("France", null)));
+        filterModel.put("year", Map.of("filterType", "number", "operator", "AND",
+                "condition1", Map.of("type", "greaterThanOrEqual", "filter", 2020),
+                "condition2", Map.of("type", "notBlank")));
+        filterModel.put("sold", Map.of("filterType", "date", "type", "lessThan", "dateFrom", "2024-03-01 00:00:00"));
+
+        SqlQuery query = compiler.compile(request(filterModel, null));
+
+        assertTrue(query.sql().contains("WHERE ((country IN (?) OR country IS NULL) AND (sale_year >= ? AND sale_year IS NOT NULL) AND sold_on < ?)"),
+                   query.sql());
+        assertEquals(List.of("France", 2020, LocalDateTime.of(2024, 3, 1, 0, 0), 100, 100), query.parameters());
+    }
+
+    @Test
+    void testGroupLevelQuery() {
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideColumnVO year = new ServerSideColumnVO("year", "Year", "year", null);
+        ServerSideColumnVO amount = new ServerSideColumnVO("amount", "Amount", "amount", "sum");
+        ServerSideGetRowsRequest request = new ServerSideGetRowsRequest(0, 100, List.of(country, year), List.of(amount), null, false,
+                                                                        List.of("France"), null,
+                                                                        List.of(new ServerSideSortModelItem("amount", "desc"),
+                                                                                new ServerSideSortModelItem("sold", "asc")));
+
+        SqlQuery query = compiler.compile(request);
+
+        assertEquals("SELECT sale_year AS \"year\", SUM(amount) AS \"amount\" FROM sales WHERE country = ?"
+                + " GROUP BY sale_year ORDER BY \"amount\" DESC LIMIT ? OFFSET ?", query.sql());
+        assertEquals(List.of("France", 100, 0), query.parameters());
+    }
+
+    @Test
+    void testNullGroupKeyIsMatchedWithIsNull() {
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideGetRowsRequest blank = new ServerSideGetRowsRequest(0, 100, List.of(country), null, null, false,
+                                                                      Arrays.asList((String) null), null, null);
+        ServerSideGetRowsRequest france = new ServerSideGetRowsRequest(0, 100, List.of(country), null, null, false,
+                                                                       List.of("France"), null, null);
+
+        SqlQuery query = compiler.compile(blank);
+        assertTrue(query.sql().endsWith(" FROM sales WHERE country IS NULL LIMIT ? OFFSET ?"));
+        assertEquals(List.of(100, 0), query.parameters());
+        assertTrue(compiler.compile(france).sql().endsWith(" FROM sales WHERE country = ? LIMIT ? OFFSET ?"));
+    }
+
+    @Test
+    void testStatementShapeIsCached() {
+        Map<String, Object> usa = Map.of("country", Map.of("filterType", "text", "type", "equals", "filter", "USA"));
+        Map<String, Object> france = Map.of("country", Map.of("filterType", "text", "type", "equals", "filter", "France"));
+
+        SqlQuery first = compiler.compile(request(usa, null));
+        SqlQuery second = compiler.compile(request(france, null).withRange(200, 300));
+
+        assertSame(first.sql(), second.sql());
+        assertEquals(List.of("france", 100, 200), second.parameters());
+        assertEquals(1, compiler.getCachedShapeCount());
+        assertEquals(1, compiler.getShapeHitCount());
+    }
+
+    @Test
+    void testShapeCacheEvictsLeastRecentlyUsed() {
+        ServerSideSqlCompiler small = new ServerSideSqlCompiler(new SqlTableMapping("sales")
+                .column("country")
+                .column("year"), StandardSqlDialect.LIMIT_OFFSET, 2);
+        Map<String, Object> country = Map.of("country", Map.of("filterType", "text", "type", "equals", "filter", "USA"));
+        Map<String, Object> year = Map.of("year", Map.of("filterType", "number", "type", "equals", "filter", 2000));
+
+        small.compile(request(null, null));
+        small.compile(request(country, null));
+        small.compile(request(null, null));
+        small.compile(request(year, null));
+        assertEquals(2, small.getCachedShapeCount());
+
+        // the unfiltered shape was used more recently than the country shape, so it survived the eviction
+        small.compile(request(null, null));
+        assertEquals(2, small.getShapeHitCount());
+        small.compile(request(country, null));
+        assertEquals(4, small.getShapeMissCount());
+    }
+
+    @Test
+    void testKeysetCursorSeeksInsteadOfSkipping() {
+        ServerSideSqlCompiler keyed = new ServerSideSqlCompiler(new SqlTableMapping("sales")
+                .column("id")
+                .column("year", "sale_year")
+                .keyColumn("id"), StandardSqlDialect.LIMIT_OFFSET);
+        ServerSideGetRowsRequest first = request(null, List.of(new ServerSideSortModelItem("year", "desc"))).withRange(0, 100);
+        assertEquals(List.of("year", "id"), keyed.orderColumns(first));
+        assertTrue(keyed.compile(first).sql().endsWith(
+                " ORDER BY CASE WHEN sale_year IS NULL THEN 0 ELSE 1 END DESC, sale_year DESC, id ASC LIMIT ? OFFSET ?"));
+
+        String cursor = ServerSideCursor.after(first, 100, List.of(2024, 17)).encode();
+        SqlQuery next = keyed.compile(first.withRange(100, 200).withCursor(cursor));
+        assertEquals("SELECT id AS \"id\", sale_year AS \"year\" FROM sales"
+                + " WHERE (((sale_year < ? OR sale_year IS NULL)) OR (sale_year = ? AND id > ?))"
+                + " ORDER BY CASE WHEN sale_year IS NULL THEN 0 ELSE 1 END DESC, sale_year DESC, id ASC LIMIT ? OFFSET ?", next.sql());
+        assertEquals(List.of(2024, 2024, 17, 100, 0), next.parameters());
+
+        // a NULL cursor value is matched with IS NULL and nothing sorts after NULL descending
+        String nullCursor = ServerSideCursor.after(first, 100, Arrays.asList(null, 17)).encode();
+        SqlQuery afterNull = keyed.compile(first.withRange(100, 200).withCursor(nullCursor));
+        assertTrue(afterNull.sql().contains(" WHERE ((sale_year IS NULL AND id > ?)) ORDER BY "));
+        assertEquals(List.of(17, 100, 0), afterNull.parameters());
+
+        // a cursor for another position or another sort falls back to OFFSET
+        assertEquals(List.of(100, 300), keyed.compile(first.withRange(300, 400).withCursor(cursor)).parameters());
+        ServerSideGetRowsRequest resorted = request(null, List.of(new ServerSideSortModelItem("year", "asc")));
+        assertEquals(List.of(100, 100), keyed.compile(resorted.withCursor(cursor)).parameters());
+    }
+
+    @Test
+    void testCursorValuesKeepTheirTypes() {
+        ServerSideGetRowsRequest first = request(null, null).withRange(0, 100);
+        LocalDateTime sold = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000);
+        List<Object> values = Arrays.asList(sold, Timestamp.valueOf(sold), new java.util.Date(Timestamp.valueOf(sold).getTime()),
+                                            LocalDate.of(2024, 3, 1), new BigDecimal("12345678901234567.89"), 9_007_199_254_740_993L,
+                                            "France", null);
+
+        ServerSideCursor cursor = ServerSideCursor.decode(ServerSideCursor.after(first, 100, values).encode());
+        assertEquals(Arrays.asList(Timestamp.valueOf(sold), Timestamp.valueOf(sold), Timestamp.valueOf(sold), LocalDate.of(2024, 3, 1),
+                                   new BigDecimal("12345678901234567.89"), 9_007_199_254_740_993L, "France", null), cursor.values());
+    }
+
+    @Test
+    void testUnmappedColumnsAreRejected() {
+        Map<String, Object> filterModel = Map.of("password", Map.of("filterType", "text", "type", "equals", "filter", "x"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(request(filterModel, null)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> compiler.compile(request(null, List.of(new ServerSideSortModelItem("1; DROP TABLE sales", "asc")))));
+    }
+}
@@ -0,0 +1,177 @@
+package com.jwebmp.plugins.aggridenterprise.serverside.sql;
+
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideColumnVO;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsRequest;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideGetRowsResult;
+import com.jwebmp.plugins.aggridenterprise.serverside.ServerSideSortModelItem;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs compiled SSRM queries against an embedded H2 database.
+ */
+public class ServerSideSqlDatasourceTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ssrm;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS sales");
+            statement.execute("CREATE TABLE sales (id INT PRIMARY KEY, country VARCHAR(40), sale_year INT, amount DOUBLE)");
+            statement.execute("INSERT INTO sales VALUES (1, 'France', 2023, 10), (2, 'France', 2024, 20), (3, 'Germany', 2024, 30),"
+                    + " (4, 'United Kingdom', 2024, 40), (5, NULL, 2024, 50)");
+        }
+    }
+
+    private ServerSideSqlDatasource datasource(SqlDialect dialect) {
+        return new ServerSideSqlDatasource(dataSource, new ServerSideSqlCompiler(new SqlTableMapping("sales")
+                .column("id")
+                .column("country")
+                .column("year", "sale_year")
+                .column("amount"), dialect));
+    }
+
+    @Test
+    void testFilteredSortedPage() {
+        for (SqlDialect dialect : List.of(StandardSqlDialect.ANSI, StandardSqlDialect.LIMIT_OFFSET)) {
+            ServerSideGetRowsResult<Map<String, Object>> result = datasource(dialect).getRows(new ServerSideGetRowsRequest(
+                    0, 2, null, null, null, false, null,
+                    Map.of("year", Map.of("filterType", "number", "type", "equals", "filter", 2024)),
+                    List.of(new ServerSideSortModelItem("amount", "desc"))));
+
+            assertEquals(2, result.rowData().size());
+            assertEquals(5, result.rowData().get(0).get("id"));
+            assertEquals(4, result.rowData().get(1).get("id"));
+            assertNull(result.rowCount());
+        }
+    }
+
+    @Test
+    void testTextAndSetFilters() {
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource(StandardSqlDialect.ANSI).getRows(new ServerSideGetRowsRequest(
+                0, 100, null, null, null, false, null,
+                Map.of("country", Map.of("filterType", "multi", "filterModels", Arrays.asList(
+                        Map.of("filterType", "text", "type", "startsWith", "filter", "fr"),
+                        Map.of("filterType", "set", "values", List.of("France", "Germany"))))),
+                List.of(new ServerSideSortModelItem("id", "asc"))));
+
+        assertEquals(List.of(1, 2), result.rowData().stream().map(r -> r.get("id")).toList());
+        assertEquals(2, (int) result.rowCount());
+    }
+
+    @Test
+    void testGroupRowsAreAggregated() {
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideColumnVO amount = new ServerSideColumnVO("amount", "Amount", "amount", "sum");
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource(StandardSqlDialect.ANSI).getRows(new ServerSideGetRowsRequest(
+                0, 100, List.of(country), List.of(amount), null, false, null,
+                Map.of("country", Map.of("filterType", "text", "type", "notBlank")),
+                List.of(new ServerSideSortModelItem("ag-Grid-AutoColumn", "asc"))));
+
+        assertEquals(3, result.rowData().size());
+        assertEquals("France", result.rowData().get(0).get("country"));
+        assertEquals(30.0, ((Number) result.rowData().get(0).get("amount")).doubleValue());
+        assertEquals(3, (int) result.rowCount());
+    }
+
+    @Test
+    void testNullGroupCanBeOpened() {
+        ServerSideColumnVO country = new ServerSideColumnVO("country", "Country", "country", null);
+        ServerSideGetRowsResult<Map<String, Object>> result = datasource(StandardSqlDialect.ANSI).getRows(new ServerSideGetRowsRequest(
+                0, 100, List.of(country), null, null, false, Arrays.asList((String) null), null,
+                List.of(new ServerSideSortModelItem("id", "asc"))));
+
+        assertEquals(List.of(5), result.rowData().stream().map(r -> r.get("id")).toList());
+    }
+
+    @Test
+    void testKeysetPagingMatchesOffsetPaging() {
+        ServerSideSqlDatasource keyed = new ServerSideSqlDatasource(dataSource, new ServerSideSqlCompiler(new SqlTableMapping("sales")
+                .column("id")
+                .column("year", "sale_year")
+                .keyColumn("id"), StandardSqlDialect.ANSI));
+        ServerSideGetRowsRequest request = new ServerSideGetRowsRequest(0, 2, null, null, null, false, null, null,
+                                                                         List.of(new ServerSideSortModelItem("year", "desc")));
+
+        List<Object> ids = new ArrayList<>();
+        String cursor = null;
+        for (int start = 0; start < 6; start += 2) {
+            ServerSideGetRowsResult<Map<String, Object>> page = keyed.getRows(request.withRange(start, start + 2).withCursor(cursor));
+            page.rowData().forEach(row -> ids.add(row.get("id")));
+            cursor = page.cursor();
+        }
+
+        assertEquals(List.of(2, 3, 4, 5, 1), ids);
+        assertEquals(2, keyed.getCompiler().getShapeMissCount());
+    }
+
+    @Test
+    void testKeysetPagingContinuesPastNullSortValues() {
+        ServerSideSqlDatasource keyed = new ServerSideSqlDatasource(dataSource, new ServerSideSqlCompiler(new SqlTableMapping("sales")
+                .column("id")
+                .column("country")
+                .keyColumn("id"), StandardSqlDialect.ANSI));
+        for (String direction : List.of("asc", "desc")) {
+            ServerSideGetRowsRequest request = new ServerSideGetRowsRequest(0, 1, null, null, null, false, null, null,
+                                                                             List.of(new ServerSideSortModelItem("country", direction)));
+            List<Object> offsetIds = new ArrayList<>();
+            keyed.getRows(request.withRange(0, 10)).rowData().forEach(row -> offsetIds.add(row.get("id")));
+
+            List<Object> ids = new ArrayList<>();
+            String cursor = null;
+            for (int start = 0; start < 6; start++) {
+                ServerSideGetRowsResult<Map<String, Object>> page = keyed.getRows(request.withRange(start, start + 1).withCursor(cursor));
+                page.rowData().forEach(row -> ids.add(row.get("id")));
+                cursor = page.cursor();
+            }
+
+            assertEquals(direction.equals("asc") ? List.of(5, 1, 2, 3, 4) : List.of(4, 3, 1, 2, 5), offsetIds);
+            assertEquals(offsetIds, ids, direction);
+        }
+    }
+
+    @Test
+    void testKeysetPagingSeeksByTimestampAndDecimalColumns() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS payments");
+            statement.execute("CREATE TABLE payments (id INT PRIMARY KEY, paid_at TIMESTAMP, amount DECIMAL(20, 2))");
+            statement.execute("INSERT INTO payments VALUES (1, TIMESTAMP '2024-03-01 09:30:15.123', 12345678901234567.89),"
+                    + " (2, TIMESTAMP '2024-03-01 09:30:15.123', 12345678901234567.88), (3, TIMESTAMP '2024-03-02 00:00:00', 1.10),"
+                    + " (4, TIMESTAMP '2024-02-29 23:59:59.999', 12345678901234567.89)");
+        }
+        ServerSideSqlDatasource keyed = new ServerSideSqlDatasource(dataSource, new ServerSideSqlCompiler(new SqlTableMapping("payments")
+                .column("id")
+                .column("paidAt", "paid_at")
+                .column("amount")
+                .keyColumn("id"), StandardSqlDialect.ANSI));
+        for (String sort : List.of("paidAt", "amount")) {
+            ServerSideGetRowsRequest request = new ServerSideGetRowsRequest(0, 1, null, null, null, false, null, null,
+                                                                             List.of(new ServerSideSortModelItem(sort, "desc")));
+            List<Object> ids = new ArrayList<>();
+            String cursor = null;
+            for (int start = 0; start < 4; start++) {
+                ServerSideGetRowsResult<Map<String, Object>> page = keyed.getRows(request.withRange(start, start + 1).withCursor(cursor));
+                page.rowData().forEach(row -> ids.add(row.get("id")));
+                cursor = page.cursor();
+                assertNotNull(cursor);
+            }
+
+            assertEquals(sort.equals("paidAt") ? List.of(3, 1, 2, 4) : List.of(1, 4, 2, 3), ids, sort);
+        }
+        // one offset shape and one seek shape per sort
+        assertEquals(4, keyed.getCompiler().getShapeMissCount());
+    }
+}